@@ -10,8 +10,13 @@ plugins {
     java
     id("org.springframework.boot") version "3.3.2"
     id("io.spring.dependency-management") version "1.1.5"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
+// Spring AOT (processAot): generated bean definitions are packaged into the boot jar and used
+// when the application runs with -Dspring.aot.enabled=true
+apply(plugin = "org.springframework.boot.aot")
+
 group = "com.sporty"
 version = "0.0.1-SNAPSHOT"
 
@@ -27,14 +32,36 @@ repositories {
     mavenCentral()
 }
 
+// In-process Redis stand-in (package embedded) for offline development, tests and benchmarks. It
+// has its own source set so that neither it nor LuaJ is packaged into the boot jar: bootRun gets it
+// through developmentOnly, the tests and benchmarks through their implementation configurations.
+val dev by sourceSets.creating
+configurations[dev.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
 dependencies {
     // Spring Boot starters
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+    // Binary encodings negotiated via Accept/Content-Type (versions from the Spring Boot BOM)
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
+    // In-process Redis stand-in; LuaJ runs its Lua scripts (EVAL/EVALSHA), see EmbeddedRedisServer
+    val luaj = "org.luaj:luaj-jse:3.0.1"
+    "devImplementation"(luaj)
+    "devAnnotationProcessor"("org.springframework.boot:spring-boot-configuration-processor")
+    developmentOnly(dev.output)
+    developmentOnly(luaj)
+    testImplementation(dev.output)
+    testImplementation(luaj)
+    "jmhImplementation"(dev.output)
+    "jmhImplementation"(luaj)
+
     // Test dependencies
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
@@ -69,6 +96,8 @@ val integrationTest by tasks.registering(Test::class) {
     classpath = sourceSets["test"].runtimeClasspath
     include("**/*IT.class")
     shouldRunAfter(tasks.test)
+    // Redis backend: "docker" (Testcontainers, default) or "embedded" (in-process stand-in)
+    systemProperty("it.redis", providers.gradleProperty("itRedis").getOrElse("docker"))
 }
 
 tasks.test {
@@ -79,3 +108,58 @@ tasks.named<Test>("integrationTest") {
     outputs.upToDateWhen { false }
     outputs.cacheIf { false }
 }
+
+// Microbenchmarks in src/jmh, run with `./gradlew jmh [-PjmhIncludes=<regex>]`
+jmh {
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    includes = listOf(providers.gradleProperty("jmhIncludes").getOrElse(".*"))
+}
+tasks.named("jmhJar") {
+    notCompatibleWithConfigurationCache("the JMH plugin's jar task captures the project")
+}
+
+// Property conditions (repository mode, change feed, async lock release) are evaluated when the
+// AOT context is generated; pass the deployment's values, e.g. -PaotProperties=app.repo.mode=redis
+tasks.named<JavaExec>("processAot") {
+    providers.gradleProperty("aotProperties").orNull
+        ?.split(",")
+        ?.map { it.split("=", limit = 2) }
+        ?.forEach { (key, value) -> systemProperty(key.trim(), value.trim()) }
+}
+
+// Fast-start artifact: the AOT-processed boot jar, extracted for Class Data Sharing, plus a CDS
+// archive dumped by a training run (see TrainingRun; needs Redis). Build with `./gradlew
+// cdsArchive`, then start from build/cds with
+//   java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar <jar>
+val cdsDir = layout.buildDirectory.dir("cds")
+val bootJarFile = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+    .flatMap { it.archiveFile }
+
+val cdsExtract by tasks.registering(JavaExec::class) {
+    description = "Extracts the boot jar into the layout required by CDS."
+    group = "build"
+    inputs.file(bootJarFile)
+    outputs.dir(cdsDir)
+    classpath(bootJarFile)
+    mainClass = "org.springframework.boot.loader.launch.JarLauncher"
+    systemProperty("jarmode", "tools")
+    args("extract", "--force", "--destination", cdsDir.get().asFile.path)
+}
+
+val cdsArchive by tasks.registering(Exec::class) {
+    description = "Dumps a CDS archive from a training run of the extracted jar."
+    group = "build"
+    dependsOn(cdsExtract)
+    outputs.file(cdsDir.map { it.file("application.jsa") })
+    workingDir(cdsDir)
+    // started exactly like the deployed jar: the archive is only used with the same class path
+    executable(javaToolchains.launcherFor(java.toolchain).get().executablePath.asFile)
+    args(
+        "-XX:ArchiveClassesAtExit=application.jsa",
+        "-Dspring.aot.enabled=true",
+        "-jar", bootJarFile.get().asFile.name,
+        "--server.port=0",
+        "--app.training.enabled=true")
+}
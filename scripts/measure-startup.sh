@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Measures the startup time and the time to first request of the ticketing service.
+#
+# Starts the given command several times, each with --server.port=$PORT (default 18081), and
+# polls POST /tickets until it returns 201. Prints the startup time Spring Boot logs and the time
+# from launch until the first ticket was created, i.e. what a new pod adds before taking traffic.
+#
+# Usage: scripts/measure-startup.sh <runs> <command...>
+#   scripts/measure-startup.sh 5 java -jar build/libs/ticketing-system-0.0.1-SNAPSHOT.jar
+#   cd build/cds && ../../scripts/measure-startup.sh 5 java -XX:SharedArchiveFile=application.jsa \
+#       -Dspring.aot.enabled=true -jar ticketing-system-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+runs=$1
+shift
+port=${PORT:-18081}
+log=$(mktemp)
+trap 'rm -f "$log"' EXIT
+
+for i in $(seq "$runs"); do
+  start=$(date +%s%N)
+  "$@" --server.port="$port" > "$log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null -X POST "localhost:$port/tickets" -H 'Content-Type: application/json' \
+      -d '{"userId":"user-1","subject":"Startup probe","description":"First request"}'; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      cat "$log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  first=$(( ($(date +%s%N) - start) / 1000000 ))
+  started=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' || echo "?")
+  kill "$pid"
+  wait "$pid" || true
+  echo "run $i: started in ${started} s, first request after ${first} ms"
+done
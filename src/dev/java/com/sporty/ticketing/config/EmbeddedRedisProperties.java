@@ -0,0 +1,102 @@
+package com.sporty.ticketing.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-process Redis stand-in used for offline development.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.embedded-redis}; they
+ * are read before the application context exists (see
+ * {@link com.sporty.ticketing.embedded.EmbeddedRedisEnvironmentPostProcessor}), so they can only be
+ * set in configuration files, system properties or the environment. Example configuration in
+ * {@code application-dev.yml}:
+ * <pre>
+ * app:
+ *   embedded-redis:
+ *     enabled: true
+ *     port: 6379
+ *     latency-micros: 500
+ *     command-latency-micros:
+ *       EVALSHA: 800
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.embedded-redis")
+public class EmbeddedRedisProperties {
+
+    /**
+     * Whether to start the embedded server and point {@code spring.data.redis.host/port} at it.
+     * Defaults to {@code false}; enabled by the {@code dev} profile.
+     */
+    private boolean enabled = false;
+
+    /** Port to listen on (loopback only); {@code 0} picks a free port. Defaults to {@code 0}. */
+    private int port = 0;
+
+    /** Simulated network round-trip time, in microseconds. Defaults to {@code 0}. */
+    private long latencyMicros = 0;
+
+    /**
+     * Maximum random jitter added to each round trip, in microseconds, drawn from a generator
+     * seeded with {@link #seed}. Defaults to {@code 0}.
+     */
+    private long jitterMicros = 0;
+
+    /** Seed of the jitter generator. Defaults to {@code 1}. */
+    private long seed = 1;
+
+    /**
+     * Round-trip times overriding {@link #latencyMicros} for batches starting with the given
+     * command, e.g. {@code EVALSHA}. Ignored when {@link #jitterMicros} is set.
+     */
+    private Map<String, Long> commandLatencyMicros = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public void setLatencyMicros(long latencyMicros) {
+        this.latencyMicros = latencyMicros;
+    }
+
+    public long getJitterMicros() {
+        return jitterMicros;
+    }
+
+    public void setJitterMicros(long jitterMicros) {
+        this.jitterMicros = jitterMicros;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Map<String, Long> getCommandLatencyMicros() {
+        return commandLatencyMicros;
+    }
+
+    public void setCommandLatencyMicros(Map<String, Long> commandLatencyMicros) {
+        this.commandLatencyMicros = commandLatencyMicros;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sporty.ticketing.embedded;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+/**
+ * One client connection of the {@link EmbeddedRedisServer}, served by its own thread.
+ * <p>
+ * Holds the per-connection state: negotiated protocol, name, pub/sub subscriptions and
+ * {@code CLIENT TRACKING} mode. Replies are buffered and flushed once no further pipelined input is
+ * waiting; push messages (invalidations, pub/sub) are written and flushed right away by whichever
+ * thread produces them.
+ */
+final class Client implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(Client.class);
+
+    final long id;
+    volatile int protocol = 2;
+    @Nullable
+    volatile String name;
+
+    final Set<String> channels = new LinkedHashSet<>();
+    final Set<String> patterns = new LinkedHashSet<>();
+
+    boolean tracking;
+    boolean broadcast;
+    boolean noLoop;
+    final List<String> prefixes = new ArrayList<>();
+
+    private final EmbeddedRedisServer server;
+    @Nullable
+    private final Socket socket;
+    @Nullable
+    private final OutputStream out;
+
+    Client(long id, EmbeddedRedisServer server, @Nullable Socket socket) throws IOException {
+        this.id = id;
+        this.server = server;
+        this.socket = socket;
+        this.out = socket == null ? null : new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+    }
+
+    /** Creates the pseudo client that runs {@code redis.call} from scripts; it has no connection. */
+    static Client scripting(EmbeddedRedisServer server) {
+        try {
+            return new Client(0, server, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    boolean subscribed() {
+        return !channels.isEmpty() || !patterns.isEmpty();
+    }
+
+    @Override
+    public void run() {
+        try (Socket s = socket) {
+            InputStream in = new BufferedInputStream(s.getInputStream(), 16 * 1024);
+            long replyDelay = -1;
+            while (true) {
+                List<String> command = Resp.readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                String name = command.get(0).toUpperCase(Locale.ROOT);
+                if (replyDelay < 0) {
+                    long rtt = server.latency().roundTripNanos(name);
+                    park(rtt / 2);
+                    replyDelay = rtt - rtt / 2;
+                }
+                Object reply = server.execute(this, name, command);
+                synchronized (out) {
+                    Resp.write(out, reply, protocol);
+                }
+                boolean quit = name.equals("QUIT");
+                if (quit || in.available() == 0) {
+                    park(replyDelay);
+                    replyDelay = -1;
+                    synchronized (out) {
+                        out.flush();
+                    }
+                }
+                if (quit) {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!server.isClosed()) {
+                log.debug("Embedded Redis connection {} closed: {}", id, e.toString());
+            }
+        } finally {
+            server.disconnected(this);
+        }
+    }
+
+    /**
+     * Sends a push message, e.g. an {@code invalidate} or a pub/sub {@code message}.
+     *
+     * @param items the message, starting with its type
+     */
+    void push(List<Object> items) {
+        if (out == null) {
+            return;
+        }
+        try {
+            synchronized (out) {
+                Resp.write(out, new Resp.Push(items), protocol);
+                out.flush();
+            }
+        } catch (IOException e) {
+            log.debug("Could not push to embedded Redis connection {}: {}", id, e.toString());
+            close();
+        }
+    }
+
+    void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+
+    private static void park(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+}
@@ -0,0 +1,1119 @@
+package com.sporty.ticketing.embedded;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.lang.Nullable;
+
+/**
+ * The commands of the embedded server: the subset used by the application (locks, the ticket
+ * repository, agent loads, the change feed, client-side caching) plus what clients send on their
+ * own ({@code HELLO}, {@code CLIENT SETINFO}, {@code INFO}, {@code PING}) and a few neighbours of
+ * each, so that {@code redis-cli} sessions against a dev instance behave as expected.
+ * <p>
+ * {@link #execute} runs with {@link Keyspace#lock} held; unknown commands and unsupported options
+ * are answered with an error rather than ignored.
+ */
+final class Commands {
+
+    static final String VERSION = "7.2.4";
+
+    private static final Set<String> SUBSCRIBED_MODE = Set.of(
+            "SUBSCRIBE", "UNSUBSCRIBE", "PSUBSCRIBE", "PUNSUBSCRIBE", "PING", "QUIT", "RESET");
+    private static final Set<String> NOT_IN_SCRIPTS = Set.of(
+            "EVAL", "EVALSHA", "SCRIPT", "SUBSCRIBE", "UNSUBSCRIBE", "PSUBSCRIBE", "PUNSUBSCRIBE",
+            "CLIENT", "HELLO", "QUIT", "FLUSHALL", "FLUSHDB");
+
+    private final EmbeddedRedisServer server;
+    private final Keyspace keyspace;
+    private final LuaScripting scripting;
+    private final Client scriptClient;
+    private final Map<String, Set<Client>> channels = new HashMap<>();
+    private final Map<String, Set<Client>> patterns = new HashMap<>();
+
+    Commands(EmbeddedRedisServer server, Keyspace keyspace) {
+        this.server = server;
+        this.keyspace = keyspace;
+        this.scriptClient = Client.scripting(server);
+        this.scripting = new LuaScripting(this);
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param c    the calling client
+     * @param name the command name, upper case
+     * @param a    the command and its arguments
+     * @return the reply
+     */
+    @Nullable
+    Object execute(Client c, String name, List<String> a) {
+        if (c.subscribed() && c.protocol == 2 && !SUBSCRIBED_MODE.contains(name)) {
+            throw new RespError("ERR Can't execute '" + name.toLowerCase(Locale.ROOT)
+                    + "': only (P)SUBSCRIBE / (P)UNSUBSCRIBE / PING / QUIT / RESET are allowed in this context");
+        }
+        return switch (name) {
+            // connection and server
+            case "PING" -> ping(c, a);
+            case "ECHO" -> arg(a, 1, 2);
+            case "QUIT", "AUTH" -> Resp.OK;
+            case "SELECT" -> select(a);
+            case "HELLO" -> hello(c, a);
+            case "CLIENT" -> client(c, a);
+            case "INFO" -> info();
+            case "TIME" -> time();
+            case "COMMAND" -> List.of();
+            case "CONFIG" -> config(a);
+            case "DBSIZE" -> (long) keyspace.size();
+            case "FLUSHALL", "FLUSHDB" -> {
+                keyspace.flush();
+                yield Resp.OK;
+            }
+            // pub/sub
+            case "SUBSCRIBE" -> subscribe(c, a, false);
+            case "PSUBSCRIBE" -> subscribe(c, a, true);
+            case "UNSUBSCRIBE" -> unsubscribe(c, a, false);
+            case "PUNSUBSCRIBE" -> unsubscribe(c, a, true);
+            case "PUBLISH" -> publish(a);
+            // keys
+            case "DEL", "UNLINK" -> del(c, a);
+            case "EXISTS" -> exists(c, a);
+            case "EXPIRE" -> expire(c, a, TimeUnit.SECONDS);
+            case "PEXPIRE" -> expire(c, a, TimeUnit.MILLISECONDS);
+            case "PERSIST" -> persist(c, a);
+            case "TTL" -> ttl(a, TimeUnit.SECONDS);
+            case "PTTL" -> ttl(a, TimeUnit.MILLISECONDS);
+            case "TYPE" -> type(a);
+            case "KEYS" -> keys(a);
+            case "SCAN" -> scan(a);
+            // strings
+            case "GET" -> keyspace.read(c, arg(a, 1, 2), String.class);
+            case "SET" -> set(c, a);
+            case "SETNX" -> set(c, List.of("SET", arg(a, 1, 3), arg(a, 2, 3), "NX")) == null ? 0L : 1L;
+            case "GETDEL" -> getdel(c, a);
+            case "MGET" -> mget(c, a);
+            case "MSET" -> mset(c, a);
+            case "INCR" -> incrBy(c, arg(a, 1, 2), 1);
+            case "DECR" -> incrBy(c, arg(a, 1, 2), -1);
+            case "INCRBY" -> incrBy(c, arg(a, 1, 3), integer(arg(a, 2, 3)));
+            case "DECRBY" -> incrBy(c, arg(a, 1, 3), -integer(arg(a, 2, 3)));
+            // hashes
+            case "HSET", "HMSET" -> hset(c, name, a);
+            case "HGET" -> hget(c, a);
+            case "HMGET" -> hmget(c, a);
+            case "HGETALL" -> hgetall(c, a);
+            case "HDEL" -> hdel(c, a);
+            case "HINCRBY" -> hincrby(c, a);
+            case "HLEN" -> (long) hash(c, arg(a, 1, 2)).size();
+            case "HEXISTS" -> hash(c, arg(a, 1, 3)).containsKey(a.get(2)) ? 1L : 0L;
+            case "HKEYS" -> new ArrayList<Object>(hash(c, arg(a, 1, 2)).keySet());
+            case "HVALS" -> new ArrayList<Object>(hash(c, arg(a, 1, 2)).values());
+            // sorted sets
+            case "ZADD" -> zadd(c, a);
+            case "ZINCRBY" -> zincrby(c, a);
+            case "ZREM" -> zrem(c, a);
+            case "ZSCORE" -> zscore(c, a);
+            case "ZCARD" -> (long) zset(c, arg(a, 1, 2)).size();
+            case "ZCOUNT" -> zcount(c, a);
+            case "ZRANGE" -> zrange(c, a, false);
+            case "ZREVRANGE" -> zrange(c, a, true);
+            case "ZRANGEBYSCORE" -> zrangeByScore(c, a, 1, false);
+            case "ZREVRANGEBYSCORE" -> zrangeByScore(c, a, 1, true);
+            case "ZPOPMIN" -> zpop(c, a, false);
+            case "ZPOPMAX" -> zpop(c, a, true);
+            case "ZRANK" -> zrank(c, a);
+            // streams
+            case "XADD" -> xadd(c, a);
+            case "XLEN" -> xlen(c, a);
+            case "XRANGE" -> xrange(c, a, false);
+            case "XREVRANGE" -> xrange(c, a, true);
+            case "XREAD" -> xread(c, a);
+            case "XTRIM" -> xtrim(c, a);
+            // scripting
+            case "EVAL", "EVAL_RO" -> eval(a, false);
+            case "EVALSHA", "EVALSHA_RO" -> eval(a, true);
+            case "SCRIPT" -> script(a);
+            default -> throw new RespError("ERR unknown command '" + a.get(0) + "', with args beginning with: "
+                    + String.join(" ", a.subList(1, Math.min(a.size(), 4))));
+        };
+    }
+
+    /**
+     * Runs a command on behalf of a script ({@code redis.call}).
+     *
+     * @param a the command and its arguments
+     * @return the reply
+     * @throws RespError if the command fails or may not be called from scripts
+     */
+    @Nullable
+    Object call(List<String> a) {
+        if (a.isEmpty()) {
+            throw new RespError("ERR Please specify at least one argument for this redis lib call");
+        }
+        String name = a.get(0).toUpperCase(Locale.ROOT);
+        if (NOT_IN_SCRIPTS.contains(name)) {
+            throw new RespError("ERR This Redis command is not allowed from script");
+        }
+        return execute(scriptClient, name, a);
+    }
+
+    /** Forgets a disconnected client's subscriptions and tracking state. */
+    void disconnected(Client c) {
+        c.channels.forEach(ch -> unsubscribed(channels, ch, c));
+        c.patterns.forEach(p -> unsubscribed(patterns, p, c));
+        keyspace.stopTracking(c);
+    }
+
+    void flushScripts() {
+        scripting.flush();
+    }
+
+    // ---- connection and server ----
+
+    private Object ping(Client c, List<String> a) {
+        if (c.subscribed() && c.protocol == 2) {
+            return List.of("pong", a.size() > 1 ? a.get(1) : "");
+        }
+        return a.size() > 1 ? a.get(1) : Resp.PONG;
+    }
+
+    private static Object select(List<String> a) {
+        if (integer(arg(a, 1, 2)) != 0) {
+            throw new RespError("ERR DB index is out of range");
+        }
+        return Resp.OK;
+    }
+
+    private Object hello(Client c, List<String> a) {
+        int protocol = c.protocol;
+        int i = 1;
+        if (a.size() > 1) {
+            long requested;
+            try {
+                requested = Long.parseLong(a.get(1));
+            } catch (NumberFormatException e) {
+                throw new RespError("ERR Protocol version is not an integer or out of range");
+            }
+            if (requested != 2 && requested != 3) {
+                throw new RespError("NOPROTO unsupported protocol version");
+            }
+            protocol = (int) requested;
+            i = 2;
+        }
+        for (; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "AUTH" -> i += 2;
+                case "SETNAME" -> c.name = arg(a, ++i, i + 1);
+                default -> throw RespError.SYNTAX;
+            }
+        }
+        c.protocol = protocol;
+        var reply = new LinkedHashMap<String, Object>();
+        reply.put("server", "redis");
+        reply.put("version", VERSION);
+        reply.put("proto", (long) protocol);
+        reply.put("id", c.id);
+        reply.put("mode", "standalone");
+        reply.put("role", "master");
+        reply.put("modules", List.of());
+        return reply;
+    }
+
+    private Object client(Client c, List<String> a) {
+        String sub = arg(a, 1, 2).toUpperCase(Locale.ROOT);
+        return switch (sub) {
+            case "ID" -> c.id;
+            case "SETNAME" -> {
+                c.name = arg(a, 2, 3);
+                yield Resp.OK;
+            }
+            case "GETNAME" -> c.name;
+            case "SETINFO" -> {
+                arg(a, 3, 4);
+                yield Resp.OK;
+            }
+            case "LIST" -> server.clientList();
+            case "PAUSE" -> {
+                server.pause(integer(arg(a, 2, 3)));
+                yield Resp.OK;
+            }
+            case "UNPAUSE" -> {
+                server.pause(0);
+                yield Resp.OK;
+            }
+            case "TRACKING" -> tracking(c, a);
+            default -> throw new RespError("ERR unknown subcommand '" + a.get(1) + "'. Try CLIENT HELP.");
+        };
+    }
+
+    private Object tracking(Client c, List<String> a) {
+        String mode = arg(a, 2, 3).toUpperCase(Locale.ROOT);
+        if (mode.equals("OFF")) {
+            keyspace.stopTracking(c);
+            c.tracking = false;
+            c.broadcast = false;
+            c.noLoop = false;
+            c.prefixes.clear();
+            return Resp.OK;
+        }
+        if (!mode.equals("ON")) {
+            throw RespError.SYNTAX;
+        }
+        boolean bcast = false;
+        boolean noLoop = false;
+        var prefixes = new ArrayList<String>();
+        for (int i = 3; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "BCAST" -> bcast = true;
+                case "NOLOOP" -> noLoop = true;
+                case "PREFIX" -> prefixes.add(arg(a, ++i, i + 1));
+                case "REDIRECT", "OPTIN", "OPTOUT" -> throw new RespError(
+                        "ERR CLIENT TRACKING " + a.get(i) + " is not supported by the embedded server");
+                default -> throw RespError.SYNTAX;
+            }
+        }
+        if (!prefixes.isEmpty() && !bcast) {
+            throw new RespError("ERR PREFIX option requires BCAST mode to be enabled");
+        }
+        keyspace.stopTracking(c);
+        c.tracking = true;
+        c.broadcast = bcast;
+        c.noLoop = noLoop;
+        c.prefixes.clear();
+        c.prefixes.addAll(prefixes);
+        keyspace.startTracking(c);
+        return Resp.OK;
+    }
+
+    private String info() {
+        return "# Server\r\n"
+                + "redis_version:" + VERSION + "\r\n"
+                + "redis_mode:standalone\r\n"
+                + "executable:embedded\r\n"
+                + "tcp_port:" + server.getPort() + "\r\n"
+                + "\r\n# Clients\r\n"
+                + "connected_clients:" + server.clientCount() + "\r\n"
+                + "\r\n# Keyspace\r\n"
+                + "db0:keys=" + keyspace.size() + "\r\n";
+    }
+
+    private static Object time() {
+        long micros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return List.of(Long.toString(micros / 1_000_000), Long.toString(micros % 1_000_000));
+    }
+
+    private static Object config(List<String> a) {
+        if (!arg(a, 1, 2).equalsIgnoreCase("GET")) {
+            throw new RespError("ERR CONFIG " + a.get(1) + " is not supported by the embedded server");
+        }
+        return List.of();
+    }
+
+    // ---- pub/sub ----
+
+    private Object subscribe(Client c, List<String> a, boolean pattern) {
+        arg(a, 1, 2);
+        var replies = new ArrayList<Object>();
+        for (String ch : a.subList(1, a.size())) {
+            if ((pattern ? c.patterns : c.channels).add(ch)) {
+                (pattern ? patterns : channels).computeIfAbsent(ch, k -> new LinkedHashSet<>()).add(c);
+            }
+            replies.add(new Resp.Push(List.of(pattern ? "psubscribe" : "subscribe", ch,
+                    (long) (c.channels.size() + c.patterns.size()))));
+        }
+        return new Resp.Many(replies);
+    }
+
+    private Object unsubscribe(Client c, List<String> a, boolean pattern) {
+        Set<String> own = pattern ? c.patterns : c.channels;
+        List<String> names = a.size() > 1 ? a.subList(1, a.size()) : List.copyOf(own);
+        String type = pattern ? "punsubscribe" : "unsubscribe";
+        var replies = new ArrayList<Object>();
+        for (String ch : names) {
+            if (own.remove(ch)) {
+                unsubscribed(pattern ? patterns : channels, ch, c);
+            }
+            replies.add(new Resp.Push(List.of(type, ch, (long) (c.channels.size() + c.patterns.size()))));
+        }
+        if (replies.isEmpty()) {
+            replies.add(new Resp.Push(Arrays.asList(type, null, (long) (c.channels.size() + c.patterns.size()))));
+        }
+        return new Resp.Many(replies);
+    }
+
+    private static void unsubscribed(Map<String, Set<Client>> registry, String name, Client c) {
+        Set<Client> clients = registry.get(name);
+        if (clients != null && clients.remove(c) && clients.isEmpty()) {
+            registry.remove(name);
+        }
+    }
+
+    private Object publish(List<String> a) {
+        String ch = arg(a, 1, 3);
+        String message = arg(a, 2, 3);
+        long receivers = 0;
+        for (Client s : channels.getOrDefault(ch, Set.of())) {
+            s.push(List.of("message", ch, message));
+            receivers++;
+        }
+        for (var e : patterns.entrySet()) {
+            if (Glob.matches(e.getKey(), ch)) {
+                for (Client s : e.getValue()) {
+                    s.push(List.of("pmessage", e.getKey(), ch, message));
+                    receivers++;
+                }
+            }
+        }
+        return receivers;
+    }
+
+    // ---- keys ----
+
+    private Object del(Client c, List<String> a) {
+        arg(a, 1, 2);
+        long n = 0;
+        for (String key : a.subList(1, a.size())) {
+            if (keyspace.remove(c, key)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private Object exists(Client c, List<String> a) {
+        arg(a, 1, 2);
+        long n = 0;
+        for (String key : a.subList(1, a.size())) {
+            if (keyspace.read(c, key, Object.class) != null) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private Object expire(Client c, List<String> a, TimeUnit unit) {
+        if (a.size() != 3) {
+            throw RespError.arity(a.get(0));
+        }
+        String key = a.get(1);
+        long amount = integer(a.get(2));
+        if (keyspace.get(key) == null) {
+            return 0L;
+        }
+        keyspace.expireAt(c, key, System.currentTimeMillis() + unit.toMillis(amount));
+        return 1L;
+    }
+
+    private Object persist(Client c, List<String> a) {
+        String key = arg(a, 1, 2);
+        if (keyspace.expireAt(key) == null) {
+            return 0L;
+        }
+        keyspace.expireAt(c, key, null);
+        return 1L;
+    }
+
+    private Object ttl(List<String> a, TimeUnit unit) {
+        String key = arg(a, 1, 2);
+        if (keyspace.get(key) == null) {
+            return -2L;
+        }
+        Long at = keyspace.expireAt(key);
+        if (at == null) {
+            return -1L;
+        }
+        long ms = Math.max(at - System.currentTimeMillis(), 0);
+        return unit == TimeUnit.SECONDS ? (ms + 500) / 1000 : ms;
+    }
+
+    private Object type(List<String> a) {
+        return new Resp.Status(switch (keyspace.get(arg(a, 1, 2))) {
+            case null -> "none";
+            case String s -> "string";
+            case Map<?, ?> m -> "hash";
+            case SortedSetValue z -> "zset";
+            case StreamValue s -> "stream";
+            default -> throw new IllegalStateException();
+        });
+    }
+
+    private Object keys(List<String> a) {
+        String pattern = arg(a, 1, 2);
+        var result = new ArrayList<Object>();
+        for (String key : keyspace.keys()) {
+            if (Glob.matches(pattern, key)) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    /** Returns every matching key in one page; {@code COUNT} is only a hint in Redis as well. */
+    private Object scan(List<String> a) {
+        integer(arg(a, 1, 2));
+        String pattern = "*";
+        for (int i = 2; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "MATCH" -> pattern = arg(a, ++i, i + 1);
+                case "COUNT" -> integer(arg(a, ++i, i + 1));
+                default -> throw RespError.SYNTAX;
+            }
+        }
+        return List.of("0", keys(List.of("KEYS", pattern)));
+    }
+
+    // ---- strings ----
+
+    @Nullable
+    private Object set(Client c, List<String> a) {
+        String key = arg(a, 1, 3);
+        String value = arg(a, 2, 3);
+        boolean nx = false;
+        boolean xx = false;
+        boolean get = false;
+        boolean keepTtl = false;
+        Long expireAt = null;
+        for (int i = 3; i < a.size(); i++) {
+            String option = a.get(i).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "GET" -> get = true;
+                case "KEEPTTL" -> keepTtl = true;
+                case "EX", "PX", "EXAT", "PXAT" -> {
+                    long n = integer(arg(a, ++i, i + 1));
+                    if (n <= 0) {
+                        throw new RespError("ERR invalid expire time in 'set' command");
+                    }
+                    long now = System.currentTimeMillis();
+                    expireAt = switch (option) {
+                        case "EX" -> now + TimeUnit.SECONDS.toMillis(n);
+                        case "PX" -> now + n;
+                        case "EXAT" -> TimeUnit.SECONDS.toMillis(n);
+                        default -> n;
+                    };
+                }
+                default -> throw RespError.SYNTAX;
+            }
+        }
+        if ((nx && xx) || (keepTtl && expireAt != null)) {
+            throw RespError.SYNTAX;
+        }
+        Object old = keyspace.get(key);
+        if (get && old != null && !(old instanceof String)) {
+            throw RespError.WRONGTYPE;
+        }
+        if ((nx && old != null) || (xx && old == null)) {
+            return get ? old : null;
+        }
+        keyspace.put(c, key, value, keepTtl);
+        if (expireAt != null) {
+            keyspace.expireAt(c, key, expireAt);
+        }
+        return get ? old : Resp.OK;
+    }
+
+    @Nullable
+    private Object getdel(Client c, List<String> a) {
+        String key = arg(a, 1, 2);
+        String value = keyspace.read(c, key, String.class);
+        if (value != null) {
+            keyspace.remove(c, key);
+        }
+        return value;
+    }
+
+    private Object mget(Client c, List<String> a) {
+        arg(a, 1, 2);
+        var result = new ArrayList<Object>(a.size() - 1);
+        for (String key : a.subList(1, a.size())) {
+            Object v = keyspace.read(c, key, Object.class);
+            result.add(v instanceof String ? v : null);
+        }
+        return result;
+    }
+
+    private Object mset(Client c, List<String> a) {
+        if (a.size() < 3 || a.size() % 2 == 0) {
+            throw RespError.arity(a.get(0));
+        }
+        for (int i = 1; i < a.size(); i += 2) {
+            keyspace.put(c, a.get(i), a.get(i + 1), false);
+        }
+        return Resp.OK;
+    }
+
+    private Object incrBy(Client c, String key, long delta) {
+        String old = keyspace.read(c, key, String.class);
+        long value = Math.addExact(old == null ? 0 : integer(old), delta);
+        keyspace.put(c, key, Long.toString(value), true);
+        return value;
+    }
+
+    // ---- hashes ----
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> hash(Client c, String key) {
+        Map<String, String> h = keyspace.read(c, key, Map.class);
+        return h == null ? Map.of() : h;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> writableHash(String key) {
+        return keyspace.write(key, Map.class, LinkedHashMap::new);
+    }
+
+    private Object hset(Client c, String name, List<String> a) {
+        if (a.size() < 4 || a.size() % 2 != 0) {
+            throw RespError.arity(name);
+        }
+        Map<String, String> h = writableHash(a.get(1));
+        long added = 0;
+        for (int i = 2; i < a.size(); i += 2) {
+            if (h.put(a.get(i), a.get(i + 1)) == null) {
+                added++;
+            }
+        }
+        keyspace.modified(c, a.get(1));
+        return name.equals("HMSET") ? Resp.OK : added;
+    }
+
+    @Nullable
+    private Object hget(Client c, List<String> a) {
+        return hash(c, arg(a, 1, 3)).get(arg(a, 2, 3));
+    }
+
+    private Object hmget(Client c, List<String> a) {
+        Map<String, String> h = hash(c, arg(a, 1, 3));
+        var result = new ArrayList<Object>();
+        for (String field : a.subList(2, a.size())) {
+            result.add(h.get(field));
+        }
+        return result;
+    }
+
+    private Object hgetall(Client c, List<String> a) {
+        return new LinkedHashMap<Object, Object>(hash(c, arg(a, 1, 2)));
+    }
+
+    private Object hdel(Client c, List<String> a) {
+        String key = arg(a, 1, 3);
+        Map<String, String> h = keyspace.get(key) == null ? Map.of() : writableHash(key);
+        long removed = 0;
+        for (String field : a.subList(2, a.size())) {
+            if (h.remove(field) != null) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            keyspace.removeIfEmpty(key, h.size());
+            keyspace.modified(c, key);
+        }
+        return removed;
+    }
+
+    private Object hincrby(Client c, List<String> a) {
+        if (a.size() != 4) {
+            throw RespError.arity(a.get(0));
+        }
+        long delta = integer(a.get(3));
+        Map<String, String> h = writableHash(a.get(1));
+        String old = h.get(a.get(2));
+        long value;
+        try {
+            value = Math.addExact(old == null ? 0 : Long.parseLong(old), delta);
+        } catch (NumberFormatException e) {
+            keyspace.removeIfEmpty(a.get(1), h.size());
+            throw new RespError("ERR hash value is not an integer");
+        }
+        h.put(a.get(2), Long.toString(value));
+        keyspace.modified(c, a.get(1));
+        return value;
+    }
+
+    // ---- sorted sets ----
+
+    private SortedSetValue zset(Client c, String key) {
+        SortedSetValue z = keyspace.read(c, key, SortedSetValue.class);
+        return z == null ? new SortedSetValue() : z;
+    }
+
+    @Nullable
+    private Object zadd(Client c, List<String> a) {
+        String key = arg(a, 1, 4);
+        boolean nx = false;
+        boolean xx = false;
+        boolean gt = false;
+        boolean lt = false;
+        boolean ch = false;
+        boolean incr = false;
+        int i = 2;
+        flags:
+        for (; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "GT" -> gt = true;
+                case "LT" -> lt = true;
+                case "CH" -> ch = true;
+                case "INCR" -> incr = true;
+                default -> {
+                    break flags;
+                }
+            }
+        }
+        int pairs = a.size() - i;
+        if (pairs <= 0 || pairs % 2 != 0) {
+            throw RespError.SYNTAX;
+        }
+        if ((nx && xx) || (nx && (gt || lt)) || (gt && lt)) {
+            throw new RespError("ERR GT, LT, and/or NX options at the same time are not compatible");
+        }
+        if (incr && pairs != 2) {
+            throw new RespError("ERR INCR option supports a single increment-element pair");
+        }
+        var scores = new double[pairs / 2];
+        for (int p = 0; p < scores.length; p++) {
+            scores[p] = number(a.get(i + 2 * p));
+        }
+        SortedSetValue z = keyspace.write(key, SortedSetValue.class, SortedSetValue::new);
+        long changed = 0;
+        Double result = null;
+        for (int p = 0; p < scores.length; p++) {
+            String member = a.get(i + 2 * p + 1);
+            Double old = z.score(member);
+            double score = incr && old != null ? old + scores[p] : scores[p];
+            if ((nx && old != null) || (xx && old == null)
+                    || (old != null && ((gt && score <= old) || (lt && score >= old)))) {
+                continue;
+            }
+            if (old == null || old != score) {
+                z.put(member, score);
+                changed += old == null || ch ? 1 : 0;
+            }
+            result = score;
+        }
+        keyspace.removeIfEmpty(key, z.size());
+        if (changed > 0 || result != null) {
+            keyspace.modified(c, key);
+        }
+        if (incr) {
+            return result == null ? null : score(result);
+        }
+        return changed;
+    }
+
+    private Object zincrby(Client c, List<String> a) {
+        if (a.size() != 4) {
+            throw RespError.arity(a.get(0));
+        }
+        double delta = number(a.get(2));
+        SortedSetValue z = keyspace.write(a.get(1), SortedSetValue.class, SortedSetValue::new);
+        Double old = z.score(a.get(3));
+        double score = (old == null ? 0 : old) + delta;
+        if (Double.isNaN(score)) {
+            keyspace.removeIfEmpty(a.get(1), z.size());
+            throw new RespError("ERR resulting score is not a number (NaN)");
+        }
+        z.put(a.get(3), score);
+        keyspace.modified(c, a.get(1));
+        return score(score);
+    }
+
+    private Object zrem(Client c, List<String> a) {
+        String key = arg(a, 1, 3);
+        if (keyspace.get(key) == null) {
+            return 0L;
+        }
+        SortedSetValue z = keyspace.write(key, SortedSetValue.class, SortedSetValue::new);
+        long removed = 0;
+        for (String member : a.subList(2, a.size())) {
+            if (z.remove(member)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            keyspace.removeIfEmpty(key, z.size());
+            keyspace.modified(c, key);
+        }
+        return removed;
+    }
+
+    @Nullable
+    private Object zscore(Client c, List<String> a) {
+        Double s = zset(c, arg(a, 1, 3)).score(arg(a, 2, 3));
+        return s == null ? null : score(s);
+    }
+
+    private Object zcount(Client c, List<String> a) {
+        Bound min = Bound.parse(arg(a, 2, 4));
+        Bound max = Bound.parse(arg(a, 3, 4));
+        return (long) zset(c, a.get(1))
+                .byScore(min.value(), min.exclusive(), max.value(), max.exclusive(), false, 0, -1).size();
+    }
+
+    private Object zrange(Client c, List<String> a, boolean reverse) {
+        String key = arg(a, 1, 4);
+        boolean byScore = false;
+        boolean withScores = false;
+        long offset = 0;
+        long count = -1;
+        for (int i = 4; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "BYSCORE" -> byScore = true;
+                case "REV" -> reverse = true;
+                case "WITHSCORES" -> withScores = true;
+                case "LIMIT" -> {
+                    offset = integer(arg(a, ++i, i + 2));
+                    count = integer(a.get(++i));
+                }
+                case "BYLEX" -> throw new RespError("ERR ZRANGE BYLEX is not supported by the embedded server");
+                default -> throw RespError.SYNTAX;
+            }
+        }
+        SortedSetValue z = zset(c, key);
+        List<SortedSetValue.Entry> entries;
+        if (byScore) {
+            Bound from = Bound.parse(a.get(reverse ? 3 : 2));
+            Bound to = Bound.parse(a.get(reverse ? 2 : 3));
+            entries = z.byScore(from.value(), from.exclusive(), to.value(), to.exclusive(), reverse, offset, count);
+        } else {
+            if (count >= 0 || offset > 0) {
+                throw new RespError("ERR syntax error, LIMIT is only supported in combination with either BYSCORE or BYLEX");
+            }
+            entries = z.byRank(integer(a.get(2)), integer(a.get(3)), reverse);
+        }
+        return entries(entries, withScores);
+    }
+
+    private Object zrangeByScore(Client c, List<String> a, int from, boolean reverse) {
+        String key = arg(a, from, from + 3);
+        Bound first = Bound.parse(a.get(from + 1));
+        Bound second = Bound.parse(a.get(from + 2));
+        Bound min = reverse ? second : first;
+        Bound max = reverse ? first : second;
+        boolean withScores = false;
+        long offset = 0;
+        long count = -1;
+        for (int i = from + 3; i < a.size(); i++) {
+            switch (a.get(i).toUpperCase(Locale.ROOT)) {
+                case "WITHSCORES" -> withScores = true;
+                case "LIMIT" -> {
+                    offset = integer(arg(a, ++i, i + 2));
+                    count = integer(a.get(++i));
+                }
+                default -> throw RespError.SYNTAX;
+            }
+        }
+        return entries(zset(c, key).byScore(
+                min.value(), min.exclusive(), max.value(), max.exclusive(), reverse, offset, count), withScores);
+    }
+
+    private Object zpop(Client c, List<String> a, boolean highest) {
+        String key = arg(a, 1, 2);
+        long count = a.size() > 2 ? integer(a.get(2)) : 1;
+        if (keyspace.get(key) == null) {
+            return List.of();
+        }
+        SortedSetValue z = keyspace.write(key, SortedSetValue.class, SortedSetValue::new);
+        var popped = z.pop(count, highest);
+        if (!popped.isEmpty()) {
+            keyspace.removeIfEmpty(key, z.size());
+            keyspace.modified(c, key);
+        }
+        return entries(popped, true);
+    }
+
+    @Nullable
+    private Object zrank(Client c, List<String> a) {
+        SortedSetValue z = zset(c, arg(a, 1, 3));
+        if (z.score(a.get(2)) == null) {
+            return null;
+        }
+        long rank = 0;
+        for (var e : z.byRank(0, -1, false)) {
+            if (e.member().equals(a.get(2))) {
+                return rank;
+            }
+            rank++;
+        }
+        return null;
+    }
+
+    private static List<Object> entries(List<SortedSetValue.Entry> entries, boolean withScores) {
+        var result = new ArrayList<Object>(entries.size() * (withScores ? 2 : 1));
+        for (var e : entries) {
+            result.add(e.member());
+            if (withScores) {
+                result.add(score(e.score()));
+            }
+        }
+        return result;
+    }
+
+    /** A score bound: {@code 1.5}, {@code (1.5} (exclusive), {@code -inf} or {@code +inf}. */
+    private record Bound(double value, boolean exclusive) {
+        static Bound parse(String s) {
+            boolean exclusive = s.startsWith("(");
+            try {
+                return new Bound(number(exclusive ? s.substring(1) : s), exclusive);
+            } catch (RespError e) {
+                throw new RespError("ERR min or max is not a float");
+            }
+        }
+    }
+
+    // ---- streams ----
+
+    private Object xadd(Client c, List<String> a) {
+        String key = arg(a, 1, 5);
+        int i = 2;
+        long maxLen = -1;
+        boolean noMkStream = false;
+        while (i < a.size()) {
+            String option = a.get(i).toUpperCase(Locale.ROOT);
+            if (option.equals("NOMKSTREAM")) {
+                noMkStream = true;
+                i++;
+            } else if (option.equals("MAXLEN")) {
+                i++;
+                if (a.get(i).equals("~") || a.get(i).equals("=")) {
+                    i++;
+                }
+                maxLen = integer(arg(a, i, i + 1));
+                i++;
+                if (i < a.size() && a.get(i).equalsIgnoreCase("LIMIT")) {
+                    integer(arg(a, i + 1, i + 2));
+                    i += 2;
+                }
+            } else if (option.equals("MINID")) {
+                throw new RespError("ERR XADD MINID is not supported by the embedded server");
+            } else {
+                break;
+            }
+        }
+        int fields = a.size() - i - 1;
+        if (fields <= 0 || fields % 2 != 0) {
+            throw RespError.arity(a.get(0));
+        }
+        if (noMkStream && keyspace.get(key) == null) {
+            return null;
+        }
+        StreamValue s = keyspace.write(key, StreamValue.class, StreamValue::new);
+        StreamValue.Id id;
+        try {
+            id = s.add(a.get(i), a.subList(i + 1, a.size()));
+        } catch (RespError e) {
+            if (s.size() == 0 && s.last().equals(StreamValue.Id.MIN)) {
+                keyspace.removeIfEmpty(key, 0);
+            }
+            throw e;
+        }
+        if (maxLen >= 0) {
+            s.trim(maxLen);
+        }
+        keyspace.modified(c, key);
+        keyspace.streamsChanged.signalAll();
+        return id.toString();
+    }
+
+    private Object xlen(Client c, List<String> a) {
+        StreamValue s = keyspace.read(c, arg(a, 1, 2), StreamValue.class);
+        return s == null ? 0L : (long) s.size();
+    }
+
+    private Object xrange(Client c, List<String> a, boolean reverse) {
+        String key = arg(a, 1, 4);
+        String start = a.get(reverse ? 3 : 2);
+        String end = a.get(reverse ? 2 : 3);
+        long count = -1;
+        if (a.size() > 4) {
+            if (a.size() != 6 || !a.get(4).equalsIgnoreCase("COUNT")) {
+                throw RespError.SYNTAX;
+            }
+            count = integer(a.get(5));
+        }
+        StreamValue s = keyspace.read(c, key, StreamValue.class);
+        if (s == null) {
+            return List.of();
+        }
+        boolean fromExclusive = start.startsWith("(");
+        boolean toExclusive = end.startsWith("(");
+        StreamValue.Id from = start.equals("-") ? StreamValue.Id.MIN
+                : StreamValue.Id.parse(fromExclusive ? start.substring(1) : start, false);
+        StreamValue.Id to = end.equals("+") ? StreamValue.Id.MAX
+                : StreamValue.Id.parse(toExclusive ? end.substring(1) : end, true);
+        return s.range(from, fromExclusive, to, toExclusive, count, reverse);
+    }
+
+    private Object xread(Client c, List<String> a) {
+        long count = -1;
+        long block = -1;
+        int i = 1;
+        for (; i < a.size(); i++) {
+            String option = a.get(i).toUpperCase(Locale.ROOT);
+            if (option.equals("COUNT")) {
+                count = integer(arg(a, ++i, i + 1));
+            } else if (option.equals("BLOCK")) {
+                block = integer(arg(a, ++i, i + 1));
+            } else if (option.equals("STREAMS")) {
+                break;
+            } else {
+                throw RespError.SYNTAX;
+            }
+        }
+        int n = a.size() - i - 1;
+        if (i >= a.size() || n <= 0 || n % 2 != 0) {
+            throw new RespError("ERR Unbalanced 'xread' list of streams: for each stream key an ID or '$' must be specified.");
+        }
+        n /= 2;
+        var keys = a.subList(i + 1, i + 1 + n);
+        var ids = new ArrayList<StreamValue.Id>(n);
+        for (int k = 0; k < n; k++) {
+            String id = a.get(i + 1 + n + k);
+            if (id.equals("$")) {
+                StreamValue s = keyspace.read(c, keys.get(k), StreamValue.class);
+                ids.add(s == null ? StreamValue.Id.MIN : s.last());
+            } else {
+                ids.add(StreamValue.Id.parse(id, false));
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(block, 0));
+        while (true) {
+            var result = new ArrayList<Object>();
+            for (int k = 0; k < n; k++) {
+                StreamValue s = keyspace.read(c, keys.get(k), StreamValue.class);
+                if (s != null) {
+                    var entries = s.range(ids.get(k), true, StreamValue.Id.MAX, false, count, false);
+                    if (!entries.isEmpty()) {
+                        result.add(List.of(keys.get(k), entries));
+                    }
+                }
+            }
+            if (!result.isEmpty()) {
+                return result;
+            }
+            long left = deadline - System.nanoTime();
+            if (block < 0 || c == scriptClient || server.isClosed() || (block > 0 && left <= 0)) {
+                return Resp.NIL_ARRAY;
+            }
+            try {
+                keyspace.streamsChanged.awaitNanos(block == 0 ? TimeUnit.SECONDS.toNanos(1) : left);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Resp.NIL_ARRAY;
+            }
+        }
+    }
+
+    private Object xtrim(Client c, List<String> a) {
+        String key = arg(a, 1, 4);
+        if (!a.get(2).equalsIgnoreCase("MAXLEN")) {
+            throw new RespError("ERR XTRIM only supports MAXLEN in the embedded server");
+        }
+        int i = a.get(3).equals("~") || a.get(3).equals("=") ? 4 : 3;
+        long maxLen = integer(arg(a, i, i + 1));
+        if (keyspace.get(key) == null) {
+            return 0L;
+        }
+        long removed = keyspace.write(key, StreamValue.class, StreamValue::new).trim(maxLen);
+        if (removed > 0) {
+            keyspace.modified(c, key);
+        }
+        return removed;
+    }
+
+    // ---- scripting ----
+
+    @Nullable
+    private Object eval(List<String> a, boolean sha) {
+        String script = arg(a, 1, 3);
+        long numKeys = integer(a.get(2));
+        if (numKeys < 0) {
+            throw new RespError("ERR Number of keys can't be negative");
+        }
+        if (numKeys > a.size() - 3) {
+            throw new RespError("ERR Number of keys can't be greater than number of args");
+        }
+        var keys = a.subList(3, 3 + (int) numKeys);
+        var argv = a.subList(3 + (int) numKeys, a.size());
+        return sha ? scripting.evalSha(script.toLowerCase(Locale.ROOT), keys, argv)
+                : scripting.eval(script, keys, argv);
+    }
+
+    private Object script(List<String> a) {
+        return switch (arg(a, 1, 2).toUpperCase(Locale.ROOT)) {
+            case "LOAD" -> scripting.load(arg(a, 2, 3));
+            case "EXISTS" -> {
+                var result = new ArrayList<Object>();
+                for (String sha : a.subList(2, a.size())) {
+                    result.add(scripting.exists(sha.toLowerCase(Locale.ROOT)) ? 1L : 0L);
+                }
+                yield result;
+            }
+            case "FLUSH" -> {
+                scripting.flush();
+                yield Resp.OK;
+            }
+            default -> throw new RespError("ERR unknown subcommand '" + a.get(1) + "'. Try SCRIPT HELP.");
+        };
+    }
+
+    // ---- argument parsing ----
+
+    /** Returns argument {@code i}, failing with an arity error if there are fewer than {@code min}. */
+    private static String arg(List<String> a, int i, int min) {
+        if (a.size() < min || i >= a.size()) {
+            throw RespError.arity(a.get(0));
+        }
+        return a.get(i);
+    }
+
+    static long integer(String s) {
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            throw RespError.NOT_INTEGER;
+        }
+    }
+
+    static double number(String s) {
+        switch (s.toLowerCase(Locale.ROOT)) {
+            case "inf", "+inf" -> {
+                return Double.POSITIVE_INFINITY;
+            }
+            case "-inf" -> {
+                return Double.NEGATIVE_INFINITY;
+            }
+            default -> {
+                try {
+                    double d = Double.parseDouble(s);
+                    if (!Double.isNaN(d)) {
+                        return d;
+                    }
+                } catch (NumberFormatException ignored) {
+                    // fall through
+                }
+                throw RespError.NOT_FLOAT;
+            }
+        }
+    }
+
+    /** Formats a score as Redis does: integral values without a fraction, infinities as {@code inf}. */
+    static String score(double d) {
+        if (Double.isInfinite(d)) {
+            return d > 0 ? "inf" : "-inf";
+        }
+        if (d == Math.rint(d) && Math.abs(d) < 1e17) {
+            return Long.toString((long) d);
+        }
+        return Double.toString(d);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sporty.ticketing.embedded;
+
+import com.sporty.ticketing.config.EmbeddedRedisProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Starts an {@link EmbeddedRedisServer} when {@code app.embedded-redis.enabled} is set (the
+ * {@code dev} profile) and points {@code spring.data.redis.host} and {@code port} at it.
+ * <p>
+ * The server has to be listening before any Redis connection is opened, including the tracking
+ * connection the Redis repository opens in its constructor, and its port is only known once it is
+ * bound; starting it while the environment is prepared covers both. It runs after the
+ * configuration files are loaded and stops with the application context.
+ */
+public class EmbeddedRedisEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String PROPERTY_SOURCE = "embeddedRedis";
+
+    private final Log log;
+
+    /**
+     * Creates a new instance of {@code EmbeddedRedisEnvironmentPostProcessor}.
+     *
+     * @param logFactory factory for logs written once logging is initialized
+     */
+    public EmbeddedRedisEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(EmbeddedRedisEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        var props = Binder.get(environment)
+                .bind("app.embedded-redis", EmbeddedRedisProperties.class)
+                .orElseGet(EmbeddedRedisProperties::new);
+        if (!props.isEnabled() || environment.getPropertySources().contains(PROPERTY_SOURCE)) {
+            return;
+        }
+        var server = new EmbeddedRedisServer(props.getPort());
+        server.setLatency(latency(props));
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded Redis server on port " + props.getPort(), e);
+        }
+        Map<String, Object> redis = new LinkedHashMap<>();
+        redis.put("spring.data.redis.host", server.getHost());
+        redis.put("spring.data.redis.port", server.getPort());
+        environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE, redis));
+        application.addListeners((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof ContextClosedEvent || event instanceof ApplicationFailedEvent) {
+                server.close();
+            }
+        });
+        log.info("Using the embedded Redis server on " + server.getHost() + ":" + server.getPort()
+                + " (round trip " + props.getLatencyMicros() + " us); data is kept in memory only");
+    }
+
+    static Latency latency(EmbeddedRedisProperties props) {
+        Duration roundTrip = Duration.ofNanos(props.getLatencyMicros() * 1000);
+        if (props.getJitterMicros() > 0) {
+            return Latency.jittered(roundTrip, Duration.ofNanos(props.getJitterMicros() * 1000), props.getSeed());
+        }
+        if (!props.getCommandLatencyMicros().isEmpty()) {
+            var overrides = new LinkedHashMap<String, Duration>();
+            props.getCommandLatencyMicros().forEach((command, micros) ->
+                    overrides.put(command, Duration.ofNanos(micros * 1000)));
+            return Latency.perCommand(roundTrip, overrides);
+        }
+        return roundTrip.isZero() ? Latency.none() : Latency.fixed(roundTrip);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
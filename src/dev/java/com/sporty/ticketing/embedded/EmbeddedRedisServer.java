@@ -0,0 +1,248 @@
+package com.sporty.ticketing.embedded;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+/**
+ * An in-process server speaking the Redis protocol (RESP2 and RESP3), for tests, benchmarks and
+ * offline development without a Redis installation or Docker.
+ * <p>
+ * It implements the commands the application uses, with Redis semantics: strings with
+ * {@code SET NX PX} and expiry, hashes, sorted sets, streams with blocking {@code XREAD}, pub/sub,
+ * {@code EVAL}/{@code EVALSHA} (on LuaJ, see {@link LuaScripting}), {@code CLIENT TRACKING} with
+ * RESP3 invalidation pushes, {@code CLIENT PAUSE} and pipelining. Commands run one at a time, as
+ * on Redis, so scripts and {@code SET NX} are atomic; data lives in memory only and is lost on
+ * {@link #close()}.
+ * <p>
+ * A {@link Latency} can be injected to model the network between clients and server, so that lock
+ * contention and handoff can be measured reproducibly on one machine:
+ * <pre>
+ * try (var server = new EmbeddedRedisServer(0).start()) {
+ *     server.setLatency(Latency.fixed(Duration.ofMillis(1)));
+ *     // connect to localhost:server.getPort()
+ * }
+ * </pre>
+ * Each connection is served by its own daemon thread; the server binds to the loopback address
+ * only. It is not a replacement for Redis in production: there is no persistence, replication,
+ * memory limit or authentication, and a few commands accept only the options listed in
+ * {@link Commands}.
+ */
+public final class EmbeddedRedisServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedRedisServer.class);
+
+    private final int requestedPort;
+    private final Keyspace keyspace = new Keyspace();
+    private final Commands commands;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong clientIds = new AtomicLong();
+    private volatile Latency latency = Latency.none();
+    private volatile long pausedUntilNanos;
+    private volatile boolean closed;
+    @Nullable
+    private ServerSocket serverSocket;
+
+    /**
+     * Creates a server; call {@link #start()} to accept connections.
+     *
+     * @param port the port to listen on, or {@code 0} for an ephemeral port
+     */
+    public EmbeddedRedisServer(int port) {
+        this.requestedPort = port;
+        this.commands = new Commands(this, keyspace);
+    }
+
+    /**
+     * Binds the port and starts accepting connections.
+     *
+     * @return this server
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized EmbeddedRedisServer start() throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Embedded Redis server already started");
+        }
+        var socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+        serverSocket = socket;
+        Thread acceptor = new Thread(this::accept, "embedded-redis-" + socket.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Embedded Redis server listening on {}:{}", socket.getInetAddress().getHostAddress(),
+                socket.getLocalPort());
+        return this;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port
+     * @throws IllegalStateException if the server has not been started
+     */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        if (socket == null) {
+            throw new IllegalStateException("Embedded Redis server not started");
+        }
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Returns the host clients connect to.
+     *
+     * @return the loopback address
+     */
+    public String getHost() {
+        return InetAddress.getLoopbackAddress().getHostAddress();
+    }
+
+    /**
+     * Sets the simulated network latency; applies to batches read after the call.
+     *
+     * @param latency the latency model, e.g. {@link Latency#fixed}
+     */
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Deletes every key, as {@code FLUSHALL} does, and forgets all loaded scripts.
+     */
+    public void flushAll() {
+        keyspace.lock.lock();
+        try {
+            keyspace.flush();
+            commands.flushScripts();
+        } finally {
+            keyspace.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes all client connections.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+        clients.forEach(Client::close);
+        keyspace.lock.lock();
+        try {
+            keyspace.streamsChanged.signalAll();
+        } finally {
+            keyspace.lock.unlock();
+        }
+    }
+
+    Latency latency() {
+        return latency;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    String clientList() {
+        var sb = new StringBuilder();
+        for (Client c : clients) {
+            sb.append("id=").append(c.id)
+                    .append(" name=").append(c.name == null ? "" : c.name)
+                    .append(" resp=").append(c.protocol)
+                    .append(" sub=").append(c.channels.size())
+                    .append(" psub=").append(c.patterns.size())
+                    .append(" flags=").append(c.tracking ? "t" : "N")
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** Delays every command until the given number of milliseconds has passed ({@code 0} resumes). */
+    void pause(long millis) {
+        pausedUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+    }
+
+    /**
+     * Runs a command for a client, waiting while clients are paused.
+     *
+     * @return the reply, or the error reply
+     */
+    @Nullable
+    Object execute(Client client, String name, List<String> command) {
+        if (!(name.equals("CLIENT") && command.size() > 1
+                && command.get(1).toUpperCase(Locale.ROOT).equals("UNPAUSE"))) {
+            for (long left; (left = pausedUntilNanos - System.nanoTime()) > 0; ) {
+                LockSupport.parkNanos(left);
+            }
+        }
+        keyspace.lock.lock();
+        try {
+            return commands.execute(client, name, command);
+        } catch (RespError e) {
+            return e;
+        } catch (ArithmeticException e) {
+            return new RespError("ERR increment or decrement would overflow");
+        } finally {
+            keyspace.lock.unlock();
+        }
+    }
+
+    void disconnected(Client client) {
+        clients.remove(client);
+        keyspace.lock.lock();
+        try {
+            commands.disconnected(client);
+        } finally {
+            keyspace.lock.unlock();
+        }
+    }
+
+    private void accept() {
+        ServerSocket socket = serverSocket;
+        while (!closed && socket != null) {
+            try {
+                Socket s = socket.accept();
+                s.setTcpNoDelay(true);
+                var client = new Client(clientIds.incrementAndGet(), this, s);
+                clients.add(client);
+                Thread t = new Thread(client, "embedded-redis-client-" + client.id);
+                t.setDaemon(true);
+                t.start();
+            } catch (SocketException e) {
+                if (!closed) {
+                    log.warn("Embedded Redis server stopped accepting connections: {}", e.toString());
+                }
+                return;
+            } catch (IOException e) {
+                log.warn("Embedded Redis server could not accept a connection: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sporty.ticketing.embedded;
+
+/**
+ * Glob-style patterns as used by {@code KEYS}, {@code SCAN MATCH} and {@code PSUBSCRIBE}:
+ * {@code *}, {@code ?}, {@code [abc]}, {@code [^a]}, {@code [a-z]} and {@code \} escapes.
+ */
+final class Glob {
+
+    private Glob() {
+    }
+
+    static boolean matches(String pattern, String s) {
+        return matches(pattern, 0, s, 0);
+    }
+
+    private static boolean matches(String p, int pi, String s, int si) {
+        while (pi < p.length()) {
+            char c = p.charAt(pi);
+            switch (c) {
+                case '*' -> {
+                    while (pi + 1 < p.length() && p.charAt(pi + 1) == '*') {
+                        pi++;
+                    }
+                    if (pi + 1 == p.length()) {
+                        return true;
+                    }
+                    for (int k = si; k <= s.length(); k++) {
+                        if (matches(p, pi + 1, s, k)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                case '?' -> {
+                    if (si >= s.length()) {
+                        return false;
+                    }
+                    si++;
+                }
+                case '[' -> {
+                    if (si >= s.length()) {
+                        return false;
+                    }
+                    int end = pi + 1;
+                    boolean not = end < p.length() && p.charAt(end) == '^';
+                    if (not) {
+                        end++;
+                    }
+                    boolean match = false;
+                    char ch = s.charAt(si);
+                    while (end < p.length() && p.charAt(end) != ']') {
+                        if (p.charAt(end) == '\\' && end + 1 < p.length()) {
+                            match |= p.charAt(++end) == ch;
+                        } else if (end + 2 < p.length() && p.charAt(end + 1) == '-' && p.charAt(end + 2) != ']') {
+                            char lo = (char) Math.min(p.charAt(end), p.charAt(end + 2));
+                            char hi = (char) Math.max(p.charAt(end), p.charAt(end + 2));
+                            match |= ch >= lo && ch <= hi;
+                            end += 2;
+                        } else {
+                            match |= p.charAt(end) == ch;
+                        }
+                        end++;
+                    }
+                    if (match == not) {
+                        return false;
+                    }
+                    pi = Math.min(end, p.length() - 1);
+                    si++;
+                }
+                case '\\' -> {
+                    if (pi + 1 < p.length()) {
+                        pi++;
+                    }
+                    if (si >= s.length() || p.charAt(pi) != s.charAt(si)) {
+                        return false;
+                    }
+                    si++;
+                }
+                default -> {
+                    if (si >= s.length() || c != s.charAt(si)) {
+                        return false;
+                    }
+                    si++;
+                }
+            }
+            pi++;
+        }
+        return si == s.length();
+    }
+}
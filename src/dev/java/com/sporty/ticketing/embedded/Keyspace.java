@@ -0,0 +1,193 @@
+package com.sporty.ticketing.embedded;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.lang.Nullable;
+
+/**
+ * The single database of the embedded server, with key expiry and the {@code CLIENT TRACKING}
+ * tables.
+ * <p>
+ * Every access happens while holding {@link #lock}: commands, including whole scripts, run one at
+ * a time, as on a Redis server. Values are {@link String} (strings), {@link Map} (hashes),
+ * {@link SortedSetValue} and {@link StreamValue}. Keys expire lazily, when they are next accessed.
+ */
+final class Keyspace {
+
+    /** Serializes command execution. */
+    final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled whenever a stream gets a new entry, waking up blocked {@code XREAD}s. */
+    final Condition streamsChanged = lock.newCondition();
+
+    private final Map<String, Object> data = new HashMap<>();
+    private final Map<String, Long> expires = new HashMap<>();
+    private final Map<String, Set<Client>> trackedKeys = new HashMap<>();
+    private final Set<Client> trackingClients = new LinkedHashSet<>();
+
+    /**
+     * Returns the value of a key, or {@code null} if it does not exist or has expired.
+     */
+    @Nullable
+    Object get(String key) {
+        Long at = expires.get(key);
+        if (at != null && at <= System.currentTimeMillis()) {
+            data.remove(key);
+            expires.remove(key);
+            modified(null, key);
+            return null;
+        }
+        return data.get(key);
+    }
+
+    /**
+     * Returns the value of a key as the given type, or {@code null} if it does not exist; the key
+     * is tracked for the client if it uses {@code CLIENT TRACKING} in default mode.
+     *
+     * @throws RespError {@code WRONGTYPE} if the key holds another type
+     */
+    @Nullable
+    <T> T read(Client client, String key, Class<T> type) {
+        Object value = get(key);
+        if (client.tracking && !client.broadcast) {
+            trackedKeys.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(client);
+        }
+        if (value == null) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw RespError.WRONGTYPE;
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Returns the value of a key as the given type, creating it if the key does not exist. The
+     * caller must call {@link #modified} once it has changed the value.
+     */
+    <T> T write(String key, Class<T> type, Supplier<T> create) {
+        Object value = get(key);
+        if (value == null) {
+            T created = create.get();
+            data.put(key, created);
+            return created;
+        }
+        if (!type.isInstance(value)) {
+            throw RespError.WRONGTYPE;
+        }
+        return type.cast(value);
+    }
+
+    /** Sets a key, keeping its expiry only if {@code keepTtl}, and invalidates it. */
+    void put(Client by, String key, Object value, boolean keepTtl) {
+        data.put(key, value);
+        if (!keepTtl) {
+            expires.remove(key);
+        }
+        modified(by, key);
+    }
+
+    /** Removes a key and invalidates it; returns whether it existed. */
+    boolean remove(@Nullable Client by, String key) {
+        if (get(key) == null) {
+            return false;
+        }
+        data.remove(key);
+        expires.remove(key);
+        modified(by, key);
+        return true;
+    }
+
+    /** Removes an empty hash or sorted set, as Redis does not keep empty containers. */
+    void removeIfEmpty(String key, int size) {
+        if (size == 0) {
+            data.remove(key);
+            expires.remove(key);
+        }
+    }
+
+    @Nullable
+    Long expireAt(String key) {
+        return get(key) == null ? null : expires.get(key);
+    }
+
+    void expireAt(Client by, String key, @Nullable Long epochMs) {
+        if (epochMs == null) {
+            expires.remove(key);
+        } else if (epochMs <= System.currentTimeMillis()) {
+            remove(by, key);
+        } else {
+            expires.put(key, epochMs);
+        }
+    }
+
+    /** Returns the live keys, sorted. */
+    List<String> keys() {
+        var keys = new ArrayList<String>(data.size());
+        for (String k : List.copyOf(data.keySet())) {
+            if (get(k) != null) {
+                keys.add(k);
+            }
+        }
+        keys.sort(null);
+        return keys;
+    }
+
+    void flush() {
+        data.clear();
+        expires.clear();
+        trackedKeys.clear();
+        for (Client c : trackingClients) {
+            c.push(Arrays.asList("invalidate", null));
+        }
+    }
+
+    void startTracking(Client client) {
+        trackingClients.add(client);
+    }
+
+    void stopTracking(Client client) {
+        trackingClients.remove(client);
+        trackedKeys.values().forEach(clients -> clients.remove(client));
+    }
+
+    /**
+     * Sends {@code invalidate} pushes for a changed key: to the clients that read it since their
+     * last invalidation, and to the broadcasting clients whose prefixes match.
+     *
+     * @param by the client that changed the key, {@code null} if it expired
+     */
+    void modified(@Nullable Client by, String key) {
+        Set<Client> readers = trackedKeys.remove(key);
+        for (Client c : trackingClients) {
+            boolean interested = c.broadcast ? matchesPrefix(c, key) : readers != null && readers.contains(c);
+            if (interested && !(c.noLoop && c == by)) {
+                c.push(List.of("invalidate", List.of(key)));
+            }
+        }
+    }
+
+    private static boolean matchesPrefix(Client c, String key) {
+        if (c.prefixes.isEmpty()) {
+            return true;
+        }
+        for (String p : c.prefixes) {
+            if (key.startsWith(p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return keys().size();
+    }
+}
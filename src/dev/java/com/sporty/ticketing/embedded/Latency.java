@@ -0,0 +1,87 @@
+package com.sporty.ticketing.embedded;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Simulated network round-trip time of the {@link EmbeddedRedisServer}.
+ * <p>
+ * The server charges one round trip per batch of commands read from a connection: half of it
+ * before the first command of the batch runs, the other half before the replies are flushed. A
+ * pipeline (e.g. the pipelined lock releaser) therefore pays one round trip, not one per command,
+ * and a lock acquired by one client becomes visible to another only after the modelled delay, as
+ * with a remote server. Fixed latencies make contention and lock handoff reproducible on one
+ * machine.
+ */
+@FunctionalInterface
+public interface Latency {
+
+    /**
+     * Returns the round-trip time of a batch starting with the given command.
+     *
+     * @param command the command name, upper case, e.g. {@code SET} or {@code EVALSHA}
+     * @return the round-trip time, in nanoseconds
+     */
+    long roundTripNanos(String command);
+
+    /**
+     * No added latency: replies are sent as soon as the commands have run.
+     *
+     * @return the latency model
+     */
+    static Latency none() {
+        return command -> 0;
+    }
+
+    /**
+     * The same round-trip time for every command.
+     *
+     * @param roundTrip the round-trip time
+     * @return the latency model
+     */
+    static Latency fixed(Duration roundTrip) {
+        long nanos = roundTrip.toNanos();
+        return command -> nanos;
+    }
+
+    /**
+     * A round-trip time per command, e.g. to make script calls slower than {@code SET NX}.
+     *
+     * @param roundTrip the round-trip time of commands without an override
+     * @param overrides round-trip times by command name (case-insensitive)
+     * @return the latency model
+     */
+    static Latency perCommand(Duration roundTrip, Map<String, Duration> overrides) {
+        long nanos = roundTrip.toNanos();
+        Map<String, Long> byCommand = overrides.entrySet().stream().collect(Collectors.toUnmodifiableMap(
+                e -> e.getKey().toUpperCase(Locale.ROOT), e -> e.getValue().toNanos()));
+        return command -> byCommand.getOrDefault(command, nanos);
+    }
+
+    /**
+     * A base round-trip time plus uniformly distributed jitter drawn from a seeded generator. The
+     * sequence of delays is the same in every run; which client gets which delay depends on the
+     * order in which their requests arrive.
+     *
+     * @param roundTrip the minimum round-trip time
+     * @param jitter    the maximum jitter added to it
+     * @param seed      the generator seed
+     * @return the latency model
+     */
+    static Latency jittered(Duration roundTrip, Duration jitter, long seed) {
+        long nanos = roundTrip.toNanos();
+        long bound = jitter.toNanos();
+        if (bound <= 0) {
+            return fixed(roundTrip);
+        }
+        var random = new SplittableRandom(seed);
+        return command -> {
+            synchronized (random) {
+                return nanos + random.nextLong(bound);
+            }
+        };
+    }
+}
@@ -0,0 +1,418 @@
+package com.sporty.ticketing.embedded;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LoadState;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.compiler.LuaC;
+import org.luaj.vm2.lib.OneArgFunction;
+import org.luaj.vm2.lib.PackageLib;
+import org.luaj.vm2.lib.StringLib;
+import org.luaj.vm2.lib.TableLib;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JseBaseLib;
+import org.luaj.vm2.lib.jse.JseMathLib;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code EVAL}/{@code EVALSHA} on LuaJ, with the parts of the Redis scripting environment the
+ * application's scripts rely on: {@code KEYS}/{@code ARGV}, {@code redis.call}/{@code pcall} with
+ * Redis' reply conversion rules, {@code redis.error_reply}/{@code status_reply}/{@code sha1hex},
+ * {@code cjson.decode}/{@code encode}/{@code null} and the Lua 5.1 global {@code unpack}.
+ * <p>
+ * Scripts are compiled once and cached by SHA1, as {@code EVALSHA} expects. LuaJ's
+ * {@code string.format} truncates {@code %d} arguments to 32 bits; it is replaced by one that
+ * formats integer conversions as 64-bit values, which the ticket repository's clock relies on.
+ * There is no {@code io}, {@code os} or file loading, and scripts run to completion: there is no
+ * script timeout.
+ */
+final class LuaScripting {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final LuaString ERR = LuaString.valueOf("err");
+    private static final LuaString OK = LuaString.valueOf("ok");
+
+    private final Commands commands;
+    private final Globals globals = new Globals();
+    private final LuaValue jsonNull = LuaValue.userdataOf(new Object());
+    private final Map<String, LuaValue> scripts = new HashMap<>();
+
+    LuaScripting(Commands commands) {
+        this.commands = commands;
+        globals.load(new JseBaseLib());
+        globals.load(new PackageLib());
+        globals.load(new TableLib());
+        globals.load(new StringLib());
+        globals.load(new JseMathLib());
+        LoadState.install(globals);
+        LuaC.install(globals);
+        for (String unsafe : List.of("dofile", "loadfile", "require")) {
+            globals.set(unsafe, LuaValue.NIL);
+        }
+        globals.set("unpack", globals.get("table").get("unpack"));
+        LuaValue string = globals.get("string");
+        string.set("format", new Format(string.get("format")));
+        globals.set("redis", redisLib());
+        globals.set("cjson", cjsonLib());
+    }
+
+    String load(String body) {
+        String sha = sha1(body);
+        if (!scripts.containsKey(sha)) {
+            try {
+                scripts.put(sha, globals.load(
+                        new ByteArrayInputStream(body.getBytes(StandardCharsets.ISO_8859_1)),
+                        "@user_script", "t", globals));
+            } catch (LuaError e) {
+                throw new RespError("ERR Error compiling script (new function): " + e.getMessage());
+            }
+        }
+        return sha;
+    }
+
+    boolean exists(String sha) {
+        return scripts.containsKey(sha);
+    }
+
+    void flush() {
+        scripts.clear();
+    }
+
+    @Nullable
+    Object eval(String body, List<String> keys, List<String> argv) {
+        return evalSha(load(body), keys, argv);
+    }
+
+    @Nullable
+    Object evalSha(String sha, List<String> keys, List<String> argv) {
+        LuaValue script = scripts.get(sha);
+        if (script == null) {
+            throw new RespError("NOSCRIPT No matching script. Please use EVAL.");
+        }
+        globals.set("KEYS", strings(keys));
+        globals.set("ARGV", strings(argv));
+        try {
+            return fromLua(script.call());
+        } catch (LuaError e) {
+            LuaValue error = e.getMessageObject();
+            if (error != null && error.istable() && error.get(ERR).isstring()) {
+                throw new RespError(bytes(error.get(ERR)));
+            }
+            throw new RespError("ERR " + e.getMessage() + " script: " + sha);
+        }
+    }
+
+    private LuaTable redisLib() {
+        var redis = new LuaTable();
+        redis.set("call", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                try {
+                    return toLua(commands.call(arguments(args)));
+                } catch (RespError e) {
+                    throw new LuaError(errorTable(e.getMessage()));
+                }
+            }
+        });
+        redis.set("pcall", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                try {
+                    return toLua(commands.call(arguments(args)));
+                } catch (RespError e) {
+                    return errorTable(e.getMessage());
+                }
+            }
+        });
+        redis.set("error_reply", new OneArgFunction() {
+            @Override
+            public LuaValue call(LuaValue message) {
+                return errorTable(bytes(message.checkstring()));
+            }
+        });
+        redis.set("status_reply", new OneArgFunction() {
+            @Override
+            public LuaValue call(LuaValue status) {
+                return LuaValue.tableOf(new LuaValue[] {OK, status.checkstring()});
+            }
+        });
+        redis.set("sha1hex", new OneArgFunction() {
+            @Override
+            public LuaValue call(LuaValue s) {
+                return LuaValue.valueOf(sha1(bytes(s.checkstring())));
+            }
+        });
+        redis.set("log", new VarArgFunction() {
+            @Override
+            public Varargs invoke(Varargs args) {
+                return LuaValue.NONE;
+            }
+        });
+        redis.set("LOG_DEBUG", 0);
+        redis.set("LOG_VERBOSE", 1);
+        redis.set("LOG_NOTICE", 2);
+        redis.set("LOG_WARNING", 3);
+        return redis;
+    }
+
+    private LuaTable cjsonLib() {
+        var cjson = new LuaTable();
+        cjson.set("null", jsonNull);
+        cjson.set("decode", new OneArgFunction() {
+            @Override
+            public LuaValue call(LuaValue text) {
+                LuaString s = text.checkstring();
+                try {
+                    return fromJson(JSON.readTree(s.m_bytes, s.m_offset, s.m_length));
+                } catch (IOException e) {
+                    throw new LuaError("cjson.decode: " + e.getMessage());
+                }
+            }
+        });
+        cjson.set("encode", new OneArgFunction() {
+            @Override
+            public LuaValue call(LuaValue value) {
+                var out = new ByteArrayOutputStream();
+                try (JsonGenerator g = JSON.createGenerator(out)) {
+                    toJson(g, value);
+                } catch (IOException e) {
+                    throw new LuaError("cjson.encode: " + e.getMessage());
+                }
+                return LuaString.valueOf(out.toByteArray());
+            }
+        });
+        return cjson;
+    }
+
+    private LuaValue fromJson(JsonNode node) {
+        if (node.isObject()) {
+            var t = new LuaTable();
+            node.properties().forEach(e -> t.set(
+                    LuaString.valueOf(e.getKey().getBytes(StandardCharsets.UTF_8)), fromJson(e.getValue())));
+            return t;
+        }
+        if (node.isArray()) {
+            var t = new LuaTable();
+            for (int i = 0; i < node.size(); i++) {
+                t.set(i + 1, fromJson(node.get(i)));
+            }
+            return t;
+        }
+        if (node.isNull()) {
+            return jsonNull;
+        }
+        if (node.isNumber()) {
+            return LuaValue.valueOf(node.doubleValue());
+        }
+        if (node.isBoolean()) {
+            return LuaValue.valueOf(node.booleanValue());
+        }
+        return LuaString.valueOf(node.asText().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void toJson(JsonGenerator g, LuaValue v) throws IOException {
+        switch (v.type()) {
+            case LuaValue.TNUMBER -> {
+                double d = v.todouble();
+                if (d == Math.rint(d) && Math.abs(d) < 1e15) {
+                    g.writeNumber((long) d);
+                } else {
+                    g.writeNumber(d);
+                }
+            }
+            case LuaValue.TSTRING -> g.writeString(v.tojstring());
+            case LuaValue.TBOOLEAN -> g.writeBoolean(v.toboolean());
+            case LuaValue.TTABLE -> {
+                int n = v.length();
+                if (n > 0) {
+                    g.writeStartArray();
+                    for (int i = 1; i <= n; i++) {
+                        toJson(g, v.get(i));
+                    }
+                    g.writeEndArray();
+                } else {
+                    g.writeStartObject();
+                    LuaValue k = LuaValue.NIL;
+                    while (true) {
+                        Varargs next = v.next(k);
+                        if ((k = next.arg1()).isnil()) {
+                            break;
+                        }
+                        g.writeFieldName(k.tojstring());
+                        toJson(g, next.arg(2));
+                    }
+                    g.writeEndObject();
+                }
+            }
+            default -> {
+                if (v == jsonNull || v.isnil()) {
+                    g.writeNull();
+                } else {
+                    throw new LuaError("Cannot serialise " + v.typename() + ": type not supported");
+                }
+            }
+        }
+    }
+
+    /** Converts {@code redis.call} arguments; numbers are sent as Redis formats them ({@code %.17g}). */
+    private static List<String> arguments(Varargs args) {
+        var result = new ArrayList<String>(args.narg());
+        for (int i = 1; i <= args.narg(); i++) {
+            LuaValue v = args.arg(i);
+            if (v.type() == LuaValue.TNUMBER) {
+                result.add(Commands.score(v.todouble()));
+            } else if (v.type() == LuaValue.TSTRING) {
+                result.add(bytes(v));
+            } else {
+                throw new LuaError(errorTable("ERR Lua redis lib command arguments must be strings or integers"));
+            }
+        }
+        return result;
+    }
+
+    /** Converts a reply to Lua as Redis does: integers to numbers, nil to {@code false}, status and errors to tables. */
+    private static LuaValue toLua(@Nullable Object reply) {
+        return switch (reply) {
+            case null -> LuaValue.FALSE;
+            case String s -> LuaString.valueOf(s.getBytes(StandardCharsets.ISO_8859_1));
+            case Long l -> LuaValue.valueOf((double) l);
+            case Resp.Status s -> LuaValue.tableOf(new LuaValue[] {OK, LuaValue.valueOf(s.text())});
+            case List<?> list -> {
+                var t = new LuaTable();
+                for (int i = 0; i < list.size(); i++) {
+                    t.set(i + 1, toLua(list.get(i)));
+                }
+                yield t;
+            }
+            case Map<?, ?> map -> {
+                var flat = new ArrayList<Object>(map.size() * 2);
+                map.forEach((k, v) -> {
+                    flat.add(k);
+                    flat.add(v);
+                });
+                yield toLua(flat);
+            }
+            default -> reply == Resp.NIL_ARRAY ? LuaValue.FALSE : LuaValue.valueOf(reply.toString());
+        };
+    }
+
+    /** Converts a script's result as Redis does: numbers are truncated to integers, {@code false} becomes nil. */
+    @Nullable
+    private static Object fromLua(LuaValue v) {
+        switch (v.type()) {
+            case LuaValue.TNUMBER:
+                return (long) v.todouble();
+            case LuaValue.TSTRING:
+                return bytes(v);
+            case LuaValue.TBOOLEAN:
+                return v.toboolean() ? 1L : null;
+            case LuaValue.TTABLE:
+                if (v.get(ERR).isstring()) {
+                    return new RespError(bytes(v.get(ERR)));
+                }
+                if (v.get(OK).isstring()) {
+                    return new Resp.Status(bytes(v.get(OK)));
+                }
+                var list = new ArrayList<Object>();
+                for (int i = 1; !v.get(i).isnil(); i++) {
+                    list.add(fromLua(v.get(i)));
+                }
+                return list;
+            default:
+                return null;
+        }
+    }
+
+    private static LuaTable errorTable(String message) {
+        return LuaValue.tableOf(new LuaValue[] {ERR, LuaValue.valueOf(message)});
+    }
+
+    private static LuaTable strings(List<String> values) {
+        var t = new LuaTable(values.size(), 0);
+        for (int i = 0; i < values.size(); i++) {
+            t.set(i + 1, LuaString.valueOf(values.get(i).getBytes(StandardCharsets.ISO_8859_1)));
+        }
+        return t;
+    }
+
+    /** Returns the raw bytes of a Lua string as an ISO-8859-1 string. */
+    private static String bytes(LuaValue v) {
+        LuaString s = v.checkstring();
+        return new String(s.m_bytes, s.m_offset, s.m_length, StandardCharsets.ISO_8859_1);
+    }
+
+    private static String sha1(String body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1")
+                    .digest(body.getBytes(StandardCharsets.ISO_8859_1)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@code string.format} with 64-bit {@code %d}, {@code %i}, {@code %x}, {@code %X} and
+     * {@code %o}; other conversions are delegated to LuaJ's implementation.
+     */
+    private static final class Format extends VarArgFunction {
+
+        private final LuaValue delegate;
+
+        Format(LuaValue delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Varargs invoke(Varargs args) {
+            String fmt = bytes(args.checkstring(1));
+            var out = new StringBuilder();
+            int arg = 2;
+            for (int i = 0; i < fmt.length(); i++) {
+                char c = fmt.charAt(i);
+                if (c != '%') {
+                    out.append(c);
+                    continue;
+                }
+                if (i + 1 < fmt.length() && fmt.charAt(i + 1) == '%') {
+                    out.append('%');
+                    i++;
+                    continue;
+                }
+                int start = i++;
+                while (i < fmt.length() && "-+ #0123456789.".indexOf(fmt.charAt(i)) >= 0) {
+                    i++;
+                }
+                if (i >= fmt.length()) {
+                    throw new LuaError("invalid option '%' to 'format'");
+                }
+                String spec = fmt.substring(start, i + 1);
+                char conversion = fmt.charAt(i);
+                if ("dixXo".indexOf(conversion) >= 0 && spec.indexOf('.') < 0 && spec.indexOf('#') < 0) {
+                    long value = (long) args.checkdouble(arg++);
+                    out.append(String.format(spec.replace('i', 'd'), value));
+                } else {
+                    out.append(bytes(delegate.invoke(LuaValue.varargsOf(
+                            LuaString.valueOf(spec.getBytes(StandardCharsets.ISO_8859_1)), args.arg(arg++))).arg1()));
+                }
+            }
+            return LuaString.valueOf(out.toString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sporty.ticketing.embedded;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+
+/**
+ * RESP2/RESP3 wire codec of the embedded server.
+ * <p>
+ * Keys, values and arguments are carried as ISO-8859-1 strings, which map each byte to one
+ * {@code char}: the server stays binary-safe without copying byte arrays around, and strings
+ * compare in the same order as Redis compares bytes.
+ * <p>
+ * Replies are plain Java values: {@code null} (nil), {@link String} (bulk string), {@link Long}
+ * (integer), {@link Status}, {@link RespError}, {@link List} (array), {@link Map} (RESP3 map,
+ * flattened for RESP2), {@link Push} (RESP3 push, an array for RESP2), {@link #NIL_ARRAY} and
+ * {@link Many} for commands answering with several replies.
+ */
+final class Resp {
+
+    /** A simple string reply, e.g. {@code +OK}. */
+    record Status(String text) {
+    }
+
+    /** An out-of-band RESP3 push message, e.g. {@code invalidate} or a pub/sub message. */
+    record Push(List<Object> items) {
+    }
+
+    /** Several consecutive replies to one command, e.g. one confirmation per subscribed channel. */
+    record Many(List<Object> replies) {
+    }
+
+    static final Status OK = new Status("OK");
+    static final Status PONG = new Status("PONG");
+
+    /** The null array ({@code *-1}), e.g. returned by {@code XREAD} when it times out. */
+    static final Object NIL_ARRAY = new Object();
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private Resp() {
+    }
+
+    /**
+     * Reads the next command, either a RESP array of bulk strings or an inline command as typed
+     * into a telnet session.
+     *
+     * @param in the client's buffered input
+     * @return the command and its arguments, or {@code null} at end of stream
+     */
+    @Nullable
+    static List<String> readCommand(InputStream in) throws IOException {
+        int first;
+        do {
+            first = in.read();
+            if (first < 0) {
+                return null;
+            }
+        } while (first == '\r' || first == '\n');
+        if (first != '*') {
+            String line = (char) first + readLine(in);
+            List<String> parts = new ArrayList<>();
+            for (String p : line.trim().split("\\s+")) {
+                if (!p.isEmpty()) {
+                    parts.add(p);
+                }
+            }
+            return parts.isEmpty() ? readCommand(in) : parts;
+        }
+        int n = Integer.parseInt(readLine(in));
+        List<String> args = new ArrayList<>(Math.max(n, 0));
+        for (int i = 0; i < n; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Protocol error: expected '$'");
+            }
+            int len = Integer.parseInt(readLine(in));
+            byte[] data = in.readNBytes(len);
+            if (data.length < len || in.read() != '\r' || in.read() != '\n') {
+                throw new EOFException();
+            }
+            args.add(new String(data, StandardCharsets.ISO_8859_1));
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        var sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new EOFException();
+            }
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Encodes a reply.
+     *
+     * @param out      the destination
+     * @param reply    the reply value
+     * @param protocol the protocol version negotiated with {@code HELLO}, {@code 2} or {@code 3}
+     */
+    static void write(OutputStream out, @Nullable Object reply, int protocol) throws IOException {
+        switch (reply) {
+            case null -> out.write(protocol == 3 ? "_\r\n".getBytes(StandardCharsets.ISO_8859_1)
+                    : "$-1\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            case String s -> {
+                header(out, '$', s.length());
+                out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+                out.write(CRLF);
+            }
+            case Long l -> header(out, ':', l);
+            case Integer i -> header(out, ':', i);
+            case Status s -> line(out, '+', s.text());
+            case RespError e -> line(out, '-', e.getMessage().replace('\r', ' ').replace('\n', ' '));
+            case List<?> list -> {
+                header(out, '*', list.size());
+                for (Object o : list) {
+                    write(out, o, protocol);
+                }
+            }
+            case Map<?, ?> map -> {
+                header(out, protocol == 3 ? '%' : '*', protocol == 3 ? map.size() : map.size() * 2L);
+                for (var e : map.entrySet()) {
+                    write(out, e.getKey(), protocol);
+                    write(out, e.getValue(), protocol);
+                }
+            }
+            case Push p -> {
+                header(out, protocol == 3 ? '>' : '*', p.items().size());
+                for (Object o : p.items()) {
+                    write(out, o, protocol);
+                }
+            }
+            case Many m -> {
+                for (Object o : m.replies()) {
+                    write(out, o, protocol);
+                }
+            }
+            default -> {
+                if (reply == NIL_ARRAY) {
+                    out.write(protocol == 3 ? "_\r\n".getBytes(StandardCharsets.ISO_8859_1)
+                            : "*-1\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                } else {
+                    throw new IllegalArgumentException("Unsupported reply type " + reply.getClass());
+                }
+            }
+        }
+    }
+
+    private static void header(OutputStream out, char type, long n) throws IOException {
+        line(out, type, Long.toString(n));
+    }
+
+    private static void line(OutputStream out, char type, String text) throws IOException {
+        out.write(type);
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+        out.write(CRLF);
+    }
+}
@@ -0,0 +1,22 @@
+package com.sporty.ticketing.embedded;
+
+/**
+ * An error reply; the message starts with the error code, e.g. {@code ERR}, {@code WRONGTYPE} or
+ * {@code NOSCRIPT}, as clients match on it.
+ */
+final class RespError extends RuntimeException {
+
+    static final RespError WRONGTYPE =
+            new RespError("WRONGTYPE Operation against a key holding the wrong kind of value");
+    static final RespError NOT_INTEGER = new RespError("ERR value is not an integer or out of range");
+    static final RespError NOT_FLOAT = new RespError("ERR value is not a valid float");
+    static final RespError SYNTAX = new RespError("ERR syntax error");
+
+    RespError(String message) {
+        super(message, null, false, false);
+    }
+
+    static RespError arity(String command) {
+        return new RespError("ERR wrong number of arguments for '" + command.toLowerCase() + "' command");
+    }
+}
@@ -0,0 +1,111 @@
+package com.sporty.ticketing.embedded;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * A sorted set: members ordered by score, then by member bytes, as in Redis.
+ */
+final class SortedSetValue {
+
+    record Entry(String member, double score) {
+    }
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingDouble(Entry::score).thenComparing(Entry::member);
+
+    private final Map<String, Double> scores = new HashMap<>();
+    private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+
+    int size() {
+        return scores.size();
+    }
+
+    Double score(String member) {
+        return scores.get(member);
+    }
+
+    /** Adds the member or moves it to the new score; returns whether it was added. */
+    boolean put(String member, double score) {
+        Double old = scores.put(member, score);
+        if (old != null) {
+            ordered.remove(new Entry(member, old));
+        }
+        ordered.add(new Entry(member, score));
+        return old == null;
+    }
+
+    boolean remove(String member) {
+        Double old = scores.remove(member);
+        if (old == null) {
+            return false;
+        }
+        ordered.remove(new Entry(member, old));
+        return true;
+    }
+
+    /** Returns the entries between the given ranks, both inclusive, from the lowest or highest. */
+    List<Entry> byRank(long start, long stop, boolean reverse) {
+        int n = size();
+        if (start < 0) {
+            start = Math.max(n + start, 0);
+        }
+        if (stop < 0) {
+            stop = n + stop;
+        }
+        stop = Math.min(stop, n - 1L);
+        var result = new ArrayList<Entry>();
+        if (start > stop) {
+            return result;
+        }
+        Iterator<Entry> it = reverse ? ordered.descendingIterator() : ordered.iterator();
+        for (long i = 0; i <= stop && it.hasNext(); i++) {
+            Entry e = it.next();
+            if (i >= start) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    /** Returns the entries with scores within the bounds, skipping {@code offset}, at most {@code count} (if >= 0). */
+    List<Entry> byScore(double min, boolean minExclusive, double max, boolean maxExclusive,
+                        boolean reverse, long offset, long count) {
+        var result = new ArrayList<Entry>();
+        if (min > max) {
+            return result;
+        }
+        NavigableSet<Entry> range = ordered.subSet(
+                new Entry("", min), true, new Entry("\uffff", max), true);
+        Iterator<Entry> it = reverse ? range.descendingIterator() : range.iterator();
+        long skipped = 0;
+        while (it.hasNext() && (count < 0 || result.size() < count)) {
+            Entry e = it.next();
+            if ((minExclusive && e.score() == min) || (maxExclusive && e.score() == max)) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            result.add(e);
+        }
+        return result;
+    }
+
+    /** Removes and returns up to {@code count} entries with the lowest (or highest) scores. */
+    List<Entry> pop(long count, boolean highest) {
+        var result = new ArrayList<Entry>();
+        while (result.size() < count && !ordered.isEmpty()) {
+            Entry e = highest ? ordered.pollLast() : ordered.pollFirst();
+            scores.remove(e.member());
+            result.add(e);
+        }
+        return result;
+    }
+}
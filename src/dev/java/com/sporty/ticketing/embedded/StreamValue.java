@@ -0,0 +1,115 @@
+package com.sporty.ticketing.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A stream: entries keyed by {@code <ms>-<seq>} IDs, in ID order.
+ */
+final class StreamValue {
+
+    record Id(long ms, long seq) implements Comparable<Id> {
+
+        static final Id MIN = new Id(0, 0);
+        static final Id MAX = new Id(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        /**
+         * Parses {@code <ms>-<seq>} or {@code <ms>}; a missing sequence is {@code 0}, or the
+         * highest sequence if {@code upper} (for the end of a range).
+         */
+        static Id parse(String s, boolean upper) {
+            try {
+                int dash = s.indexOf('-');
+                if (dash < 0) {
+                    return new Id(Long.parseUnsignedLong(s), upper ? Long.MAX_VALUE : 0);
+                }
+                return new Id(Long.parseUnsignedLong(s.substring(0, dash)),
+                        Long.parseUnsignedLong(s.substring(dash + 1)));
+            } catch (NumberFormatException e) {
+                throw new RespError("ERR Invalid stream ID specified as stream command argument");
+            }
+        }
+
+        @Override
+        public int compareTo(Id o) {
+            int c = Long.compareUnsigned(ms, o.ms);
+            return c != 0 ? c : Long.compareUnsigned(seq, o.seq);
+        }
+
+        @Override
+        public String toString() {
+            return Long.toUnsignedString(ms) + "-" + Long.toUnsignedString(seq);
+        }
+    }
+
+    private final TreeMap<Id, List<String>> entries = new TreeMap<>();
+    private Id last = Id.MIN;
+
+    int size() {
+        return entries.size();
+    }
+
+    Id last() {
+        return last;
+    }
+
+    /**
+     * Appends an entry.
+     *
+     * @param requested {@code *}, {@code <ms>-*} or an explicit ID greater than the last one
+     * @param fields    alternating field names and values
+     * @return the ID of the new entry
+     */
+    Id add(String requested, List<String> fields) {
+        Id id;
+        if (requested.equals("*")) {
+            long now = System.currentTimeMillis();
+            id = Long.compareUnsigned(now, last.ms()) > 0 ? new Id(now, 0) : new Id(last.ms(), last.seq() + 1);
+        } else if (requested.endsWith("-*")) {
+            long ms = Id.parse(requested.substring(0, requested.length() - 2), false).ms();
+            id = ms == last.ms() ? new Id(ms, last.seq() + 1) : new Id(ms, 0);
+        } else {
+            id = Id.parse(requested, false);
+        }
+        if (id.compareTo(last) <= 0) {
+            throw new RespError(
+                    "ERR The ID specified in XADD is equal or smaller than the target stream top item");
+        }
+        entries.put(id, List.copyOf(fields));
+        last = id;
+        return id;
+    }
+
+    /** Removes the oldest entries until at most {@code maxLen} remain; returns how many were removed. */
+    long trim(long maxLen) {
+        long removed = 0;
+        while (entries.size() > maxLen) {
+            entries.pollFirstEntry();
+            removed++;
+        }
+        return removed;
+    }
+
+    /** Returns up to {@code count} entries (all if negative) between the bounds, in ID order or reversed. */
+    List<Object> range(Id from, boolean fromExclusive, Id to, boolean toExclusive, long count, boolean reverse) {
+        var result = new ArrayList<Object>();
+        if (from.compareTo(to) > 0) {
+            return result;
+        }
+        NavigableMap<Id, List<String>> range = entries.subMap(from, !fromExclusive, to, !toExclusive);
+        for (var e : (reverse ? range.descendingMap() : range).entrySet()) {
+            if (count >= 0 && result.size() >= count) {
+                break;
+            }
+            result.add(entry(e));
+        }
+        return result;
+    }
+
+    private static List<Object> entry(Map.Entry<Id, List<String>> e) {
+        return List.of(e.getKey().toString(), new ArrayList<Object>(e.getValue()));
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * In-process server speaking the Redis protocol, standing in for Redis in tests, benchmarks and
+ * offline development ({@code dev} profile).
+ *
+ * <p>The package lives in the {@code dev} source set and is not part of the boot jar; it reaches
+ * {@code bootRun} through {@code developmentOnly}.
+ */
+@org.springframework.lang.NonNullApi
+package com.sporty.ticketing.embedded;
@@ -0,0 +1,81 @@
+package com.sporty.ticketing.bench;
+
+import com.sporty.ticketing.embedded.EmbeddedRedisServer;
+import com.sporty.ticketing.embedded.Latency;
+import com.sporty.ticketing.lock.RedisLockManager;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Throughput of the {@link RedisLockManager} on a single hot key, with several threads competing
+ * for it, against the in-process Redis stand-in with a simulated network round trip.
+ *
+ * <p>Each operation is one acquire attempt, followed by the release when it succeeds, so the
+ * score counts failed attempts as well; the share of successful ones is what changes with the
+ * round trip, since the lock is held for at least one release round trip. No Redis or Docker is
+ * needed:
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=LockHandoffBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class LockHandoffBenchmark {
+
+  static final String KEY = "lock:ticket:hot";
+  static final Duration TTL = Duration.ofSeconds(5);
+
+  /** Simulated round trip, in microseconds. */
+  @Param({"0", "200", "1000"})
+  public long latencyMicros;
+
+  private EmbeddedRedisServer server;
+  private LettuceConnectionFactory connectionFactory;
+  private RedisLockManager locks;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    server = new EmbeddedRedisServer(0).start();
+    server.setLatency(
+        latencyMicros == 0
+            ? Latency.none()
+            : Latency.fixed(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros))));
+    connectionFactory =
+        new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(server.getHost(), server.getPort()));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    locks = new RedisLockManager(new StringRedisTemplate(connectionFactory));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    connectionFactory.destroy();
+    server.close();
+  }
+
+  @Benchmark
+  public boolean acquireAndRelease() {
+    Optional<String> token = locks.tryLock(KEY, TTL);
+    return token.isPresent() && locks.unlock(KEY, token.get());
+  }
+}
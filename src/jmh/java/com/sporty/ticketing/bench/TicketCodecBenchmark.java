@@ -0,0 +1,134 @@
+package com.sporty.ticketing.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sporty.ticketing.config.CodecConfig;
+import com.sporty.ticketing.dto.TicketChangesResponse;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStatus;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encode and decode cost of the ticket payloads in JSON, CBOR and Smile, with the mappers
+ * configured as the API's message converters are.
+ *
+ * <p>Two payloads are measured: a single {@link TicketResponse}, as returned by the ticket
+ * endpoints, and a page of {@value #PAGE} tickets, as returned by a delta sync. The encoded size
+ * of each is reported next to the timings, as the {@code ticketBytes} and {@code pageBytes}
+ * secondary results (see {@link PayloadSize}), e.g.:
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=TicketCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketCodecBenchmark {
+
+  static final int PAGE = 100;
+
+  @Param({"json", "cbor", "smile"})
+  public String format;
+
+  private ObjectMapper mapper;
+  private TicketResponse ticket;
+  private TicketChangesResponse page;
+  private byte[] ticketBytes;
+  private byte[] pageBytes;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper =
+        switch (format) {
+          case "json" ->
+              new Jackson2ObjectMapperBuilder()
+                  .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                  .build();
+          case "cbor" -> CodecConfig.binaryMapper(new Jackson2ObjectMapperBuilder(), new CBORFactory());
+          case "smile" -> CodecConfig.binaryMapper(new Jackson2ObjectMapperBuilder(), new SmileFactory());
+          default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    ticket = ticket(0);
+    var tickets = new ArrayList<TicketResponse>(PAGE);
+    for (int i = 0; i < PAGE; i++) {
+      tickets.add(ticket(i));
+    }
+    page = new TicketChangesResponse(tickets, "1767225600000-" + PAGE, true);
+    ticketBytes = mapper.writeValueAsBytes(ticket);
+    pageBytes = mapper.writeValueAsBytes(page);
+  }
+
+  /**
+   * Encoded payload sizes in bytes, reported by JMH as secondary results of each benchmark.
+   *
+   * <p>Event counters are summed over threads, so the sizes are exact when the benchmark runs
+   * with one thread, which is the default.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadSize {
+
+    public long ticketBytes;
+    public long pageBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(TicketCodecBenchmark bench) {
+      ticketBytes = bench.ticketBytes.length;
+      pageBytes = bench.pageBytes.length;
+    }
+  }
+
+  private static TicketResponse ticket(int i) {
+    Instant created = Instant.parse("2026-01-01T00:00:00.123Z").plusSeconds(i);
+    return new TicketResponse(
+        UUID.nameUUIDFromBytes(("ticket-" + i).getBytes()),
+        "Cannot log in to account " + i,
+        "Login fails with an error after the password reset email was used",
+        TicketStatus.values()[i % TicketStatus.values().length],
+        TicketPriority.NORMAL,
+        "user-" + (i % 50),
+        i % 3 == 0 ? null : "agent-" + (i % 7),
+        created,
+        created.plusSeconds(90),
+        i % 5);
+  }
+
+  @Benchmark
+  public byte[] encodeTicket(PayloadSize sizes) throws IOException {
+    return mapper.writeValueAsBytes(ticket);
+  }
+
+  @Benchmark
+  public TicketResponse decodeTicket(PayloadSize sizes) throws IOException {
+    return mapper.readValue(ticketBytes, TicketResponse.class);
+  }
+
+  @Benchmark
+  public byte[] encodePage(PayloadSize sizes) throws IOException {
+    return mapper.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public TicketChangesResponse decodePage(PayloadSize sizes) throws IOException {
+    return mapper.readValue(pageBytes, TicketChangesResponse.class);
+  }
+}
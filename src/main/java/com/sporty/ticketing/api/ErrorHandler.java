@@ -2,6 +2,8 @@ package com.sporty.ticketing.api;
 
 import com.sporty.ticketing.exception.ConflictException;
 import com.sporty.ticketing.exception.NotFoundException;
+import com.sporty.ticketing.exception.ServiceUnavailableException;
+import com.sporty.ticketing.model.InvalidTransitionException;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,6 +46,31 @@ public class ErrorHandler {
     return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
   }
 
+  /**
+   * Handles {@link InvalidTransitionException} by returning a 409 Conflict status and an error
+   * message in the response body.
+   *
+   * @param e the {@code InvalidTransitionException} thrown when a status change is not allowed
+   * @return a {@link ResponseEntity} with HTTP 409 status and error details
+   */
+  @ExceptionHandler(InvalidTransitionException.class)
+  public ResponseEntity<?> handleInvalidTransition(InvalidTransitionException e) {
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+  }
+
+  /**
+   * Handles {@link ServiceUnavailableException} by returning a 503 Service Unavailable status and
+   * an error message in the response body.
+   *
+   * @param e the {@code ServiceUnavailableException} thrown when a backing service is unavailable
+   * @return a {@link ResponseEntity} with HTTP 503 status and error details
+   */
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<?> handleServiceUnavailable(ServiceUnavailableException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(Map.of("error", e.getMessage()));
+  }
+
   /**
    * Handles common validation-related exceptions by returning a 400 Bad Request status and an error
    * message in the response body.
@@ -0,0 +1,69 @@
+package com.sporty.ticketing.api;
+
+import com.sporty.ticketing.config.TimingProperties;
+import com.sporty.ticketing.service.StageTimings;
+import com.sporty.ticketing.service.StageTimings.Stage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Servlet filter that binds a {@link StageTimings} recorder to each ticket API request.
+ *
+ * <p>Everything that happens after the last mark made by the controller (message conversion and
+ * writing the body) is attributed to {@link Stage#SERIALIZE}. When the request completes, a {@link
+ * TicketRequestEvent} is committed to JDK Flight Recorder if that event is enabled.
+ */
+@Component
+public class StageTimingFilter extends OncePerRequestFilter {
+
+  private final TimingProperties props;
+
+  /**
+   * Creates a new instance of {@code StageTimingFilter}.
+   *
+   * @param props timing settings
+   */
+  public StageTimingFilter(TimingProperties props) {
+    this.props = props;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return !props.isEnabled() || !path.startsWith("/tickets");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    var event = new TicketRequestEvent();
+    event.begin();
+    var timings = StageTimings.start();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      timings.record(Stage.SERIALIZE);
+      StageTimings.stop();
+      event.end();
+      if (event.shouldCommit()) {
+        event.method = request.getMethod();
+        event.path = request.getRequestURI();
+        event.status = response.getStatus();
+        event.parse = timings.nanos(Stage.PARSE);
+        event.lock = timings.nanos(Stage.LOCK);
+        event.read = timings.nanos(Stage.READ);
+        event.mutate = timings.nanos(Stage.MUTATE);
+        event.save = timings.nanos(Stage.SAVE);
+        event.unlock = timings.nanos(Stage.UNLOCK);
+        event.serialize = timings.nanos(Stage.SERIALIZE);
+        event.commit();
+      }
+    }
+  }
+}
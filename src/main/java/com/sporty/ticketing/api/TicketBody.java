@@ -0,0 +1,51 @@
+package com.sporty.ticketing.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sporty.ticketing.model.Ticket;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A ticket response body written by a compiled {@link TicketProjection}.
+ *
+ * <p>The controller only decides what to write; {@link TicketBodyHttpMessageConverter} writes it
+ * in the format Spring MVC negotiated from the {@code Accept} header.
+ */
+sealed interface TicketBody {
+
+  /**
+   * Returns the body of a single ticket.
+   *
+   * @param ticket the ticket
+   * @param projection the fields to write
+   * @return the body
+   */
+  static TicketBody of(Ticket ticket, TicketProjection projection) {
+    return new One(ticket, projection);
+  }
+
+  /**
+   * A single ticket.
+   *
+   * @param ticket the ticket
+   * @param projection the fields to write
+   */
+  record One(Ticket ticket, TicketProjection projection) implements TicketBody {}
+
+  /**
+   * An object with a {@code tickets} array, each written by the projection, followed by the
+   * fields of {@code trailer} (e.g. the watermark of a delta sync).
+   *
+   * @param tickets the tickets, in output order
+   * @param projection the fields to write per ticket
+   * @param trailer writes the remaining fields of the object
+   */
+  record Page(List<Ticket> tickets, TicketProjection projection, Trailer trailer)
+      implements TicketBody {}
+
+  /** Writes the fields that follow the {@code tickets} array of a {@link Page}. */
+  @FunctionalInterface
+  interface Trailer {
+    void write(JsonGenerator g) throws IOException;
+  }
+}
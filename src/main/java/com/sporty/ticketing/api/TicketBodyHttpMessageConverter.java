@@ -0,0 +1,131 @@
+package com.sporty.ticketing.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sporty.ticketing.config.CodecConfig;
+import com.sporty.ticketing.model.Ticket;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Writes {@link TicketBody} responses as JSON, CBOR or Smile.
+ *
+ * <p>The format is the one Spring MVC negotiated from the {@code Accept} header against the media
+ * types of this converter; a request that accepts none of them gets {@code 406 Not Acceptable}.
+ * Each format is written with the streaming factory of its mapper, so the binary formats encode
+ * the ticket ID as 16 raw bytes and timestamps as epoch milliseconds, as their message converters
+ * do.
+ *
+ * <p>The full JSON representation of a single ticket is taken from {@link TicketResponseCache},
+ * and its gzip variant is sent when the request's {@code Accept-Encoding} allows it and the cache
+ * produced one. Projections, pages and binary bodies are small and are written directly.
+ */
+final class TicketBodyHttpMessageConverter extends AbstractHttpMessageConverter<TicketBody> {
+
+  private final JsonFactory json;
+  private final JsonFactory cbor;
+  private final JsonFactory smile;
+  private final TicketResponseCache responses;
+
+  /**
+   * Creates the converter.
+   *
+   * @param json factory of the application's JSON mapper
+   * @param cbor factory of the CBOR mapper
+   * @param smile factory of the Smile mapper
+   * @param responses cache of serialized ticket responses
+   */
+  TicketBodyHttpMessageConverter(
+      JsonFactory json, JsonFactory cbor, JsonFactory smile, TicketResponseCache responses) {
+    super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, CodecConfig.APPLICATION_SMILE);
+    this.json = json;
+    this.cbor = cbor;
+    this.smile = smile;
+    this.responses = responses;
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return TicketBody.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected TicketBody readInternal(
+      Class<? extends TicketBody> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Ticket bodies are write-only", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(TicketBody body, HttpOutputMessage outputMessage)
+      throws IOException {
+    MediaType type = outputMessage.getHeaders().getContentType();
+    JsonFactory factory = factory(type);
+    if (factory == json && body instanceof TicketBody.One one && one.projection().isAll()) {
+      writeCached(one.ticket(), outputMessage);
+      return;
+    }
+    try (JsonGenerator g =
+        factory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+      switch (body) {
+        case TicketBody.One one -> one.projection().write(g, one.ticket());
+        case TicketBody.Page page -> {
+          g.writeStartObject();
+          g.writeArrayFieldStart("tickets");
+          for (Ticket t : page.tickets()) {
+            page.projection().write(g, t);
+          }
+          g.writeEndArray();
+          page.trailer().write(g);
+          g.writeEndObject();
+        }
+      }
+    }
+  }
+
+  private void writeCached(Ticket t, HttpOutputMessage outputMessage) throws IOException {
+    boolean gzip = acceptsGzip();
+    var cached = responses.get(t, gzip);
+    byte[] bytes = cached.json();
+    if (gzip && cached.gzip() != null) {
+      outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+      bytes = cached.gzip();
+    }
+    outputMessage.getHeaders().setContentLength(bytes.length);
+    outputMessage.getBody().write(bytes);
+  }
+
+  private JsonFactory factory(@Nullable MediaType type) {
+    if (type == null) {
+      return json;
+    }
+    if (MediaType.APPLICATION_CBOR.isCompatibleWith(type)) {
+      return cbor;
+    }
+    if (CodecConfig.APPLICATION_SMILE.isCompatibleWith(type)) {
+      return smile;
+    }
+    return json;
+  }
+
+  private static boolean acceptsGzip() {
+    if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs) {
+      String acceptEncoding = attrs.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+      return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+    return false;
+  }
+}
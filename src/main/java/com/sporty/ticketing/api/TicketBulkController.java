@@ -0,0 +1,235 @@
+package com.sporty.ticketing.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.dto.BulkTransitionRequest;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.service.StageTimings;
+import com.sporty.ticketing.service.StageTimings.Stage;
+import com.sporty.ticketing.service.TicketBulkTransitioner;
+import com.sporty.ticketing.service.TicketImporter;
+import com.sporty.ticketing.service.TicketService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for bulk ticket operations using newline-delimited JSON (NDJSON, {@value
+ * #NDJSON}).
+ *
+ * <p>{@code POST /tickets/import} reads one {@code CreateTicketRequest} per line straight from the
+ * request body, without buffering it, and streams back an NDJSON result: one {@code
+ * {"line":n,"error":"..."}} object per rejected line as soon as it is found, followed by a summary
+ * {@code {"lines":n,"imported":n,"failed":n}}. The response is {@code 200 OK} even if some lines
+ * were rejected. Clients should read the response while still sending, since a large number of
+ * errors can fill the response buffer.
+ *
+ * <p>{@code GET /tickets/export} streams every ticket (optionally filtered by {@code status} and
+ * {@code updatedSince}) as one JSON object per line, in the {@code TicketResponse} format or the
+ * subset of it named by {@code fields} (see {@link TicketProjection}). Tickets are written one at
+ * a time through a single {@link JsonGenerator} and its reused buffer, so memory use is constant
+ * regardless of store size, and the export takes no locks.
+ *
+ * <p>{@code POST /tickets/transition} moves every ticket matching a filter to a new status (see
+ * {@link TicketBulkTransitioner}) and streams back an NDJSON result: a progress object {@code
+ * {"matched":n,"processed":n,"transitioned":n,"skipped":n,"failed":n,"done":false}} when the
+ * matching tickets are known and then periodically, one {@code {"ticketId":"...","error":"..."}}
+ * object per ticket that could not be moved, and a final progress object with {@code "done":true}.
+ * As for imports, the response is {@code 200 OK} even if some tickets failed.
+ */
+@RestController
+@RequestMapping("/tickets")
+public class TicketBulkController {
+
+  /** Media type of NDJSON requests and responses. */
+  static final String NDJSON = "application/x-ndjson";
+
+  private final TicketImporter importer;
+  private final TicketService service;
+  private final TicketBulkTransitioner transitioner;
+  private final ObjectMapper mapper;
+
+  /**
+   * Creates a new instance of {@code TicketBulkController}.
+   *
+   * @param importer the NDJSON ticket importer
+   * @param service the ticket service used for exports
+   * @param transitioner the bulk status transitioner
+   * @param mapper JSON mapper used to write result lines
+   */
+  public TicketBulkController(
+      TicketImporter importer,
+      TicketService service,
+      TicketBulkTransitioner transitioner,
+      ObjectMapper mapper) {
+    this.importer = importer;
+    this.service = service;
+    this.transitioner = transitioner;
+    this.mapper = mapper;
+  }
+
+  /**
+   * Imports tickets from an NDJSON request body.
+   *
+   * @param request the HTTP request whose body is read line by line
+   * @param response the HTTP response the NDJSON result is streamed to
+   * @throws IOException if reading the request or writing the response fails
+   */
+  @PostMapping(path = "/import", consumes = NDJSON)
+  public void importTickets(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    StageTimings.mark(Stage.PARSE);
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(NDJSON);
+    var in = new BufferedReader(
+        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), 64 * 1024);
+    try (JsonGenerator out = this.mapper.getFactory().createGenerator(response.getOutputStream())) {
+      out.setRootValueSeparator(null);
+      var result =
+          this.importer.importNdjson(
+              in,
+              new TicketImporter.Listener() {
+                @Override
+                public void onError(long line, String message) throws IOException {
+                  out.writeStartObject();
+                  out.writeNumberField("line", line);
+                  out.writeStringField("error", message);
+                  out.writeEndObject();
+                  out.writeRaw('\n');
+                }
+
+                @Override
+                public void onBatchSaved(int count) throws IOException {
+                  out.flush();
+                }
+              });
+      StageTimings.mark(Stage.SAVE);
+      out.writeStartObject();
+      out.writeNumberField("lines", result.lines());
+      out.writeNumberField("imported", result.imported());
+      out.writeNumberField("failed", result.failed());
+      out.writeEndObject();
+      out.writeRaw('\n');
+    }
+  }
+
+  /**
+   * Exports tickets as NDJSON.
+   *
+   * @param status only tickets in this status, if given
+   * @param updatedSince only tickets updated at or after this ISO-8601 instant, if given
+   * @param fields comma-separated ticket fields to include, or {@code null} for all
+   * @param response the HTTP response the tickets are streamed to
+   * @throws IOException if writing the response fails
+   */
+  @GetMapping(path = "/export", produces = NDJSON)
+  public void exportTickets(
+      @RequestParam(required = false) @Nullable TicketStatus status,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @Nullable
+          Instant updatedSince,
+      @RequestParam(required = false) @Nullable String fields,
+      HttpServletResponse response)
+      throws IOException {
+    var projection = TicketProjection.parse(fields);
+    StageTimings.mark(Stage.PARSE);
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(NDJSON);
+    try (JsonGenerator out = this.mapper.getFactory().createGenerator(response.getOutputStream())) {
+      out.setRootValueSeparator(null);
+      this.service.export(
+          status,
+          updatedSince,
+          t -> {
+            try {
+              projection.write(out, t);
+              out.writeRaw('\n');
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    StageTimings.mark(Stage.READ);
+  }
+
+  /**
+   * Moves every ticket matching the request's filter to its target status.
+   *
+   * @param req the filter and the target status
+   * @param response the HTTP response the NDJSON result is streamed to
+   * @throws IllegalArgumentException if {@code olderThan} is negative
+   * @throws IOException if writing the response fails
+   */
+  @PostMapping(path = "/transition", consumes = MediaType.APPLICATION_JSON_VALUE, produces = NDJSON)
+  public void transitionTickets(
+      @Valid @RequestBody BulkTransitionRequest req, HttpServletResponse response)
+      throws IOException {
+    if (req.olderThan() != null && req.olderThan().isNegative()) {
+      throw new IllegalArgumentException("olderThan must not be negative");
+    }
+    var filter =
+        new TicketBulkTransitioner.Filter(
+            req.status(),
+            req.olderThan() == null ? null : Instant.now().minus(req.olderThan()),
+            req.assigneeId());
+    StageTimings.mark(Stage.PARSE);
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(NDJSON);
+    try (JsonGenerator out = this.mapper.getFactory().createGenerator(response.getOutputStream())) {
+      out.setRootValueSeparator(null);
+      var result =
+          this.transitioner.run(
+              filter,
+              req.targetStatus(),
+              new TicketBulkTransitioner.Listener() {
+                @Override
+                public void onFailure(UUID ticketId, String error) throws IOException {
+                  out.writeStartObject();
+                  out.writeStringField("ticketId", ticketId.toString());
+                  out.writeStringField("error", error);
+                  out.writeEndObject();
+                  out.writeRaw('\n');
+                }
+
+                @Override
+                public void onProgress(TicketBulkTransitioner.Progress progress) throws IOException {
+                  writeProgress(out, progress, false);
+                  out.flush();
+                }
+              });
+      StageTimings.mark(Stage.SAVE);
+      writeProgress(out, result, true);
+    }
+  }
+
+  private static void writeProgress(
+      JsonGenerator out, TicketBulkTransitioner.Progress progress, boolean done) throws IOException {
+    out.writeStartObject();
+    out.writeNumberField("matched", progress.matched());
+    out.writeNumberField("processed", progress.processed());
+    out.writeNumberField("transitioned", progress.transitioned());
+    out.writeNumberField("skipped", progress.skipped());
+    out.writeNumberField("failed", progress.failed());
+    out.writeBooleanField("done", done);
+    out.writeEndObject();
+    out.writeRaw('\n');
+  }
+}
@@ -0,0 +1,100 @@
+package com.sporty.ticketing.api;
+
+import com.sporty.ticketing.config.FeedProperties;
+import com.sporty.ticketing.feed.ChangeFeedHub;
+import com.sporty.ticketing.feed.FeedEvent;
+import com.sporty.ticketing.feed.Subscription;
+import com.sporty.ticketing.model.TicketStatus;
+import java.io.IOException;
+import java.util.Objects;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming ticket changes as Server-Sent Events.
+ *
+ * <p>{@code GET /tickets/feed} keeps the connection open and sends one {@code ticket} event per
+ * change, with the Redis Stream entry ID as the event ID and the {@link
+ * com.sporty.ticketing.model.TicketChange} as JSON data. The optional {@code assigneeId} and {@code
+ * status} parameters restrict the events to changes that leave the ticket with that assignee or
+ * status. A client that reconnects with the {@code Last-Event-ID} header first receives the events
+ * it missed, as far back as the stream retains them; a malformed ID is ignored.
+ *
+ * <p>The feed has its own path rather than sharing {@code /tickets/changes} with the delta sync,
+ * so that neither depends on the {@code Accept} header or the {@code since} parameter to be
+ * routed.
+ */
+@RestController
+@RequestMapping("/tickets")
+@ConditionalOnProperty(prefix = "app.feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TicketChangesController {
+
+  private final ChangeFeedHub hub;
+  private final FeedProperties props;
+
+  /**
+   * Creates a new instance of {@code TicketChangesController}.
+   *
+   * @param hub the node's change feed hub
+   * @param props change feed settings
+   */
+  public TicketChangesController(ChangeFeedHub hub, FeedProperties props) {
+    this.hub = hub;
+    this.props = props;
+  }
+
+  /**
+   * Subscribes to ticket changes.
+   *
+   * @param assigneeId only changes of tickets assigned to this agent, if given
+   * @param status only changes of tickets in this status, if given
+   * @param lastEventId ID of the last event received before reconnecting, if any
+   * @return the SSE stream
+   */
+  @GetMapping(path = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter changes(
+      @RequestParam(required = false) @Nullable String assigneeId,
+      @RequestParam(required = false) @Nullable TicketStatus status,
+      @RequestHeader(value = "Last-Event-ID", required = false) @Nullable String lastEventId) {
+    var emitter = new SseEmitter(this.props.getSseTimeoutMs());
+    var resumeAfter = lastEventId != null && FeedEvent.isValidId(lastEventId) ? lastEventId : null;
+    var sub =
+        this.hub.subscribe(
+            c ->
+                (assigneeId == null || Objects.equals(assigneeId, c.assigneeId()))
+                    && (status == null || status == c.status()),
+            new EmitterSink(emitter),
+            resumeAfter);
+    emitter.onCompletion(sub::close);
+    emitter.onTimeout(sub::close);
+    emitter.onError(e -> sub.close());
+    return emitter;
+  }
+
+  /** Adapts an {@link SseEmitter} to a {@link Subscription.Sink}. */
+  private record EmitterSink(SseEmitter emitter) implements Subscription.Sink {
+
+    @Override
+    public void send(FeedEvent event) throws IOException {
+      this.emitter.send(
+          SseEmitter.event().id(event.id()).name("ticket").data(event.change(), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+      this.emitter.send(SseEmitter.event().comment("keep-alive"));
+    }
+
+    @Override
+    public void close() {
+      this.emitter.complete();
+    }
+  }
+}
@@ -5,18 +5,35 @@ import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import com.sporty.ticketing.config.CodecConfig;
+import com.sporty.ticketing.config.TimingProperties;
 import com.sporty.ticketing.dto.AssignRequest;
 import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.PatchTicketRequest;
+import com.sporty.ticketing.dto.TicketChangesResponse;
 import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.TicketSearchResponse;
 import com.sporty.ticketing.dto.UpdateStatusRequest;
 import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import com.sporty.ticketing.service.StageTimings;
+import com.sporty.ticketing.service.StageTimings.Stage;
 import com.sporty.ticketing.service.TicketService;
 
 /**
@@ -26,38 +43,166 @@ import com.sporty.ticketing.service.TicketService;
  *
  * <ul>
  *   <li>Creating new tickets
+ *   <li>Reading a single ticket
  *   <li>Updating ticket status
- *   <li>Assigning tickets to specific users
+ *   <li>Assigning tickets to specific users, or to the least-loaded agent
+ *   <li>Claiming the next waiting ticket
+ *   <li>Changing several fields at once (assignee, status, subject, description)
+ *   <li>Delta syncs: the tickets changed since a watermark
+ *   <li>Ticket counts per status, overall and per assignee
+ *   <li>Full-text search over subjects and descriptions
  * </ul>
  *
  * All request payloads are validated using {@link jakarta.validation.Valid}.
+ *
+ * <p>Ticket bodies are returned as {@link TicketBody} values and written by {@link
+ * TicketBodyHttpMessageConverter}; the full JSON representation comes pre-serialized from {@link
+ * TicketResponseCache}, so reading or echoing an unchanged ticket does not serialize it again.
+ *
+ * <p>Every endpoint returning tickets accepts a {@code fields} parameter, a comma-separated list
+ * of {@code TicketResponse} field names (e.g. {@code fields=ticketId,status,assigneeId,updatedAt}).
+ * It is resolved into the {@link TicketProjection} argument (see {@link TicketWebConfig}). Only
+ * those fields are read and written, by a writer compiled once per field set; an unknown name is
+ * rejected with {@code 400 Bad Request}.
+ *
+ * <p>All endpoints also speak CBOR and Smile, for high-volume clients: request bodies are decoded
+ * by the {@code Content-Type} and responses encoded by the {@code Accept} header, with the ticket
+ * ID as 16 raw bytes and timestamps as epoch milliseconds. The format is negotiated by Spring MVC
+ * before the handler runs, so a request accepting none of the three formats gets {@code 406 Not
+ * Acceptable} and changes nothing.
+ *
+ * <p>When {@code app.timing.server-timing} is enabled, responses carry a {@code Server-Timing}
+ * header with the stages recorded by {@link StageTimings} up to the point the response is built.
  */
 @RestController
-@RequestMapping("/tickets")
+@RequestMapping(
+    path = "/tickets",
+    produces = {
+      MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_CBOR_VALUE,
+      CodecConfig.APPLICATION_SMILE_VALUE
+    })
 public class TicketController {
 
   private final TicketService service;
+  private final TimingProperties timing;
 
   /**
    * Creates a new instance of {@code TicketController}.
    *
    * @param service the ticket service used for ticket operations
+   * @param timing stage timing settings
    */
-  public TicketController(TicketService service) {
+  public TicketController(TicketService service, TimingProperties timing) {
     this.service = service;
+    this.timing = timing;
   }
 
   /**
    * Creates a new ticket.
    *
    * @param req the {@link CreateTicketRequest} containing user ID, subject, and description
+   * @param autoAssign whether to assign the new ticket to the least-loaded agent
+   * @param projection the response fields to include, from the {@code fields} parameter
    * @return a {@link ResponseEntity} with {@link TicketResponse} and HTTP status 201 (Created)
    */
   @PostMapping
-  public ResponseEntity<TicketResponse> create(@Valid @RequestBody CreateTicketRequest req) {
-    Ticket t = service.create(req.userId(), req.subject(), req.description());
-    return ResponseEntity.created(URI.create("/tickets/" + t.getTicketId()))
-        .body(TicketResponse.from(t));
+  public ResponseEntity<TicketBody> create(
+      @Valid @RequestBody CreateTicketRequest req,
+      @RequestParam(defaultValue = "false") boolean autoAssign,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
+    Ticket t = service.create(req.userId(), req.subject(), req.description(), req.priority(), autoAssign);
+    return respond(
+        ResponseEntity.created(URI.create("/tickets/" + t.getTicketId())),
+        TicketBody.of(t, projection));
+  }
+
+  /**
+   * Returns a single ticket.
+   *
+   * @param ticketId the unique identifier of the ticket
+   * @param projection the response fields to include, from the {@code fields} parameter
+   * @return a {@link ResponseEntity} with the {@link TicketResponse} and HTTP status 200 (OK)
+   */
+  @GetMapping("/{ticketId}")
+  public ResponseEntity<TicketBody> get(
+      @PathVariable UUID ticketId,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
+    var t = service.get(ticketId);
+    return respond(ResponseEntity.ok(), TicketBody.of(t, projection));
+  }
+
+  /**
+   * Returns the tickets changed after a watermark, with the watermark to continue from.
+   *
+   * <p>The live change feed is served separately, on {@code /tickets/feed}.
+   *
+   * @param since the watermark returned by the previous sync ({@code <millis>-<seq>}), or {@code 0}
+   * @param limit maximum number of tickets to return (1 to {@value TicketService#MAX_SYNC_LIMIT})
+   * @param projection the ticket fields to include, from the {@code fields} parameter
+   * @return the changed tickets, oldest change first
+   */
+  @GetMapping("/changes")
+  public ResponseEntity<?> changedSince(
+      @RequestParam String since,
+      @RequestParam(defaultValue = "100") int limit,
+      TicketProjection projection) {
+    var changes = this.service.changedSince(Watermark.parse(since), limit);
+    if (projection.isAll()) {
+      return ResponseEntity.ok(TicketChangesResponse.from(changes));
+    }
+    // same shape as TicketChangesResponse, with each ticket written by the projection
+    return ResponseEntity.ok(
+        new TicketBody.Page(
+            changes.tickets(),
+            projection,
+            g -> {
+              g.writeStringField("watermark", changes.next().toString());
+              g.writeBooleanField("hasMore", changes.hasMore());
+            }));
+  }
+
+  /**
+   * Returns the number of tickets per status, overall and per assignee.
+   *
+   * <p>The counts are maintained incrementally on every write, so a request costs the same
+   * regardless of how many tickets exist.
+   *
+   * @return the current {@link TicketStats}
+   */
+  @GetMapping("/stats")
+  public TicketStats stats() {
+    return this.service.stats();
+  }
+
+  /**
+   * Searches ticket subjects and descriptions.
+   *
+   * <p>Every word of {@code q} must match a word of the ticket, case-insensitively; a word ending
+   * in {@code *} matches as a prefix (e.g. {@code q=login fail*}).
+   *
+   * @param q the query
+   * @param status only tickets in this status, or {@code null} for any status
+   * @param limit maximum number of tickets to return (1 to {@value TicketService#MAX_SEARCH_LIMIT})
+   * @param projection the ticket fields to include, from the {@code fields} parameter
+   * @return the first matches, oldest first, and the total number of matches
+   */
+  @GetMapping("/search")
+  public ResponseEntity<?> search(
+      @RequestParam String q,
+      @RequestParam(required = false) @Nullable TicketStatus status,
+      @RequestParam(defaultValue = "20") int limit,
+      TicketProjection projection) {
+    var result = this.service.search(q, status, limit);
+    if (projection.isAll()) {
+      return ResponseEntity.ok(TicketSearchResponse.from(result));
+    }
+    // same shape as TicketSearchResponse, with each ticket written by the projection
+    return ResponseEntity.ok(
+        new TicketBody.Page(
+            result.tickets(), projection, g -> g.writeNumberField("total", result.total())));
   }
 
   /**
@@ -65,14 +210,18 @@ public class TicketController {
    *
    * @param ticketId the unique identifier of the ticket
    * @param req the {@link UpdateStatusRequest} containing the new status
+   * @param projection the response fields to include, from the {@code fields} parameter
    * @return a {@link ResponseEntity} with the updated {@link TicketResponse} and HTTP status 200
    *     (OK)
    */
   @PatchMapping("/{ticketId}/status")
-  public ResponseEntity<TicketResponse> updateStatus(
-      @PathVariable UUID ticketId, @Valid @RequestBody UpdateStatusRequest req) {
+  public ResponseEntity<TicketBody> updateStatus(
+      @PathVariable UUID ticketId,
+      @Valid @RequestBody UpdateStatusRequest req,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
     var t = service.updateStatus(ticketId, req.status());
-    return ResponseEntity.ok(TicketResponse.from(t));
+    return respond(ResponseEntity.ok(), TicketBody.of(t, projection));
   }
 
   /**
@@ -80,13 +229,93 @@ public class TicketController {
    *
    * @param ticketId the unique identifier of the ticket
    * @param req the {@link AssignRequest} containing the assignee ID
+   * @param projection the response fields to include, from the {@code fields} parameter
    * @return a {@link ResponseEntity} with the updated {@link TicketResponse} and HTTP status 200
    *     (OK)
    */
   @PatchMapping("/{ticketId}/assign")
-  public ResponseEntity<TicketResponse> assign(
-      @PathVariable UUID ticketId, @Valid @RequestBody AssignRequest req) {
+  public ResponseEntity<TicketBody> assign(
+      @PathVariable UUID ticketId,
+      @Valid @RequestBody AssignRequest req,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
     var t = service.assign(ticketId, req.assigneeId());
-    return ResponseEntity.ok(TicketResponse.from(t));
+    return respond(ResponseEntity.ok(), TicketBody.of(t, projection));
+  }
+
+  /**
+   * Assigns a ticket to the configured agent with the fewest open or in-progress tickets.
+   *
+   * @param ticketId the unique identifier of the ticket
+   * @param projection the response fields to include, from the {@code fields} parameter
+   * @return a {@link ResponseEntity} with the updated {@link TicketResponse} and HTTP status 200
+   *     (OK)
+   */
+  @PostMapping("/{ticketId}/auto-assign")
+  public ResponseEntity<TicketBody> autoAssign(
+      @PathVariable UUID ticketId,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
+    var t = service.autoAssign(ticketId);
+    return respond(ResponseEntity.ok(), TicketBody.of(t, projection));
+  }
+
+  /**
+   * Assigns the next waiting ticket to the calling agent: the unassigned {@code OPEN} ticket with
+   * the highest priority, oldest first.
+   *
+   * @param req the {@link AssignRequest} containing the claiming agent's ID
+   * @param projection the response fields to include, from the {@code fields} parameter
+   * @return a {@link ResponseEntity} with the claimed {@link TicketResponse} and HTTP status 200
+   *     (OK), or HTTP status 204 (No Content) if no ticket is waiting
+   */
+  @PostMapping("/claim")
+  public ResponseEntity<TicketBody> claim(
+      @Valid @RequestBody AssignRequest req,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
+    var claimed = service.claim(req.assigneeId());
+    if (claimed.isEmpty()) {
+      return withTiming(ResponseEntity.status(HttpStatus.NO_CONTENT)).build();
+    }
+    return respond(ResponseEntity.ok(), TicketBody.of(claimed.get(), projection));
+  }
+
+  /**
+   * Applies several changes to a ticket at once, under a single lock acquisition.
+   *
+   * @param ticketId the unique identifier of the ticket
+   * @param req the {@link PatchTicketRequest} containing the fields to change
+   * @param projection the response fields to include, from the {@code fields} parameter
+   * @return a {@link ResponseEntity} with the updated {@link TicketResponse} and HTTP status 200
+   *     (OK)
+   */
+  @PatchMapping("/{ticketId}")
+  public ResponseEntity<TicketBody> patch(
+      @PathVariable UUID ticketId,
+      @Valid @RequestBody PatchTicketRequest req,
+      TicketProjection projection) {
+    StageTimings.mark(Stage.PARSE);
+    var t = service.patch(ticketId, req.toPatch());
+    return respond(ResponseEntity.ok(), TicketBody.of(t, projection));
+  }
+
+  /**
+   * Completes the response for a ticket body. The body itself is written after this method
+   * returns, in the negotiated format, by {@link TicketBodyHttpMessageConverter}.
+   */
+  private ResponseEntity<TicketBody> respond(BodyBuilder builder, TicketBody body) {
+    builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    return withTiming(builder).body(body);
+  }
+
+  private BodyBuilder withTiming(BodyBuilder builder) {
+    if (timing.isServerTiming()) {
+      var t = StageTimings.current();
+      if (t != null) {
+        builder.header("Server-Timing", t.toServerTiming());
+      }
+    }
+    return builder;
   }
 }
@@ -0,0 +1,187 @@
+package com.sporty.ticketing.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.sporty.ticketing.model.Ticket;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.lang.Nullable;
+
+/**
+ * A subset of the {@code TicketResponse} fields, selected with the {@code fields} request
+ * parameter, and the writer that serializes exactly those fields of a {@link Ticket}.
+ *
+ * <p>A projection is identified by a bitmask over {@link Field}. Each distinct mask is compiled
+ * once into an array of field writers with pre-encoded names and then reused, so writing a ticket
+ * is a straight loop over the selected getters: fields that were not requested are neither read
+ * nor encoded, and nothing is filtered reflectively. Fields are always written in the {@code
+ * TicketResponse} order, whatever the order in the parameter; {@link #ALL} produces the same JSON
+ * as {@code TicketResponse}.
+ *
+ * <p>With a generator for a binary format (one that {@linkplain JsonGenerator#canWriteBinaryNatively()
+ * writes binary natively}, i.e. CBOR or Smile), the ticket ID is written as 16 raw bytes and
+ * timestamps as epoch milliseconds, as the binary message converters do.
+ */
+final class TicketProjection {
+
+  /** Fields of the ticket representation, in output order. */
+  enum Field {
+    TICKET_ID("ticketId", (g, t) -> writeUuid(g, t.getTicketId())),
+    SUBJECT("subject", (g, t) -> g.writeString(t.getSubject())),
+    DESCRIPTION("description", (g, t) -> g.writeString(t.getDescription())),
+    STATUS("status", (g, t) -> g.writeString(t.getStatus().name())),
+    PRIORITY("priority", (g, t) -> g.writeString(t.getPriority().name())),
+    USER_ID("userId", (g, t) -> g.writeString(t.getUserId())),
+    ASSIGNEE_ID("assigneeId", (g, t) -> g.writeString(t.getAssigneeId())),
+    CREATED_AT("createdAt", (g, t) -> writeInstant(g, t.getCreatedAt())),
+    UPDATED_AT("updatedAt", (g, t) -> writeInstant(g, t.getUpdatedAt())),
+    VERSION("version", (g, t) -> g.writeNumber(t.getVersion()));
+
+    private final String jsonName;
+    private final SerializedString encodedName;
+    private final ValueWriter value;
+
+    Field(String jsonName, ValueWriter value) {
+      this.jsonName = jsonName;
+      this.encodedName = new SerializedString(jsonName);
+      this.value = value;
+    }
+
+    static Field byJsonName(String name) {
+      for (Field f : values()) {
+        if (f.jsonName.equals(name)) {
+          return f;
+        }
+      }
+      throw new IllegalArgumentException("Unknown field: " + name);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter {
+    void write(JsonGenerator g, Ticket t) throws IOException;
+  }
+
+  private static final Field[] FIELDS = Field.values();
+  private static final int ALL_MASK = (1 << FIELDS.length) - 1;
+  private static final AtomicReferenceArray<TicketProjection> COMPILED =
+      new AtomicReferenceArray<>(ALL_MASK + 1);
+
+  /** Every field; the default when no {@code fields} parameter is given. */
+  static final TicketProjection ALL = of(ALL_MASK);
+
+  private final int mask;
+  private final Field[] fields;
+
+  private TicketProjection(int mask) {
+    this.mask = mask;
+    var selected = new ArrayList<Field>(FIELDS.length);
+    for (Field f : FIELDS) {
+      if ((mask & (1 << f.ordinal())) != 0) {
+        selected.add(f);
+      }
+    }
+    this.fields = selected.toArray(Field[]::new);
+  }
+
+  /**
+   * Parses a {@code fields} parameter: a comma-separated list of {@code TicketResponse} field
+   * names.
+   *
+   * @param fields the parameter value, or {@code null} or blank for all fields
+   * @return the compiled projection
+   * @throws IllegalArgumentException if a name is not a ticket field
+   */
+  static TicketProjection parse(@Nullable String fields) {
+    if (fields == null || fields.isBlank()) {
+      return ALL;
+    }
+    int mask = 0;
+    for (String name : fields.split(",")) {
+      String trimmed = name.trim();
+      if (!trimmed.isEmpty()) {
+        mask |= 1 << Field.byJsonName(trimmed).ordinal();
+      }
+    }
+    return mask == 0 ? ALL : of(mask);
+  }
+
+  private static TicketProjection of(int mask) {
+    TicketProjection p = COMPILED.get(mask);
+    if (p == null) {
+      COMPILED.compareAndSet(mask, null, new TicketProjection(mask));
+      p = COMPILED.get(mask);
+    }
+    return p;
+  }
+
+  /**
+   * Returns whether this projection selects every field.
+   *
+   * @return {@code true} for {@link #ALL}
+   */
+  boolean isAll() {
+    return mask == ALL_MASK;
+  }
+
+  /**
+   * Writes the selected fields of {@code t} as one JSON object.
+   *
+   * @param g the generator to write to
+   * @param t the ticket
+   * @throws IOException if writing fails
+   */
+  void write(JsonGenerator g, Ticket t) throws IOException {
+    g.writeStartObject();
+    for (Field f : fields) {
+      g.writeFieldName(f.encodedName);
+      f.value.write(g, t);
+    }
+    g.writeEndObject();
+  }
+
+  /**
+   * Serializes the selected fields of {@code t} to one object in the factory's format.
+   *
+   * @param factory the factory creating the generator (JSON, CBOR or Smile)
+   * @param t the ticket
+   * @return the encoded object
+   */
+  byte[] serialize(JsonFactory factory, Ticket t) {
+    var out = new ByteArrayOutputStream(32 * fields.length);
+    try (JsonGenerator g = factory.createGenerator(out)) {
+      write(g, t);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeUuid(JsonGenerator g, UUID id) throws IOException {
+    if (g.canWriteBinaryNatively()) {
+      byte[] bytes =
+          ByteBuffer.allocate(16)
+              .putLong(id.getMostSignificantBits())
+              .putLong(id.getLeastSignificantBits())
+              .array();
+      g.writeBinary(bytes);
+    } else {
+      g.writeString(id.toString());
+    }
+  }
+
+  private static void writeInstant(JsonGenerator g, Instant instant) throws IOException {
+    if (g.canWriteBinaryNatively()) {
+      g.writeNumber(instant.toEpochMilli());
+    } else {
+      g.writeString(instant.toString());
+    }
+  }
+}
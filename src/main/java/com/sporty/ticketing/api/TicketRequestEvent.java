@@ -0,0 +1,60 @@
+package com.sporty.ticketing.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event describing the stage breakdown of a single ticket request.
+ *
+ * <p>The event duration covers the whole request; the stage fields hold the time attributed to
+ * each {@link com.sporty.ticketing.service.StageTimings.Stage}.
+ */
+@Name("com.sporty.ticketing.TicketRequest")
+@Label("Ticket Request")
+@Category({"Ticketing", "HTTP"})
+@Description("Per-stage timing of a ticket API request")
+@StackTrace(false)
+final class TicketRequestEvent extends Event {
+
+  @Label("Method")
+  String method;
+
+  @Label("Path")
+  String path;
+
+  @Label("Status")
+  int status;
+
+  @Label("Request Parsing")
+  @Timespan(Timespan.NANOSECONDS)
+  long parse;
+
+  @Label("Lock Wait")
+  @Timespan(Timespan.NANOSECONDS)
+  long lock;
+
+  @Label("Repository Read")
+  @Timespan(Timespan.NANOSECONDS)
+  long read;
+
+  @Label("Mutation")
+  @Timespan(Timespan.NANOSECONDS)
+  long mutate;
+
+  @Label("Repository Save")
+  @Timespan(Timespan.NANOSECONDS)
+  long save;
+
+  @Label("Unlock")
+  @Timespan(Timespan.NANOSECONDS)
+  long unlock;
+
+  @Label("Serialization")
+  @Timespan(Timespan.NANOSECONDS)
+  long serialize;
+}
@@ -0,0 +1,119 @@
+package com.sporty.ticketing.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.config.ResponseCacheProperties;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.model.Ticket;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of pre-serialized {@link TicketResponse} bodies.
+ *
+ * <p>Entries are keyed by ticket ID and tagged with the ticket's version. A lookup for a ticket
+ * whose version differs from the cached one is a miss and replaces the entry, so every mutation
+ * implicitly invalidates the previous representation, even one made within the same clock tick. The gzip variant is produced
+ * lazily, only for bodies of at least {@code gzip-min-bytes}.
+ *
+ * <p>When the cache is full, an arbitrary entry is evicted on insert. This keeps memory bounded
+ * without the shared bookkeeping an exact LRU would need on every read.
+ */
+@Component
+public class TicketResponseCache {
+
+  /**
+   * A serialized ticket representation.
+   *
+   * @param version version of the ticket this representation was built from
+   * @param json the JSON body
+   * @param gzip the gzip-compressed JSON body, or {@code null} if not compressed
+   */
+  public record Body(long version, byte[] json, @Nullable byte[] gzip) {}
+
+  private final ObjectMapper mapper;
+  private final ResponseCacheProperties props;
+  private final ConcurrentHashMap<UUID, Body> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@code TicketResponseCache}.
+   *
+   * @param mapper the application's {@link ObjectMapper}
+   * @param props cache settings
+   */
+  public TicketResponseCache(ObjectMapper mapper, ResponseCacheProperties props) {
+    this.mapper = mapper;
+    this.props = props;
+  }
+
+  /**
+   * Returns the serialized form of {@code t}, from the cache if its version is current.
+   *
+   * @param t the ticket to serialize
+   * @param gzip whether the caller can use a gzip-compressed body
+   * @return the serialized body; {@link Body#gzip()} is set only if requested and the body is
+   *     large enough to be worth compressing
+   */
+  public Body get(Ticket t, boolean gzip) {
+    if (!props.isEnabled()) {
+      return build(t, gzip);
+    }
+    Body cached = cache.get(t.getTicketId());
+    if (cached != null && cached.version() == t.getVersion()) {
+      if (!gzip || cached.gzip() != null || cached.json().length < props.getGzipMinBytes()) {
+        return cached;
+      }
+      Body withGzip = new Body(cached.version(), cached.json(), compress(cached.json()));
+      cache.replace(t.getTicketId(), cached, withGzip);
+      return withGzip;
+    }
+    long seen = t.getVersion();
+    Body fresh = build(t, gzip);
+    // a mutation that raced the serialization may have left a mix of old and new fields: serve
+    // the body, but do not cache it under either version
+    if (fresh.version() != seen || seen != t.getVersion()) {
+      return fresh;
+    }
+    if (cache.size() >= props.getMaxEntries() && !cache.containsKey(t.getTicketId())) {
+      evictOne();
+    }
+    cache.put(t.getTicketId(), fresh);
+    return fresh;
+  }
+
+  private Body build(Ticket t, boolean gzip) {
+    var response = TicketResponse.from(t);
+    byte[] json;
+    try {
+      json = mapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize ticket " + t.getTicketId(), e);
+    }
+    byte[] compressed = gzip && json.length >= props.getGzipMinBytes() ? compress(json) : null;
+    return new Body(response.version(), json, compressed);
+  }
+
+  private void evictOne() {
+    Iterator<UUID> it = cache.keySet().iterator();
+    if (it.hasNext()) {
+      cache.remove(it.next());
+    }
+  }
+
+  private static byte[] compress(byte[] json) {
+    var out = new ByteArrayOutputStream(json.length / 2 + 32);
+    try (var gz = new GZIPOutputStream(out)) {
+      gz.write(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
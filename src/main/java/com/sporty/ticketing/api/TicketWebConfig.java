@@ -0,0 +1,75 @@
+package com.sporty.ticketing.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC wiring of the ticket representation.
+ *
+ * <ul>
+ *   <li>A {@link TicketProjection} handler argument is resolved from the {@code fields} request
+ *       parameter, so an unknown field name is rejected with {@code 400 Bad Request} before the
+ *       handler runs.
+ *   <li>{@link TicketBody} return values are written by {@link TicketBodyHttpMessageConverter},
+ *       which Spring Boot adds to the message converters with the CBOR and Smile ones of {@link
+ *       com.sporty.ticketing.config.CodecConfig}.
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+class TicketWebConfig implements WebMvcConfigurer {
+
+  @Override
+  public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+    resolvers.add(new ProjectionArgumentResolver());
+  }
+
+  /**
+   * Creates the converter for {@link TicketBody} responses.
+   *
+   * @param mapper the application's JSON mapper
+   * @param cbor the CBOR converter
+   * @param smile the Smile converter
+   * @param responses cache of serialized ticket responses
+   * @return the converter
+   */
+  @Bean
+  TicketBodyHttpMessageConverter ticketBodyHttpMessageConverter(
+      ObjectMapper mapper,
+      MappingJackson2CborHttpMessageConverter cbor,
+      MappingJackson2SmileHttpMessageConverter smile,
+      TicketResponseCache responses) {
+    return new TicketBodyHttpMessageConverter(
+        mapper.getFactory(),
+        cbor.getObjectMapper().getFactory(),
+        smile.getObjectMapper().getFactory(),
+        responses);
+  }
+
+  private static final class ProjectionArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+      return parameter.getParameterType() == TicketProjection.class;
+    }
+
+    @Override
+    public TicketProjection resolveArgument(
+        MethodParameter parameter,
+        @Nullable ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        @Nullable WebDataBinderFactory binderFactory) {
+      return TicketProjection.parse(webRequest.getParameter("fields"));
+    }
+  }
+}
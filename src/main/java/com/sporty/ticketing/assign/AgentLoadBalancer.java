@@ -0,0 +1,63 @@
+package com.sporty.ticketing.assign;
+
+import com.sporty.ticketing.model.TicketStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tracks the load of every configured agent, i.e. the number of {@code OPEN} or
+ * {@code IN_PROGRESS} tickets assigned to them, and picks the least-loaded agent.
+ * <p>
+ * Loads are not recomputed from the tickets: the service reports every change of a ticket's load
+ * holder with {@link #move}, and {@link #reserveLeastLoaded()} counts the chosen agent's new ticket
+ * in the same atomic step that chooses it, so concurrent callers spread over the agents instead of
+ * all picking the same one. Both operations take O(log agents). Agents that are not configured
+ * are ignored.
+ */
+public interface AgentLoadBalancer {
+
+    /**
+     * Picks the agent with the lowest load (ties broken by agent ID) and adds one to their load.
+     * <p>
+     * The caller either keeps the reservation as the load of the ticket it assigns, or gives it
+     * back with {@code move(agent, null)}.
+     *
+     * @return the chosen agent, or empty if no agents are configured
+     */
+    Optional<String> reserveLeastLoaded();
+
+    /**
+     * Moves one unit of load from one agent to another.
+     *
+     * @param from the agent losing a ticket, or {@code null}
+     * @param to   the agent gaining a ticket, or {@code null}
+     */
+    void move(@Nullable String from, @Nullable String to);
+
+    /**
+     * Returns the agent a ticket counts towards.
+     *
+     * @param status     the ticket's status
+     * @param assigneeId the ticket's assignee, or {@code null}
+     * @return {@code assigneeId} if the ticket is open or in progress, {@code null} otherwise
+     */
+    @Nullable
+    static String holder(TicketStatus status, @Nullable String assigneeId) {
+        return status == TicketStatus.OPEN || status == TicketStatus.IN_PROGRESS ? assigneeId : null;
+    }
+
+    /**
+     * Creates an in-JVM balancer over the given agents, all starting with no load.
+     *
+     * @param agents the agent IDs
+     * @return a new balancer, independent of the application's one
+     */
+    static AgentLoadBalancer inMemory(List<String> agents) {
+        var initial = new LinkedHashMap<String, Long>();
+        agents.forEach(agent -> initial.put(agent, 0L));
+        return new LocalAgentLoadBalancer(initial);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sporty.ticketing.assign;
+
+import com.sporty.ticketing.config.AssignProperties;
+import com.sporty.ticketing.config.RepositoryProperties;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.repo.TicketRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Spring configuration for auto-assignment.
+ * <p>
+ * The loads live next to the tickets: in Redis when {@code app.repo.mode} is {@code redis}, so
+ * that every node sees the same loads, and in the JVM otherwise. Agents are registered with the
+ * loads taken from {@link TicketRepository#stats()}, so a restart over existing tickets starts
+ * from their real counts.
+ */
+@Configuration
+public class AssignConfig {
+
+    /**
+     * Creates the {@link AgentLoadBalancer} for the configured agents.
+     *
+     * @param props     auto-assignment settings
+     * @param repoProps repository settings, selecting where loads are kept
+     * @param repo      repository providing the initial counts
+     * @param redis     the {@link StringRedisTemplate} used in Redis mode
+     * @return the balancer
+     */
+    @Bean
+    public AgentLoadBalancer agentLoadBalancer(
+            AssignProperties props,
+            RepositoryProperties repoProps,
+            TicketRepository repo,
+            StringRedisTemplate redis) {
+        var byAssignee = repo.stats().byAssignee();
+        var initial = new LinkedHashMap<String, Long>();
+        for (String agent : props.getAgents()) {
+            Map<TicketStatus, Long> counts = byAssignee.getOrDefault(agent, Map.of());
+            initial.put(agent, counts.getOrDefault(TicketStatus.OPEN, 0L)
+                    + counts.getOrDefault(TicketStatus.IN_PROGRESS, 0L));
+        }
+        if ("redis".equals(repoProps.getMode())) {
+            return new RedisAgentLoadBalancer(redis, props.getLoadKey(), initial);
+        }
+        return new LocalAgentLoadBalancer(initial);
+    }
+}
@@ -0,0 +1,119 @@
+package com.sporty.ticketing.assign;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link AgentLoadBalancer} for a single node, backed by an indexed binary min-heap.
+ * <p>
+ * The heap is ordered by load, then agent ID, and a map from agent to heap slot lets a load
+ * change re-position that agent in O(log agents) without searching. All operations run under the
+ * instance monitor; they are short and never block on I/O.
+ */
+final class LocalAgentLoadBalancer implements AgentLoadBalancer {
+
+    private final String[] agents;
+    private final long[] loads;
+    private final HashMap<String, Integer> slots = new HashMap<>();
+
+    /**
+     * Creates the heap.
+     *
+     * @param initial the configured agents and their current loads
+     */
+    LocalAgentLoadBalancer(Map<String, Long> initial) {
+        this.agents = new String[initial.size()];
+        this.loads = new long[initial.size()];
+        int i = 0;
+        for (var e : initial.entrySet()) {
+            agents[i] = e.getKey();
+            loads[i] = e.getValue();
+            slots.put(e.getKey(), i);
+            i++;
+        }
+        for (int k = agents.length / 2 - 1; k >= 0; k--) {
+            siftDown(k);
+        }
+    }
+
+    @Override
+    public synchronized Optional<String> reserveLeastLoaded() {
+        if (agents.length == 0) {
+            return Optional.empty();
+        }
+        String agent = agents[0];
+        loads[0]++;
+        siftDown(0);
+        return Optional.of(agent);
+    }
+
+    @Override
+    public synchronized void move(@Nullable String from, @Nullable String to) {
+        if (from == null ? to == null : from.equals(to)) {
+            return;
+        }
+        adjust(from, -1);
+        adjust(to, 1);
+    }
+
+    private void adjust(@Nullable String agent, int delta) {
+        Integer slot = agent == null ? null : slots.get(agent);
+        if (slot == null) {
+            return;
+        }
+        loads[slot] += delta;
+        if (delta < 0) {
+            siftUp(slot);
+        } else {
+            siftDown(slot);
+        }
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!less(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < agents.length && less(left, smallest)) {
+                smallest = left;
+            }
+            if (right < agents.length && less(right, smallest)) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private boolean less(int i, int j) {
+        return loads[i] < loads[j] || (loads[i] == loads[j] && agents[i].compareTo(agents[j]) < 0);
+    }
+
+    private void swap(int i, int j) {
+        String a = agents[i];
+        agents[i] = agents[j];
+        agents[j] = a;
+        long l = loads[i];
+        loads[i] = loads[j];
+        loads[j] = l;
+        slots.put(agents[i], i);
+        slots.put(agents[j], j);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sporty.ticketing.assign;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link AgentLoadBalancer} shared by all nodes, backed by a Redis sorted set of agents scored
+ * by load.
+ * <p>
+ * Every operation is one Lua script, so choosing an agent and counting its new ticket is atomic
+ * across nodes. The sorted set orders equal scores by member, which gives the same tie-break as
+ * {@link LocalAgentLoadBalancer}; reading the first member and incrementing a score are both
+ * O(log agents).
+ */
+final class RedisAgentLoadBalancer implements AgentLoadBalancer {
+
+    /**
+     * Adds the configured agents that are missing, with their initial load, and removes agents
+     * that are no longer configured. {@code ARGV} holds pairs of agent and initial load; existing
+     * loads are kept, so a node starting later does not reset them.
+     */
+    static final String LUA_SEED = """
+        local keep = {}
+        for i = 1, #ARGV, 2 do
+          keep[ARGV[i]] = true
+          redis.call('zadd', KEYS[1], 'NX', ARGV[i + 1], ARGV[i])
+        end
+        for _, agent in ipairs(redis.call('zrange', KEYS[1], 0, -1)) do
+          if not keep[agent] then
+            redis.call('zrem', KEYS[1], agent)
+          end
+        end
+        return 1
+        """;
+
+    /** Returns the least-loaded agent after adding one to their load, or nil if there is none. */
+    static final String LUA_RESERVE = """
+        local first = redis.call('zrange', KEYS[1], 0, 0)
+        if #first == 0 then
+          return false
+        end
+        redis.call('zincrby', KEYS[1], 1, first[1])
+        return first[1]
+        """;
+
+    /**
+     * Moves one unit of load from {@code ARGV[1]} to {@code ARGV[2]}; {@code ""} stands for no
+     * agent, and agents that are not members are left alone.
+     */
+    static final String LUA_MOVE = """
+        if ARGV[1] ~= '' and redis.call('zscore', KEYS[1], ARGV[1]) then
+          redis.call('zincrby', KEYS[1], -1, ARGV[1])
+        end
+        if ARGV[2] ~= '' and redis.call('zscore', KEYS[1], ARGV[2]) then
+          redis.call('zincrby', KEYS[1], 1, ARGV[2])
+        end
+        return 1
+        """;
+
+    private final StringRedisTemplate redis;
+    private final List<String> keys;
+    private final DefaultRedisScript<String> reserveScript = new DefaultRedisScript<>(LUA_RESERVE, String.class);
+    private final DefaultRedisScript<Long> moveScript = new DefaultRedisScript<>(LUA_MOVE, Long.class);
+
+    /**
+     * Creates the balancer and registers the configured agents.
+     *
+     * @param redis   the {@link StringRedisTemplate} to use for Redis commands
+     * @param key     the sorted set holding the loads
+     * @param initial the configured agents and the loads to start from if they are not registered yet
+     */
+    RedisAgentLoadBalancer(StringRedisTemplate redis, String key, Map<String, Long> initial) {
+        this.redis = redis;
+        this.keys = List.of(key);
+        var args = new String[initial.size() * 2];
+        int a = 0;
+        for (var e : initial.entrySet()) {
+            args[a++] = e.getKey();
+            args[a++] = Long.toString(e.getValue());
+        }
+        redis.execute(new DefaultRedisScript<>(LUA_SEED, Long.class), keys, (Object[]) args);
+    }
+
+    @Override
+    public Optional<String> reserveLeastLoaded() {
+        return Optional.ofNullable(redis.execute(reserveScript, keys));
+    }
+
+    @Override
+    public void move(@Nullable String from, @Nullable String to) {
+        if (from == null ? to == null : from.equals(to)) {
+            return;
+        }
+        redis.execute(moveScript, keys, from == null ? "" : from, to == null ? "" : to);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Auto-assignment: tracks how many active tickets each agent holds and picks the least-loaded one.
+ */
+@org.springframework.lang.NonNullApi
+package com.sporty.ticketing.assign;
@@ -0,0 +1,50 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for auto-assignment.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.assign}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   assign:
+ *     agents: agent-1,agent-2,agent-3
+ *     load-key: agents:load
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.assign")
+public class AssignProperties {
+
+    /**
+     * IDs of the agents that auto-assignment chooses from. All nodes must use the same list.
+     * Defaults to none, in which case auto-assignment is rejected.
+     */
+    private List<String> agents = new ArrayList<>();
+
+    /**
+     * Redis sorted set holding the agent loads when {@code app.repo.mode} is {@code redis}.
+     * Defaults to {@code agents:load}.
+     */
+    private String loadKey = "agents:load";
+
+    public List<String> getAgents() {
+        return agents;
+    }
+
+    public void setAgents(List<String> agents) {
+        this.agents = agents;
+    }
+
+    public String getLoadKey() {
+        return loadKey;
+    }
+
+    public void setLoadKey(String loadKey) {
+        this.loadKey = loadKey;
+    }
+}
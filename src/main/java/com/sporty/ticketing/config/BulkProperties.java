@@ -0,0 +1,116 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulk ticket operations: NDJSON import and status transitions by
+ * query.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.bulk}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   bulk:
+ *     import-batch-size: 500
+ *     max-line-length: 65536
+ *     transition:
+ *       batch-size: 500
+ *       parallelism: 0
+ *       max-rate: 50000
+ *       progress-interval-ms: 1000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkProperties {
+
+    /** Number of valid records written to the repository at once. Defaults to {@code 500}. */
+    private int importBatchSize = 500;
+
+    /**
+     * Maximum length of one NDJSON line, in characters. Longer lines are reported as errors and
+     * skipped without being buffered. Defaults to {@code 65536}.
+     */
+    private int maxLineLength = 65_536;
+
+    /** Settings of bulk status transitions. */
+    private final Transition transition = new Transition();
+
+    public int getImportBatchSize() {
+        return importBatchSize;
+    }
+
+    public void setImportBatchSize(int importBatchSize) {
+        this.importBatchSize = importBatchSize;
+    }
+
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    public void setMaxLineLength(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+
+    public Transition getTransition() {
+        return transition;
+    }
+
+    /**
+     * Settings of bulk status transitions ({@code POST /tickets/transition}).
+     * <p>
+     * The parallelism and the rate bound how much of the machine and of Redis a transition may
+     * take, so that interactive requests keep being served while it runs.
+     */
+    public static class Transition {
+
+        /** Number of tickets locked and saved together. Defaults to {@code 500}. */
+        private int batchSize = 500;
+
+        /**
+         * Number of worker threads shared by all running transitions; {@code 0} for half the
+         * available processors. Defaults to {@code 0}.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Maximum number of tickets processed per second over all running transitions;
+         * {@code 0} for no limit. Defaults to {@code 50000}.
+         */
+        private int maxRate = 50_000;
+
+        /** Interval between progress lines in the response, in milliseconds. Defaults to {@code 1000}. */
+        private long progressIntervalMs = 1000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxRate() {
+            return maxRate;
+        }
+
+        public void setMaxRate(int maxRate) {
+            this.maxRate = maxRate;
+        }
+
+        public long getProgressIntervalMs() {
+            return progressIntervalMs;
+        }
+
+        public void setProgressIntervalMs(long progressIntervalMs) {
+            this.progressIntervalMs = progressIntervalMs;
+        }
+    }
+}
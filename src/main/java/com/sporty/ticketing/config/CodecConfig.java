@@ -0,0 +1,75 @@
+package com.sporty.ticketing.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the API payloads, next to JSON.
+ * <p>
+ * Clients select CBOR ({@code application/cbor}) or Smile ({@code application/x-jackson-smile})
+ * with the {@code Accept} and {@code Content-Type} headers. Both mappers start from the same
+ * Spring Boot-configured builder as the JSON mapper, with two differences that make payloads
+ * smaller and cheaper to parse: timestamps are written as epoch milliseconds rather than ISO-8601
+ * strings, and UUIDs as 16 raw bytes (Jackson's default for formats with native binary values)
+ * rather than 36-character strings.
+ */
+@Configuration
+public class CodecConfig {
+
+    /** String value of {@link #APPLICATION_SMILE}. */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /** Media type of Smile-encoded payloads. */
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Creates the CBOR converter; it replaces Spring MVC's default one.
+     *
+     * @param builder the Spring Boot-configured mapper builder
+     * @return the converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder, new CBORFactory()));
+    }
+
+    /**
+     * Creates the Smile converter; it replaces Spring MVC's default one.
+     *
+     * @param builder the Spring Boot-configured mapper builder
+     * @return the converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder, new SmileFactory()));
+    }
+
+    /**
+     * Builds a mapper for a binary format, writing timestamps as epoch milliseconds.
+     * <p>
+     * Sub-millisecond precision of timestamps is not kept in the binary encodings.
+     *
+     * @param builder the builder to start from
+     * @param factory the format's factory
+     * @return the mapper
+     */
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(
+                        SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+}
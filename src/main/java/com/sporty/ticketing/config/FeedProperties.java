@@ -0,0 +1,155 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the ticket change feed.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.feed}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   feed:
+ *     enabled: true
+ *     stream-key: tickets:changes
+ *     max-len: 100000
+ *     publish-queue-capacity: 10000
+ *     publish-batch-size: 128
+ *     poll-timeout-ms: 250
+ *     subscriber-queue-capacity: 1000
+ *     sender-threads: 4
+ *     heartbeat-ms: 15000
+ *     sse-timeout-ms: 1800000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+
+    /** Whether changes are published and the SSE endpoint is available. Defaults to {@code true}. */
+    private boolean enabled = true;
+
+    /** Key of the Redis Stream holding change events. Defaults to {@code tickets:changes}. */
+    private String streamKey = "tickets:changes";
+
+    /**
+     * Approximate number of events kept in the stream ({@code XADD MAXLEN ~}); this bounds how
+     * far back a reconnecting subscriber can resume. Defaults to {@code 100000}.
+     */
+    private long maxLen = 100_000;
+
+    /**
+     * Changes waiting to be appended to the stream; further changes are dropped while this many
+     * are pending, e.g. while Redis is down. Defaults to {@code 10000}.
+     */
+    private int publishQueueCapacity = 10_000;
+
+    /** Maximum number of changes appended in one pipeline. Defaults to {@code 128}. */
+    private int publishBatchSize = 128;
+
+    /**
+     * How long one {@code XREAD} blocks waiting for new events, in milliseconds. Must be below
+     * {@code spring.data.redis.timeout}. Defaults to {@code 250}.
+     */
+    private long pollTimeoutMs = 250;
+
+    /**
+     * Events buffered per subscriber; a subscriber that falls this far behind is disconnected and
+     * can resume with {@code Last-Event-ID}. Defaults to {@code 1000}.
+     */
+    private int subscriberQueueCapacity = 1000;
+
+    /**
+     * Threads writing events to subscribers. Subscribers are served in turn, so a slow one only
+     * occupies a thread while its socket accepts no more data. Defaults to {@code 4}.
+     */
+    private int senderThreads = 4;
+
+    /** Interval of SSE keep-alive comments, in milliseconds. Defaults to {@code 15000}. */
+    private long heartbeatMs = 15_000;
+
+    /**
+     * Lifetime of one SSE connection, in milliseconds; clients reconnect afterwards.
+     * Defaults to {@code 1800000} (30 minutes).
+     */
+    private long sseTimeoutMs = 1_800_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStreamKey() {
+        return streamKey;
+    }
+
+    public void setStreamKey(String streamKey) {
+        this.streamKey = streamKey;
+    }
+
+    public long getMaxLen() {
+        return maxLen;
+    }
+
+    public void setMaxLen(long maxLen) {
+        this.maxLen = maxLen;
+    }
+
+    public int getPublishQueueCapacity() {
+        return publishQueueCapacity;
+    }
+
+    public void setPublishQueueCapacity(int publishQueueCapacity) {
+        this.publishQueueCapacity = publishQueueCapacity;
+    }
+
+    public int getPublishBatchSize() {
+        return publishBatchSize;
+    }
+
+    public void setPublishBatchSize(int publishBatchSize) {
+        this.publishBatchSize = publishBatchSize;
+    }
+
+    public long getPollTimeoutMs() {
+        return pollTimeoutMs;
+    }
+
+    public void setPollTimeoutMs(long pollTimeoutMs) {
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    public int getSubscriberQueueCapacity() {
+        return subscriberQueueCapacity;
+    }
+
+    public void setSubscriberQueueCapacity(int subscriberQueueCapacity) {
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public long getHeartbeatMs() {
+        return heartbeatMs;
+    }
+
+    public void setHeartbeatMs(long heartbeatMs) {
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public long getSseTimeoutMs() {
+        return sseTimeoutMs;
+    }
+
+    public void setSseTimeoutMs(long sseTimeoutMs) {
+        this.sseTimeoutMs = sseTimeoutMs;
+    }
+}
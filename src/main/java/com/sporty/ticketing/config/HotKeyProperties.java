@@ -0,0 +1,80 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for hot-key (lock contention) detection.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.hot-keys}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   hot-keys:
+ *     enabled: true
+ *     width: 1024
+ *     depth: 4
+ *     top-k: 10
+ *     decay-interval-ms: 60000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.hot-keys")
+public class HotKeyProperties {
+
+    /** Whether contention tracking is enabled. Defaults to {@code true}. */
+    private boolean enabled = true;
+
+    /** Number of counters per sketch row; rounded up to a power of two. Defaults to {@code 1024}. */
+    private int width = 1024;
+
+    /** Number of independent hash rows in the sketch. Defaults to {@code 4}. */
+    private int depth = 4;
+
+    /** Number of hottest keys retained per sketch. Defaults to {@code 10}. */
+    private int topK = 10;
+
+    /**
+     * Interval after which all counters are halved, in milliseconds, so that old contention
+     * fades out. Defaults to {@code 60000} (1 minute).
+     */
+    private long decayIntervalMs = 60_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public long getDecayIntervalMs() {
+        return decayIntervalMs;
+    }
+
+    public void setDecayIntervalMs(long decayIntervalMs) {
+        this.decayIntervalMs = decayIntervalMs;
+    }
+}
@@ -14,6 +14,16 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * app:
  *   lock:
  *     ttl-ms: 5000
+ *     async-release:
+ *       enabled: false
+ *       batch-size: 64
+ *       queue-capacity: 10000
+ *     circuit-breaker:
+ *       enabled: true
+ *       failure-threshold: 5
+ *       slow-call-ms: 250
+ *       open-ms: 5000
+ *     sticky-owner: false
  * </pre>
  */
 @ConfigurationProperties(prefix = "app.lock")
@@ -27,6 +37,26 @@ public class LockProperties {
      */
     private long ttlMs = 5000;
 
+    /**
+     * Settings for releasing locks asynchronously, off the request thread.
+     */
+    private final AsyncRelease asyncRelease = new AsyncRelease();
+
+    /**
+     * Settings of the circuit breaker in front of the Redis lock.
+     */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Whether this node is the sticky owner of the tickets it serves (e.g. requests are routed by
+     * ticket ID), so that an in-JVM lock is enough while Redis is unavailable.
+     * <p>
+     * When {@code true}, locks fall back to in-JVM locks while the circuit is open instead of
+     * failing with 503. Must stay {@code false} when several nodes can update the same ticket.
+     * Defaults to {@code false}.
+     */
+    private boolean stickyOwner = false;
+
     /**
      * Returns the current default TTL for Redis-based locks in milliseconds.
      *
@@ -44,4 +74,139 @@ public class LockProperties {
     public void setTtlMs(long ttlMs) {
         this.ttlMs = ttlMs;
     }
+
+    /**
+     * Returns the asynchronous lock release settings.
+     *
+     * @return the nested {@link AsyncRelease} settings
+     */
+    public AsyncRelease getAsyncRelease() {
+        return asyncRelease;
+    }
+
+    /**
+     * Returns the circuit breaker settings.
+     *
+     * @return the nested {@link CircuitBreaker} settings
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns whether in-JVM locks are used while Redis is unavailable.
+     *
+     * @return {@code true} if this node is a sticky owner
+     */
+    public boolean isStickyOwner() {
+        return stickyOwner;
+    }
+
+    /**
+     * Sets whether in-JVM locks are used while Redis is unavailable.
+     *
+     * @param stickyOwner {@code true} if this node is a sticky owner
+     */
+    public void setStickyOwner(boolean stickyOwner) {
+        this.stickyOwner = stickyOwner;
+    }
+
+    /**
+     * Settings for the background lock releaser, bound from {@code app.lock.async-release}.
+     * <p>
+     * When enabled, request threads enqueue {@code (key, token)} pairs instead of running the
+     * release script themselves; a single background thread pipelines pending releases to Redis.
+     */
+    public static class AsyncRelease {
+
+        /** Whether locks are released in the background. Defaults to {@code false}. */
+        private boolean enabled = false;
+
+        /** Maximum number of unlock scripts sent in one pipeline. Defaults to {@code 64}. */
+        private int batchSize = 64;
+
+        /**
+         * Maximum number of pending releases; when full, callers release synchronously.
+         * Defaults to {@code 10000}.
+         */
+        private int queueCapacity = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Circuit breaker settings, bound from {@code app.lock.circuit-breaker}.
+     * <p>
+     * Each Redis call is still bounded by {@code spring.data.redis.timeout}; the breaker stops
+     * making calls after repeated failures or slow calls, so requests fail fast instead of each
+     * waiting for the timeout.
+     */
+    public static class CircuitBreaker {
+
+        /** Whether Redis lock calls go through the circuit breaker. Defaults to {@code true}. */
+        private boolean enabled = true;
+
+        /** Consecutive failed or slow calls that open the circuit. Defaults to {@code 5}. */
+        private int failureThreshold = 5;
+
+        /** Calls taking at least this long count as failures, in milliseconds. Defaults to {@code 250}. */
+        private long slowCallMs = 250;
+
+        /** How long the circuit stays open before a probe call, in milliseconds. Defaults to {@code 5000}. */
+        private long openMs = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getSlowCallMs() {
+            return slowCallMs;
+        }
+
+        public void setSlowCallMs(long slowCallMs) {
+            this.slowCallMs = slowCallMs;
+        }
+
+        public long getOpenMs() {
+            return openMs;
+        }
+
+        public void setOpenMs(long openMs) {
+            this.openMs = openMs;
+        }
+    }
 }
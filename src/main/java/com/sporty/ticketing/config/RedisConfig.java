@@ -1,5 +1,10 @@
 package com.sporty.ticketing.config;
 
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -33,4 +38,31 @@ public class RedisConfig {
     public StringRedisTemplate stringRedisTemplate(LettuceConnectionFactory connectionFactory) {
         return new StringRedisTemplate(connectionFactory);
     }
+
+    /**
+     * Creates a dedicated Lettuce {@link RedisClient} speaking RESP3, used for server-assisted
+     * client-side caching of Redis-stored tickets ({@code CLIENT TRACKING} with invalidation push
+     * messages on the same connection).
+     * <p>
+     * The client targets the same server, with the same command timeout, as the
+     * {@link LettuceConnectionFactory} and is only created when tickets are stored in Redis
+     * ({@code app.repo.mode=redis}).
+     *
+     * @param connectionFactory the Lettuce connection factory configured by Spring Boot
+     * @return a RESP3 {@link RedisClient}, shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "app.repo", name = "mode", havingValue = "redis")
+    public RedisClient trackingRedisClient(LettuceConnectionFactory connectionFactory) {
+        var cfg = connectionFactory.getStandaloneConfiguration();
+        var uri = RedisURI.builder()
+                .withHost(cfg.getHostName())
+                .withPort(cfg.getPort())
+                .withDatabase(cfg.getDatabase())
+                .withTimeout(connectionFactory.getClientConfiguration().getCommandTimeout());
+        cfg.getPassword().toOptional().ifPresent(uri::withPassword);
+        var client = RedisClient.create(uri.build());
+        client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        return client;
+    }
 }
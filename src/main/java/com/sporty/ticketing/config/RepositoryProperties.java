@@ -0,0 +1,266 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for ticket storage.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.repo}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   repo:
+ *     mode: redis
+ *     redis:
+ *       key-prefix: "ticket:"
+ *       change-index-key: "tickets:by-change"
+ *       stats-key: "tickets:stats"
+ *       queue-key: "tickets:queue"
+ *       cache:
+ *         enabled: true
+ *         max-entries: 10000
+ *         tracking: default
+ *     archive:
+ *       enabled: true
+ *       closed-age-ms: 86400000
+ *       sweep-interval-ms: 60000
+ *       directory: data/archive
+ *       block-size: 64
+ *       segment-max-bytes: 67108864
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.repo")
+public class RepositoryProperties {
+
+    /**
+     * Storage backend: {@code memory} (live objects, default), {@code snapshot}
+     * (immutable snapshots, lock-free updates) or {@code redis} (shared Redis store).
+     */
+    private String mode = "memory";
+
+    /** Settings of the Redis ticket store, used when {@code mode} is {@code redis}. */
+    private final Redis redis = new Redis();
+
+    /** Cold tier for closed tickets, used when {@code mode} is {@code memory}. */
+    private final Archive archive = new Archive();
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public Archive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Settings of the Redis ticket store, bound from {@code app.repo.redis}.
+     */
+    public static class Redis {
+
+        /** Prefix of the keys holding serialized tickets. Defaults to {@code ticket:}. */
+        private String keyPrefix = "ticket:";
+
+        /**
+         * Sorted set indexing ticket IDs by change position, for delta syncs. Its position counter
+         * is kept under the same key with a {@code :clock} suffix. Must not start with
+         * {@code key-prefix}. Defaults to {@code tickets:by-change}.
+         */
+        private String changeIndexKey = "tickets:by-change";
+
+        /**
+         * Hash holding the ticket counts per status and per assignee, updated by the same script
+         * that stores a ticket. Must not start with {@code key-prefix}. Defaults to
+         * {@code tickets:stats}.
+         */
+        private String statsKey = "tickets:stats";
+
+        /**
+         * Sorted set of the tickets waiting to be claimed, updated by the same script that stores
+         * a ticket. Must not start with {@code key-prefix}. Defaults to {@code tickets:queue}.
+         */
+        private String queueKey = "tickets:queue";
+
+        /** Client-side cache in front of the Redis store. */
+        private final Cache cache = new Cache();
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public String getChangeIndexKey() {
+            return changeIndexKey;
+        }
+
+        public void setChangeIndexKey(String changeIndexKey) {
+            this.changeIndexKey = changeIndexKey;
+        }
+
+        public String getStatsKey() {
+            return statsKey;
+        }
+
+        public void setStatsKey(String statsKey) {
+            this.statsKey = statsKey;
+        }
+
+        public String getQueueKey() {
+            return queueKey;
+        }
+
+        public void setQueueKey(String queueKey) {
+            this.queueKey = queueKey;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+    }
+
+    /**
+     * Client-side cache settings, bound from {@code app.repo.redis.cache}.
+     * <p>
+     * The cache relies on Redis server-assisted invalidation ({@code CLIENT TRACKING}, Redis 6+ over
+     * RESP3), so entries are dropped as soon as any client modifies the key.
+     */
+    public static class Cache {
+
+        /** Whether reads go through the client-side cache. Defaults to {@code true}. */
+        private boolean enabled = true;
+
+        /** Maximum number of cached tickets. Defaults to {@code 10000}. */
+        private int maxEntries = 10_000;
+
+        /**
+         * Tracking mode: {@code default} makes the server remember every key this node has read
+         * (precise, but server memory grows with the key space); {@code broadcast} subscribes to
+         * all changes under the key prefix instead (constant server memory, more invalidation
+         * traffic), which suits large key spaces.
+         */
+        private Tracking tracking = Tracking.DEFAULT;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Tracking getTracking() {
+            return tracking;
+        }
+
+        public void setTracking(Tracking tracking) {
+            this.tracking = tracking;
+        }
+    }
+
+    /**
+     * Cold-tier settings of the in-memory store, bound from {@code app.repo.archive}.
+     * <p>
+     * Closed tickets that have not been updated for {@code closed-age-ms} are moved to compressed
+     * segment files and dropped from the heap; reading one brings it back.
+     */
+    public static class Archive {
+
+        /** Whether old closed tickets are archived. Defaults to {@code false}. */
+        private boolean enabled = false;
+
+        /**
+         * Time since a closed ticket's last update after which it is archived, in milliseconds.
+         * Defaults to {@code 86400000} (one day).
+         */
+        private long closedAgeMs = 86_400_000;
+
+        /** Interval between archive sweeps, in milliseconds. Defaults to {@code 60000}. */
+        private long sweepIntervalMs = 60_000;
+
+        /**
+         * Directory for the segment files. Its segments are deleted on startup, since the archive
+         * index is not persisted. Defaults to {@code data/archive}.
+         */
+        private String directory = "data/archive";
+
+        /** Maximum number of tickets compressed together in one block. Defaults to {@code 64}. */
+        private int blockSize = 64;
+
+        /** Size after which a new segment file is started, in bytes. Defaults to 64 MiB. */
+        private long segmentMaxBytes = 64L * 1024 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getClosedAgeMs() {
+            return closedAgeMs;
+        }
+
+        public void setClosedAgeMs(long closedAgeMs) {
+            this.closedAgeMs = closedAgeMs;
+        }
+
+        public long getSweepIntervalMs() {
+            return sweepIntervalMs;
+        }
+
+        public void setSweepIntervalMs(long sweepIntervalMs) {
+            this.sweepIntervalMs = sweepIntervalMs;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        public void setBlockSize(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        public long getSegmentMaxBytes() {
+            return segmentMaxBytes;
+        }
+
+        public void setSegmentMaxBytes(long segmentMaxBytes) {
+            this.segmentMaxBytes = segmentMaxBytes;
+        }
+    }
+
+    /** Server-assisted client-side caching modes. */
+    public enum Tracking {
+        /** Server tracks the keys read by this client. */
+        DEFAULT,
+        /** Server broadcasts invalidations for every key under the configured prefix. */
+        BROADCAST
+    }
+}
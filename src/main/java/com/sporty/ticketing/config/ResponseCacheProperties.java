@@ -0,0 +1,56 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the cache of serialized ticket responses.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.response-cache}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   response-cache:
+ *     enabled: true
+ *     max-entries: 10000
+ *     gzip-min-bytes: 1024
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+    /** Whether serialized responses are cached. Defaults to {@code true}. */
+    private boolean enabled = true;
+
+    /** Maximum number of tickets whose serialized form is kept. Defaults to {@code 10000}. */
+    private int maxEntries = 10_000;
+
+    /**
+     * Minimum JSON size, in bytes, for which a gzip variant is produced when the client accepts it.
+     * Smaller bodies are sent uncompressed. Defaults to {@code 1024}.
+     */
+    private int gzipMinBytes = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getGzipMinBytes() {
+        return gzipMinBytes;
+    }
+
+    public void setGzipMinBytes(int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for per-request stage timing.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.timing}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   timing:
+ *     enabled: true
+ *     server-timing: false
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.timing")
+public class TimingProperties {
+
+    /**
+     * Whether ticket requests record a stage breakdown and emit JFR events.
+     * Defaults to {@code true}.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether the stage breakdown is also returned to clients in a {@code Server-Timing}
+     * response header. Defaults to {@code false}.
+     */
+    private boolean serverTiming = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isServerTiming() {
+        return serverTiming;
+    }
+
+    public void setServerTiming(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+}
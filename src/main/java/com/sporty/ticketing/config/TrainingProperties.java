@@ -0,0 +1,47 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the training run that produces the CDS archive.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.training}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   training:
+ *     enabled: false
+ *     iterations: 200
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.training")
+public class TrainingProperties {
+
+    /**
+     * Whether the application drives a burst of API traffic against itself once started, then
+     * exits. Only set by the {@code cdsArchive} build task. Defaults to {@code false}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of ticket lifecycles (create, read, assign, update, search, claim, ...) in the
+     * training run. Defaults to {@code 200}.
+     */
+    private int iterations = 200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+}
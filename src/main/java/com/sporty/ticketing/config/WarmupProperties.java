@@ -0,0 +1,76 @@
+package com.sporty.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the JIT warmup phase run before the application reports ready.
+ * <p>
+ * Properties are loaded from the configuration using the prefix {@code app.warmup}.
+ * Example configuration in {@code application.yml}:
+ * <pre>
+ * app:
+ *   warmup:
+ *     enabled: true
+ *     iterations: 2000
+ *     max-duration-ms: 10000
+ *     lock-namespace: "warmup:"
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether synthetic traffic is run before readiness. Defaults to {@code true}.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of synthetic ticket lifecycles; the warmup ends after these or after
+     * {@link #maxDurationMs}, whichever comes first. Defaults to {@code 2000}.
+     */
+    private int iterations = 2000;
+
+    /**
+     * Upper bound on the warmup, in milliseconds, so a slow lock backend cannot hold back
+     * readiness indefinitely. Defaults to {@code 10000}.
+     */
+    private long maxDurationMs = 10000;
+
+    /**
+     * Prefix added to the keys of locks taken during warmup, keeping them apart from the locks
+     * of real tickets. Defaults to {@code "warmup:"}.
+     */
+    private String lockNamespace = "warmup:";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public long getMaxDurationMs() {
+        return maxDurationMs;
+    }
+
+    public void setMaxDurationMs(long maxDurationMs) {
+        this.maxDurationMs = maxDurationMs;
+    }
+
+    public String getLockNamespace() {
+        return lockNamespace;
+    }
+
+    public void setLockNamespace(String lockNamespace) {
+        this.lockNamespace = lockNamespace;
+    }
+}
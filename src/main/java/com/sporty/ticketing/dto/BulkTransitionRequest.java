@@ -0,0 +1,34 @@
+package com.sporty.ticketing.dto;
+
+import com.sporty.ticketing.model.TicketStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Request payload for moving every ticket that matches a filter to a new status.
+ * <p>
+ * This DTO is used in {@code POST /tickets/transition} requests. The filter fields are optional
+ * and combined with AND; omitted ({@code null}) fields match every ticket.
+ * <p>
+ * Validation:
+ * <ul>
+ *   <li>{@code targetStatus} must not be {@code null}.</li>
+ *   <li>{@code olderThan} — if present, must not be negative.</li>
+ *   <li>{@code assigneeId} — if present, must not be empty or contain only whitespace.</li>
+ * </ul>
+ *
+ * @param status       only tickets currently in this status
+ * @param olderThan    only tickets last updated at least this long ago, as an ISO-8601 duration,
+ *                     e.g. {@code "P30D"}
+ * @param assigneeId   only tickets assigned to this agent
+ * @param targetStatus the status to move the matching tickets to
+ */
+public record BulkTransitionRequest(
+        @Nullable TicketStatus status,
+        @Nullable Duration olderThan,
+        @Nullable @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String assigneeId,
+        @NotNull TicketStatus targetStatus
+) {}
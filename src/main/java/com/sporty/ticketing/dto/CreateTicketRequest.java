@@ -1,6 +1,8 @@
 package com.sporty.ticketing.dto;
 
+import com.sporty.ticketing.model.TicketPriority;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.lang.Nullable;
 
 /**
  * Request payload for creating a new ticket.
@@ -13,14 +15,29 @@ import jakarta.validation.constraints.NotBlank;
  *   <li>{@code userId} — must not be {@code null}, empty, or contain only whitespace.</li>
  *   <li>{@code subject} — must not be {@code null}, empty, or contain only whitespace.</li>
  *   <li>{@code description} — optional field, may be {@code null} or empty.</li>
+ *   <li>{@code priority} — optional field, defaults to {@link TicketPriority#NORMAL}.</li>
  * </ul>
  *
  * @param userId     unique identifier of the user creating the ticket; must not be blank
  * @param subject    short description or title of the ticket; must not be blank
  * @param description optional detailed description of the issue
+ * @param priority   optional urgency of the issue
  */
 public record CreateTicketRequest(
         @NotBlank String userId,
         @NotBlank String subject,
-        String description
-) {}
+        String description,
+        @Nullable TicketPriority priority
+) {
+
+    /**
+     * Creates a request for a ticket with the default priority.
+     *
+     * @param userId      unique identifier of the user creating the ticket
+     * @param subject     short description or title of the ticket
+     * @param description optional detailed description of the issue
+     */
+    public CreateTicketRequest(String userId, String subject, String description) {
+        this(userId, subject, description, null);
+    }
+}
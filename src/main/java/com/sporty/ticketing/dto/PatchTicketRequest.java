@@ -0,0 +1,40 @@
+package com.sporty.ticketing.dto;
+
+import com.sporty.ticketing.model.TicketPatch;
+import com.sporty.ticketing.model.TicketStatus;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.lang.Nullable;
+
+/**
+ * Request payload for changing several fields of a ticket at once.
+ * <p>
+ * This DTO is used in {@code PATCH /tickets/{ticketId}} requests. All fields are optional;
+ * omitted ({@code null}) fields are left unchanged, but at least one field must be present.
+ * <p>
+ * Validation:
+ * <ul>
+ *   <li>{@code assigneeId} — if present, must not be empty or contain only whitespace.</li>
+ *   <li>{@code subject} — if present, must not be empty or contain only whitespace.</li>
+ * </ul>
+ *
+ * @param assigneeId  agent to assign the ticket to
+ * @param status      new status of the ticket
+ * @param subject     new short description or title of the ticket
+ * @param description new detailed description of the ticket
+ */
+public record PatchTicketRequest(
+        @Nullable @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String assigneeId,
+        @Nullable TicketStatus status,
+        @Nullable @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String subject,
+        @Nullable String description
+) {
+
+    /**
+     * Converts this request to a domain {@link TicketPatch}.
+     *
+     * @return the equivalent {@link TicketPatch}
+     */
+    public TicketPatch toPatch() {
+        return new TicketPatch(assigneeId, status, subject, description);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sporty.ticketing.dto;
+
+import com.sporty.ticketing.repo.TicketRepository;
+
+import java.util.List;
+
+/**
+ * Response of a delta sync ({@code GET /tickets/changes?since=...}).
+ * <p>
+ * Clients store {@code watermark} and pass it as {@code since} on their next sync; while
+ * {@code hasMore} is {@code true}, they can sync again right away to fetch the rest.
+ *
+ * @param tickets   tickets changed after {@code since}, oldest change first, in their current state
+ * @param watermark the watermark to continue from
+ * @param hasMore   whether more changes are pending beyond the requested limit
+ */
+public record TicketChangesResponse(
+        List<TicketResponse> tickets,
+        String watermark,
+        boolean hasMore) {
+
+    /**
+     * Creates a {@link TicketChangesResponse} from a page of repository changes.
+     *
+     * @param changes the page to convert
+     * @return a new {@link TicketChangesResponse}
+     */
+    public static TicketChangesResponse from(TicketRepository.Changes changes) {
+        return new TicketChangesResponse(
+                changes.tickets().stream().map(TicketResponse::from).toList(),
+                changes.next().toString(),
+                changes.hasMore());
+    }
+}
@@ -1,6 +1,7 @@
 package com.sporty.ticketing.dto;
 
 import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketPriority;
 import com.sporty.ticketing.model.TicketStatus;
 import java.time.Instant;
 import java.util.UUID;
@@ -15,20 +16,24 @@ import java.util.UUID;
  * @param subject    short description or title of the ticket
  * @param description optional detailed description of the ticket
  * @param status     current status of the ticket
+ * @param priority   urgency of the ticket
  * @param userId     identifier of the user who created the ticket
  * @param assigneeId identifier of the agent assigned to the ticket (may be {@code null})
  * @param createdAt  timestamp when the ticket was created
  * @param updatedAt  timestamp when the ticket was last updated
+ * @param version    number of updates applied to the ticket since creation
  */
 public record TicketResponse(
         UUID ticketId,
         String subject,
         String description,
         TicketStatus status,
+        TicketPriority priority,
         String userId,
         String assigneeId,
         Instant createdAt,
-        Instant updatedAt) {
+        Instant updatedAt,
+        long version) {
 
     /**
      * Creates a {@link TicketResponse} from a domain {@link Ticket} entity.
@@ -42,9 +47,11 @@ public record TicketResponse(
                 t.getSubject(),
                 t.getDescription(),
                 t.getStatus(),
+                t.getPriority(),
                 t.getUserId(),
                 t.getAssigneeId(),
                 t.getCreatedAt(),
-                t.getUpdatedAt());
+                t.getUpdatedAt(),
+                t.getVersion());
     }
 }
@@ -0,0 +1,28 @@
+package com.sporty.ticketing.dto;
+
+import com.sporty.ticketing.repo.TicketRepository;
+
+import java.util.List;
+
+/**
+ * Response of a full-text search ({@code GET /tickets/search?q=...}).
+ *
+ * @param tickets the first matching tickets, oldest first
+ * @param total   the number of matching tickets, including those beyond the requested limit
+ */
+public record TicketSearchResponse(
+        List<TicketResponse> tickets,
+        int total) {
+
+    /**
+     * Creates a {@link TicketSearchResponse} from a repository search result.
+     *
+     * @param result the result to convert
+     * @return a new {@link TicketSearchResponse}
+     */
+    public static TicketSearchResponse from(TicketRepository.SearchResult result) {
+        return new TicketSearchResponse(
+                result.tickets().stream().map(TicketResponse::from).toList(),
+                result.total());
+    }
+}
@@ -0,0 +1,30 @@
+package com.sporty.ticketing.exception;
+
+/**
+ * Exception indicating that a backing service the operation depends on is currently unavailable.
+ * <p>
+ * Typically mapped to an HTTP 503 (Service Unavailable) response in the REST API layer.
+ * This is thrown instead of waiting on a dependency that is known to be failing, for example
+ * while the circuit breaker in front of the distributed lock is open.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Creates a new {@code ServiceUnavailableException} with the specified detail message.
+     *
+     * @param msg a description of the unavailable service
+     */
+    public ServiceUnavailableException(String msg) {
+        super(msg);
+    }
+
+    /**
+     * Creates a new {@code ServiceUnavailableException} with the specified detail message and cause.
+     *
+     * @param msg   a description of the unavailable service
+     * @param cause the failure reported by the service
+     */
+    public ServiceUnavailableException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -0,0 +1,201 @@
+package com.sporty.ticketing.feed;
+
+import com.sporty.ticketing.config.FeedProperties;
+import com.sporty.ticketing.model.TicketChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Per-node fan-out of the change stream to any number of {@link Subscription}s.
+ * <p>
+ * A single reader thread follows the stream with blocking {@code XREAD} calls and offers each
+ * event to every subscription; Redis sees one reader per node however many subscribers are
+ * connected. Delivery runs on a small sender pool (see {@link Subscription}), and a scheduler
+ * requests a keep-alive from every subscriber at a fixed interval.
+ * <p>
+ * The reader starts from the end of the stream at startup and then always reads after the last
+ * entry it has seen, so no event is skipped between two reads. If Redis is unavailable it
+ * retries every second and resumes where it stopped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeFeedHub implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedHub.class);
+
+    private static final int READ_COUNT = 500;
+    private static final long RETRY_MS = 1_000;
+
+    private final StringRedisTemplate redis;
+    private final FeedProperties props;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Thread reader;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the hub and starts its reader thread.
+     *
+     * @param redis the {@link StringRedisTemplate} to use for Redis commands
+     * @param props change feed settings
+     */
+    public ChangeFeedHub(StringRedisTemplate redis, FeedProperties props) {
+        this.redis = redis;
+        this.props = props;
+        var senderIds = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(props.getSenderThreads(), r ->
+                Thread.ofPlatform().name("feed-sender-" + senderIds.incrementAndGet()).daemon().unstarted(r));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r ->
+                Thread.ofPlatform().name("feed-heartbeat").daemon().unstarted(r));
+        this.heartbeats.scheduleAtFixedRate(
+                () -> subscriptions.forEach(Subscription::requestHeartbeat),
+                props.getHeartbeatMs(), props.getHeartbeatMs(), TimeUnit.MILLISECONDS);
+        this.reader = Thread.ofPlatform().name("feed-reader").daemon().start(this::run);
+    }
+
+    /**
+     * Registers a subscriber.
+     *
+     * @param filter      which changes the subscriber receives
+     * @param sink        where events are delivered
+     * @param resumeAfter stream entry ID of the last event the subscriber has seen, or
+     *                    {@code null} to receive only new events
+     * @return the active {@link Subscription}
+     */
+    public Subscription subscribe(
+            Predicate<TicketChange> filter, Subscription.Sink sink, @Nullable String resumeAfter) {
+        var sub = new Subscription(this, filter, sink, props.getSubscriberQueueCapacity(), resumeAfter);
+        subscriptions.add(sub);
+        if (resumeAfter != null) {
+            sub.schedule();
+        }
+        return sub;
+    }
+
+    /**
+     * Returns the number of active subscriptions on this node.
+     *
+     * @return the subscriber count
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Reads up to {@code count} events following {@code id} ({@code XRANGE key (id + COUNT n}).
+     */
+    List<FeedEvent> readAfter(String id, int count) {
+        List<MapRecord<String, Object, Object>> records = redis.opsForStream().range(
+                props.getStreamKey(),
+                Range.of(Range.Bound.exclusive(id), Range.Bound.unbounded()),
+                Limit.limit().count(count));
+        return toEvents(records);
+    }
+
+    Executor senders() {
+        return senders;
+    }
+
+    void remove(Subscription sub) {
+        subscriptions.remove(sub);
+    }
+
+    /**
+     * Stops the reader, closes every subscription and shuts the sender pool down.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        reader.interrupt();
+        reader.join(props.getPollTimeoutMs() + RETRY_MS);
+        heartbeats.shutdownNow();
+        List.copyOf(subscriptions).forEach(Subscription::close);
+        senders.shutdown();
+    }
+
+    private void run() {
+        String lastId = null;
+        boolean failing = false;
+        var options = StreamReadOptions.empty()
+                .block(Duration.ofMillis(props.getPollTimeoutMs()))
+                .count(READ_COUNT);
+        while (running) {
+            try {
+                if (lastId == null) {
+                    lastId = lastEntryId();
+                }
+                @SuppressWarnings("unchecked")
+                List<MapRecord<String, Object, Object>> records = redis.opsForStream()
+                        .read(options, StreamOffset.create(props.getStreamKey(), ReadOffset.from(lastId)));
+                if (failing) {
+                    log.info("Change feed reader resumed after {}", lastId);
+                    failing = false;
+                }
+                for (FeedEvent event : toEvents(records)) {
+                    subscriptions.forEach(s -> s.offer(event));
+                }
+                if (records != null && !records.isEmpty()) {
+                    lastId = records.get(records.size() - 1).getId().getValue();
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (!failing) {
+                    log.warn("Change feed reader failed, retrying every {} ms: {}", RETRY_MS, e.toString());
+                    failing = true;
+                }
+                try {
+                    Thread.sleep(RETRY_MS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private String lastEntryId() {
+        List<MapRecord<String, Object, Object>> last = redis.opsForStream()
+                .reverseRange(props.getStreamKey(), Range.unbounded(), Limit.limit().count(1));
+        return last == null || last.isEmpty() ? "0-0" : last.get(0).getId().getValue();
+    }
+
+    private static List<FeedEvent> toEvents(@Nullable List<MapRecord<String, Object, Object>> records) {
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+        var events = new ArrayList<FeedEvent>(records.size());
+        for (var r : records) {
+            try {
+                events.add(new FeedEvent(r.getId().getValue(), ChangeRecords.decode(r.getValue())));
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed change event {}: {}", r.getId(), e.toString());
+            }
+        }
+        return events;
+    }
+}
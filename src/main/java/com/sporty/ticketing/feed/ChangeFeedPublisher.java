@@ -0,0 +1,153 @@
+package com.sporty.ticketing.feed;
+
+import com.sporty.ticketing.config.FeedProperties;
+import com.sporty.ticketing.model.TicketChange;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends every {@link TicketChange} to the change stream with
+ * {@code XADD <stream-key> MAXLEN ~ <max-len> * ...}.
+ * <p>
+ * Approximate trimming keeps the stream bounded at little cost per append. The request thread
+ * only queues the change: the service publishes it while it still holds the ticket's lock (or
+ * inside the atomic update), so changes of one ticket are queued in the order they were stored.
+ * A single worker thread takes the queued changes in that order and appends up to
+ * {@code publish-batch-size} of them in one pipeline. Requests therefore never wait for Redis,
+ * also not while it is slow or down.
+ * <p>
+ * A change that cannot be queued because {@code publish-queue-capacity} changes are pending, or
+ * whose append fails, is counted in the {@code tickets.feed.dropped} metric; subscribers then miss
+ * that change. Queued changes are flushed on shutdown.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeFeedPublisher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedPublisher.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private final StringRedisTemplate redis;
+    private final byte[] streamKey;
+    private final XAddOptions options;
+    private final BlockingQueue<TicketChange> queue;
+    private final int batchSize;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the publisher and starts its worker thread.
+     *
+     * @param redis  the {@link StringRedisTemplate} to use for Redis commands
+     * @param props  change feed settings
+     * @param meters registry for the dropped-changes counter
+     */
+    public ChangeFeedPublisher(StringRedisTemplate redis, FeedProperties props, MeterRegistry meters) {
+        if (props.getPublishBatchSize() <= 0 || props.getPublishQueueCapacity() <= 0) {
+            throw new IllegalArgumentException(
+                    "app.feed.publish-batch-size and app.feed.publish-queue-capacity must be positive");
+        }
+        this.redis = redis;
+        this.streamKey = props.getStreamKey().getBytes(StandardCharsets.UTF_8);
+        this.options = XAddOptions.maxlen(props.getMaxLen()).approximateTrimming(true);
+        this.queue = new ArrayBlockingQueue<>(props.getPublishQueueCapacity());
+        this.batchSize = props.getPublishBatchSize();
+        this.worker = Thread.ofPlatform().name("change-feed-publisher").daemon().start(this::run);
+        FunctionCounter.builder("tickets.feed.dropped", dropped, LongAdder::sum)
+                .description("Ticket changes that could not be appended to the change stream")
+                .register(meters);
+    }
+
+    /**
+     * Queues the change for appending to the stream; never blocks.
+     *
+     * @param change the stored change
+     */
+    @EventListener
+    public void onChange(TicketChange change) {
+        if (!running || !queue.offer(change)) {
+            dropped.increment();
+            log.debug("Dropped change of ticket {}: publish queue full or closed", change.ticketId());
+        }
+    }
+
+    /**
+     * Stops the worker and appends all changes that are still queued.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<TicketChange> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(rest.size(), from + batchSize)));
+        }
+    }
+
+    private void run() {
+        List<TicketChange> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                TicketChange first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<TicketChange> batch) {
+        try {
+            redis.executePipelined((RedisCallback<Object>) c -> {
+                for (TicketChange change : batch) {
+                    c.streamCommands().xAdd(record(change), options);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            dropped.add(batch.size());
+            log.warn("Could not publish {} ticket changes: {}", batch.size(), e.toString());
+        }
+    }
+
+    private MapRecord<byte[], byte[], byte[]> record(TicketChange change) {
+        var fields = new LinkedHashMap<byte[], byte[]>(8);
+        ChangeRecords.encode(change).forEach((k, v) ->
+                fields.put(k.getBytes(StandardCharsets.UTF_8), v.getBytes(StandardCharsets.UTF_8)));
+        return StreamRecords.newRecord().in(streamKey).ofMap(fields);
+    }
+}
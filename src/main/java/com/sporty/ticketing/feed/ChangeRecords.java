@@ -0,0 +1,47 @@
+package com.sporty.ticketing.feed;
+
+import com.sporty.ticketing.model.TicketChange;
+import com.sporty.ticketing.model.TicketStatus;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Field layout of change events in the Redis Stream.
+ * <p>
+ * Each entry has the fields {@code type}, {@code id} (ticket ID), {@code status}, {@code at}
+ * ({@code updatedAt}, ISO-8601), {@code version} and, if the ticket is assigned, {@code assignee}.
+ * Entries written before tickets were versioned have no {@code version} and decode as {@code 0}.
+ */
+final class ChangeRecords {
+
+    private ChangeRecords() {
+    }
+
+    static Map<String, String> encode(TicketChange change) {
+        var fields = new LinkedHashMap<String, String>(8);
+        fields.put("type", change.type().name());
+        fields.put("id", change.ticketId().toString());
+        fields.put("status", change.status().name());
+        fields.put("at", change.updatedAt().toString());
+        fields.put("version", Long.toString(change.version()));
+        if (change.assigneeId() != null) {
+            fields.put("assignee", change.assigneeId());
+        }
+        return fields;
+    }
+
+    static TicketChange decode(Map<?, ?> fields) {
+        Object assignee = fields.get("assignee");
+        Object version = fields.get("version");
+        return new TicketChange(
+                TicketChange.Type.valueOf(String.valueOf(fields.get("type"))),
+                UUID.fromString(String.valueOf(fields.get("id"))),
+                TicketStatus.valueOf(String.valueOf(fields.get("status"))),
+                assignee != null ? assignee.toString() : null,
+                Instant.parse(String.valueOf(fields.get("at"))),
+                version != null ? Long.parseLong(version.toString()) : 0);
+    }
+}
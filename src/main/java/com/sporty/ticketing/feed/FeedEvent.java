@@ -0,0 +1,59 @@
+package com.sporty.ticketing.feed;
+
+import com.sporty.ticketing.model.TicketChange;
+
+/**
+ * A {@link TicketChange} together with its Redis Stream entry ID, which subscribers use as the
+ * SSE event ID to resume from.
+ *
+ * @param id     stream entry ID ({@code <millis>-<seq>})
+ * @param change the change
+ */
+public record FeedEvent(String id, TicketChange change) {
+
+    /**
+     * Compares two stream entry IDs in stream order.
+     *
+     * @param a an entry ID
+     * @param b another entry ID
+     * @return a negative number, zero or a positive number as {@code a} is before, equal to or
+     *         after {@code b}
+     * @throws IllegalArgumentException if either ID is malformed
+     */
+    public static int compareIds(String a, String b) {
+        long[] x = parseId(a);
+        long[] y = parseId(b);
+        int c = Long.compareUnsigned(x[0], y[0]);
+        return c != 0 ? c : Long.compareUnsigned(x[1], y[1]);
+    }
+
+    /**
+     * Returns whether {@code id} is a well-formed stream entry ID.
+     *
+     * @param id the candidate
+     * @return {@code true} if it has the form {@code <millis>-<seq>}
+     */
+    public static boolean isValidId(String id) {
+        try {
+            parseId(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static long[] parseId(String id) {
+        int dash = id.indexOf('-');
+        if (dash <= 0 || dash == id.length() - 1) {
+            throw new IllegalArgumentException("Invalid stream entry ID: " + id);
+        }
+        try {
+            return new long[] {
+                    Long.parseUnsignedLong(id, 0, dash, 10),
+                    Long.parseUnsignedLong(id, dash + 1, id.length(), 10)
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid stream entry ID: " + id, e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sporty.ticketing.feed;
+
+import com.sporty.ticketing.model.TicketChange;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * One subscriber of the {@link ChangeFeedHub}.
+ * <p>
+ * The hub's reader thread only {@linkplain #offer(FeedEvent) offers} events to a bounded queue;
+ * delivery to the {@link Sink} runs on the hub's sender pool, at most one drain at a time per
+ * subscription, so events are delivered in stream order and a slow subscriber never delays the
+ * reader or other subscribers' queues. A subscriber whose queue overflows is closed after the
+ * queued events have been delivered; it can reconnect and resume from the last event it received.
+ * <p>
+ * A subscription created with a resume position first replays the matching events after that
+ * position from the stream, then continues with live events, skipping any it has already
+ * delivered during the replay.
+ */
+public final class Subscription {
+
+    /** Destination of a subscription's events, e.g. an SSE connection. */
+    public interface Sink {
+
+        /**
+         * Delivers one event.
+         *
+         * @param event the event
+         * @throws IOException if the subscriber is gone
+         */
+        void send(FeedEvent event) throws IOException;
+
+        /**
+         * Sends a keep-alive signal.
+         *
+         * @throws IOException if the subscriber is gone
+         */
+        void heartbeat() throws IOException;
+
+        /** Ends the subscription on the subscriber's side. Called once. */
+        void close();
+    }
+
+    private static final int REPLAY_PAGE = 500;
+
+    private final ChangeFeedHub hub;
+    private final Predicate<TicketChange> filter;
+    private final Sink sink;
+    private final ArrayBlockingQueue<FeedEvent> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean overflowed;
+    private volatile boolean heartbeatDue;
+
+    // only touched by the (single) draining thread
+    @Nullable
+    private String replayCursor;
+    @Nullable
+    private String lastDeliveredId;
+
+    Subscription(
+            ChangeFeedHub hub,
+            Predicate<TicketChange> filter,
+            Sink sink,
+            int capacity,
+            @Nullable String resumeAfter) {
+        this.hub = hub;
+        this.filter = filter;
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.replayCursor = resumeAfter;
+        this.lastDeliveredId = resumeAfter;
+    }
+
+    /**
+     * Returns whether the subscription has ended.
+     *
+     * @return {@code true} once closed
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Ends the subscription: detaches it from the hub and closes the sink. Idempotent.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            hub.remove(this);
+            queue.clear();
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                // the sink may already be closed on its side
+            }
+        }
+    }
+
+    void offer(FeedEvent event) {
+        if (closed.get() || overflowed || !filter.test(event.change())) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            overflowed = true;
+        }
+        schedule();
+    }
+
+    void requestHeartbeat() {
+        heartbeatDue = true;
+        schedule();
+    }
+
+    void schedule() {
+        if (!closed.get() && scheduled.compareAndSet(false, true)) {
+            hub.senders().execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            if (replayCursor != null) {
+                replay();
+            }
+            FeedEvent event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                deliver(event);
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                sink.heartbeat();
+            }
+            if (overflowed) {
+                close();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+        if (!closed.get() && (!queue.isEmpty() || heartbeatDue)) {
+            schedule();
+        }
+    }
+
+    private void replay() throws IOException {
+        while (replayCursor != null && !closed.get()) {
+            List<FeedEvent> page = hub.readAfter(replayCursor, REPLAY_PAGE);
+            for (FeedEvent event : page) {
+                if (filter.test(event.change())) {
+                    deliver(event);
+                }
+            }
+            replayCursor = page.size() < REPLAY_PAGE ? null : page.get(page.size() - 1).id();
+        }
+    }
+
+    private void deliver(FeedEvent event) throws IOException {
+        if (lastDeliveredId != null && FeedEvent.compareIds(event.id(), lastDeliveredId) <= 0) {
+            return;
+        }
+        sink.send(event);
+        lastDeliveredId = event.id();
+    }
+}
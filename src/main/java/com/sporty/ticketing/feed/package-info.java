@@ -0,0 +1,6 @@
+/**
+ * Ticket change feed: publishes {@link com.sporty.ticketing.model.TicketChange} events to a
+ * Redis Stream and fans them out to live subscribers.
+ */
+@org.springframework.lang.NonNullApi
+package com.sporty.ticketing.feed;
@@ -0,0 +1,141 @@
+package com.sporty.ticketing.lock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consecutive-failure circuit breaker guarding calls to Redis.
+ * <p>
+ * While {@link State#CLOSED}, every call is permitted; a failure or a call slower than the
+ * slow-call threshold counts towards {@code failureThreshold}, and any fast success resets the
+ * count. Reaching the threshold opens the circuit: calls are rejected without touching Redis
+ * for {@code openDuration}. After that a single probe call is let through
+ * ({@link State#HALF_OPEN}); its outcome closes the circuit or opens it again.
+ * <p>
+ * Callers ask for {@link #tryAcquirePermission()} and must report every permitted call with
+ * {@link #onSuccess(long)} or {@link #onFailure()}. State changes are rare and synchronized;
+ * the closed-state fast path is a single volatile read.
+ */
+public class CircuitBreaker {
+
+    /** Circuit state. */
+    public enum State {
+        /** Calls flow normally. */
+        CLOSED,
+        /** Calls are rejected until the open duration has elapsed. */
+        OPEN,
+        /** One probe call is in flight; other calls are rejected. */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param failureThreshold consecutive failed or slow calls that open the circuit
+     * @param slowCallDuration calls taking at least this long count as failures
+     * @param openDuration     how long the circuit stays open before a probe is allowed
+     */
+    public CircuitBreaker(int failureThreshold, Duration slowCallDuration, Duration openDuration) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Returns whether a call may proceed. Rejected calls are counted and must not be reported.
+     *
+     * @return {@code true} if the call is permitted
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Reports a permitted call that completed; slow calls are treated as failures.
+     *
+     * @param elapsedNanos duration of the call
+     */
+    public void onSuccess(long elapsedNanos) {
+        if (elapsedNanos >= slowCallNanos) {
+            onFailure();
+            return;
+        }
+        consecutiveFailures.set(0);
+        if (state != State.CLOSED) {
+            synchronized (this) {
+                state = State.CLOSED;
+            }
+        }
+    }
+
+    /**
+     * Reports a permitted call that failed or timed out.
+     */
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            synchronized (this) {
+                state = State.OPEN;
+                openedAtNanos = System.nanoTime();
+            }
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Returns the state a call would find now, without changing it: an open circuit whose open
+     * duration has elapsed is reported as {@link State#HALF_OPEN}, since the next call would be
+     * let through as a probe.
+     *
+     * @return the current state, with an elapsed open period taken into account
+     */
+    public State effectiveState() {
+        State s = state;
+        if (s == State.OPEN) {
+            synchronized (this) {
+                if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+                    return State.HALF_OPEN;
+                }
+                return state;
+            }
+        }
+        return s;
+    }
+
+    public int consecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long rejectedCalls() {
+        return rejected.sum();
+    }
+}
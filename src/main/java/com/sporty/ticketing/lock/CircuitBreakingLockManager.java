@@ -0,0 +1,199 @@
+package com.sporty.ticketing.lock;
+
+import com.sporty.ticketing.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link LockManager} decorator that puts a {@link CircuitBreaker} in front of the Redis lock.
+ * <p>
+ * Every Redis call is reported to the breaker, and slow calls count as failures. While the
+ * circuit is open, calls fail fast instead of each waiting for the command timeout:
+ * <ul>
+ *   <li>Without a local fallback, acquisition throws {@link ServiceUnavailableException}.</li>
+ *   <li>With a local fallback (sticky-owner mode), an in-JVM lock is always taken first, then
+ *       the Redis lock. When Redis is unavailable the request proceeds under the local lock only
+ *       (degraded mode). Requests that started with the Redis lock still hold the local lock,
+ *       so same-node requests stay mutually exclusive while the circuit flips.</li>
+ * </ul>
+ * Releases that the breaker rejects are skipped; the Redis lock then expires with its TTL.
+ * Releases handed to a {@link PipelinedLockReleaser} are not calls to Redis and are not reported;
+ * the releaser reports its flushes to the breaker itself.
+ * <p>
+ * In sticky-owner mode tokens have the form {@code localToken/redisToken}, where the Redis
+ * part is empty if the lock was taken in degraded mode.
+ */
+public class CircuitBreakingLockManager implements LockManager {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakingLockManager.class);
+    private static final char SEPARATOR = '/';
+
+    private final LockManager delegate;
+    private final CircuitBreaker breaker;
+    @Nullable
+    private final LocalLockManager local;
+    @Nullable
+    private final PipelinedLockReleaser releaser;
+    private final LongAdder degradedAcquisitions = new LongAdder();
+
+    /**
+     * Creates the decorator.
+     *
+     * @param delegate the Redis-backed lock manager
+     * @param breaker  breaker guarding calls to {@code delegate}
+     * @param local    in-JVM lock used in sticky-owner mode, or {@code null} to fail fast instead
+     * @param releaser background releaser for {@link #unlockLater}, reporting to {@code breaker},
+     *                 or {@code null} to release synchronously
+     */
+    public CircuitBreakingLockManager(
+            LockManager delegate,
+            CircuitBreaker breaker,
+            @Nullable LocalLockManager local,
+            @Nullable PipelinedLockReleaser releaser) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.local = local;
+        this.releaser = releaser;
+    }
+
+    /**
+     * Acquires the lock through the breaker; see the class description for the open-circuit
+     * behaviour.
+     *
+     * @throws ServiceUnavailableException if Redis is unavailable and there is no local fallback
+     */
+    @Override
+    public Optional<String> tryLock(String key, Duration ttl) {
+        if (local == null) {
+            return guarded(() -> delegate.tryLock(key, ttl))
+                    .orElseThrow(() -> new ServiceUnavailableException("Lock service unavailable"));
+        }
+        var localToken = local.tryLock(key, ttl);
+        if (localToken.isEmpty()) {
+            return Optional.empty();
+        }
+        var remote = guarded(() -> delegate.tryLock(key, ttl));
+        if (remote.isEmpty()) {
+            degradedAcquisitions.increment();
+            return Optional.of(localToken.get() + SEPARATOR);
+        }
+        if (remote.get().isEmpty()) {
+            local.unlock(key, localToken.get());
+            return Optional.empty();
+        }
+        return Optional.of(localToken.get() + SEPARATOR + remote.get().get());
+    }
+
+    /**
+     * Acquires the locks through the breaker as one call to the delegate's batch acquisition. In
+     * sticky-owner mode, each lock is acquired like {@link #tryLock(String, Duration)}.
+     *
+     * @throws ServiceUnavailableException if Redis is unavailable and there is no local fallback
+     */
+    @Override
+    public List<Optional<String>> tryLockAll(List<String> keys, Duration ttl) {
+        if (local != null) {
+            return LockManager.super.tryLockAll(keys, ttl);
+        }
+        return guarded(() -> delegate.tryLockAll(keys, ttl))
+                .orElseThrow(() -> new ServiceUnavailableException("Lock service unavailable"));
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        if (local == null) {
+            return guarded(() -> delegate.unlock(key, token)).orElse(false);
+        }
+        int sep = token.indexOf(SEPARATOR);
+        boolean released = true;
+        if (sep < token.length() - 1) {
+            String remoteToken = token.substring(sep + 1);
+            released = guarded(() -> delegate.unlock(key, remoteToken)).orElse(false);
+        }
+        return local.unlock(key, token.substring(0, sep)) && released;
+    }
+
+    /**
+     * Releases the local part (if any) right away. The Redis part is queued on the releaser while
+     * the circuit is closed, and otherwise released synchronously through the breaker.
+     */
+    @Override
+    public void unlockLater(String key, String token) {
+        String remoteToken = token;
+        if (local != null) {
+            int sep = token.indexOf(SEPARATOR);
+            local.unlock(key, token.substring(0, sep));
+            remoteToken = token.substring(sep + 1);
+            if (remoteToken.isEmpty()) {
+                return;
+            }
+        }
+        String t = remoteToken;
+        if (releaser != null && breaker.state() == CircuitBreaker.State.CLOSED && releaser.submit(key, t)) {
+            return;
+        }
+        if (guarded(() -> delegate.unlock(key, t)).isEmpty()) {
+            log.debug("Lock release skipped while Redis is unavailable; it expires with its TTL (key={})", key);
+        }
+    }
+
+    @Override
+    public void onAcquireAttempts(String key, int attempts, long waitNanos, boolean acquired) {
+        delegate.onAcquireAttempts(key, attempts, waitNanos, acquired);
+    }
+
+    /**
+     * Returns the breaker guarding the Redis calls.
+     *
+     * @return the {@link CircuitBreaker}
+     */
+    public CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    /**
+     * Returns whether an in-JVM fallback lock is used while Redis is unavailable.
+     *
+     * @return {@code true} in sticky-owner mode
+     */
+    public boolean isStickyOwner() {
+        return local != null;
+    }
+
+    /**
+     * Returns the number of locks taken without Redis since startup.
+     *
+     * @return the degraded acquisition count
+     */
+    public long degradedAcquisitions() {
+        return degradedAcquisitions.sum();
+    }
+
+    /**
+     * Runs the Redis call if the breaker permits it and reports its outcome.
+     *
+     * @return the call's result, or empty if the call was rejected or failed
+     */
+    private <T> Optional<T> guarded(Supplier<T> call) {
+        if (!breaker.tryAcquirePermission()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            breaker.onSuccess(System.nanoTime() - start);
+            return Optional.of(result);
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            log.warn("Redis lock call failed: {}", e.toString());
+            return Optional.empty();
+        }
+    }
+}
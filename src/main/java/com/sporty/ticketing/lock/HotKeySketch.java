@@ -0,0 +1,182 @@
+package com.sporty.ticketing.lock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded-memory streaming counter that keeps track of the most frequent keys.
+ * <p>
+ * Frequencies are estimated with a count-min sketch ({@code depth} rows of {@code width}
+ * counters, all preallocated), and the {@code topK} heaviest keys are kept in a small fixed-size
+ * table. The owner calls {@link #decay()} periodically, from a background thread, so that the
+ * ranking reflects recent activity rather than all-time totals.
+ * <p>
+ * Recording a key never allocates and never blocks: the top-K table is only updated when the
+ * estimate beats the current admission threshold and the table lock is free; otherwise the update
+ * is skipped and picked up by a later increment of the same key. Recording never decays, so no
+ * caller pays for a walk over all counters.
+ */
+public final class HotKeySketch {
+
+    /**
+     * A key and its estimated (decayed) frequency.
+     *
+     * @param key   the tracked key
+     * @param count estimated number of occurrences; may over-count, never under-counts
+     */
+    public record HotKey(String key, long count) {}
+
+    private final AtomicLongArray counters;
+    private final int depth;
+    private final int width;
+    private final int mask;
+
+    private final ReentrantLock topLock = new ReentrantLock();
+    private final String[] topKeys;
+    private final long[] topCounts;
+    private int topSize;
+
+    /** Smallest count in a full top-K table, or {@code 0} while the table still has room. */
+    private volatile long admissionThreshold;
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param width counters per row; rounded up to the next power of two
+     * @param depth number of hash rows
+     * @param topK  number of heaviest keys to retain
+     */
+    public HotKeySketch(int width, int depth, int topK) {
+        if (width <= 0 || depth <= 0 || topK <= 0) {
+            throw new IllegalArgumentException("width, depth and topK must be positive");
+        }
+        this.width = ceilPowerOfTwo(width);
+        this.mask = this.width - 1;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(this.width * depth);
+        this.topKeys = new String[topK];
+        this.topCounts = new long[topK];
+    }
+
+    /**
+     * Adds {@code count} occurrences of {@code key}.
+     *
+     * @param key   the key to record
+     * @param count number of occurrences, must be positive
+     */
+    public void add(String key, long count) {
+        int h = key.hashCode() * 0x9E3779B9;
+        int h2 = Integer.reverse(h) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int idx = row * width + ((h + row * h2) & mask);
+            long v = counters.addAndGet(idx, count);
+            if (v < estimate) {
+                estimate = v;
+            }
+        }
+        if (estimate > admissionThreshold) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * Returns the currently tracked heaviest keys, ordered by descending count.
+     *
+     * @return a snapshot of the top-K table
+     */
+    public List<HotKey> top() {
+        List<HotKey> result = new ArrayList<>(topKeys.length);
+        topLock.lock();
+        try {
+            for (int i = 0; i < topSize; i++) {
+                result.add(new HotKey(topKeys[i], topCounts[i]));
+            }
+        } finally {
+            topLock.unlock();
+        }
+        result.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return result;
+    }
+
+    /**
+     * Halves every counter and every top-K count.
+     * <p>
+     * This walks all {@code width * depth} counters and waits for the top-K table lock, so it is
+     * meant for a background thread, not the recording path. Increments racing with the decay may
+     * be partially lost, which is acceptable for an approximate frequency estimate.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >> 1);
+        }
+        topLock.lock();
+        try {
+            int kept = 0;
+            for (int i = 0; i < topSize; i++) {
+                long c = topCounts[i] >> 1;
+                if (c > 0) {
+                    topKeys[kept] = topKeys[i];
+                    topCounts[kept] = c;
+                    kept++;
+                }
+            }
+            for (int i = kept; i < topSize; i++) {
+                topKeys[i] = null;
+            }
+            topSize = kept;
+            updateThreshold();
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private void offer(String key, long estimate) {
+        if (!topLock.tryLock()) {
+            return; // someone else is updating; a later increment will retry
+        }
+        try {
+            int min = -1;
+            for (int i = 0; i < topSize; i++) {
+                if (topKeys[i].equals(key)) {
+                    topCounts[i] = Math.max(topCounts[i], estimate);
+                    updateThreshold();
+                    return;
+                }
+                if (min < 0 || topCounts[i] < topCounts[min]) {
+                    min = i;
+                }
+            }
+            if (topSize < topKeys.length) {
+                topKeys[topSize] = key;
+                topCounts[topSize] = estimate;
+                topSize++;
+            } else if (estimate > topCounts[min]) {
+                topKeys[min] = key;
+                topCounts[min] = estimate;
+            }
+            updateThreshold();
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private void updateThreshold() {
+        if (topSize < topKeys.length) {
+            admissionThreshold = 0;
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < topSize; i++) {
+            min = Math.min(min, topCounts[i]);
+        }
+        admissionThreshold = min;
+    }
+
+    private static int ceilPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
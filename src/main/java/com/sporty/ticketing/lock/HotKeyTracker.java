@@ -0,0 +1,110 @@
+package com.sporty.ticketing.lock;
+
+import com.sporty.ticketing.config.HotKeyProperties;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks which lock keys and agents are involved in lock contention.
+ * <p>
+ * Two independent {@link HotKeySketch} instances are maintained:
+ * <ul>
+ *   <li>lock keys, weighted by the number of failed acquire attempts (retries and give-ups);</li>
+ *   <li>agent IDs whose assignment requests were rejected because the ticket was locked.</li>
+ * </ul>
+ * Recording is allocation-free and only happens on the contended path, so the tracker can stay
+ * enabled in production. Both sketches are decayed every {@code decay-interval-ms} by a daemon
+ * thread of the tracker's own, never by a recording request; {@link #close()} stops it.
+ */
+public class HotKeyTracker implements AutoCloseable {
+
+    private final boolean enabled;
+    private final HotKeySketch locks;
+    private final HotKeySketch agents;
+    @Nullable
+    private final ScheduledExecutorService decayer;
+
+    /**
+     * Creates a tracker configured from {@link HotKeyProperties} and, if enabled, starts its decay
+     * thread.
+     *
+     * @param props sketch dimensions, top-K size and decay interval
+     */
+    public HotKeyTracker(HotKeyProperties props) {
+        this.enabled = props.isEnabled();
+        this.locks = newSketch(props);
+        this.agents = newSketch(props);
+        if (enabled) {
+            this.decayer = Executors.newSingleThreadScheduledExecutor(r ->
+                    Thread.ofPlatform().name("hot-key-decay").daemon().unstarted(r));
+            decayer.scheduleAtFixedRate(this::decay,
+                    props.getDecayIntervalMs(), props.getDecayIntervalMs(), TimeUnit.MILLISECONDS);
+        } else {
+            this.decayer = null;
+        }
+    }
+
+    /**
+     * Records the outcome of a contended lock acquisition.
+     *
+     * @param key            the lock key
+     * @param failedAttempts number of {@code tryLock} attempts that did not obtain the lock
+     */
+    public void recordLockContention(String key, int failedAttempts) {
+        if (enabled && failedAttempts > 0) {
+            locks.add(key, failedAttempts);
+        }
+    }
+
+    /**
+     * Records that an agent lost an assignment race because the ticket was locked.
+     *
+     * @param agentId the agent whose request was rejected
+     */
+    public void recordAgentConflict(String agentId) {
+        if (enabled) {
+            agents.add(agentId, 1);
+        }
+    }
+
+    /**
+     * Returns the most contended lock keys, hottest first.
+     *
+     * @return the current top-K lock keys
+     */
+    public List<HotKeySketch.HotKey> hottestLocks() {
+        return locks.top();
+    }
+
+    /**
+     * Returns the agents most often rejected by lock contention, hottest first.
+     *
+     * @return the current top-K agents
+     */
+    public List<HotKeySketch.HotKey> hottestAgents() {
+        return agents.top();
+    }
+
+    /**
+     * Stops the decay thread. Recording and reading keep working, without decay.
+     */
+    @Override
+    public void close() {
+        if (decayer != null) {
+            decayer.shutdownNow();
+        }
+    }
+
+    private void decay() {
+        locks.decay();
+        agents.decay();
+    }
+
+    private static HotKeySketch newSketch(HotKeyProperties props) {
+        return new HotKeySketch(props.getWidth(), props.getDepth(), props.getTopK());
+    }
+}
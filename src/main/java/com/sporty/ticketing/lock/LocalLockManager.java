@@ -0,0 +1,57 @@
+package com.sporty.ticketing.lock;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-JVM {@link LockManager}: per-key locks held in a {@link ConcurrentHashMap}.
+ * <p>
+ * Has the same token and TTL semantics as {@link RedisLockManager} (an expired lock can be taken
+ * over, and only the owner's token releases it) but only excludes threads of this process. It is
+ * therefore only correct when this node is the sole writer of the keys it locks.
+ */
+public class LocalLockManager implements LockManager {
+
+    private record Held(String token, long expiresAtNanos) {
+    }
+
+    private final ConcurrentHashMap<String, Held> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires the lock unless another unexpired token holds it.
+     *
+     * @param key the lock identifier
+     * @param ttl time after which the lock may be taken over
+     * @return an {@link Optional} containing the new token if acquired, or empty otherwise
+     */
+    @Override
+    public Optional<String> tryLock(String key, Duration ttl) {
+        var mine = new Held(UUID.randomUUID().toString(), System.nanoTime() + ttl.toNanos());
+        var now = System.nanoTime();
+        var current = locks.compute(key, (k, held) ->
+                held == null || now - held.expiresAtNanos() >= 0 ? mine : held);
+        return current == mine ? Optional.of(mine.token()) : Optional.empty();
+    }
+
+    /**
+     * Releases the lock if it is still held with the given token.
+     *
+     * @param key   the lock identifier
+     * @param token the token returned by {@link #tryLock(String, Duration)}
+     * @return {@code true} if the lock was released
+     */
+    @Override
+    public boolean unlock(String key, String token) {
+        boolean[] released = new boolean[1];
+        locks.computeIfPresent(key, (k, held) -> {
+            if (held.token().equals(token)) {
+                released[0] = true;
+                return null;
+            }
+            return held;
+        });
+        return released[0];
+    }
+}
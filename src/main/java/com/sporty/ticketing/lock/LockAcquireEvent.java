@@ -0,0 +1,36 @@
+package com.sporty.ticketing.lock;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event emitted when a lock acquisition with retry finishes.
+ * <p>
+ * Enable it in a recording with {@code jdk.jfr} settings for
+ * {@code com.sporty.ticketing.LockAcquire}.
+ */
+@Name("com.sporty.ticketing.LockAcquire")
+@Label("Lock Acquire")
+@Category({"Ticketing", "Lock"})
+@Description("Outcome of a distributed lock acquisition, including retries and time spent waiting")
+@StackTrace(false)
+final class LockAcquireEvent extends Event {
+
+    @Label("Key")
+    String key;
+
+    @Label("Acquired")
+    boolean acquired;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Wait Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long waitTime;
+}
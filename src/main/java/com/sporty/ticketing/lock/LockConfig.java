@@ -1,9 +1,15 @@
 package com.sporty.ticketing.lock;
 
+import com.sporty.ticketing.config.HotKeyProperties;
+import com.sporty.ticketing.config.LockProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.time.Duration;
+
 /**
  * Spring configuration for distributed locking.
  * <p>
@@ -14,14 +20,82 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 @Configuration
 public class LockConfig {
 
+    /**
+     * Creates the {@link HotKeyTracker} that collects lock contention statistics.
+     *
+     * @param props hot-key sketch settings
+     * @return a configured {@link HotKeyTracker}
+     */
+    @Bean
+    public HotKeyTracker hotKeyTracker(HotKeyProperties props) {
+        return new HotKeyTracker(props);
+    }
+
+    /**
+     * Creates the breaker guarding Redis lock calls unless {@code app.lock.circuit-breaker.enabled}
+     * is {@code false}.
+     *
+     * @param props lock settings
+     * @return a closed {@link CircuitBreaker}
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "app.lock.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CircuitBreaker lockCircuitBreaker(LockProperties props) {
+        var cb = props.getCircuitBreaker();
+        return new CircuitBreaker(
+                cb.getFailureThreshold(),
+                Duration.ofMillis(cb.getSlowCallMs()),
+                Duration.ofMillis(cb.getOpenMs()));
+    }
+
+    /**
+     * Creates the background lock releaser when {@code app.lock.async-release.enabled} is set.
+     * <p>
+     * The releaser is closed on context shutdown, flushing every pending release before the
+     * Redis connection factory goes away.
+     *
+     * @param stringRedisTemplate the {@link StringRedisTemplate} used for Redis operations
+     * @param breaker             breaker its flushes are reported to, if enabled
+     * @param props               lock settings
+     * @return a started {@link PipelinedLockReleaser}
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.lock.async-release", name = "enabled", havingValue = "true")
+    public PipelinedLockReleaser pipelinedLockReleaser(
+            StringRedisTemplate stringRedisTemplate, ObjectProvider<CircuitBreaker> breaker, LockProperties props) {
+        var cfg = props.getAsyncRelease();
+        return new PipelinedLockReleaser(
+                stringRedisTemplate, cfg.getBatchSize(), cfg.getQueueCapacity(), breaker.getIfAvailable());
+    }
+
     /**
      * Creates and exposes a {@link LockManager} implementation backed by Redis.
+     * <p>
+     * If the circuit breaker is enabled, the Redis lock is wrapped in a
+     * {@link CircuitBreakingLockManager}, with an in-JVM fallback if {@code app.lock.sticky-owner}
+     * is set.
      *
      * @param stringRedisTemplate the {@link StringRedisTemplate} used for Redis operations
+     * @param hotKeyTracker       tracker receiving per-key contention counts
+     * @param releaser            background releaser, present only if asynchronous release is enabled
+     * @param breaker             breaker guarding the Redis calls, present only if enabled
+     * @param props               lock settings
      * @return a Redis-based {@link LockManager} instance
      */
     @Bean
-    public LockManager lockManager(StringRedisTemplate stringRedisTemplate) {
-        return new RedisLockManager(stringRedisTemplate);
+    public LockManager lockManager(
+            StringRedisTemplate stringRedisTemplate,
+            HotKeyTracker hotKeyTracker,
+            ObjectProvider<PipelinedLockReleaser> releaser,
+            ObjectProvider<CircuitBreaker> breaker,
+            LockProperties props) {
+        var redisLocks = new RedisLockManager(stringRedisTemplate, hotKeyTracker, releaser.getIfAvailable());
+        var cb = breaker.getIfAvailable();
+        if (cb == null) {
+            return redisLocks;
+        }
+        return new CircuitBreakingLockManager(
+                redisLocks, cb, props.isStickyOwner() ? new LocalLockManager() : null, releaser.getIfAvailable());
     }
 }
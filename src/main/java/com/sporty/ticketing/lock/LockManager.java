@@ -1,6 +1,8 @@
 package com.sporty.ticketing.lock;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.LockSupport;
@@ -25,6 +27,26 @@ public interface LockManager {
      */
     Optional<String> tryLock(String key, Duration ttl);
 
+    /**
+     * Attempts to acquire the locks for several keys at once, without retrying.
+     * <p>
+     * Each key is acquired independently of the others: the result holds a token for every key
+     * that was free and an empty Optional for every key that was held. The default implementation
+     * calls {@link #tryLock(String, Duration)} once per key; implementations that can acquire a
+     * batch in one round trip override it.
+     *
+     * @param keys the lock identifiers
+     * @param ttl  the time-to-live of each lock
+     * @return one entry per key, in the order of {@code keys}
+     */
+    default List<Optional<String>> tryLockAll(List<String> keys, Duration ttl) {
+        var tokens = new ArrayList<Optional<String>>(keys.size());
+        for (String key : keys) {
+            tokens.add(tryLock(key, ttl));
+        }
+        return tokens;
+    }
+
     /**
      * Releases the lock for the specified key only if the provided token matches the
      * current lock owner.
@@ -37,10 +59,40 @@ public interface LockManager {
     //noinspection BooleanMethodNameMustStartWithQuestion
     boolean unlock(String key, String token);
 
+    /**
+     * Releases the lock for the specified key, possibly after this method returns.
+     * <p>
+     * Callers that do not need the outcome of the release (typically a {@code finally} block)
+     * should prefer this method, so that implementations can take the release off the request
+     * path. The default implementation releases synchronously via {@link #unlock(String, String)}.
+     *
+     * @param key   the lock identifier
+     * @param token the unique token previously returned by {@link #tryLock(String, Duration)}
+     */
+    default void unlockLater(String key, String token) {
+        unlock(key, token);
+    }
+
+    /**
+     * Callback invoked by {@link #tryLockWithRetry(String, Duration, Duration)} once an
+     * acquisition has finished, successfully or not.
+     * <p>
+     * The default implementation does nothing; implementations may override it to collect
+     * contention statistics.
+     *
+     * @param key       the lock identifier
+     * @param attempts  number of {@link #tryLock(String, Duration)} calls that were made
+     * @param waitNanos time spent in the acquisition, including backoff, in nanoseconds
+     * @param acquired  whether the lock was eventually obtained
+     */
+    default void onAcquireAttempts(String key, int attempts, long waitNanos, boolean acquired) {
+    }
+
     /**
      * Attempts to acquire a lock for the specified key with retries until a deadline is reached.
      * <p>
      * Uses linear backoff with jitter between retries to reduce contention.
+     * The number of attempts is reported to {@link #onAcquireAttempts(String, int, long, boolean)}.
      *
      * @param key     the lock identifier
      * @param ttl     the lock's time-to-live duration
@@ -49,19 +101,24 @@ public interface LockManager {
      *         or an empty Optional if the lock could not be obtained in time
      */
     default Optional<String> tryLockWithRetry(String key, Duration ttl, Duration maxWait) {
-        long deadlineNanos = System.nanoTime() + maxWait.toNanos();
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + maxWait.toNanos();
 
         long sleepNanos = 10_000_000L;     // 10 ms
         final long maxSleepNanos = 100_000_000L; // 100 ms
+        int attempts = 0;
 
         while (true) {
             long now = System.nanoTime();
             if (now >= deadlineNanos) {
+                onAcquireAttempts(key, attempts, now - startNanos, false);
                 return Optional.empty();
             }
 
             var token = tryLock(key, ttl);
+            attempts++;
             if (token.isPresent()) {
+                onAcquireAttempts(key, attempts, System.nanoTime() - startNanos, true);
                 return token;
             }
 
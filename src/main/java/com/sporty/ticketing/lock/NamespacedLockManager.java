@@ -0,0 +1,58 @@
+package com.sporty.ticketing.lock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link LockManager} that prefixes every key with a namespace before delegating.
+ * <p>
+ * Lets code that derives lock keys from ticket IDs run against the real lock backend without
+ * sharing its keys: locks taken through a {@code NamespacedLockManager} never exclude, or are
+ * excluded by, locks taken directly.
+ * <p>
+ * Acquisition attempts are not reported to the delegate: they are not contention on the
+ * application's locks, and would show up in the hot-key statistics and JFR events under keys that
+ * do not exist.
+ */
+public class NamespacedLockManager implements LockManager {
+
+    private final LockManager delegate;
+    private final String namespace;
+
+    /**
+     * Creates a new instance of {@code NamespacedLockManager}.
+     *
+     * @param delegate  the lock manager holding the locks
+     * @param namespace the prefix added to every key, e.g. {@code "warmup:"}
+     */
+    public NamespacedLockManager(LockManager delegate, String namespace) {
+        this.delegate = delegate;
+        this.namespace = namespace;
+    }
+
+    @Override
+    public Optional<String> tryLock(String key, Duration ttl) {
+        return delegate.tryLock(namespace + key, ttl);
+    }
+
+    @Override
+    public List<Optional<String>> tryLockAll(List<String> keys, Duration ttl) {
+        return delegate.tryLockAll(keys.stream().map(key -> namespace + key).toList(), ttl);
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        return delegate.unlock(namespace + key, token);
+    }
+
+    @Override
+    public void unlockLater(String key, String token) {
+        delegate.unlockLater(namespace + key, token);
+    }
+
+    @Override
+    public void onAcquireAttempts(String key, int attempts, long waitNanos, boolean acquired) {
+        // not reported, see the class description
+    }
+}
@@ -0,0 +1,161 @@
+package com.sporty.ticketing.lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background lock releaser that batches many token-checked unlocks into one Redis pipeline.
+ * <p>
+ * Request threads {@link #submit(String, String) submit} releases and return immediately.
+ * A single worker thread takes the first pending release, drains whatever else has queued up
+ * (up to {@code batchSize}) and sends all of them in one pipeline, so a release is delayed by
+ * at most the duration of the flush in progress. Under load, batches form naturally.
+ * <p>
+ * Safety is unchanged compared to synchronous release:
+ * <ul>
+ *   <li>every release runs the same compare-and-delete script as {@link RedisLockManager#unlock},
+ *       so a lock that has expired and been taken over by another owner is never deleted;</li>
+ *   <li>if a flush fails, the affected locks simply expire after their TTL;</li>
+ *   <li>{@link #close()} stops accepting work and flushes everything still queued.</li>
+ * </ul>
+ * If a {@link CircuitBreaker} is given, every flush is a call through it: flushes are skipped
+ * while the circuit is open, and the outcome of each pipeline is reported to it. Submitting a
+ * release does not touch Redis and is not reported.
+ */
+public class PipelinedLockReleaser implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelinedLockReleaser.class);
+
+    private static final byte[] RELEASE_SCRIPT =
+            RedisLockManager.LUA_RELEASE.getBytes(StandardCharsets.UTF_8);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private record PendingRelease(String key, String token) {}
+
+    private final StringRedisTemplate redis;
+    private final BlockingQueue<PendingRelease> queue;
+    private final int batchSize;
+    @Nullable
+    private final CircuitBreaker breaker;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the releaser and starts its worker thread.
+     *
+     * @param redis         the {@link StringRedisTemplate} to use for Redis commands
+     * @param batchSize     maximum number of releases per pipeline
+     * @param queueCapacity maximum number of pending releases
+     * @param breaker       breaker guarding the flushes, or {@code null} for none
+     */
+    public PipelinedLockReleaser(
+            StringRedisTemplate redis, int batchSize, int queueCapacity, @Nullable CircuitBreaker breaker) {
+        if (batchSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("batchSize and queueCapacity must be positive");
+        }
+        this.redis = redis;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.breaker = breaker;
+        this.worker = Thread.ofPlatform().name("lock-releaser").daemon().start(this::run);
+    }
+
+    /**
+     * Enqueues a release.
+     *
+     * @param key   the lock key
+     * @param token the owner token returned by {@link LockManager#tryLock}
+     * @return {@code true} if the release was queued, {@code false} if the queue is full or the
+     *         releaser is shutting down, in which case the caller should release synchronously
+     */
+    public boolean submit(String key, String token) {
+        return running && queue.offer(new PendingRelease(key, token));
+    }
+
+    /**
+     * Stops the worker and flushes all releases that are still queued.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingRelease> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(rest.size(), from + batchSize)));
+        }
+    }
+
+    private void run() {
+        List<PendingRelease> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingRelease first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingRelease> batch) {
+        if (breaker != null && !breaker.tryAcquirePermission()) {
+            log.debug("Skipped releasing {} locks while Redis is unavailable; they will expire after their TTL",
+                    batch.size());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Object> results = redis.executePipelined((RedisCallback<Object>) conn -> {
+                for (PendingRelease r : batch) {
+                    conn.scriptingCommands().eval(
+                            RELEASE_SCRIPT,
+                            ReturnType.INTEGER,
+                            1,
+                            r.key().getBytes(StandardCharsets.UTF_8),
+                            r.token().getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            if (breaker != null) {
+                breaker.onSuccess(System.nanoTime() - start);
+            }
+            if (log.isDebugEnabled()) {
+                long notReleased = results.stream().filter(res -> !Long.valueOf(1L).equals(res)).count();
+                if (notReleased > 0) {
+                    log.debug("{} of {} locks were not released (token possibly lost or changed)",
+                            notReleased, batch.size());
+                }
+            }
+        } catch (RuntimeException e) {
+            if (breaker != null) {
+                breaker.onFailure();
+            }
+            log.warn("Failed to release {} locks; they will expire after their TTL", batch.size(), e);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.sporty.ticketing.lock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.lang.Nullable;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +31,8 @@ import java.util.UUID;
  */
 public class RedisLockManager implements LockManager {
 
+    private static final Logger log = LoggerFactory.getLogger(RedisLockManager.class);
+
     /**
      * Lua script to atomically check the lock owner and delete the lock if it matches.
      * <p>
@@ -35,7 +45,7 @@ public class RedisLockManager implements LockManager {
      * end
      * </pre>
      */
-    private static final String LUA_RELEASE = """
+    static final String LUA_RELEASE = """
         if redis.call('get', KEYS[1]) == ARGV[1] then
           return redis.call('del', KEYS[1])
         else
@@ -45,6 +55,10 @@ public class RedisLockManager implements LockManager {
 
     private final StringRedisTemplate redis;
     private final DefaultRedisScript<Long> releaseScript;
+    @Nullable
+    private final HotKeyTracker hotKeys;
+    @Nullable
+    private final PipelinedLockReleaser releaser;
 
     /**
      * Creates a new Redis-based lock manager.
@@ -52,8 +66,26 @@ public class RedisLockManager implements LockManager {
      * @param redis the {@link StringRedisTemplate} to use for Redis commands
      */
     public RedisLockManager(StringRedisTemplate redis) {
+        this(redis, null, null);
+    }
+
+    /**
+     * Creates a new Redis-based lock manager with optional contention tracking and background
+     * release.
+     *
+     * @param redis    the {@link StringRedisTemplate} to use for Redis commands
+     * @param hotKeys  tracker receiving failed acquire attempts per key, or {@code null} to disable
+     * @param releaser background releaser used by {@link #unlockLater(String, String)},
+     *                 or {@code null} to always release synchronously
+     */
+    public RedisLockManager(
+            StringRedisTemplate redis,
+            @Nullable HotKeyTracker hotKeys,
+            @Nullable PipelinedLockReleaser releaser) {
         this.redis = redis;
         this.releaseScript = new DefaultRedisScript<>(LUA_RELEASE, Long.class);
+        this.hotKeys = hotKeys;
+        this.releaser = releaser;
     }
 
     /**
@@ -71,6 +103,38 @@ public class RedisLockManager implements LockManager {
         return Boolean.TRUE.equals(ok) ? Optional.of(token) : Optional.empty();
     }
 
+    /**
+     * Acquires the locks with one pipelined {@code SET NX PX} per key, in a single round trip.
+     *
+     * @param keys the Redis keys representing the locks
+     * @param ttl  the time-to-live of each lock
+     * @return the generated token for every key that was acquired, empty for the others, in the
+     *         order of {@code keys}
+     */
+    @Override
+    public List<Optional<String>> tryLockAll(List<String> keys, Duration ttl) {
+        var tokens = new ArrayList<String>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            tokens.add(UUID.randomUUID().toString());
+        }
+        var expiration = Expiration.from(ttl);
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) conn -> {
+            for (int i = 0; i < keys.size(); i++) {
+                conn.stringCommands().set(
+                        keys.get(i).getBytes(StandardCharsets.UTF_8),
+                        tokens.get(i).getBytes(StandardCharsets.UTF_8),
+                        expiration,
+                        SetOption.ifAbsent());
+            }
+            return null;
+        });
+        var acquired = new ArrayList<Optional<String>>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            acquired.add(Boolean.TRUE.equals(results.get(i)) ? Optional.of(tokens.get(i)) : Optional.empty());
+        }
+        return acquired;
+    }
+
     /**
      * Releases the lock using the Lua script, ensuring only the owner can release it.
      *
@@ -83,4 +147,42 @@ public class RedisLockManager implements LockManager {
         Long res = redis.execute(releaseScript, List.of(key), token);
         return res != null && res == 1L;
     }
+
+    /**
+     * Hands the release to the {@link PipelinedLockReleaser} if one is configured and has room;
+     * otherwise releases synchronously.
+     *
+     * @param key   the Redis key representing the lock
+     * @param token the token of the client releasing the lock
+     */
+    @Override
+    public void unlockLater(String key, String token) {
+        if (releaser != null && releaser.submit(key, token)) {
+            return;
+        }
+        if (!unlock(key, token)) {
+            // Not critical, but useful for diagnostics
+            log.debug("Lock was not released (key={}, token possibly lost or changed)", key);
+        }
+    }
+
+    /**
+     * Reports the acquisition to JDK Flight Recorder as a {@link LockAcquireEvent} and its failed
+     * attempts to the {@link HotKeyTracker}, if any. Uncontended acquisitions (a single successful
+     * attempt) are not counted as contention.
+     */
+    @Override
+    public void onAcquireAttempts(String key, int attempts, long waitNanos, boolean acquired) {
+        var event = new LockAcquireEvent();
+        if (event.shouldCommit()) {
+            event.key = key;
+            event.acquired = acquired;
+            event.attempts = attempts;
+            event.waitTime = waitNanos;
+            event.commit();
+        }
+        if (hotKeys != null) {
+            hotKeys.recordLockContention(key, acquired ? attempts - 1 : attempts);
+        }
+    }
 }
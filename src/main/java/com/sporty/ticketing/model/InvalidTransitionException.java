@@ -0,0 +1,29 @@
+package com.sporty.ticketing.model;
+
+/**
+ * Exception indicating that a ticket cannot move from its current status to the requested one.
+ * <p>
+ * Thrown by {@link Ticket} when a change violates the transitions allowed by
+ * {@link TicketStatus#canTransitionTo(TicketStatus)}. The API layer maps it to an HTTP 409
+ * (Conflict) response.
+ */
+public class InvalidTransitionException extends RuntimeException {
+
+    private final TicketStatus from;
+    private final TicketStatus to;
+
+    /**
+     * Creates a new {@code InvalidTransitionException}.
+     *
+     * @param from the ticket's current status
+     * @param to   the requested status
+     */
+    public InvalidTransitionException(TicketStatus from, TicketStatus to) {
+        super("Invalid status transition: " + from + " -> " + to);
+        this.from = from;
+        this.to = to;
+    }
+
+    public TicketStatus getFrom() { return from; }
+    public TicketStatus getTo() { return to; }
+}
@@ -1,5 +1,7 @@
 package com.sporty.ticketing.model;
 
+import org.springframework.lang.Nullable;
+
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
@@ -13,13 +15,15 @@ import java.util.UUID;
  *   <li>Unique ticket identifier</li>
  *   <li>Subject and description of the issue</li>
  *   <li>Ticket status ({@link TicketStatus})</li>
+ *   <li>Ticket priority ({@link TicketPriority})</li>
  *   <li>User who created the ticket</li>
  *   <li>Agent assigned to handle the ticket (optional)</li>
  *   <li>Timestamps for creation and last update</li>
+ *   <li>A version counter, incremented by every update</li>
  * </ul>
  * <p>
  * Instances are typically created via the static factory
- * {@link #newTicket(String, String, String)}, which sets default
+ * {@link #newTicket(String, String, String, TicketPriority)}, which sets default
  * values and timestamps.
  */
 public class Ticket {
@@ -36,6 +40,9 @@ public class Ticket {
     /** Current status of the ticket. */
     private TicketStatus status;
 
+    /** Urgency of the ticket. */
+    private TicketPriority priority;
+
     /** ID of the user who created the ticket. */
     private String userId;
 
@@ -48,6 +55,9 @@ public class Ticket {
     /** When the ticket was last updated. */
     private Instant updatedAt;
 
+    /** Number of updates applied since creation; unlike {@code updatedAt}, never equal for two states. */
+    private long version;
+
     /**
      * Creates a new {@code Ticket} instance with default status {@link TicketStatus#OPEN}.
      * <p>
@@ -61,41 +71,147 @@ public class Ticket {
      * @param userId      ID of the user creating the ticket (required)
      * @param subject     short summary of the issue (required)
      * @param description detailed description of the issue (nullable, defaults to empty string)
+     * @param priority    urgency of the issue (nullable, defaults to {@link TicketPriority#NORMAL})
      * @return a fully initialized {@code Ticket} instance
      * @throws NullPointerException if {@code userId} or {@code subject} is {@code null}
      */
-    public static Ticket newTicket(String userId, String subject, String description) {
+    public static Ticket newTicket(
+            String userId, String subject, String description, @Nullable TicketPriority priority) {
         Ticket t = new Ticket();
         t.ticketId = UUID.randomUUID();
         t.userId = Objects.requireNonNull(userId, "userId");
         t.subject = Objects.requireNonNull(subject, "subject");
         t.description = Objects.requireNonNullElse(description, "");
         t.status = TicketStatus.OPEN;
+        t.priority = Objects.requireNonNullElse(priority, TicketPriority.NORMAL);
         t.createdAt = Instant.now();
         t.updatedAt = t.createdAt;
         return t;
     }
 
     /**
-     * Assigns the ticket to an agent and updates the {@code updatedAt} timestamp.
+     * Recreates a {@code Ticket} from previously stored field values, without generating a new ID
+     * or timestamps.
+     * <p>
+     * Intended for repositories that keep tickets in another representation (snapshots,
+     * serialized forms) and need to hand out {@code Ticket} instances.
+     *
+     * @param ticketId    unique identifier of the ticket
+     * @param subject     short summary of the issue
+     * @param description detailed description of the issue
+     * @param status      current status
+     * @param priority    urgency of the ticket
+     * @param userId      ID of the user who created the ticket
+     * @param assigneeId  ID of the assigned agent (nullable)
+     * @param createdAt   creation timestamp
+     * @param updatedAt   last update timestamp
+     * @param version     number of updates applied since creation
+     * @return a {@code Ticket} holding exactly the given values
+     */
+    public static Ticket restore(
+            UUID ticketId,
+            String subject,
+            String description,
+            TicketStatus status,
+            TicketPriority priority,
+            String userId,
+            @Nullable String assigneeId,
+            Instant createdAt,
+            Instant updatedAt,
+            long version) {
+        Ticket t = new Ticket();
+        t.ticketId = ticketId;
+        t.subject = subject;
+        t.description = description;
+        t.status = status;
+        t.priority = priority;
+        t.userId = userId;
+        t.assigneeId = assigneeId;
+        t.createdAt = createdAt;
+        t.updatedAt = updatedAt;
+        t.version = version;
+        return t;
+    }
+
+    /**
+     * Assigns the ticket to an agent and updates the {@code updatedAt} timestamp and version.
      *
      * @param assigneeId the ID of the assigned agent
      * @throws NullPointerException if {@code assigneeId} is {@code null}
      */
     public void assign(String assigneeId) {
         this.assigneeId = Objects.requireNonNull(assigneeId, "assigneeId");
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     /**
-     * Updates the ticket's status and refreshes the {@code updatedAt} timestamp.
+     * Updates the ticket's status and refreshes the {@code updatedAt} timestamp and version.
      *
      * @param status the new ticket status
      * @throws NullPointerException if {@code status} is {@code null}
+     * @throws InvalidTransitionException if the current status cannot transition to {@code status}
      */
     public void updateStatus(TicketStatus status) {
-        this.status = Objects.requireNonNull(status, "status");
+        checkTransition(Objects.requireNonNull(status, "status"));
+        this.status = status;
+        touch();
+    }
+
+    /**
+     * Applies all non-{@code null} components of a {@link TicketPatch} and refreshes the
+     * {@code updatedAt} timestamp and version once.
+     *
+     * @param patch the changes to apply
+     * @throws NullPointerException if {@code patch} is {@code null}
+     * @throws InvalidTransitionException if the patch contains a disallowed status transition
+     */
+    public void apply(TicketPatch patch) {
+        Objects.requireNonNull(patch, "patch");
+        checkTransition(patch.status());
+        if (patch.assigneeId() != null) {
+            this.assigneeId = patch.assigneeId();
+        }
+        if (patch.status() != null) {
+            this.status = patch.status();
+        }
+        if (patch.subject() != null) {
+            this.subject = patch.subject();
+        }
+        if (patch.description() != null) {
+            this.description = patch.description();
+        }
+        touch();
+    }
+
+    /**
+     * Checks a patch against the current state without modifying the ticket.
+     *
+     * @param patch the changes to check
+     * @return {@code true} if applying the patch would change at least one field,
+     *         {@code false} if it is a no-op
+     * @throws InvalidTransitionException if the patch contains a disallowed status transition
+     */
+    public boolean hasChanges(TicketPatch patch) {
+        checkTransition(patch.status());
+        return differs(patch.assigneeId(), assigneeId)
+                || (patch.status() != null && patch.status() != status)
+                || differs(patch.subject(), subject)
+                || differs(patch.description(), description);
+    }
+
+    private void touch() {
         this.updatedAt = Instant.now();
+        this.version++;
+    }
+
+    private void checkTransition(@Nullable TicketStatus next) {
+        if (next != null && next != status && !status.canTransitionTo(next)) {
+            throw new InvalidTransitionException(status, next);
+        }
+    }
+
+    private static boolean differs(@Nullable String requested, @Nullable String current) {
+        return requested != null && !requested.equals(current);
     }
 
     // Getters
@@ -104,20 +220,22 @@ public class Ticket {
     public String getSubject() { return subject; }
     public String getDescription() { return description; }
     public TicketStatus getStatus() { return status; }
+    public TicketPriority getPriority() { return priority; }
     public String getUserId() { return userId; }
     public String getAssigneeId() { return assigneeId; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public long getVersion() { return version; }
 
-    // Setters (also update the updatedAt timestamp)
+    // Setters (also update the updatedAt timestamp and version)
 
     public void setSubject(String subject) {
         this.subject = subject;
-        this.updatedAt = Instant.now();
+        touch();
     }
 
     public void setDescription(String description) {
         this.description = description;
-        this.updatedAt = Instant.now();
+        touch();
     }
 }
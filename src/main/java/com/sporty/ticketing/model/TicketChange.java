@@ -0,0 +1,79 @@
+package com.sporty.ticketing.model;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact description of a successful change to a {@link Ticket}, published by the service
+ * after the change has been stored.
+ * <p>
+ * It carries only the fields subscribers filter and route on; consumers that need the full ticket
+ * read it by ID. Values are copied when the change is created, so later updates of the ticket do
+ * not affect it.
+ *
+ * @param type       what kind of change was made
+ * @param ticketId   ID of the changed ticket
+ * @param status     status after the change
+ * @param assigneeId assignee after the change, or {@code null} if unassigned
+ * @param updatedAt  {@code updatedAt} of the ticket after the change
+ * @param version    version of the ticket after the change; consumers that see two changes of a
+ *                   ticket out of order keep the higher one
+ */
+public record TicketChange(
+        Type type,
+        UUID ticketId,
+        TicketStatus status,
+        @Nullable String assigneeId,
+        Instant updatedAt,
+        long version
+) {
+
+    /** Kind of change. */
+    public enum Type {
+        /** The ticket was created. */
+        CREATED,
+        /** Only the assignee changed. */
+        ASSIGNED,
+        /** Only the status changed. */
+        STATUS_CHANGED,
+        /** Several fields, or the subject or description, changed. */
+        UPDATED;
+
+        /**
+         * Returns the type describing the given patch.
+         *
+         * @param patch the applied patch
+         * @return {@link #ASSIGNED} or {@link #STATUS_CHANGED} for single-field patches,
+         *         {@link #UPDATED} otherwise
+         */
+        public static Type of(TicketPatch patch) {
+            boolean other = patch.subject() != null || patch.description() != null;
+            if (!other && patch.status() == null && patch.assigneeId() != null) {
+                return ASSIGNED;
+            }
+            if (!other && patch.assigneeId() == null && patch.status() != null) {
+                return STATUS_CHANGED;
+            }
+            return UPDATED;
+        }
+    }
+
+    /**
+     * Captures the current state of {@code ticket} as a change of the given type.
+     *
+     * @param type   the kind of change
+     * @param ticket the ticket after the change
+     * @return a new {@link TicketChange}
+     */
+    public static TicketChange of(Type type, Ticket ticket) {
+        return new TicketChange(
+                type,
+                ticket.getTicketId(),
+                ticket.getStatus(),
+                ticket.getAssigneeId(),
+                ticket.getUpdatedAt(),
+                ticket.getVersion());
+    }
+}
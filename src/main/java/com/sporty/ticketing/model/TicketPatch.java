@@ -0,0 +1,30 @@
+package com.sporty.ticketing.model;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A set of changes to apply to a {@link Ticket} in a single update.
+ * <p>
+ * Every component is optional; {@code null} means "leave unchanged".
+ *
+ * @param assigneeId  new assignee, or {@code null}
+ * @param status      new status, or {@code null}
+ * @param subject     new subject, or {@code null}
+ * @param description new description, or {@code null}
+ */
+public record TicketPatch(
+        @Nullable String assigneeId,
+        @Nullable TicketStatus status,
+        @Nullable String subject,
+        @Nullable String description
+) {
+
+    /**
+     * Returns whether this patch changes nothing.
+     *
+     * @return {@code true} if all components are {@code null}
+     */
+    public boolean isEmpty() {
+        return assigneeId == null && status == null && subject == null && description == null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.sporty.ticketing.model;
+
+/**
+ * Urgency of a support ticket, from lowest to highest.
+ * <p>
+ * Agents claiming work get higher-priority tickets first (see {@code POST /tickets/claim}).
+ */
+public enum TicketPriority {
+    /** Can wait until more urgent work is done. */
+    LOW,
+
+    /** Default priority of new tickets. */
+    NORMAL,
+
+    /** Should be handled before normal tickets. */
+    HIGH,
+
+    /** Needs immediate attention. */
+    URGENT
+}
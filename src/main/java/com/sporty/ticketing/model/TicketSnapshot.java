@@ -0,0 +1,81 @@
+package com.sporty.ticketing.model;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable point-in-time copy of a {@link Ticket}.
+ * <p>
+ * Snapshots can be shared freely between threads: a reader holding a snapshot never observes a
+ * partially applied update. They are used as the stored representation by repositories that
+ * update tickets with atomic read-modify-write operations.
+ * <p>
+ * {@code priority} may be {@code null} in snapshots stored before tickets had a priority; such
+ * tickets are restored as {@link TicketPriority#NORMAL}. Likewise, {@code version} is {@code 0} in
+ * snapshots stored before tickets were versioned.
+ *
+ * @param ticketId    unique identifier of the ticket
+ * @param subject     short summary of the issue
+ * @param description detailed description of the issue
+ * @param status      status of the ticket
+ * @param priority    urgency of the ticket ({@code null} in older snapshots)
+ * @param userId      ID of the user who created the ticket
+ * @param assigneeId  ID of the assigned agent (may be {@code null})
+ * @param createdAt   creation timestamp
+ * @param updatedAt   last update timestamp
+ * @param version     number of updates applied since creation
+ */
+public record TicketSnapshot(
+        UUID ticketId,
+        String subject,
+        String description,
+        TicketStatus status,
+        @Nullable TicketPriority priority,
+        String userId,
+        @Nullable String assigneeId,
+        Instant createdAt,
+        Instant updatedAt,
+        long version
+) {
+
+    /**
+     * Captures the current state of a ticket.
+     *
+     * @param t the ticket to copy
+     * @return a snapshot with the ticket's current field values
+     */
+    public static TicketSnapshot of(Ticket t) {
+        return new TicketSnapshot(
+                t.getTicketId(),
+                t.getSubject(),
+                t.getDescription(),
+                t.getStatus(),
+                t.getPriority(),
+                t.getUserId(),
+                t.getAssigneeId(),
+                t.getCreatedAt(),
+                t.getUpdatedAt(),
+                t.getVersion());
+    }
+
+    /**
+     * Creates a new, detached mutable {@link Ticket} with this snapshot's values.
+     *
+     * @return a fresh {@link Ticket} instance
+     */
+    public Ticket toTicket() {
+        return Ticket.restore(
+                ticketId,
+                subject,
+                description,
+                status,
+                priority == null ? TicketPriority.NORMAL : priority,
+                userId,
+                assigneeId,
+                createdAt,
+                updatedAt,
+                version);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sporty.ticketing.model;
+
+import java.util.Map;
+
+/**
+ * Ticket counts per status, overall and per assignee.
+ * <p>
+ * Statuses and assignees without tickets are omitted. Unassigned tickets are only counted in
+ * {@code byStatus}.
+ *
+ * @param byStatus   number of tickets in each status
+ * @param byAssignee for each assignee, the number of their tickets in each status
+ */
+public record TicketStats(
+        Map<TicketStatus, Long> byStatus,
+        Map<String, Map<TicketStatus, Long>> byAssignee
+) {
+}
@@ -1,5 +1,10 @@
 package com.sporty.ticketing.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enumeration of possible lifecycle states for a support ticket.
  * <p>
@@ -11,7 +16,14 @@ package com.sporty.ticketing.model;
  *   <li>{@link #CLOSED} — ticket fully closed; no further action required</li>
  * </ul>
  * <p>
- * State transitions are controlled by business logic in the service layer.
+ * Allowed transitions are precomputed in a per-state {@link EnumSet} table:
+ * <ul>
+ *   <li>{@code OPEN} → {@code IN_PROGRESS}, {@code RESOLVED}, {@code CLOSED}</li>
+ *   <li>{@code IN_PROGRESS} → {@code OPEN}, {@code RESOLVED}, {@code CLOSED}</li>
+ *   <li>{@code RESOLVED} → {@code OPEN}, {@code IN_PROGRESS}, {@code CLOSED}</li>
+ *   <li>{@code CLOSED} → none (terminal)</li>
+ * </ul>
+ * Staying in the same state is a no-op rather than a transition.
  */
 public enum TicketStatus {
     /** Newly created ticket, not yet assigned or started. */
@@ -24,5 +36,25 @@ public enum TicketStatus {
     RESOLVED,
 
     /** Ticket closed; no additional work or changes expected. */
-    CLOSED
+    CLOSED;
+
+    private static final Map<TicketStatus, Set<TicketStatus>> TRANSITIONS = new EnumMap<>(TicketStatus.class);
+
+    static {
+        TRANSITIONS.put(OPEN, EnumSet.of(IN_PROGRESS, RESOLVED, CLOSED));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(OPEN, RESOLVED, CLOSED));
+        TRANSITIONS.put(RESOLVED, EnumSet.of(OPEN, IN_PROGRESS, CLOSED));
+        TRANSITIONS.put(CLOSED, EnumSet.noneOf(TicketStatus.class));
+    }
+
+    /**
+     * Returns whether a ticket in this state may move to {@code next}.
+     *
+     * @param next the target state
+     * @return {@code true} if the transition is allowed; {@code false} for disallowed transitions
+     *         and for {@code next == this}, which is not a transition
+     */
+    public boolean canTransitionTo(TicketStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
 }
@@ -0,0 +1,87 @@
+package com.sporty.ticketing.model;
+
+import java.time.Instant;
+
+/**
+ * Position of a stored ticket version in the repository's change order, used as the cursor of
+ * delta syncs.
+ * <p>
+ * A position packs the ticket's {@code updatedAt} (epoch milliseconds) into the high bits and a
+ * sequence number into the low {@value #SEQ_BITS} bits, so positions sort by {@code updatedAt}
+ * with the sequence as tie-breaker. Positions are issued strictly increasing: a write whose
+ * {@code updatedAt} is not later than the previous position gets the previous position plus one.
+ * More than {@code 2^SEQ_BITS} writes in one millisecond therefore run slightly ahead of the
+ * clock, but never out of order. The packed value stays below 2<sup>53</sup>, so it is exact as
+ * a Redis sorted set score.
+ * <p>
+ * The text form is {@code <millis>-<seq>}, like a Redis Stream entry ID; {@code 0} is accepted
+ * for {@link #ZERO}, the position before any change.
+ *
+ * @param value the packed position
+ */
+public record Watermark(long value) implements Comparable<Watermark> {
+
+    /** Number of low bits holding the sequence number. */
+    public static final int SEQ_BITS = 10;
+
+    /** The position before any change; syncing from it returns every indexed ticket. */
+    public static final Watermark ZERO = new Watermark(0);
+
+    /**
+     * Creates a watermark.
+     *
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
+    public Watermark {
+        if (value < 0) {
+            throw new IllegalArgumentException("Watermark must not be negative");
+        }
+    }
+
+    /**
+     * Returns the position to issue for a write made after {@code last}.
+     *
+     * @param last      the most recently issued position
+     * @param updatedAt {@code updatedAt} of the written ticket
+     * @return a position greater than {@code last}, ordered by {@code updatedAt} where possible
+     */
+    public static long next(long last, Instant updatedAt) {
+        return Math.max(updatedAt.toEpochMilli() << SEQ_BITS, last + 1);
+    }
+
+    /**
+     * Parses the text form produced by {@link #toString()}.
+     *
+     * @param text {@code <millis>-<seq>}, or {@code 0}
+     * @return the parsed watermark
+     * @throws IllegalArgumentException if {@code text} is not a valid watermark
+     */
+    public static Watermark parse(String text) {
+        if ("0".equals(text)) {
+            return ZERO;
+        }
+        int dash = text.indexOf('-');
+        try {
+            if (dash > 0) {
+                long millis = Long.parseLong(text.substring(0, dash));
+                long seq = Long.parseLong(text.substring(dash + 1));
+                if (millis >= 0 && millis < 1L << (63 - SEQ_BITS) && seq >= 0 && seq < 1L << SEQ_BITS) {
+                    return new Watermark(millis << SEQ_BITS | seq);
+                }
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Invalid watermark: " + text);
+    }
+
+    @Override
+    public int compareTo(Watermark o) {
+        return Long.compare(value, o.value);
+    }
+
+    @Override
+    public String toString() {
+        return (value >>> SEQ_BITS) + "-" + (value & ((1L << SEQ_BITS) - 1));
+    }
+}
@@ -0,0 +1,52 @@
+package com.sporty.ticketing.ops;
+
+import com.sporty.ticketing.lock.HotKeySketch.HotKey;
+import com.sporty.ticketing.lock.HotKeyTracker;
+import com.sporty.ticketing.service.TicketService;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/hotkeys}) listing the most contended tickets and agents.
+ *
+ * <p>Counts are approximate (count-min estimates) and decay over time, so they describe recent
+ * contention rather than totals.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+  private final HotKeyTracker tracker;
+
+  /**
+   * Creates a new instance of {@code HotKeysEndpoint}.
+   *
+   * @param tracker the tracker holding the contention sketches
+   */
+  public HotKeysEndpoint(HotKeyTracker tracker) {
+    this.tracker = tracker;
+  }
+
+  /**
+   * Returns the hottest tickets (by failed lock attempts) and agents (by rejected assignments).
+   *
+   * @return a map with {@code tickets} and {@code agents} lists, hottest first
+   */
+  @ReadOperation
+  public Map<String, List<HotKey>> hotKeys() {
+    List<HotKey> tickets =
+        tracker.hottestLocks().stream()
+            .map(k -> new HotKey(stripPrefix(k.key()), k.count()))
+            .toList();
+    return Map.of("tickets", tickets, "agents", tracker.hottestAgents());
+  }
+
+  private static String stripPrefix(String key) {
+    return key.startsWith(TicketService.LOCK_PREFIX)
+        ? key.substring(TicketService.LOCK_PREFIX.length())
+        : key;
+  }
+}
@@ -0,0 +1,61 @@
+package com.sporty.ticketing.ops;
+
+import com.sporty.ticketing.lock.CircuitBreaker;
+import com.sporty.ticketing.lock.CircuitBreakingLockManager;
+import com.sporty.ticketing.lock.LockManager;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health contributor ({@code lock} in {@code /actuator/health}) reporting the state of the
+ * circuit breaker in front of the Redis lock.
+ *
+ * <p>The node is {@code UP} while the circuit is closed or half-open. An open circuit reports
+ * {@code OUT_OF_SERVICE}, since ticket updates fail fast with 503, unless the node is a sticky
+ * owner and keeps serving updates under in-JVM locks; it then stays {@code UP} with {@code
+ * mode=degraded}.
+ *
+ * <p>The state is {@linkplain CircuitBreaker#effectiveState() derived from the open period}: once
+ * it has elapsed the circuit is reported half-open and the node {@code UP}, even though no call
+ * has probed the breaker yet. Otherwise a node taken out of rotation would get no traffic to probe
+ * with, and would never report the recovery.
+ */
+@Component("lock")
+public class LockHealthIndicator implements HealthIndicator {
+
+  private final LockManager locks;
+
+  /**
+   * Creates a new instance of {@code LockHealthIndicator}.
+   *
+   * @param locks the application's lock manager
+   */
+  public LockHealthIndicator(LockManager locks) {
+    this.locks = locks;
+  }
+
+  /**
+   * Reports the breaker state, failure and rejection counts, and the lock mode.
+   *
+   * @return the lock health
+   */
+  @Override
+  public Health health() {
+    if (!(this.locks instanceof CircuitBreakingLockManager cb)) {
+      return Health.up().withDetail("circuitBreaker", "disabled").build();
+    }
+    var breaker = cb.breaker();
+    var state = breaker.effectiveState();
+    boolean open = state == CircuitBreaker.State.OPEN;
+    var health = open && !cb.isStickyOwner() ? Health.outOfService() : Health.up();
+    return health
+        .withDetail("circuitBreaker", state)
+        .withDetail("mode", open ? (cb.isStickyOwner() ? "degraded" : "fail-fast") : "redis")
+        .withDetail("consecutiveFailures", breaker.consecutiveFailures())
+        .withDetail("rejectedCalls", breaker.rejectedCalls())
+        .withDetail("stickyOwner", cb.isStickyOwner())
+        .withDetail("degradedAcquisitions", cb.degradedAcquisitions())
+        .build();
+  }
+}
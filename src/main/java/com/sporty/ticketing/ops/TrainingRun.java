@@ -0,0 +1,126 @@
+package com.sporty.ticketing.ops;
+
+import com.sporty.ticketing.config.TrainingProperties;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Training run for the Class Data Sharing archive: once the application is ready, drives a burst
+ * of API traffic through the local HTTP port, then exits.
+ *
+ * <p>A CDS archive dumped at exit ({@code -XX:ArchiveClassesAtExit}) holds the classes loaded
+ * until then. Exiting right after the context refresh would leave out everything first loaded by
+ * a request: Tomcat's request path, message converters, the controller, service, lock and Redis
+ * code. Each iteration therefore walks a ticket through the API as clients do (create, read in
+ * JSON, CBOR and gzip, assign, change status, patch, search, delta sync, stats, claim) and also
+ * hits the error paths (404, 409, 400).
+ *
+ * <p>The run is switched on by a property rather than a bean condition: conditions are evaluated
+ * at build time for the AOT-processed context, which is the one being trained. The exit code is
+ * {@code 1} if any request failed with a server error, e.g. because Redis was unreachable and the
+ * lock path could not be exercised.
+ */
+@Component
+public class TrainingRun {
+
+  private static final Logger log = LoggerFactory.getLogger(TrainingRun.class);
+
+  private final TrainingProperties properties;
+  private final HttpClient client = HttpClient.newHttpClient();
+  private String base = "";
+  private int serverErrors;
+
+  /**
+   * Creates a new instance of {@code TrainingRun}.
+   *
+   * @param properties training settings
+   */
+  public TrainingRun(TrainingProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Runs the training traffic and exits, if the training run is enabled.
+   *
+   * @param event the event marking the application as ready
+   * @throws IOException if a request cannot be sent
+   * @throws InterruptedException if interrupted while waiting for a response
+   */
+  @EventListener
+  public void onReady(ApplicationReadyEvent event) throws IOException, InterruptedException {
+    if (!properties.isEnabled()
+        || !(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+      return;
+    }
+    base = "http://localhost:" + web.getWebServer().getPort() + "/tickets";
+    long start = System.nanoTime();
+    for (int i = 0; i < properties.getIterations(); i++) {
+      lifecycle(i);
+    }
+    log.info(
+        "Training run: {} iterations in {} ms, {} server errors",
+        properties.getIterations(),
+        (System.nanoTime() - start) / 1_000_000,
+        serverErrors);
+    int code = SpringApplication.exit(event.getApplicationContext(), () -> serverErrors == 0 ? 0 : 1);
+    System.exit(code);
+  }
+
+  private void lifecycle(int i) throws IOException, InterruptedException {
+    String agent = "agent-" + (i % 8);
+    String create =
+        ("{\"userId\":\"user-%d\",\"subject\":\"Training ticket %d\","
+                + "\"description\":\"Login fails after password reset\",\"priority\":\"%s\"}")
+            .formatted(i % 50, i, i % 4 == 0 ? "HIGH" : "NORMAL");
+    String location =
+        send("POST", "", "application/json", create).headers().firstValue("Location").orElse("");
+    String id = location.substring(location.lastIndexOf('/') + 1);
+    send("GET", "/" + id, "application/json", null);
+    send("GET", "/" + id, "application/cbor", null);
+    send("GET", "/" + id + "?fields=ticketId,status", "application/json", null);
+    send("PATCH", "/" + id + "/assign", "application/json", "{\"assigneeId\":\"" + agent + "\"}");
+    send("PATCH", "/" + id + "/status", "application/json", "{\"status\":\"IN_PROGRESS\"}");
+    send("PATCH", "/" + id, "application/json", "{\"subject\":\"Training ticket " + i + " (updated)\"}");
+    send("GET", "/search?q=training+log*&limit=10", "application/json", null);
+    send("GET", "/changes?since=0&limit=20", "application/json", null);
+    send("GET", "/stats", "application/json", null);
+    send("POST", "/claim", "application/json", "{\"assigneeId\":\"" + agent + "\"}");
+    send("PATCH", "/" + id + "/status", "application/json", "{\"status\":\"CLOSED\"}");
+    // error paths: unknown ticket, transition out of CLOSED, invalid body
+    send("GET", "/" + UUID.randomUUID(), "application/json", null);
+    send("PATCH", "/" + id + "/status", "application/json", "{\"status\":\"OPEN\"}");
+    send("POST", "", "application/json", "{}");
+  }
+
+  private HttpResponse<byte[]> send(
+      String method, String path, String accept, @Nullable String json)
+      throws IOException, InterruptedException {
+    var request =
+        HttpRequest.newBuilder(URI.create(base + path))
+            .header("Accept", accept)
+            .header("Accept-Encoding", "gzip")
+            .method(method, json == null ? BodyPublishers.noBody() : BodyPublishers.ofString(json));
+    if (json != null) {
+      request.header("Content-Type", "application/json");
+    }
+    var response = client.send(request.build(), BodyHandlers.ofByteArray());
+    if (response.statusCode() >= 500) {
+      serverErrors++;
+    }
+    return response;
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Operational endpoints (Spring Boot Actuator) exposing runtime diagnostics, and the training run
+ * that produces the CDS archive for fast startup.
+ */
+@org.springframework.lang.NonNullApi
+package com.sporty.ticketing.ops;
@@ -0,0 +1,123 @@
+package com.sporty.ticketing.repo;
+
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * In-memory index of ticket IDs ordered by their latest change {@linkplain Watermark position},
+ * used by the in-memory repositories for delta syncs.
+ * <p>
+ * Each ticket has exactly one entry, at the position of its last recorded save, so a sync reads
+ * only the entries after its watermark and its cost follows the number of changed tickets, not the
+ * store size. Positions are issued and inserted under one monitor, so an entry becomes visible
+ * before any later position exists: a reader that has seen position {@code p} has seen every
+ * entry below it, and a sync never skips a change. Readers do not take the monitor.
+ * <p>
+ * While a ticket is being moved, a reader may briefly see it at both positions; {@link #after}
+ * returns it once. A save that reaches the index after a later version of the same ticket is
+ * ignored, so saves recorded out of order cannot roll an entry back.
+ * <p>
+ * The index also remembers the status and assignee each ticket was last recorded with, which
+ * lets it keep the {@link TicketCounters} behind {@link #stats()} up to date even when the store
+ * hands out live objects that are modified in place.
+ */
+class ChangeIndex {
+
+    private final ConcurrentSkipListMap<Long, UUID> byPosition = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final TicketCounters counters = new TicketCounters();
+    private long last;
+
+    /**
+     * Indexed state of one ticket.
+     *
+     * @param position   position of the ticket's last recorded save
+     * @param version    ticket version at that save
+     * @param status     status at that save
+     * @param assigneeId assignee at that save, or {@code null}
+     */
+    record Entry(long position, long version, TicketStatus status, @Nullable String assigneeId) {
+    }
+
+    /**
+     * Moves the ticket to a new position after {@link #last} and updates the counters, unless a
+     * later version of the ticket is already recorded. Must be called after the ticket's new state
+     * is visible to readers of the store.
+     *
+     * @param ticket the saved ticket
+     */
+    void record(Ticket ticket) {
+        Entry previous;
+        Entry current;
+        synchronized (this) {
+            UUID id = ticket.getTicketId();
+            long version = ticket.getVersion();
+            previous = entries.get(id);
+            if (previous != null && version < previous.version()) {
+                return;
+            }
+            long pos = Watermark.next(last, ticket.getUpdatedAt());
+            last = pos;
+            current = new Entry(pos, version, ticket.getStatus(), ticket.getAssigneeId());
+            byPosition.put(pos, id);
+            entries.put(id, current);
+            if (previous != null) {
+                byPosition.remove(previous.position());
+            }
+        }
+        // transitions of one ticket are taken in order under the monitor; applying them outside
+        // keeps concurrent saves from serializing on the counters
+        counters.transition(previous, current);
+    }
+
+    /**
+     * Returns the ticket counts per status and per assignee.
+     *
+     * @return the current counts
+     */
+    TicketStats stats() {
+        return counters.snapshot();
+    }
+
+    /**
+     * Returns up to {@code limit} tickets whose latest change is after {@code since}, oldest first,
+     * in their current stored state.
+     *
+     * @param since  the watermark of the previous sync
+     * @param limit  maximum number of tickets to return
+     * @param loader loads the current state of a ticket, or returns {@code null} if it is gone
+     * @return the page of changes
+     */
+    TicketRepository.Changes after(Watermark since, int limit, Function<UUID, Ticket> loader) {
+        var tickets = new ArrayList<Ticket>(Math.min(limit, 256));
+        var seen = new HashSet<UUID>();
+        long next = since.value();
+        boolean more = false;
+        for (Map.Entry<Long, UUID> e : byPosition.tailMap(since.value(), false).entrySet()) {
+            if (tickets.size() == limit) {
+                more = true;
+                break;
+            }
+            next = e.getKey();
+            if (seen.add(e.getValue())) {
+                Ticket t = loader.apply(e.getValue());
+                if (t != null) {
+                    tickets.add(t);
+                }
+            }
+        }
+        return new TicketRepository.Changes(List.copyOf(tickets), new Watermark(next), more);
+    }
+}
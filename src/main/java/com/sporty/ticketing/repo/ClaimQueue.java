@@ -0,0 +1,116 @@
+package com.sporty.ticketing.repo;
+
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStatus;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * The tickets waiting to be claimed, i.e. {@code OPEN} and unassigned, in claim order: highest
+ * priority first, then oldest first.
+ * <p>
+ * Membership follows the stored state: the in-memory repositories pass every saved ticket to
+ * {@link #update(Ticket)}, which adds or removes it, so a ticket that goes back to {@code OPEN}
+ * unassigned rejoins the queue at the position given by its priority and creation time.
+ * {@link #score(Ticket)} defines that position for the Redis sorted set as well. An update
+ * carrying an older version of a ticket than the last one applied is ignored, so updates that
+ * arrive out of order cannot re-queue a ticket that has since been assigned.
+ * <p>
+ * All operations are O(log n) and run under the instance monitor.
+ */
+final class ClaimQueue {
+
+    /** Bits of a score holding the creation time in epoch millis (enough until the year 2109). */
+    private static final int TIME_BITS = 42;
+
+    private static final int TOP_PRIORITY = TicketPriority.values().length - 1;
+
+    private record Entry(long score, UUID id) {
+    }
+
+    private final TreeSet<Entry> queue = new TreeSet<>(
+            Comparator.comparingLong(Entry::score).thenComparing(Entry::id));
+    private final HashMap<UUID, Entry> entries = new HashMap<>();
+    private final HashMap<UUID, Long> versions = new HashMap<>();
+
+    /**
+     * Returns the queue position of a ticket: lower scores are claimed first.
+     * <p>
+     * The priority rank takes the bits above the creation time, so every {@code URGENT} ticket
+     * comes before every {@code HIGH} one, and so on. Scores stay below 2<sup>53</sup> and are
+     * exact as sorted set scores.
+     *
+     * @param t the ticket
+     * @return the score, or {@code -1} if the ticket is not claimable
+     */
+    static long score(Ticket t) {
+        if (t.getStatus() != TicketStatus.OPEN || t.getAssigneeId() != null) {
+            return -1;
+        }
+        long rank = TOP_PRIORITY - t.getPriority().ordinal();
+        return rank << TIME_BITS | t.getCreatedAt().toEpochMilli();
+    }
+
+    /**
+     * Adds the ticket if it is claimable, or removes it if it is not, unless a later version of the
+     * ticket was already applied.
+     *
+     * @param t the saved ticket
+     */
+    synchronized void update(Ticket t) {
+        Long applied = versions.put(t.getTicketId(), t.getVersion());
+        if (applied != null && t.getVersion() < applied) {
+            versions.put(t.getTicketId(), applied);
+            return;
+        }
+        long score = score(t);
+        Entry old = entries.get(t.getTicketId());
+        if (old != null && old.score() == score) {
+            return;
+        }
+        if (old != null) {
+            queue.remove(old);
+            entries.remove(t.getTicketId());
+        }
+        if (score >= 0) {
+            offer(t.getTicketId(), score);
+        }
+    }
+
+    /**
+     * Puts a claimable ticket back after {@link #poll()}, unless it is already queued.
+     *
+     * @param t the ticket
+     */
+    synchronized void requeue(Ticket t) {
+        long score = score(t);
+        if (score >= 0 && !entries.containsKey(t.getTicketId())) {
+            offer(t.getTicketId(), score);
+        }
+    }
+
+    /**
+     * Removes and returns the first ticket in claim order.
+     *
+     * @return its ID, or empty if the queue is empty
+     */
+    synchronized Optional<UUID> poll() {
+        Entry first = queue.pollFirst();
+        if (first == null) {
+            return Optional.empty();
+        }
+        entries.remove(first.id());
+        return Optional.of(first.id());
+    }
+
+    private void offer(UUID id, long score) {
+        var e = new Entry(score, id);
+        queue.add(e);
+        entries.put(id, e);
+    }
+}
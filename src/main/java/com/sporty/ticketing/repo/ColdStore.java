@@ -0,0 +1,376 @@
+package com.sporty.ticketing.repo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketSnapshot;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed, file-backed store for tickets that are no longer expected to change, used as the
+ * cold tier of {@link InMemoryTicketRepository}.
+ * <p>
+ * Tickets are appended to segment files ({@code segment-<n>.dat}) in blocks of up to
+ * {@code blockSize} tickets. Each block holds the JSON form of the tickets' {@link TicketSnapshot}s
+ * compressed together with {@link Deflater}, so similar tickets compress well, and is laid out as
+ * {@code [int compressedLength][int count][deflated data]}; inside the data, each ticket is
+ * {@code [int length][json]}. Only the ticket ID and the location of its block stay on the heap.
+ * <p>
+ * A read inflates one block. Reads use positional channel reads and may run concurrently with
+ * each other and with {@link #archive(List)}, which is serialized. Removing a ticket only drops its
+ * index entry; a segment is deleted once all of its tickets have been removed and it is no longer
+ * being written. Segments are not otherwise compacted.
+ * <p>
+ * The index lives on the heap, so the files are meaningless after a restart: existing segments in
+ * the directory are deleted when the store is opened.
+ */
+class ColdStore implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int BLOCK_HEADER = 8;
+
+    /**
+     * Where an archived ticket is stored.
+     *
+     * @param segment segment number
+     * @param offset  offset of the ticket's block in the segment
+     * @param slot    index of the ticket within the block
+     */
+    record Location(int segment, long offset, int slot) {
+    }
+
+    private final Path dir;
+    private final ObjectMapper mapper;
+    private final int blockSize;
+    private final long segmentMaxBytes;
+    private final ConcurrentHashMap<UUID, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private Segment current;
+
+    /**
+     * Opens an empty store in {@code dir}, deleting any segments left from a previous run.
+     *
+     * @param dir             directory holding the segment files; created if missing
+     * @param mapper          JSON mapper for ticket snapshots
+     * @param blockSize       maximum number of tickets compressed together
+     * @param segmentMaxBytes size after which a new segment file is started
+     * @throws UncheckedIOException if the directory cannot be prepared
+     */
+    ColdStore(Path dir, ObjectMapper mapper, int blockSize, long segmentMaxBytes) {
+        if (blockSize <= 0 || segmentMaxBytes <= 0) {
+            throw new IllegalArgumentException("blockSize and segmentMaxBytes must be positive");
+        }
+        this.dir = dir;
+        this.mapper = mapper;
+        this.blockSize = blockSize;
+        this.segmentMaxBytes = segmentMaxBytes;
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> old = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path p : old) {
+                    Files.delete(p);
+                }
+            }
+            this.current = openSegment(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare archive directory " + dir, e);
+        }
+    }
+
+    /**
+     * Appends the tickets and indexes them. A ticket that is already archived is indexed at its
+     * new location.
+     *
+     * @param tickets the tickets to archive
+     * @throws UncheckedIOException if writing fails; tickets of blocks written before the failure
+     *                              stay archived
+     */
+    synchronized void archive(List<TicketSnapshot> tickets) {
+        for (int from = 0; from < tickets.size(); from += blockSize) {
+            var block = tickets.subList(from, Math.min(from + blockSize, tickets.size()));
+            try {
+                if (current.size >= segmentMaxBytes) {
+                    Segment full = current;
+                    current = openSegment(full.number + 1);
+                    deleteIfEmpty(full);
+                }
+                long offset = current.size;
+                current.size += writeBlock(current.channel, offset, block);
+                for (int slot = 0; slot < block.size(); slot++) {
+                    var loc = new Location(current.number, offset, slot);
+                    current.live.incrementAndGet();
+                    Location previous = index.put(block.get(slot).ticketId(), loc);
+                    if (previous != null) {
+                        released(previous);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write archive segment", e);
+            }
+        }
+    }
+
+    /**
+     * Reads an archived ticket without removing it.
+     *
+     * @param id the ticket ID
+     * @return a new detached {@link Ticket}, or {@code null} if the ticket is not archived
+     */
+    @Nullable
+    Ticket read(UUID id) {
+        Location loc = index.get(id);
+        if (loc == null) {
+            return null;
+        }
+        Segment segment = segments.get(loc.segment());
+        if (segment == null) {
+            // removed (and the segment reclaimed) since the index lookup
+            return null;
+        }
+        try {
+            return toTicket(readBlock(segment.channel, loc.offset()).get(loc.slot()));
+        } catch (IOException e) {
+            if (!index.containsKey(id)) {
+                return null;
+            }
+            throw new UncheckedIOException("Cannot read archived ticket " + id, e);
+        }
+    }
+
+    /**
+     * Removes a ticket from the archive, e.g. after it was brought back to the hot tier.
+     *
+     * @param id the ticket ID
+     */
+    void remove(UUID id) {
+        Location loc = index.remove(id);
+        if (loc != null) {
+            released(loc);
+        }
+    }
+
+    /**
+     * Passes every archived ticket to {@code action}, reading the segments block by block.
+     * Tickets archived or removed concurrently may or may not be seen.
+     *
+     * @param action called once per archived ticket
+     */
+    void forEach(Consumer<? super Ticket> action) {
+        for (Segment segment : segments.values()) {
+            long offset = 0;
+            while (offset < segment.size) {
+                List<byte[]> block;
+                long length;
+                try {
+                    length = blockLength(segment.channel, offset);
+                    block = readBlock(segment.channel, offset);
+                } catch (IOException e) {
+                    if (!segments.containsKey(segment.number)) {
+                        break;
+                    }
+                    throw new UncheckedIOException("Cannot read archive segment " + segment.number, e);
+                }
+                for (int slot = 0; slot < block.size(); slot++) {
+                    Ticket t = toTicket(block.get(slot));
+                    if (new Location(segment.number, offset, slot).equals(index.get(t.getTicketId()))) {
+                        action.accept(t);
+                    }
+                }
+                offset += length;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of archived tickets.
+     *
+     * @return the index size
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the total size of the live segment files.
+     *
+     * @return size in bytes
+     */
+    long bytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Closes and deletes all segments.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        index.clear();
+        for (Iterator<Segment> it = segments.values().iterator(); it.hasNext(); ) {
+            Segment s = it.next();
+            it.remove();
+            s.channel.close();
+            Files.deleteIfExists(s.path);
+        }
+    }
+
+    private void released(Location loc) {
+        Segment segment = segments.get(loc.segment());
+        if (segment != null && segment.live.decrementAndGet() == 0) {
+            synchronized (this) {
+                deleteIfEmpty(segment);
+            }
+        }
+    }
+
+    private void deleteIfEmpty(Segment segment) {
+        if (segment == current || segment.live.get() != 0 || segments.remove(segment.number) == null) {
+            return;
+        }
+        bytes.addAndGet(-segment.size);
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            // best effort: the file is unreachable either way
+        }
+    }
+
+    private Segment openSegment(int number) throws IOException {
+        Path path = dir.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        var segment = new Segment(number, path, channel);
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private long writeBlock(FileChannel channel, long offset, List<TicketSnapshot> block) throws IOException {
+        var raw = new ByteArrayOutputStream(block.size() * 256);
+        var out = new DataOutputStream(raw);
+        for (TicketSnapshot s : block) {
+            byte[] json = mapper.writeValueAsBytes(s);
+            out.writeInt(json.length);
+            out.write(json);
+        }
+        byte[] input = raw.toByteArray();
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        var compressed = new ByteArrayOutputStream(input.length / 4 + 64);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buf, 0, deflater.deflate(buf));
+            }
+        } finally {
+            deflater.end();
+        }
+        var buffer = ByteBuffer.allocate(BLOCK_HEADER + compressed.size());
+        buffer.putInt(compressed.size()).putInt(block.size()).put(compressed.toByteArray()).flip();
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, offset + written);
+        }
+        bytes.addAndGet(written);
+        return written;
+    }
+
+    private static long blockLength(FileChannel channel, long offset) throws IOException {
+        return BLOCK_HEADER + readHeader(channel, offset).getInt(0);
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel, long offset) throws IOException {
+        var header = ByteBuffer.allocate(BLOCK_HEADER);
+        readFully(channel, header, offset);
+        return header.flip();
+    }
+
+    private static List<byte[]> readBlock(FileChannel channel, long offset) throws IOException {
+        ByteBuffer header = readHeader(channel, offset);
+        int length = header.getInt();
+        int count = header.getInt();
+        var compressed = ByteBuffer.allocate(length);
+        readFully(channel, compressed, offset + BLOCK_HEADER);
+        var inflater = new Inflater();
+        var raw = new ByteArrayOutputStream(length * 4);
+        try {
+            inflater.setInput(compressed.array());
+            byte[] buf = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block at " + offset);
+                }
+                raw.write(buf, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block at " + offset, e);
+        } finally {
+            inflater.end();
+        }
+        var in = new DataInputStream(new ByteArrayInputStream(raw.toByteArray()));
+        var tickets = new ArrayList<byte[]>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(in.readNBytes(in.readInt()));
+        }
+        return tickets;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment at " + offset);
+            }
+        }
+    }
+
+    private Ticket toTicket(byte[] json) {
+        try {
+            return mapper.readValue(json, TicketSnapshot.class).toTicket();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot deserialize archived ticket", e);
+        }
+    }
+
+    /** One segment file. {@code size} is only written under the store's monitor. */
+    private static final class Segment {
+        final int number;
+        final Path path;
+        final FileChannel channel;
+        final AtomicInteger live = new AtomicInteger();
+        volatile long size;
+
+        Segment(int number, Path path, FileChannel channel) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
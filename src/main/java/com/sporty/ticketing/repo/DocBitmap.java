@@ -0,0 +1,292 @@
+package com.sporty.ticketing.repo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed set of non-negative {@code int} document IDs, organised like a Roaring bitmap.
+ * <p>
+ * IDs are partitioned by their high 16 bits into chunks of 65536. A chunk with at most
+ * {@value #ARRAY_MAX} members is stored as a sorted {@code char[]} (2 bytes per member); a denser
+ * chunk switches to a 8 KiB bit set. Sparse postings therefore cost little more than their
+ * members, dense ones at most one bit per document, and intersections work chunk by chunk,
+ * skipping chunks missing on either side.
+ * <p>
+ * Not thread-safe; {@link SearchIndex} guards its bitmaps with a read-write lock. The results of
+ * {@link #and} and {@link #or} are new bitmaps and never share state with their inputs.
+ */
+final class DocBitmap {
+
+    /** Largest array chunk; beyond it a bit set is smaller. */
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Object[] chunks = new Object[0];
+    private int[] cards = new int[0];
+    private int size;
+
+    /**
+     * Adds a document ID.
+     *
+     * @param doc the ID, {@code >= 0}
+     * @return {@code true} if it was not present
+     */
+    boolean add(int doc) {
+        char key = (char) (doc >>> 16);
+        char low = (char) doc;
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key, new char[4]);
+        }
+        if (chunks[i] instanceof char[] array) {
+            int n = cards[i];
+            int pos = Arrays.binarySearch(array, 0, n, low);
+            if (pos >= 0) {
+                return false;
+            }
+            pos = -pos - 1;
+            if (n == ARRAY_MAX) {
+                long[] bits = toBits(array, n);
+                bits[low >>> 6] |= 1L << low;
+                chunks[i] = bits;
+            } else {
+                if (n == array.length) {
+                    array = Arrays.copyOf(array, Math.min(ARRAY_MAX, n * 2));
+                    chunks[i] = array;
+                }
+                System.arraycopy(array, pos, array, pos + 1, n - pos);
+                array[pos] = low;
+            }
+        } else {
+            long[] bits = (long[]) chunks[i];
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[low >>> 6] |= mask;
+        }
+        cards[i]++;
+        return true;
+    }
+
+    /**
+     * Removes a document ID.
+     *
+     * @param doc the ID
+     * @return {@code true} if it was present
+     */
+    boolean remove(int doc) {
+        char key = (char) (doc >>> 16);
+        char low = (char) doc;
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i < 0) {
+            return false;
+        }
+        if (chunks[i] instanceof char[] array) {
+            int n = cards[i];
+            int pos = Arrays.binarySearch(array, 0, n, low);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(array, pos + 1, array, pos, n - pos - 1);
+        } else {
+            long[] bits = (long[]) chunks[i];
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return false;
+            }
+            bits[low >>> 6] &= ~mask;
+            if (cards[i] - 1 == ARRAY_MAX) {
+                chunks[i] = toArray(bits, ARRAY_MAX);
+            }
+        }
+        if (--cards[i] == 0) {
+            removeChunk(i);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the bitmap has no members.
+     *
+     * @return {@code true} if empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of members.
+     *
+     * @return the cardinality
+     */
+    int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            n += cards[i];
+        }
+        return n;
+    }
+
+    /**
+     * Passes the members to {@code action} in ascending order until it returns {@code false}.
+     *
+     * @param action receives each ID; returns whether to continue
+     */
+    void forEach(IntPredicate action) {
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            if (chunks[i] instanceof char[] array) {
+                for (int j = 0; j < cards[i]; j++) {
+                    if (!action.test(high | array[j])) {
+                        return;
+                    }
+                }
+            } else {
+                long[] bits = (long[]) chunks[i];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        if (!action.test(high | (w << 6) | Long.numberOfTrailingZeros(word))) {
+                            return;
+                        }
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the intersection of two bitmaps.
+     *
+     * @param a first operand
+     * @param b second operand
+     * @return a new bitmap with the IDs present in both
+     */
+    static DocBitmap and(DocBitmap a, DocBitmap b) {
+        var result = new DocBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.appendAnd(a.keys[i], a.chunks[i], a.cards[i], b.chunks[j], b.cards[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the union of the given bitmaps.
+     *
+     * @param bitmaps the operands
+     * @return a new bitmap with the IDs present in any of them
+     */
+    static DocBitmap or(List<DocBitmap> bitmaps) {
+        var result = new DocBitmap();
+        for (DocBitmap b : bitmaps) {
+            b.forEach(doc -> {
+                result.add(doc);
+                return true;
+            });
+        }
+        return result;
+    }
+
+    private void appendAnd(char key, Object x, int xCard, Object y, int yCard) {
+        if (x instanceof long[] xb && y instanceof long[] yb) {
+            long[] bits = new long[BITMAP_WORDS];
+            int card = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                bits[w] = xb[w] & yb[w];
+                card += Long.bitCount(bits[w]);
+            }
+            if (card > 0) {
+                append(key, card > ARRAY_MAX ? bits : toArray(bits, card), card);
+            }
+            return;
+        }
+        // at least one side is an array: probe the other side for each of its members
+        char[] array = x instanceof char[] xa ? xa : (char[]) y;
+        int n = x instanceof char[] ? xCard : yCard;
+        Object other = x instanceof char[] ? y : x;
+        int otherCard = x instanceof char[] ? yCard : xCard;
+        char[] out = new char[Math.min(n, otherCard)];
+        int card = 0;
+        for (int k = 0; k < n; k++) {
+            if (chunkContains(other, otherCard, array[k])) {
+                out[card++] = array[k];
+            }
+        }
+        if (card > 0) {
+            append(key, out, card);
+        }
+    }
+
+    private static boolean chunkContains(Object chunk, int card, char low) {
+        if (chunk instanceof char[] array) {
+            return Arrays.binarySearch(array, 0, card, low) >= 0;
+        }
+        return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private void append(char key, Object chunk, int card) {
+        insertChunk(size, key, chunk);
+        cards[size - 1] = card;
+    }
+
+    private void insertChunk(int i, char key, Object chunk) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+            cards = Arrays.copyOf(cards, capacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(chunks, i, chunks, i + 1, size - i);
+        System.arraycopy(cards, i, cards, i + 1, size - i);
+        keys[i] = key;
+        chunks[i] = chunk;
+        cards[i] = 0;
+        size++;
+    }
+
+    private void removeChunk(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(chunks, i + 1, chunks, i, size - i - 1);
+        System.arraycopy(cards, i + 1, cards, i, size - i - 1);
+        size--;
+        chunks[size] = null;
+    }
+
+    private static long[] toBits(char[] array, int n) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (int k = 0; k < n; k++) {
+            bits[array[k] >>> 6] |= 1L << array[k];
+        }
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int card) {
+        char[] array = new char[card];
+        int k = 0;
+        for (int w = 0; w < BITMAP_WORDS && k < card; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                array[k++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+}
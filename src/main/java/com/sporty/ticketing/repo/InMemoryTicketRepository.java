@@ -1,11 +1,34 @@
 package com.sporty.ticketing.repo;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.config.RepositoryProperties;
 import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketSnapshot;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * Simple in-memory implementation of {@link TicketRepository} backed by a {@link ConcurrentHashMap}.
@@ -17,14 +40,70 @@ import java.util.concurrent.ConcurrentHashMap;
  * Thread-safe due to the use of {@link ConcurrentHashMap}, but should not be used in production
  * where persistent storage is required.
  * </p>
+ * <p>
+ * Stored tickets are handed out as live, mutable objects, so concurrent updates must be
+ * coordinated externally (the service uses a distributed lock). This is the default
+ * repository ({@code app.repo.mode=memory}); see {@link SnapshotTicketRepository} for a
+ * lock-free alternative.
+ * </p>
+ * <p>
+ * With {@code app.repo.archive.enabled}, a background sweep moves {@code CLOSED} tickets that have
+ * not been updated for {@code closed-age-ms} to a compressed {@link ColdStore} and drops them from
+ * the map. {@link #findById(UUID)} brings an archived ticket back transparently, and exports and
+ * delta syncs read archived tickets in place. Since stored tickets are live objects, a ticket may
+ * be modified in place while it is being archived; the sweep detects this by its
+ * {@code updatedAt} and keeps such a ticket hot, and a later {@link #save(Ticket)} always wins
+ * over the archived copy. Archive size and moves are published as {@code tickets.archive.*}
+ * metrics.
+ * </p>
  */
 @Repository
-public class InMemoryTicketRepository implements TicketRepository {
+@ConditionalOnProperty(prefix = "app.repo", name = "mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTicketRepository implements TicketRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTicketRepository.class);
 
     private final ConcurrentHashMap<UUID, Ticket> store = new ConcurrentHashMap<>();
+    private final ChangeIndex changes = new ChangeIndex();
+    private final SearchIndex search = new SearchIndex();
+    private final ClaimQueue queue = new ClaimQueue();
+    private final long closedAgeMs;
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder rehydrated = new LongAdder();
+
+    @Nullable
+    private final ColdStore cold;
+    @Nullable
+    private final ScheduledExecutorService sweeper;
 
     /**
-     * Saves or updates a ticket in the in-memory store.
+     * Creates the repository and, if enabled, the cold tier and its sweeper.
+     *
+     * @param props  repository settings
+     * @param mapper JSON mapper for archived tickets
+     * @param meters registry receiving the archive metrics
+     */
+    public InMemoryTicketRepository(RepositoryProperties props, ObjectMapper mapper, MeterRegistry meters) {
+        var archive = props.getArchive();
+        this.closedAgeMs = archive.getClosedAgeMs();
+        if (archive.isEnabled()) {
+            this.cold = new ColdStore(
+                    Path.of(archive.getDirectory()), mapper, archive.getBlockSize(), archive.getSegmentMaxBytes());
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(r ->
+                    Thread.ofPlatform().name("ticket-archiver").daemon().unstarted(r));
+            sweeper.scheduleWithFixedDelay(this::sweepSafely,
+                    archive.getSweepIntervalMs(), archive.getSweepIntervalMs(), TimeUnit.MILLISECONDS);
+            registerMetrics(meters, cold);
+        } else {
+            this.cold = null;
+            this.sweeper = null;
+        }
+    }
+
+    /**
+     * Saves or updates a ticket in the in-memory store, moves it to the end of the change index,
+     * re-indexes its text and adds it to or removes it from the claim queue. Any archived copy is
+     * dropped.
      *
      * @param ticket the {@link Ticket} to save
      * @return the same {@link Ticket} instance for method chaining
@@ -32,17 +111,211 @@ public class InMemoryTicketRepository implements TicketRepository {
     @Override
     public Ticket save(Ticket ticket) {
         store.put(ticket.getTicketId(), ticket);
+        if (cold != null) {
+            cold.remove(ticket.getTicketId());
+        }
+        changes.record(ticket);
+        search.index(ticket);
+        queue.update(ticket);
         return ticket;
     }
 
     /**
-     * Finds a ticket by its ID.
+     * Finds a ticket by its ID. An archived ticket is read back from the cold tier and stored in
+     * the map again, so that every caller shares the same live object.
      *
      * @param id unique {@link UUID} of the ticket
      * @return an {@link Optional} containing the ticket if found, or empty if not present
      */
     @Override
     public Optional<Ticket> findById(UUID id) {
-        return Optional.ofNullable(store.get(id));
+        Ticket t = store.get(id);
+        if (t != null || cold == null) {
+            return Optional.ofNullable(t);
+        }
+        Ticket archivedTicket = cold.read(id);
+        if (archivedTicket == null) {
+            // not archived, or brought back by a concurrent caller in the meantime
+            return Optional.ofNullable(store.get(id));
+        }
+        Ticket existing = store.putIfAbsent(id, archivedTicket);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+        cold.remove(id);
+        rehydrated.increment();
+        return Optional.of(archivedTicket);
+    }
+
+    /**
+     * Iterates over the map's values with {@link ConcurrentHashMap}'s weakly consistent iterator,
+     * then over the archived tickets, segment by segment. Hot tickets are passed as the live stored
+     * objects; a ticket being updated under its lock may be observed mid-update. A ticket moving
+     * between the tiers during the iteration may be seen twice or not at all.
+     *
+     * @param action called once per ticket
+     */
+    @Override
+    public void forEach(Consumer<? super Ticket> action) {
+        store.values().forEach(action);
+        if (cold != null) {
+            cold.forEach(t -> {
+                if (!store.containsKey(t.getTicketId())) {
+                    action.accept(t);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads the changes from the in-memory {@link ChangeIndex}. Hot tickets are passed as the live
+     * stored objects; archived tickets are read in place, without bringing them back.
+     *
+     * @param since the watermark returned by the previous call
+     * @param limit maximum number of tickets to return
+     * @return the changed tickets and the watermark to continue from
+     */
+    @Override
+    public Changes changedSince(Watermark since, int limit) {
+        return changes.after(since, limit, id -> {
+            Ticket t = store.get(id);
+            return t != null || cold == null ? t : cold.read(id);
+        });
+    }
+
+    /**
+     * Returns the counts kept by the {@link ChangeIndex}, updated on every save.
+     *
+     * @return the current counts
+     */
+    @Override
+    public TicketStats stats() {
+        return changes.stats();
+    }
+
+    /**
+     * Polls the in-memory {@link ClaimQueue}, updated on every save.
+     *
+     * @return the ID of the next ticket to claim, or empty if none is waiting
+     */
+    @Override
+    public Optional<UUID> pollQueued() {
+        return queue.poll();
+    }
+
+    @Override
+    public void requeue(Ticket ticket) {
+        queue.requeue(ticket);
+    }
+
+    /**
+     * Looks the query up in the {@link SearchIndex}, updated on every save. Archived tickets stay
+     * indexed and are read in place, without bringing them back.
+     *
+     * @param query  the parsed query
+     * @param status only tickets currently in this status, or {@code null} for any status
+     * @param limit  maximum number of tickets to return
+     * @return the first {@code limit} matches and the total number of matches
+     */
+    @Override
+    public SearchResult search(SearchQuery query, @Nullable TicketStatus status, int limit) {
+        SearchIndex.Hits hits = search.search(query, status, limit);
+        var tickets = new ArrayList<Ticket>(hits.ids().size());
+        for (UUID id : hits.ids()) {
+            Ticket t = store.get(id);
+            if (t == null && cold != null) {
+                t = cold.read(id);
+            }
+            if (t != null) {
+                tickets.add(t);
+            }
+        }
+        return new SearchResult(tickets, hits.total());
+    }
+
+    /**
+     * Moves closed tickets whose last update is older than {@code closed-age-ms} to the cold tier.
+     * <p>
+     * The candidates are written first and only then removed from the map, so a ticket is always
+     * readable from one of the tiers. A candidate is kept hot if it was replaced or modified in
+     * place while being written.
+     *
+     * @return the number of tickets archived
+     */
+    int sweep() {
+        if (cold == null) {
+            return 0;
+        }
+        var cutoff = Instant.now().minusMillis(closedAgeMs);
+        var candidates = new ArrayList<Ticket>();
+        var snapshots = new ArrayList<TicketSnapshot>();
+        for (Ticket t : store.values()) {
+            var s = TicketSnapshot.of(t);
+            if (s.status() == TicketStatus.CLOSED && s.updatedAt().isBefore(cutoff)) {
+                candidates.add(t);
+                snapshots.add(s);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        cold.archive(snapshots);
+        int moved = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            Ticket t = candidates.get(i);
+            UUID id = t.getTicketId();
+            if (!store.remove(id, t)) {
+                cold.remove(id);
+            } else if (t.getVersion() != snapshots.get(i).version()) {
+                store.putIfAbsent(id, t);
+                cold.remove(id);
+            } else {
+                moved++;
+            }
+        }
+        archived.add(moved);
+        return moved;
+    }
+
+    private void sweepSafely() {
+        try {
+            int moved = sweep();
+            if (moved > 0) {
+                log.debug("Archived {} closed tickets", moved);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ticket archive sweep failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Stops the sweeper and deletes the archive segments.
+     */
+    @Override
+    public void destroy() throws IOException {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        if (cold != null) {
+            cold.close();
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meters, ColdStore cold) {
+        Gauge.builder("tickets.archive.size", cold, ColdStore::size)
+                .description("Number of archived tickets")
+                .register(meters);
+        Gauge.builder("tickets.archive.bytes", cold, ColdStore::bytes)
+                .description("Size of the archive segment files")
+                .baseUnit("bytes")
+                .register(meters);
+        FunctionCounter.builder("tickets.archive.moves", archived, LongAdder::sum)
+                .tag("direction", "archived")
+                .description("Tickets moved between the hot and cold tiers")
+                .register(meters);
+        FunctionCounter.builder("tickets.archive.moves", rehydrated, LongAdder::sum)
+                .tag("direction", "rehydrated")
+                .description("Tickets moved between the hot and cold tiers")
+                .register(meters);
     }
 }
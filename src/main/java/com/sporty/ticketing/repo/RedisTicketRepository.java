@@ -0,0 +1,539 @@
+package com.sporty.ticketing.repo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.config.RepositoryProperties;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketSnapshot;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * {@link TicketRepository} that stores tickets in Redis, shared by all application instances.
+ * <p>
+ * Each ticket is stored as the JSON form of a {@link TicketSnapshot} under
+ * {@code {key-prefix}{ticketId}}. Writes go through the {@link StringRedisTemplate}, as a Lua
+ * script that stores the tickets and moves them in the change index (a sorted set of ticket IDs
+ * scored by {@linkplain Watermark position}, under {@code change-index-key}) in one atomic step.
+ * Positions are issued by the script from a counter next to the index, so they are ordered across
+ * all instances and a delta sync never skips a change. The same script compares the stored ticket
+ * with the new one and moves it between the status and assignee counters of the
+ * {@code stats-key} hash ({@code HINCRBY}), so {@link #stats()} is a single {@code HGETALL}.
+ * For {@link #saveIfVersion(Ticket, long)} it also checks the stored version first, so a holder
+ * whose lock expired cannot overwrite a newer save.
+ * <p>
+ * Reads can be served from a bounded local cache kept coherent by Redis server-assisted
+ * client-side caching (RESP3 {@code CLIENT TRACKING}): the server pushes an invalidation
+ * whenever any client modifies a cached key, and the entry is dropped before the next read.
+ * Local writes also evict the entry immediately, so a node always reads its own writes, and a
+ * read racing with an invalidation is never cached (see {@link TrackingCache}). The cache is
+ * flushed and tracking re-enabled whenever the tracking connection reconnects, since the server
+ * forgets tracked keys with the old connection.
+ * Cache hits, misses, evictions and size are published as {@code tickets.cache.*} metrics.
+ * <p>
+ * Enabled with {@code app.repo.mode=redis}.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.repo", name = "mode", havingValue = "redis")
+public class RedisTicketRepository implements TicketRepository, DisposableBean {
+
+    /** Keys requested per {@code SCAN} call and per {@code MGET} in {@link #forEach(Consumer)}. */
+    private static final int SCAN_BATCH = 500;
+
+    /**
+     * Stores tickets, moves them in the change index, updates the counters and adds them to or
+     * removes them from the claim queue.
+     * <p>
+     * {@code KEYS[1]} is the position counter, {@code KEYS[2]} the index, {@code KEYS[3]} the
+     * counters hash, {@code KEYS[4]} the claim queue and {@code KEYS[5..]} the ticket keys;
+     * {@code ARGV} holds seven values per ticket key: {@code updatedAt} millis, ticket ID, JSON,
+     * status, assignee ({@code ""} if none), claim queue score ({@code ""} if the ticket is not
+     * claimable, see {@link ClaimQueue#score}) and the version the stored ticket must have
+     * ({@code ""} to save unconditionally). If any stored version differs, nothing is written and
+     * the script returns {@code -1}; otherwise it returns the last position. Positions are computed as in {@link Watermark#next} and stay below 2<sup>53</sup>, so
+     * they are exact as Lua numbers and sorted set scores. The previous status and assignee are
+     * read from the stored JSON; counter fields are {@code s:<status>} and
+     * {@code a:<status>:<assignee>}, and are removed when they drop to zero.
+     */
+    static final String LUA_SAVE = """
+        local function count(status, assignee, delta)
+          local field = 's:' .. status
+          if redis.call('hincrby', KEYS[3], field, delta) == 0 then
+            redis.call('hdel', KEYS[3], field)
+          end
+          if assignee ~= '' then
+            field = 'a:' .. status .. ':' .. assignee
+            if redis.call('hincrby', KEYS[3], field, delta) == 0 then
+              redis.call('hdel', KEYS[3], field)
+            end
+          end
+        end
+        for i = 5, #KEYS do
+          local expected = ARGV[(i - 5) * 7 + 7]
+          if expected ~= '' then
+            local old = redis.call('get', KEYS[i])
+            if not old or (cjson.decode(old).version or 0) ~= tonumber(expected) then
+              return -1
+            end
+          end
+        end
+        local last = tonumber(redis.call('get', KEYS[1]) or '0')
+        for i = 5, #KEYS do
+          local a = (i - 5) * 7
+          local status, assignee = ARGV[a + 4], ARGV[a + 5]
+          local old = redis.call('get', KEYS[i])
+          if old then
+            local o = cjson.decode(old)
+            local oldAssignee = o.assigneeId
+            if oldAssignee == nil or oldAssignee == cjson.null then
+              oldAssignee = ''
+            end
+            if o.status ~= status or oldAssignee ~= assignee then
+              count(o.status, oldAssignee, -1)
+              count(status, assignee, 1)
+            end
+          else
+            count(status, assignee, 1)
+          end
+          last = math.max(tonumber(ARGV[a + 1]) * %d, last + 1)
+          redis.call('set', KEYS[i], ARGV[a + 3])
+          redis.call('zadd', KEYS[2], last, ARGV[a + 2])
+          if ARGV[a + 6] ~= '' then
+            redis.call('zadd', KEYS[4], ARGV[a + 6], ARGV[a + 2])
+          else
+            redis.call('zrem', KEYS[4], ARGV[a + 2])
+          end
+        end
+        redis.call('set', KEYS[1], string.format('%%d', last))
+        return last
+        """.formatted(1 << Watermark.SEQ_BITS);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper mapper;
+    private final String keyPrefix;
+    private final String indexKey;
+    private final String clockKey;
+    private final String statsKey;
+    private final String queueKey;
+    private final DefaultRedisScript<Long> saveScript = new DefaultRedisScript<>(LUA_SAVE, Long.class);
+
+    @Nullable
+    private final TrackingCache cache;
+    @Nullable
+    private final StatefulRedisConnection<String, String> trackingConnection;
+
+    /**
+     * Creates the repository and, if enabled, the client-side cache.
+     *
+     * @param redis          template used for writes and uncached reads
+     * @param mapper         JSON mapper for ticket snapshots
+     * @param props          repository settings
+     * @param trackingClient RESP3 client used for the tracking connection
+     * @param meters         registry receiving the cache metrics
+     */
+    public RedisTicketRepository(
+            StringRedisTemplate redis,
+            ObjectMapper mapper,
+            RepositoryProperties props,
+            RedisClient trackingClient,
+            MeterRegistry meters) {
+        this.redis = redis;
+        this.mapper = mapper;
+        this.keyPrefix = props.getRedis().getKeyPrefix();
+        this.indexKey = props.getRedis().getChangeIndexKey();
+        this.clockKey = indexKey + ":clock";
+        this.statsKey = props.getRedis().getStatsKey();
+        this.queueKey = props.getRedis().getQueueKey();
+        if (indexKey.startsWith(keyPrefix) || statsKey.startsWith(keyPrefix) || queueKey.startsWith(keyPrefix)) {
+            throw new IllegalStateException(
+                    "app.repo.redis.change-index-key, stats-key and queue-key must not start with the key prefix");
+        }
+
+        var cacheProps = props.getRedis().getCache();
+        if (cacheProps.isEnabled()) {
+            var tracking = TrackingArgs.Builder.enabled();
+            if (cacheProps.getTracking() == RepositoryProperties.Tracking.BROADCAST) {
+                tracking.bcast().prefixes(keyPrefix);
+            }
+            this.cache = new TrackingCache(cacheProps.getMaxEntries());
+            this.trackingConnection = trackingClient.connect();
+            trackingConnection.addListener(this::onPushMessage);
+            trackingClient.addListener(new RedisConnectionStateListener() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress address) {
+                    if (connection == trackingConnection) {
+                        cache.invalidateAll();
+                        trackingConnection.async().clientTracking(tracking);
+                    }
+                }
+
+                @Override
+                public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+                    if (connection == trackingConnection) {
+                        cache.invalidateAll();
+                    }
+                }
+            });
+            trackingConnection.sync().clientTracking(tracking);
+            registerMetrics(meters, cache);
+        } else {
+            this.cache = null;
+            this.trackingConnection = null;
+        }
+    }
+
+    /**
+     * Serializes and stores the ticket, moves it in the change index and updates the counters, then
+     * evicts any locally cached copy before returning.
+     *
+     * @param ticket the {@link Ticket} to save
+     * @return the same {@link Ticket} instance for method chaining
+     */
+    @Override
+    public Ticket save(Ticket ticket) {
+        saveAll(List.of(ticket));
+        return ticket;
+    }
+
+    /**
+     * Stores the whole batch, moves it in the change index and updates the counters with a single
+     * script call, then evicts any locally cached copies before returning, also if the call
+     * fails: the script may have run even if its reply was lost.
+     *
+     * @param tickets the tickets to save
+     */
+    @Override
+    public void saveAll(Collection<Ticket> tickets) {
+        if (!tickets.isEmpty()) {
+            store(tickets, null);
+        }
+    }
+
+    /**
+     * Stores the ticket with the save script, which first compares the stored ticket's version
+     * with {@code readVersion}; the comparison and the write run as one atomic step on the server.
+     * The locally cached copy is evicted as in {@link #saveAll(Collection)}.
+     *
+     * @param ticket      the changed ticket
+     * @param readVersion the version the ticket had when it was read under the lock
+     * @return {@code true} if the ticket was saved, {@code false} if the stored version differs
+     */
+    @Override
+    public boolean saveIfVersion(Ticket ticket, long readVersion) {
+        Long last = store(List.of(ticket), readVersion);
+        return last != null && last >= 0;
+    }
+
+    @Nullable
+    private Long store(Collection<Ticket> tickets, @Nullable Long readVersion) {
+        var keys = new ArrayList<String>(tickets.size() + 4);
+        var args = new String[tickets.size() * 7];
+        keys.add(clockKey);
+        keys.add(indexKey);
+        keys.add(statsKey);
+        keys.add(queueKey);
+        int a = 0;
+        for (Ticket t : tickets) {
+            keys.add(key(t.getTicketId()));
+            args[a++] = Long.toString(t.getUpdatedAt().toEpochMilli());
+            args[a++] = t.getTicketId().toString();
+            args[a++] = toJson(t);
+            args[a++] = t.getStatus().name();
+            args[a++] = t.getAssigneeId() == null ? "" : t.getAssigneeId();
+            long score = ClaimQueue.score(t);
+            args[a++] = score < 0 ? "" : Long.toString(score);
+            args[a++] = readVersion == null ? "" : Long.toString(readVersion);
+        }
+        try {
+            return redis.execute(saveScript, keys, (Object[]) args);
+        } finally {
+            if (cache != null) {
+                keys.subList(4, keys.size()).forEach(cache::invalidate);
+            }
+        }
+    }
+
+    /**
+     * Finds a ticket by its ID, from the client-side cache when possible.
+     *
+     * @param id unique {@link UUID} of the ticket
+     * @return an {@link Optional} containing a detached copy of the ticket, or empty if not present
+     */
+    @Override
+    public Optional<Ticket> findById(UUID id) {
+        String key = key(id);
+        String json = cache != null ? cachedGet(cache, key) : redis.opsForValue().get(key);
+        return json == null ? Optional.empty() : Optional.of(fromJson(json));
+    }
+
+    /**
+     * Loads the ticket with a plain {@code GET}, bypassing the client-side cache.
+     *
+     * @param id unique {@link UUID} of the ticket
+     * @return an {@link Optional} containing a detached copy of the ticket, or empty if not present
+     */
+    @Override
+    public Optional<Ticket> findByIdUncached(UUID id) {
+        String json = redis.opsForValue().get(key(id));
+        return json == null ? Optional.empty() : Optional.of(fromJson(json));
+    }
+
+    /**
+     * Loads the tickets with one {@code MGET}, bypassing the client-side cache.
+     *
+     * @param ids the {@link UUID}s of the tickets
+     * @return one entry per ID, in the same order: a detached copy of the ticket, or empty if not
+     *         present
+     */
+    @Override
+    public List<Optional<Ticket>> findAllById(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = redis.opsForValue().multiGet(ids.stream().map(this::key).toList());
+        var tickets = new ArrayList<Optional<Ticket>>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String json = values == null ? null : values.get(i);
+            tickets.add(json == null ? Optional.empty() : Optional.of(fromJson(json)));
+        }
+        return tickets;
+    }
+
+    @Nullable
+    private String cachedGet(TrackingCache cache, String key) {
+        String json = cache.get(key);
+        if (json == null) {
+            long stamp = cache.stamp(key);
+            // read on the tracking connection so the server tracks the key for this client
+            json = trackingConnection.sync().get(key);
+            if (json != null) {
+                cache.putIfUnchanged(key, json, stamp);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Handles RESP3 {@code invalidate} pushes: {@code ["invalidate", [keys...]]}, where a null
+     * key list means the server flushed its tracking table.
+     */
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType()) || cache == null) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        if (content.size() < 2 || !(content.get(1) instanceof List<?> keys)) {
+            cache.invalidateAll();
+            return;
+        }
+        for (Object k : keys) {
+            cache.invalidate((String) k);
+        }
+    }
+
+    /**
+     * Walks the ticket keys with a {@code SCAN} cursor and loads them with one {@code MGET} per
+     * batch of {@value #SCAN_BATCH} keys, bypassing the client-side cache. {@code SCAN} does not
+     * block the server; a ticket written during the scan may or may not be returned, and keys
+     * deleted between {@code SCAN} and {@code MGET} are skipped.
+     *
+     * @param action called once per ticket
+     */
+    @Override
+    public void forEach(Consumer<? super Ticket> action) {
+        var options = ScanOptions.scanOptions().match(keyPrefix + "*").count(SCAN_BATCH).build();
+        var keys = new ArrayList<String>(SCAN_BATCH);
+        try (var cursor = redis.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == SCAN_BATCH) {
+                    loadAll(keys, action);
+                }
+            }
+        }
+        loadAll(keys, action);
+    }
+
+    private void loadAll(List<String> keys, Consumer<? super Ticket> action) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> values = redis.opsForValue().multiGet(keys);
+        keys.clear();
+        if (values == null) {
+            return;
+        }
+        for (String json : values) {
+            if (json != null) {
+                action.accept(fromJson(json));
+            }
+        }
+    }
+
+    /**
+     * Reads the next page of the change index with {@code ZRANGEBYSCORE ... LIMIT} and loads the
+     * tickets with one {@code MGET}, bypassing the client-side cache. Tickets stored before the
+     * index existed are not in it until they are saved again.
+     *
+     * @param since the watermark returned by the previous call
+     * @param limit maximum number of tickets to return
+     * @return the changed tickets and the watermark to continue from
+     */
+    @Override
+    public Changes changedSince(Watermark since, int limit) {
+        var page = redis.opsForZSet().rangeByScoreWithScores(
+                indexKey, since.value() + 1, Double.POSITIVE_INFINITY, 0, limit + 1L);
+        var entries = page == null ? List.<TypedTuple<String>>of() : new ArrayList<>(page);
+        boolean more = entries.size() > limit;
+        if (more) {
+            entries = entries.subList(0, limit);
+        }
+        if (entries.isEmpty()) {
+            return new Changes(List.of(), since, false);
+        }
+        var keys = new ArrayList<String>(entries.size());
+        for (var e : entries) {
+            keys.add(keyPrefix + e.getValue());
+        }
+        var tickets = new ArrayList<Ticket>(entries.size());
+        List<String> values = redis.opsForValue().multiGet(keys);
+        if (values != null) {
+            for (String json : values) {
+                if (json != null) {
+                    tickets.add(fromJson(json));
+                }
+            }
+        }
+        long next = Objects.requireNonNull(entries.get(entries.size() - 1).getScore()).longValue();
+        return new Changes(List.copyOf(tickets), new Watermark(next), more);
+    }
+
+    /**
+     * Reads the counters hash with one {@code HGETALL}. Tickets stored before the counters existed
+     * are not counted until they are saved again.
+     *
+     * @return the current counts
+     */
+    @Override
+    public TicketStats stats() {
+        var byStatus = new EnumMap<TicketStatus, Long>(TicketStatus.class);
+        var byAssignee = new TreeMap<String, Map<TicketStatus, Long>>();
+        redis.<String, String>opsForHash().entries(statsKey).forEach((field, value) -> {
+            long n = Long.parseLong(value);
+            if (field.startsWith("s:")) {
+                byStatus.put(TicketStatus.valueOf(field.substring(2)), n);
+            } else if (field.startsWith("a:")) {
+                int sep = field.indexOf(':', 2);
+                byAssignee.computeIfAbsent(field.substring(sep + 1), k -> new EnumMap<>(TicketStatus.class))
+                        .put(TicketStatus.valueOf(field.substring(2, sep)), n);
+            }
+        });
+        return new TicketStats(byStatus, byAssignee);
+    }
+
+    /**
+     * Pops the lowest-scored member of the claim queue with one {@code ZPOPMIN}, so each queued
+     * ticket goes to exactly one caller across all nodes. Tickets stored before the queue existed
+     * are not queued until they are saved again.
+     *
+     * @return the ID of the next ticket to claim, or empty if none is waiting
+     */
+    @Override
+    public Optional<UUID> pollQueued() {
+        var first = redis.opsForZSet().popMin(queueKey);
+        return first == null || first.getValue() == null
+                ? Optional.empty()
+                : Optional.of(UUID.fromString(first.getValue()));
+    }
+
+    /**
+     * Adds the ticket back with {@code ZADD NX}, if it is claimable.
+     *
+     * @param ticket the ticket in its current state
+     */
+    @Override
+    public void requeue(Ticket ticket) {
+        long score = ClaimQueue.score(ticket);
+        if (score >= 0) {
+            redis.opsForZSet().addIfAbsent(queueKey, ticket.getTicketId().toString(), score);
+        }
+    }
+
+    /**
+     * Closes the tracking connection; the server drops its tracking state with it.
+     */
+    @Override
+    public void destroy() {
+        if (trackingConnection != null) {
+            trackingConnection.close();
+        }
+    }
+
+    private String key(UUID id) {
+        return keyPrefix + id;
+    }
+
+    private String toJson(Ticket ticket) {
+        try {
+            return mapper.writeValueAsString(TicketSnapshot.of(ticket));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize ticket " + ticket.getTicketId(), e);
+        }
+    }
+
+    private Ticket fromJson(String json) {
+        try {
+            return mapper.readValue(json, TicketSnapshot.class).toTicket();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize stored ticket", e);
+        }
+    }
+
+    private static void registerMetrics(MeterRegistry meters, TrackingCache cache) {
+        FunctionCounter.builder("tickets.cache.gets", cache, TrackingCache::hits)
+                .tag("result", "hit")
+                .description("Client-side ticket cache lookups")
+                .register(meters);
+        FunctionCounter.builder("tickets.cache.gets", cache, TrackingCache::misses)
+                .tag("result", "miss")
+                .description("Client-side ticket cache lookups")
+                .register(meters);
+        FunctionCounter.builder("tickets.cache.evictions", cache, TrackingCache::evictions)
+                .description("Entries removed by invalidation, local writes or size limit")
+                .register(meters);
+        Gauge.builder("tickets.cache.size", cache, TrackingCache::size)
+                .description("Number of cached tickets")
+                .register(meters);
+    }
+}
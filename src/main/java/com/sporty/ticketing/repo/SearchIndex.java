@@ -0,0 +1,207 @@
+package com.sporty.ticketing.repo;
+
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over ticket subjects and descriptions, maintained incrementally by the in-memory
+ * repositories on every save.
+ * <p>
+ * Each ticket gets a dense internal document number on first save. Every token (see
+ * {@link SearchQuery}) maps to a {@link DocBitmap} of the documents containing it, held in a
+ * sorted dictionary so that a prefix is a contiguous key range. A further bitmap per status
+ * serves the status filter. A query intersects the operand bitmaps, smallest first, and returns
+ * matches in document order, i.e. roughly in creation order.
+ * <p>
+ * On each save, the ticket's new tokens are diffed against the ones it was last indexed with, so
+ * an update that does not touch the subject or description (e.g. an assignment) changes at most
+ * the status bitmaps. A save carrying an older version of the ticket than the one already indexed is
+ * ignored, so saves that reach the index out of order cannot roll it back.
+ * <p>
+ * Queries share a read lock; updates take the write lock only once they know something changed.
+ */
+class SearchIndex {
+
+    private static final String[] NO_TERMS = new String[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, DocBitmap> postings = new TreeMap<>();
+    private final EnumMap<TicketStatus, DocBitmap> byStatus = new EnumMap<>(TicketStatus.class);
+    private final HashMap<UUID, Integer> docs = new HashMap<>();
+    private UUID[] ids = new UUID[1024];
+    private String[][] terms = new String[1024][];
+    private TicketStatus[] statuses = new TicketStatus[1024];
+    private long[] versions = new long[1024];
+
+    SearchIndex() {
+        for (TicketStatus s : TicketStatus.values()) {
+            byStatus.put(s, new DocBitmap());
+        }
+    }
+
+    /**
+     * Indexes the current subject, description and status of a saved ticket.
+     *
+     * @param t the saved ticket
+     */
+    void index(Ticket t) {
+        UUID id = t.getTicketId();
+        long version = t.getVersion();
+        TicketStatus status = t.getStatus();
+        String[] tokens = SearchQuery.tokensOf(t).toArray(String[]::new);
+        Arrays.sort(tokens);
+
+        lock.readLock().lock();
+        try {
+            Integer doc = docs.get(id);
+            if (doc != null && (version < versions[doc]
+                    || (statuses[doc] == status && Arrays.equals(terms[doc], tokens)))) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docs.get(id);
+            int doc;
+            if (existing == null) {
+                doc = docs.size();
+                docs.put(id, doc);
+                ensureCapacity(doc);
+                ids[doc] = id;
+                terms[doc] = NO_TERMS;
+            } else {
+                doc = existing;
+                if (version < versions[doc]) {
+                    return;
+                }
+            }
+            versions[doc] = version;
+            if (statuses[doc] != status) {
+                if (statuses[doc] != null) {
+                    byStatus.get(statuses[doc]).remove(doc);
+                }
+                byStatus.get(status).add(doc);
+                statuses[doc] = status;
+            }
+            terms[doc] = reindex(doc, terms[doc], tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves {@code doc} from the postings of {@code old} to those of {@code tokens}; both arrays
+     * are sorted. Returns the new terms, sharing the dictionary's key instances.
+     */
+    private String[] reindex(int doc, String[] old, String[] tokens) {
+        var current = new String[tokens.length];
+        int i = 0;
+        int j = 0;
+        while (i < old.length || j < tokens.length) {
+            int cmp = i == old.length ? 1 : j == tokens.length ? -1 : old[i].compareTo(tokens[j]);
+            if (cmp == 0) {
+                current[j++] = old[i++];
+            } else if (cmp < 0) {
+                DocBitmap posting = postings.get(old[i]);
+                posting.remove(doc);
+                if (posting.isEmpty()) {
+                    postings.remove(old[i]);
+                }
+                i++;
+            } else {
+                var entry = postings.ceilingEntry(tokens[j]);
+                if (entry != null && entry.getKey().equals(tokens[j])) {
+                    entry.getValue().add(doc);
+                    current[j] = entry.getKey();
+                } else {
+                    var posting = new DocBitmap();
+                    posting.add(doc);
+                    postings.put(tokens[j], posting);
+                    current[j] = tokens[j];
+                }
+                j++;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Finds the tickets matching every term and prefix of the query.
+     *
+     * @param query  the parsed query
+     * @param status only tickets currently in this status, or {@code null} for all
+     * @param limit  maximum number of IDs to return
+     * @return the first {@code limit} matching ticket IDs and the total number of matches
+     */
+    Hits search(SearchQuery query, @Nullable TicketStatus status, int limit) {
+        lock.readLock().lock();
+        try {
+            var operands = new ArrayList<DocBitmap>();
+            for (String term : query.terms()) {
+                DocBitmap posting = postings.get(term);
+                if (posting == null) {
+                    return new Hits(List.of(), 0);
+                }
+                operands.add(posting);
+            }
+            for (String prefix : query.prefixes()) {
+                Map<String, DocBitmap> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+                if (range.isEmpty()) {
+                    return new Hits(List.of(), 0);
+                }
+                operands.add(range.size() == 1 ? range.values().iterator().next() : DocBitmap.or(List.copyOf(range.values())));
+            }
+            if (status != null) {
+                operands.add(byStatus.get(status));
+            }
+            operands.sort(Comparator.comparingInt(DocBitmap::cardinality));
+            DocBitmap result = operands.get(0);
+            for (int k = 1; k < operands.size() && !result.isEmpty(); k++) {
+                result = DocBitmap.and(result, operands.get(k));
+            }
+            var hits = new ArrayList<UUID>(Math.min(limit, 256));
+            result.forEach(doc -> {
+                hits.add(ids[doc]);
+                return hits.size() < limit;
+            });
+            return new Hits(hits, result.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Result of {@link #search}.
+     *
+     * @param ids   matching ticket IDs, in document order
+     * @param total number of matches, including those beyond the limit
+     */
+    record Hits(List<UUID> ids, int total) {
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc < ids.length) {
+            return;
+        }
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        terms = Arrays.copyOf(terms, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+}
@@ -0,0 +1,115 @@
+package com.sporty.ticketing.repo;
+
+import com.sporty.ticketing.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A parsed full-text query over ticket subjects and descriptions.
+ * <p>
+ * Text is split into tokens at every character that is not a letter or digit and lower-cased, so
+ * {@code "Payment-Gateway"} yields {@code payment} and {@code gateway}; tokens longer than
+ * {@value #MAX_TOKEN_LENGTH} characters are cut. In a query, every word must match (AND); a word
+ * ending in {@code *} matches any token starting with it.
+ *
+ * @param terms    tokens that must occur exactly
+ * @param prefixes prefixes some token must start with
+ */
+public record SearchQuery(List<String> terms, List<String> prefixes) {
+
+    /** Tokens are cut to this length, in characters. */
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    /**
+     * Creates a query.
+     *
+     * @throws IllegalArgumentException if it has neither terms nor prefixes
+     */
+    public SearchQuery {
+        terms = List.copyOf(terms);
+        prefixes = List.copyOf(prefixes);
+        if (terms.isEmpty() && prefixes.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+    }
+
+    /**
+     * Parses a query string such as {@code "login fail*"}.
+     *
+     * @param q the query
+     * @return the parsed query
+     * @throws IllegalArgumentException if {@code q} contains no word
+     */
+    public static SearchQuery parse(String q) {
+        var terms = new ArrayList<String>();
+        var prefixes = new ArrayList<String>();
+        for (String word : q.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = tokenize(prefix ? word.substring(0, word.length() - 1) : word);
+            for (int i = 0; i < tokens.size(); i++) {
+                // "fail-over*": only the last token of the word is a prefix
+                (prefix && i == tokens.size() - 1 ? prefixes : terms).add(tokens.get(i));
+            }
+        }
+        return new SearchQuery(terms, prefixes);
+    }
+
+    /**
+     * Splits text into lower-case tokens.
+     *
+     * @param text the text, may be {@code null}
+     * @return the tokens in order, with duplicates
+     */
+    static List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the distinct tokens of a ticket's subject and description.
+     *
+     * @param t the ticket
+     * @return the set of tokens
+     */
+    static Set<String> tokensOf(Ticket t) {
+        var tokens = new HashSet<String>(tokenize(t.getSubject()));
+        tokens.addAll(tokenize(t.getDescription()));
+        return tokens;
+    }
+
+    /**
+     * Evaluates the query against a ticket directly, without an index.
+     *
+     * @param t the ticket
+     * @return whether every term and prefix matches
+     */
+    boolean matches(Ticket t) {
+        Set<String> tokens = tokensOf(t);
+        if (!tokens.containsAll(terms)) {
+            return false;
+        }
+        for (String p : prefixes) {
+            if (tokens.stream().noneMatch(token -> token.startsWith(p))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+package com.sporty.ticketing.repo;
+
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketSnapshot;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory implementation of {@link TicketRepository} that stores immutable
+ * {@link TicketSnapshot}s and updates them with {@link ConcurrentHashMap#compute}.
+ * <p>
+ * Unlike {@link InMemoryTicketRepository}, this repository never hands out the stored object:
+ * {@link #findById(UUID)} returns a detached copy, so readers cannot observe a ticket that is
+ * being modified. {@link #update(UUID, Consumer)} is an atomic read-modify-write, which lets a
+ * single-node deployment mutate tickets safely without any distributed lock.
+ * <p>
+ * Enabled with {@code app.repo.mode=snapshot}.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.repo", name = "mode", havingValue = "snapshot")
+public class SnapshotTicketRepository implements TicketRepository {
+
+    private final ConcurrentHashMap<UUID, TicketSnapshot> store = new ConcurrentHashMap<>();
+    private final ChangeIndex changes = new ChangeIndex();
+    private final SearchIndex search = new SearchIndex();
+    private final ClaimQueue queue = new ClaimQueue();
+
+    /**
+     * Stores a snapshot of the given ticket, replacing any previous version, moves it to the end of
+     * the change index, re-indexes its text and adds it to or removes it from the claim queue.
+     *
+     * @param ticket the {@link Ticket} to save
+     * @return the same {@link Ticket} instance for method chaining
+     */
+    @Override
+    public Ticket save(Ticket ticket) {
+        store.put(ticket.getTicketId(), TicketSnapshot.of(ticket));
+        changes.record(ticket);
+        search.index(ticket);
+        queue.update(ticket);
+        return ticket;
+    }
+
+    /**
+     * Finds a ticket by its ID.
+     *
+     * @param id unique {@link UUID} of the ticket
+     * @return an {@link Optional} containing a detached copy of the ticket, or empty if not present
+     */
+    @Override
+    public Optional<Ticket> findById(UUID id) {
+        TicketSnapshot s = store.get(id);
+        return s == null ? Optional.empty() : Optional.of(s.toTicket());
+    }
+
+    /**
+     * Iterates over the stored snapshots with {@link ConcurrentHashMap}'s weakly consistent
+     * iterator. Each ticket passed to {@code action} is a consistent copy of one snapshot.
+     *
+     * @param action called once per ticket
+     */
+    @Override
+    public void forEach(Consumer<? super Ticket> action) {
+        store.values().forEach(s -> action.accept(s.toTicket()));
+    }
+
+    /**
+     * Reads the changes from the in-memory {@link ChangeIndex}; each ticket is a copy of its
+     * current snapshot.
+     *
+     * @param since the watermark returned by the previous call
+     * @param limit maximum number of tickets to return
+     * @return the changed tickets and the watermark to continue from
+     */
+    @Override
+    public Changes changedSince(Watermark since, int limit) {
+        return changes.after(since, limit, id -> {
+            TicketSnapshot s = store.get(id);
+            return s == null ? null : s.toTicket();
+        });
+    }
+
+    /**
+     * Returns the counts kept by the {@link ChangeIndex}, updated on every save.
+     *
+     * @return the current counts
+     */
+    @Override
+    public TicketStats stats() {
+        return changes.stats();
+    }
+
+    /**
+     * Polls the in-memory {@link ClaimQueue}, updated on every save.
+     *
+     * @return the ID of the next ticket to claim, or empty if none is waiting
+     */
+    @Override
+    public Optional<UUID> pollQueued() {
+        return queue.poll();
+    }
+
+    @Override
+    public void requeue(Ticket ticket) {
+        queue.requeue(ticket);
+    }
+
+    /**
+     * Looks the query up in the {@link SearchIndex}, updated on every save; each ticket is a copy
+     * of its current snapshot.
+     *
+     * @param query  the parsed query
+     * @param status only tickets currently in this status, or {@code null} for any status
+     * @param limit  maximum number of tickets to return
+     * @return the first {@code limit} matches and the total number of matches
+     */
+    @Override
+    public SearchResult search(SearchQuery query, @Nullable TicketStatus status, int limit) {
+        SearchIndex.Hits hits = search.search(query, status, limit);
+        var tickets = new ArrayList<Ticket>(hits.ids().size());
+        for (UUID id : hits.ids()) {
+            TicketSnapshot s = store.get(id);
+            if (s != null) {
+                tickets.add(s.toTicket());
+            }
+        }
+        return new SearchResult(tickets, hits.total());
+    }
+
+    /**
+     * Always {@code true}: updates run inside {@link ConcurrentHashMap#compute}.
+     */
+    @Override
+    public boolean supportsAtomicUpdate() {
+        return true;
+    }
+
+    /**
+     * Applies {@code mutation} to a copy of the stored ticket inside
+     * {@link ConcurrentHashMap#compute} and stores the result as a new snapshot.
+     * <p>
+     * If the mutation does not change the ticket's version (a no-op), the existing snapshot is
+     * kept; otherwise the ticket is moved in the change index, re-indexed and queued or dequeued
+     * once it is stored. These index updates run after the compute, so that readers of the change
+     * index find the new snapshot; each index ignores a version older than the one it already
+     * holds, so two updates of the same ticket that reach the indexes in the opposite order do not
+     * leave them at the older state.
+     *
+     * @param id       the {@link UUID} of the ticket
+     * @param mutation the change to apply
+     * @return an {@link Optional} containing a detached copy of the updated ticket, or empty if not found
+     */
+    @Override
+    public Optional<Ticket> update(UUID id, Consumer<Ticket> mutation) {
+        var changed = new boolean[1];
+        TicketSnapshot updated = store.computeIfPresent(id, (k, current) -> {
+            Ticket t = current.toTicket();
+            mutation.accept(t);
+            changed[0] = t.getVersion() != current.version();
+            return changed[0] ? TicketSnapshot.of(t) : current;
+        });
+        if (updated == null) {
+            return Optional.empty();
+        }
+        Ticket result = updated.toTicket();
+        if (changed[0]) {
+            changes.record(result);
+            search.index(result);
+            queue.update(result);
+        }
+        return Optional.of(result);
+    }
+}
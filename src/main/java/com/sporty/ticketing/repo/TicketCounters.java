@@ -0,0 +1,87 @@
+package com.sporty.ticketing.repo;
+
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ticket counts per status and per assignee, maintained incrementally by the {@link ChangeIndex}
+ * of the in-memory repositories on every save.
+ * <p>
+ * Counters are {@link LongAdder}s, so concurrent saves of different tickets do not contend on a
+ * shared counter. A {@link #snapshot()} costs one pass over the statuses of every assignee,
+ * independent of the number of tickets. It is not atomic: while writes are in flight, a ticket
+ * moving between counters may be seen in both or neither.
+ */
+class TicketCounters {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private final LongAdder[] byStatus = newCounters();
+    private final ConcurrentHashMap<String, LongAdder[]> byAssignee = new ConcurrentHashMap<>();
+
+    /**
+     * Moves one ticket from its previous counters to its new ones.
+     *
+     * @param from the previously counted state, or {@code null} for a new ticket
+     * @param to   the saved state
+     */
+    void transition(@Nullable ChangeIndex.Entry from, ChangeIndex.Entry to) {
+        if (from != null) {
+            if (from.status() == to.status() && Objects.equals(from.assigneeId(), to.assigneeId())) {
+                return;
+            }
+            add(from.status(), from.assigneeId(), -1);
+        }
+        add(to.status(), to.assigneeId(), 1);
+    }
+
+    private void add(TicketStatus status, @Nullable String assigneeId, int delta) {
+        byStatus[status.ordinal()].add(delta);
+        if (assigneeId != null) {
+            byAssignee.computeIfAbsent(assigneeId, k -> newCounters())[status.ordinal()].add(delta);
+        }
+    }
+
+    /**
+     * Returns the current counts; zero counts are omitted.
+     *
+     * @return the counts per status and per assignee
+     */
+    TicketStats snapshot() {
+        var assignees = new TreeMap<String, Map<TicketStatus, Long>>();
+        byAssignee.forEach((assignee, counters) -> {
+            var counts = sum(counters);
+            if (!counts.isEmpty()) {
+                assignees.put(assignee, counts);
+            }
+        });
+        return new TicketStats(sum(byStatus), assignees);
+    }
+
+    private static Map<TicketStatus, Long> sum(LongAdder[] counters) {
+        var counts = new EnumMap<TicketStatus, Long>(TicketStatus.class);
+        for (TicketStatus s : STATUSES) {
+            long n = counters[s.ordinal()].sum();
+            if (n != 0) {
+                counts.put(s, n);
+            }
+        }
+        return counts;
+    }
+
+    private static LongAdder[] newCounters() {
+        var counters = new LongAdder[STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -1,9 +1,18 @@
 package com.sporty.ticketing.repo;
 
 import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Minimal abstraction for ticket persistence operations.
@@ -23,6 +32,42 @@ public interface TicketRepository {
      */
     Ticket save(Ticket ticket);
 
+    /**
+     * Persists a batch of tickets.
+     * <p>
+     * The default implementation saves them one by one; stores with a cheaper bulk write
+     * (e.g. one round trip for the whole batch) override it. The batch is not atomic: if a write
+     * fails, tickets before it may already be stored.
+     *
+     * @param tickets the tickets to save
+     */
+    default void saveAll(Collection<Ticket> tickets) {
+        for (Ticket t : tickets) {
+            save(t);
+        }
+    }
+
+    /**
+     * Saves a ticket changed under its lock, unless the stored ticket has moved past the version
+     * it was read at.
+     * <p>
+     * The version is the fencing token of the write: if the holder's lease expired between the
+     * re-read and this call, and another holder has saved the ticket in the meantime, the stored
+     * version is no longer {@code readVersion} and nothing is written, so the other holder's
+     * update is not lost. The check and the write are one atomic step. The default
+     * implementation saves unconditionally; it suits stores that hand out live objects, where
+     * both holders change the same instance and there is no stale copy to write back.
+     *
+     * @param ticket      the changed ticket
+     * @param readVersion the version the ticket had when it was read under the lock
+     * @return {@code true} if the ticket was saved, {@code false} if the stored version differs
+     *         from {@code readVersion} (or the ticket is gone) and nothing was written
+     */
+    default boolean saveIfVersion(Ticket ticket, long readVersion) {
+        save(ticket);
+        return true;
+    }
+
     /**
      * Retrieves a {@link Ticket} by its unique identifier.
      *
@@ -30,4 +75,166 @@ public interface TicketRepository {
      * @return an {@link Optional} containing the found ticket, or empty if not found
      */
     Optional<Ticket> findById(UUID id);
+
+    /**
+     * Retrieves a {@link Ticket} by its unique identifier from the store itself, bypassing any
+     * local cache that {@link #findById(UUID)} may serve from.
+     * <p>
+     * Used for the re-read under a ticket's lock: a cached copy may miss a write made by another
+     * instance, and saving a change on top of it would lose that write. The default implementation
+     * delegates to {@link #findById(UUID)}; stores that cache reads override it.
+     *
+     * @param id the {@link UUID} of the ticket
+     * @return an {@link Optional} containing the found ticket, or empty if not found
+     */
+    default Optional<Ticket> findByIdUncached(UUID id) {
+        return findById(id);
+    }
+
+    /**
+     * Retrieves several tickets by their IDs, bypassing any local cache like
+     * {@link #findByIdUncached(UUID)}.
+     * <p>
+     * The default implementation looks them up one by one; stores with a cheaper bulk read
+     * (e.g. one round trip for the whole batch) override it.
+     *
+     * @param ids the {@link UUID}s of the tickets
+     * @return one entry per ID, in the same order: the found ticket, or empty if not found
+     */
+    default List<Optional<Ticket>> findAllById(List<UUID> ids) {
+        var tickets = new ArrayList<Optional<Ticket>>(ids.size());
+        for (UUID id : ids) {
+            tickets.add(findByIdUncached(id));
+        }
+        return tickets;
+    }
+
+    /**
+     * Passes every stored ticket to {@code action}, in no particular order.
+     * <p>
+     * Iteration is weakly consistent: it never blocks or fails because of concurrent writes, and
+     * a ticket created, updated or deleted while it runs may or may not be seen in its new state.
+     * Implementations iterate incrementally, so memory use does not grow with the store size.
+     *
+     * @param action called once per ticket
+     */
+    void forEach(Consumer<? super Ticket> action);
+
+    /**
+     * Returns the tickets whose latest change is after {@code since}, ordered by change position
+     * (i.e. by {@code updatedAt}, with a sequence tie-breaker).
+     * <p>
+     * Every save moves the ticket to a new position, so each ticket appears at most once, in its
+     * current state, and the cost of a call follows the number of changes after {@code since}
+     * rather than the store size. Passing the returned {@link Changes#next()} to the next call
+     * continues without gaps; a ticket changed again in between is returned again.
+     *
+     * @param since the watermark returned by the previous call, or {@link Watermark#ZERO}
+     * @param limit maximum number of tickets to return; must be positive
+     * @return the changed tickets and the watermark to continue from
+     */
+    Changes changedSince(Watermark since, int limit);
+
+    /**
+     * Returns the number of tickets per status, overall and per assignee.
+     * <p>
+     * The counts are maintained incrementally on every save, so this call does not depend on the
+     * number of stored tickets. While writes are in flight, the counts may briefly lag behind or
+     * double-count a ticket that is moving between counters.
+     *
+     * @return the current counts
+     */
+    TicketStats stats();
+
+    /**
+     * Returns the tickets whose subject and description match every word of {@code query}.
+     * <p>
+     * The default implementation evaluates the query against every ticket via
+     * {@link #forEach(Consumer)}, so its cost grows with the store size; stores that keep an
+     * inverted index override it. Results are ordered by creation time, oldest first.
+     *
+     * @param query  the parsed query
+     * @param status only tickets currently in this status, or {@code null} for any status
+     * @param limit  maximum number of tickets to return; must be positive
+     * @return the first {@code limit} matches and the total number of matches
+     */
+    default SearchResult search(SearchQuery query, @Nullable TicketStatus status, int limit) {
+        var matches = new ArrayList<Ticket>();
+        forEach(t -> {
+            if ((status == null || t.getStatus() == status) && query.matches(t)) {
+                matches.add(t);
+            }
+        });
+        matches.sort(Comparator.comparing(Ticket::getCreatedAt).thenComparing(Ticket::getTicketId));
+        return new SearchResult(List.copyOf(matches.subList(0, Math.min(limit, matches.size()))), matches.size());
+    }
+
+    /**
+     * Removes and returns the next ticket waiting to be claimed: {@code OPEN} and unassigned,
+     * highest priority first, then oldest first.
+     * <p>
+     * The queue is maintained on every save, so a ticket joins it when it is created unassigned
+     * or goes back to {@code OPEN} unassigned, and leaves it when it is assigned or moves on. Each
+     * queued ticket is returned to exactly one caller, which is expected to assign it or put it
+     * back with {@link #requeue(Ticket)}. The ticket may have changed since it was queued, so
+     * callers check its state again.
+     *
+     * @return the ID of the ticket, or empty if none is waiting
+     */
+    Optional<UUID> pollQueued();
+
+    /**
+     * Puts a ticket returned by {@link #pollQueued()} back into the queue, if it is still
+     * {@code OPEN} and unassigned and not queued already.
+     *
+     * @param ticket the ticket in its current state
+     */
+    void requeue(Ticket ticket);
+
+    /**
+     * Returns whether {@link #update(UUID, Consumer)} is supported, i.e. whether this repository
+     * can apply a read-modify-write to a single ticket atomically on its own.
+     * <p>
+     * When it does, callers may skip external (distributed) locking for single-ticket updates.
+     *
+     * @return {@code true} if {@link #update(UUID, Consumer)} is atomic; {@code false} by default
+     */
+    default boolean supportsAtomicUpdate() {
+        return false;
+    }
+
+    /**
+     * Atomically applies {@code mutation} to the stored ticket and stores the result.
+     * <p>
+     * The mutation receives a private copy of the ticket; concurrent updates of the same ticket
+     * are serialized, and readers observe either the previous or the new state, never a mix.
+     * If the mutation throws, the stored ticket is left unchanged and the exception propagates.
+     *
+     * @param id       the {@link UUID} of the ticket
+     * @param mutation the change to apply
+     * @return an {@link Optional} containing the updated ticket, or empty if not found
+     * @throws UnsupportedOperationException if {@link #supportsAtomicUpdate()} is {@code false}
+     */
+    default Optional<Ticket> update(UUID id, Consumer<Ticket> mutation) {
+        throw new UnsupportedOperationException("Atomic update is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * One page of a delta sync.
+     *
+     * @param tickets the changed tickets, oldest change first
+     * @param next    the watermark to pass to the next call; {@code since} itself if nothing changed
+     * @param hasMore whether more changes were pending beyond {@code limit}
+     */
+    record Changes(List<Ticket> tickets, Watermark next, boolean hasMore) {
+    }
+
+    /**
+     * One page of search results.
+     *
+     * @param tickets the matching tickets, at most {@code limit}
+     * @param total   the number of matches, including those beyond {@code limit}
+     */
+    record SearchResult(List<Ticket> tickets, int total) {
+    }
 }
@@ -0,0 +1,102 @@
+package com.sporty.ticketing.repo;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded local store for server-assisted client-side caching.
+ * <p>
+ * A value read from Redis may only be cached if the key was not invalidated while the read was
+ * in flight; otherwise an invalidation processed before the fill would leave a stale entry that
+ * nothing removes. Callers therefore take a {@link #stamp(String)} before reading and fill with
+ * {@link #putIfUnchanged(String, String, long)}. Stamps are striped by key hash, so an unrelated
+ * invalidation can occasionally skip a fill, which only costs a later miss.
+ * <p>
+ * When full, an arbitrary entry is dropped on insert. Hits, misses and evictions (server
+ * invalidations, local writes and the size limit) are counted for metrics.
+ */
+class TrackingCache {
+
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<String, String> map = new ConcurrentHashMap<>();
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    TrackingCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Nullable
+    String get(String key) {
+        String v = map.get(key);
+        (v != null ? hits : misses).increment();
+        return v;
+    }
+
+    /** Returns the current invalidation stamp of the key; take it before reading from Redis. */
+    long stamp(String key) {
+        return stamps.get(stripe(key));
+    }
+
+    /** Caches the value unless the key was invalidated since {@code stamp} was taken. */
+    void putIfUnchanged(String key, String value, long stamp) {
+        if (map.size() >= maxEntries && !map.containsKey(key)) {
+            Iterator<String> it = map.keySet().iterator();
+            if (it.hasNext() && map.remove(it.next()) != null) {
+                evictions.increment();
+            }
+        }
+        map.put(key, value);
+        // re-check after publishing: an invalidation racing with the put must win
+        if (stamps.get(stripe(key)) != stamp && map.remove(key, value)) {
+            evictions.increment();
+        }
+    }
+
+    void invalidate(String key) {
+        stamps.incrementAndGet(stripe(key));
+        if (map.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        int n = map.size();
+        map.clear();
+        evictions.add(n);
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    private static int stripe(String key) {
+        return key.hashCode() & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.sporty.ticketing.service;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Per-request breakdown of where time is spent while handling a ticket request.
+ *
+ * <p>A recorder is bound to the current thread by {@link #start()} (typically in a servlet filter)
+ * and filled in by {@link #mark(Stage)} calls along the request path. Each mark attributes the
+ * time elapsed since the previous mark to the given stage. When no recorder is bound, {@link
+ * #mark(Stage)} is a no-op, so instrumented code pays only for a thread-local lookup.
+ */
+public final class StageTimings {
+
+  /** Request stages, in the order they normally occur. */
+  public enum Stage {
+    PARSE("parse"),
+    LOCK("lock"),
+    READ("read"),
+    MUTATE("mutate"),
+    SAVE("save"),
+    UNLOCK("unlock"),
+    SERIALIZE("serialize");
+
+    private final String metricName;
+
+    Stage(String metricName) {
+      this.metricName = metricName;
+    }
+
+    /**
+     * Returns the name used for this stage in the {@code Server-Timing} header.
+     *
+     * @return the metric name
+     */
+    public String metricName() {
+      return metricName;
+    }
+  }
+
+  private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+  private static final Stage[] STAGES = Stage.values();
+
+  private final long[] nanos = new long[STAGES.length];
+  private long lastMark;
+
+  private StageTimings() {
+    this.lastMark = System.nanoTime();
+  }
+
+  /**
+   * Binds a fresh recorder to the current thread.
+   *
+   * @return the new recorder
+   */
+  public static StageTimings start() {
+    var t = new StageTimings();
+    CURRENT.set(t);
+    return t;
+  }
+
+  /**
+   * Returns the recorder bound to the current thread.
+   *
+   * @return the current recorder, or {@code null} if none is bound
+   */
+  @Nullable
+  public static StageTimings current() {
+    return CURRENT.get();
+  }
+
+  /** Unbinds the recorder from the current thread. */
+  public static void stop() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Attributes the time since the previous mark to {@code stage} on the current thread's recorder,
+   * if any.
+   *
+   * @param stage the stage that just finished
+   */
+  public static void mark(Stage stage) {
+    var t = CURRENT.get();
+    if (t != null) {
+      t.record(stage);
+    }
+  }
+
+  /**
+   * Attributes the time since the previous mark to {@code stage}.
+   *
+   * @param stage the stage that just finished
+   */
+  public void record(Stage stage) {
+    long now = System.nanoTime();
+    nanos[stage.ordinal()] += now - lastMark;
+    lastMark = now;
+  }
+
+  /**
+   * Returns the accumulated time of a stage.
+   *
+   * @param stage the stage
+   * @return the time spent in {@code stage}, in nanoseconds
+   */
+  public long nanos(Stage stage) {
+    return nanos[stage.ordinal()];
+  }
+
+  /**
+   * Formats the recorded stages as a {@code Server-Timing} header value, e.g. {@code
+   * lock;dur=0.412, read;dur=0.003}. Stages that were never marked are omitted.
+   *
+   * @return the header value, possibly empty
+   */
+  public String toServerTiming() {
+    var sb = new StringBuilder(96);
+    for (Stage s : STAGES) {
+      long n = nanos[s.ordinal()];
+      if (n == 0) {
+        continue;
+      }
+      if (!sb.isEmpty()) {
+        sb.append(", ");
+      }
+      sb.append(s.metricName).append(";dur=").append(n / 1_000L / 1000.0);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,329 @@
+package com.sporty.ticketing.service;
+
+import com.sporty.ticketing.config.BulkProperties;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.repo.TicketRepository;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves every ticket matching a filter to a new status, e.g. all {@code RESOLVED} tickets not
+ * updated for 30 days to {@code CLOSED}.
+ *
+ * <p>A transition runs in two phases:
+ *
+ * <ol>
+ *   <li>The store is scanned once with {@link TicketRepository#forEach}, without locks, and the
+ *       IDs of the matching tickets are collected (16 bytes per ticket).
+ *   <li>The IDs are split recursively on a {@link ForkJoinPool} into batches of {@code
+ *       app.bulk.transition.batch-size}. Each batch is applied with {@link
+ *       TicketService#updateStatusAll}: one lock round trip, a check of the filter under the
+ *       locks, and one repository write.
+ * </ol>
+ *
+ * <p>Bulk work must not starve interactive requests. All transitions share one pool of {@code
+ * app.bulk.transition.parallelism} workers and a rate limit of {@code
+ * app.bulk.transition.max-rate} tickets per second. Tickets locked by an interactive request are
+ * not waited for; they are reported as failures, and running the same transition again picks them
+ * up.
+ *
+ * <p>Failures and periodic progress are passed to the {@link Listener} on the calling thread, so
+ * the workers never block on the client. If the listener throws, the transition is cancelled:
+ * batches already running are completed, and no new batch is started.
+ */
+@Service
+public class TicketBulkTransitioner implements DisposableBean {
+
+  /** Receives failures and progress while a transition runs, always on the calling thread. */
+  public interface Listener {
+
+    /**
+     * Called for every ticket that could not be moved.
+     *
+     * @param ticketId the ticket ID
+     * @param error why the ticket was not moved
+     * @throws IOException if the failure cannot be reported
+     */
+    void onFailure(UUID ticketId, String error) throws IOException;
+
+    /**
+     * Called once the matching tickets are known, then every {@code
+     * app.bulk.transition.progress-interval-ms}.
+     *
+     * @param progress counts so far
+     * @throws IOException if progress cannot be reported
+     */
+    default void onProgress(Progress progress) throws IOException {}
+  }
+
+  /**
+   * The tickets a transition applies to; {@code null} components match every ticket.
+   *
+   * @param status only tickets currently in this status
+   * @param updatedBefore only tickets last updated before this instant
+   * @param assigneeId only tickets assigned to this agent
+   */
+  public record Filter(
+      @Nullable TicketStatus status, @Nullable Instant updatedBefore, @Nullable String assigneeId)
+      implements Predicate<Ticket> {
+
+    @Override
+    public boolean test(Ticket t) {
+      return (status == null || t.getStatus() == status)
+          && (updatedBefore == null || t.getUpdatedAt().isBefore(updatedBefore))
+          && (assigneeId == null || assigneeId.equals(t.getAssigneeId()));
+    }
+  }
+
+  /**
+   * Counts of a transition.
+   *
+   * @param matched number of tickets that matched the filter in the scan
+   * @param processed number of matched tickets handled so far
+   * @param transitioned number of tickets moved to the target status
+   * @param skipped number of tickets left unchanged because they changed since the scan
+   * @param failed number of tickets that could not be moved
+   */
+  public record Progress(long matched, long processed, long transitioned, long skipped, long failed) {}
+
+  private final TicketService service;
+  private final TicketRepository repo;
+  private final int batchSize;
+  private final long progressIntervalNanos;
+  private final long nanosPerTicket;
+  private final ForkJoinPool pool;
+
+  /** Earliest start of the next batch under the rate limit, shared by all transitions. */
+  private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+
+  public TicketBulkTransitioner(TicketService service, TicketRepository repo, BulkProperties props) {
+    var cfg = props.getTransition();
+    if (cfg.getBatchSize() <= 0) {
+      throw new IllegalArgumentException("app.bulk.transition.batch-size must be positive");
+    }
+    if (cfg.getParallelism() < 0 || cfg.getMaxRate() < 0) {
+      throw new IllegalArgumentException(
+          "app.bulk.transition.parallelism and max-rate must not be negative");
+    }
+    if (cfg.getProgressIntervalMs() <= 0) {
+      throw new IllegalArgumentException("app.bulk.transition.progress-interval-ms must be positive");
+    }
+    this.service = service;
+    this.repo = repo;
+    this.batchSize = cfg.getBatchSize();
+    this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(cfg.getProgressIntervalMs());
+    this.nanosPerTicket = cfg.getMaxRate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / cfg.getMaxRate();
+    int parallelism =
+        cfg.getParallelism() > 0
+            ? cfg.getParallelism()
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    this.pool =
+        new ForkJoinPool(
+            parallelism,
+            p -> {
+              var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+              worker.setName("bulk-transition-" + worker.getPoolIndex());
+              return worker;
+            },
+            null,
+            false);
+  }
+
+  /**
+   * Moves every ticket matching {@code filter} to {@code target} and returns when all batches are
+   * done.
+   *
+   * @param filter the tickets to move
+   * @param target the new status
+   * @param listener receives failures and progress
+   * @return the final counts
+   * @throws IOException if the listener fails or the calling thread is interrupted; the
+   *     transition is cancelled
+   */
+  public Progress run(Filter filter, TicketStatus target, Listener listener) throws IOException {
+    var ids = new IdList();
+    this.repo.forEach(
+        t -> {
+          if (filter.test(t)) {
+            ids.add(t.getTicketId());
+          }
+        });
+
+    var job = new Job(ids, filter, target);
+    listener.onProgress(job.progress());
+    ForkJoinTask<Void> task = this.pool.submit(new Partition(job, 0, ids.size()));
+    try {
+      long nextProgress = System.nanoTime() + this.progressIntervalNanos;
+      while (true) {
+        boolean done = task.isDone();
+        TicketService.Failure f;
+        while ((f = job.failures.poll()) != null) {
+          listener.onFailure(f.ticketId(), f.error());
+        }
+        if (done) {
+          break;
+        }
+        long now = System.nanoTime();
+        if (now - nextProgress >= 0) {
+          listener.onProgress(job.progress());
+          nextProgress = now + this.progressIntervalNanos;
+        }
+        // wake up at least every 50 ms to notice that the last batch has finished
+        f =
+            job.failures.poll(
+                Math.min(nextProgress - now, TimeUnit.MILLISECONDS.toNanos(50)),
+                TimeUnit.NANOSECONDS);
+        if (f != null) {
+          listener.onFailure(f.ticketId(), f.error());
+        }
+      }
+      task.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Bulk transition interrupted");
+    } finally {
+      job.cancelled = true;
+    }
+    return job.progress();
+  }
+
+  /** Stops the workers; running transitions are abandoned. */
+  @Override
+  public void destroy() {
+    this.pool.shutdownNow();
+  }
+
+  /**
+   * Waits until the rate limit admits {@code tickets} more tickets. Slots are handed out in
+   * request order, so concurrent batches are spaced evenly rather than bursting.
+   */
+  private void throttle(int tickets) {
+    if (this.nanosPerTicket == 0) {
+      return;
+    }
+    long cost = tickets * this.nanosPerTicket;
+    long now = System.nanoTime();
+    long slot = this.nextSlotNanos.getAndAccumulate(cost, (next, c) -> Math.max(next, now) + c);
+    long wait = slot - now;
+    if (wait > 0) {
+      LockSupport.parkNanos(wait);
+    }
+  }
+
+  /** State of one running transition, shared by its batches. */
+  private final class Job {
+
+    final IdList ids;
+    final Filter filter;
+    final TicketStatus target;
+    final LinkedBlockingQueue<TicketService.Failure> failures = new LinkedBlockingQueue<>();
+    final LongAdder processed = new LongAdder();
+    final LongAdder transitioned = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    volatile boolean cancelled;
+
+    Job(IdList ids, Filter filter, TicketStatus target) {
+      this.ids = ids;
+      this.filter = filter;
+      this.target = target;
+    }
+
+    void process(int from, int to) {
+      throttle(to - from);
+      var batch = new ArrayList<UUID>(to - from);
+      for (int i = from; i < to; i++) {
+        batch.add(ids.get(i));
+      }
+      List<TicketService.Failure> batchFailures;
+      try {
+        var result = service.updateStatusAll(batch, filter, target);
+        transitioned.add(result.updated());
+        skipped.add(result.skipped());
+        batchFailures = result.failures();
+      } catch (RuntimeException e) {
+        // e.g. the lock service is unavailable; the batch is reported and the others go on
+        batchFailures = batch.stream().map(id -> new TicketService.Failure(id, e.getMessage())).toList();
+      }
+      failed.add(batchFailures.size());
+      failures.addAll(batchFailures);
+      processed.add(batch.size());
+    }
+
+    Progress progress() {
+      return new Progress(
+          ids.size(), processed.sum(), transitioned.sum(), skipped.sum(), failed.sum());
+    }
+  }
+
+  /** Splits a range of a job's IDs in halves until it fits in one batch. */
+  private final class Partition extends RecursiveAction {
+
+    private final Job job;
+    private final int from;
+    private final int to;
+
+    Partition(Job job, int from, int to) {
+      this.job = job;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (job.cancelled || from == to) {
+        return;
+      }
+      if (to - from <= batchSize) {
+        job.process(from, to);
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new Partition(job, from, mid), new Partition(job, mid, to));
+    }
+  }
+
+  /** Growable list of ticket IDs kept as two {@code long} arrays, without a UUID object per entry. */
+  private static final class IdList {
+
+    private long[] msb = new long[1024];
+    private long[] lsb = new long[1024];
+    private int size;
+
+    void add(UUID id) {
+      if (size == msb.length) {
+        msb = Arrays.copyOf(msb, size * 2);
+        lsb = Arrays.copyOf(lsb, size * 2);
+      }
+      msb[size] = id.getMostSignificantBits();
+      lsb[size] = id.getLeastSignificantBits();
+      size++;
+    }
+
+    UUID get(int i) {
+      return new UUID(msb[i], lsb[i]);
+    }
+
+    int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package com.sporty.ticketing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sporty.ticketing.config.BulkProperties;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketChange;
+import com.sporty.ticketing.repo.TicketRepository;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports tickets from an NDJSON stream: one {@link CreateTicketRequest} JSON object per line.
+ *
+ * <p>The input is read line by line, so memory use does not depend on the size of the stream.
+ * Each line is parsed and validated like a {@code POST /tickets} body. Valid records are written
+ * with {@link TicketRepository#saveAll(java.util.Collection)} in batches of {@code
+ * app.bulk.import-batch-size}. The next line is only read once the current batch has been
+ * stored, so a slow store slows down reading, and TCP flow control pushes back on the client.
+ * Each stored ticket is published as a {@code CREATED} {@link TicketChange}, as for {@code POST
+ * /tickets}.
+ *
+ * <p>Invalid lines are reported to the {@link Listener} as they are found and do not stop the
+ * import. Blank lines are ignored.
+ */
+@Service
+public class TicketImporter {
+
+  /** Receives per-line errors and batch progress while an import runs. */
+  public interface Listener {
+
+    /**
+     * Called for every line that could not be imported.
+     *
+     * @param line 1-based line number
+     * @param message why the line was rejected
+     * @throws IOException if the error cannot be reported
+     */
+    void onError(long line, String message) throws IOException;
+
+    /**
+     * Called after each batch has been written to the repository.
+     *
+     * @param count number of tickets in the batch
+     * @throws IOException if progress cannot be reported
+     */
+    default void onBatchSaved(int count) throws IOException {}
+  }
+
+  /**
+   * Outcome of an import.
+   *
+   * @param lines number of non-blank lines read
+   * @param imported number of tickets stored
+   * @param failed number of rejected lines
+   */
+  public record Result(long lines, long imported, long failed) {}
+
+  private final TicketRepository repo;
+  private final Validator validator;
+  private final ObjectReader reader;
+  private final BulkProperties props;
+  private final ApplicationEventPublisher events;
+
+  public TicketImporter(
+      TicketRepository repo,
+      Validator validator,
+      ObjectMapper mapper,
+      BulkProperties props,
+      ApplicationEventPublisher events) {
+    if (props.getImportBatchSize() <= 0) {
+      throw new IllegalArgumentException("app.bulk.import-batch-size must be positive");
+    }
+    this.repo = repo;
+    this.validator = validator;
+    this.reader = mapper.readerFor(CreateTicketRequest.class);
+    this.props = props;
+    this.events = events;
+  }
+
+  /**
+   * Imports every line of {@code in}.
+   *
+   * @param in NDJSON input; not closed by this method
+   * @param listener receives per-line errors and batch progress
+   * @return counts of read, imported and rejected lines
+   * @throws IOException if reading the input or notifying the listener fails
+   */
+  public Result importNdjson(Reader in, Listener listener) throws IOException {
+    int batchSize = this.props.getImportBatchSize();
+    var lines = new LineReader(in, this.props.getMaxLineLength());
+    var batch = new ArrayList<Ticket>(batchSize);
+    long lineNo = 0;
+    long read = 0;
+    long imported = 0;
+    long failed = 0;
+
+    String line;
+    while ((line = lines.next()) != null) {
+      lineNo++;
+      if (line.isBlank() && !lines.truncated()) {
+        continue;
+      }
+      read++;
+      String error = lines.truncated() ? "line exceeds " + lines.maxLength + " characters" : null;
+      CreateTicketRequest req = null;
+      if (error == null) {
+        try {
+          req = this.reader.readValue(line);
+          error = validate(req);
+        } catch (JsonProcessingException e) {
+          error = "malformed JSON: " + e.getOriginalMessage();
+        }
+      }
+      if (error != null) {
+        failed++;
+        listener.onError(lineNo, error);
+        continue;
+      }
+      batch.add(Ticket.newTicket(req.userId(), req.subject(), req.description(), req.priority()));
+      if (batch.size() == batchSize) {
+        imported += flush(batch, listener);
+      }
+    }
+    imported += flush(batch, listener);
+    return new Result(read, imported, failed);
+  }
+
+  private int flush(List<Ticket> batch, Listener listener) throws IOException {
+    int n = batch.size();
+    if (n > 0) {
+      this.repo.saveAll(batch);
+      for (Ticket t : batch) {
+        this.events.publishEvent(TicketChange.of(TicketChange.Type.CREATED, t));
+      }
+      batch.clear();
+      listener.onBatchSaved(n);
+    }
+    return n;
+  }
+
+  @Nullable
+  private String validate(@Nullable CreateTicketRequest req) {
+    if (req == null) {
+      return "not a JSON object";
+    }
+    var violations = this.validator.validate(req);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Splits a character stream into lines ({@code \n} or {@code \r\n}) without holding more than
+   * {@code maxLength} characters of any line. An overlong line is skipped and returned as an
+   * empty string with {@link #truncated()} set.
+   */
+  private static final class LineReader {
+
+    private final Reader in;
+    private final int maxLength;
+    private final char[] buf = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int pos;
+    private int limit;
+    private boolean truncated;
+
+    LineReader(Reader in, int maxLength) {
+      this.in = in;
+      this.maxLength = maxLength;
+    }
+
+    /** Whether the line last returned by {@link #next()} exceeded the limit. */
+    boolean truncated() {
+      return truncated;
+    }
+
+    @Nullable
+    String next() throws IOException {
+      line.setLength(0);
+      truncated = false;
+      boolean any = false;
+      while (true) {
+        if (pos == limit) {
+          limit = in.read(buf);
+          pos = 0;
+          if (limit <= 0) {
+            limit = 0;
+            return any ? finish() : null;
+          }
+        }
+        any = true;
+        char c = buf[pos++];
+        if (c == '\n') {
+          return finish();
+        }
+        if (!truncated) {
+          if (line.length() == maxLength) {
+            truncated = true;
+            line.setLength(0);
+          } else {
+            line.append(c);
+          }
+        }
+      }
+    }
+
+    private String finish() {
+      int n = line.length();
+      if (n > 0 && line.charAt(n - 1) == '\r') {
+        line.setLength(n - 1);
+      }
+      return line.toString();
+    }
+  }
+}
@@ -1,41 +1,110 @@
 package com.sporty.ticketing.service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import com.sporty.ticketing.assign.AgentLoadBalancer;
 import com.sporty.ticketing.config.LockProperties;
 import com.sporty.ticketing.exception.ConflictException;
 import com.sporty.ticketing.exception.NotFoundException;
+import com.sporty.ticketing.lock.HotKeyTracker;
 import com.sporty.ticketing.lock.LockManager;
+import com.sporty.ticketing.model.InvalidTransitionException;
 import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketChange;
+import com.sporty.ticketing.model.TicketPatch;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStats;
 import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.model.Watermark;
+import com.sporty.ticketing.repo.SearchQuery;
 import com.sporty.ticketing.repo.TicketRepository;
+import com.sporty.ticketing.service.StageTimings.Stage;
 
 /**
  * Application service for managing {@link Ticket} entities.
  *
  * <p>This service coordinates business operations such as ticket creation, assignment to agents,
- * and status updates. Operations that modify a ticket are protected by a distributed lock (via
- * {@link LockManager}) to prevent race conditions in concurrent environments.
+ * status updates, combined multi-field updates and batched status transitions. Operations that modify a ticket are protected by a distributed lock (via
+ * {@link LockManager}) to prevent race conditions in concurrent environments. Invalid status
+ * transitions and no-op changes are detected before the lock is taken, so they cost neither lock
+ * traffic nor a repository write. With a repository that supports atomic updates (see {@link
+ * TicketRepository#supportsAtomicUpdate()}), single-ticket updates skip the distributed lock.
+ *
+ * <p>Tickets can be auto-assigned to the least-loaded agent (see {@link AgentLoadBalancer}). Every
+ * stored change reports a change of the ticket's load holder to the balancer, which keeps the
+ * agent loads current without recounting tickets.
+ *
+ * <p>Every stored change (but not a no-op) is published as a {@link TicketChange} application
+ * event once the write has succeeded, while the ticket's lock is still held (or inside the atomic
+ * update), so that changes of one ticket are published in the order they were stored. Listeners
+ * run on the request thread under the lock and must not block.
  *
  * <p>Lock behavior is configured via {@link LockProperties}, including the default lock TTL.
  */
 @Service
 public class TicketService {
 
-  private static final Logger log = LoggerFactory.getLogger(TicketService.class);
+  /** Prefix of the per-ticket lock keys. */
+  public static final String LOCK_PREFIX = "lock:ticket:";
+
+  /** Maximum number of tickets returned by one delta sync. */
+  public static final int MAX_SYNC_LIMIT = 1000;
+
+  /** Maximum number of tickets returned by one search. */
+  public static final int MAX_SEARCH_LIMIT = 1000;
+
+  /**
+   * Outcome of {@link #updateStatusAll(List, Predicate, TicketStatus)}.
+   *
+   * @param updated number of tickets moved to the new status
+   * @param skipped number of tickets left unchanged because they no longer exist, no longer match
+   *     the filter, or already have the status
+   * @param failures the tickets that could not be moved, with the reason
+   */
+  public record BatchResult(int updated, int skipped, List<Failure> failures) {}
+
+  /**
+   * A ticket that a batch operation could not change.
+   *
+   * @param ticketId the ticket ID
+   * @param error why the ticket was not changed
+   */
+  public record Failure(UUID ticketId, String error) {}
+
+  /** Maximum time to wait for a ticket lock before failing with a conflict (small deadline). */
+  private static final Duration LOCK_WAIT = Duration.ofMillis(300);
 
   private final TicketRepository repo;
   private final LockManager locks;
   private final LockProperties props;
+  private final HotKeyTracker hotKeys;
+  private final ApplicationEventPublisher events;
+  private final AgentLoadBalancer loads;
 
-  public TicketService(TicketRepository repo, LockManager locks, LockProperties props) {
+  public TicketService(
+      TicketRepository repo,
+      LockManager locks,
+      LockProperties props,
+      HotKeyTracker hotKeys,
+      ApplicationEventPublisher events,
+      AgentLoadBalancer loads) {
     this.repo = repo;
     this.locks = locks;
     this.props = props;
+    this.hotKeys = hotKeys;
+    this.events = events;
+    this.loads = loads;
   }
 
   /**
@@ -44,11 +113,46 @@ public class TicketService {
    * @param userId the ID of the user creating the ticket
    * @param subject the ticket subject
    * @param description the ticket description (may be {@code null})
+   * @param priority the ticket priority, or {@code null} for {@link TicketPriority#NORMAL}
+   * @param autoAssign whether to assign the ticket to the least-loaded agent
    * @return the created {@link Ticket}
+   * @throws ConflictException if {@code autoAssign} is set and no agents are configured
+   */
+  public Ticket create(
+      String userId,
+      String subject,
+      String description,
+      @Nullable TicketPriority priority,
+      boolean autoAssign) {
+    var t = Ticket.newTicket(userId, subject, description, priority);
+    String agent = autoAssign ? reserveAgent() : null;
+    Ticket saved;
+    try {
+      if (agent != null) {
+        t.assign(agent);
+      }
+      StageTimings.mark(Stage.MUTATE);
+      saved = this.repo.save(t);
+    } catch (RuntimeException e) {
+      this.loads.move(agent, null);
+      throw e;
+    }
+    StageTimings.mark(Stage.SAVE);
+    this.events.publishEvent(TicketChange.of(TicketChange.Type.CREATED, saved));
+    return saved;
+  }
+
+  /**
+   * Returns a ticket by its ID.
+   *
+   * @param id the ticket ID
+   * @return the {@link Ticket}
+   * @throws NotFoundException if the ticket does not exist
    */
-  public Ticket create(String userId, String subject, String description) {
-    var t = Ticket.newTicket(userId, subject, description);
-    return this.repo.save(t);
+  public Ticket get(UUID id) {
+    var t = find(id);
+    StageTimings.mark(Stage.READ);
+    return t;
   }
 
   /**
@@ -63,26 +167,75 @@ public class TicketService {
    * @throws ConflictException if the ticket is currently locked by another process
    */
   public Ticket assign(UUID id, String assigneeId) {
-    var key = "lock:ticket:" + id;
-    var ttl = Duration.ofMillis(this.props.getTtlMs());
-    var tokenOpt = this.locks.tryLockWithRetry(key, ttl, Duration.ofMillis(300)); // small deadline
-    if (tokenOpt.isEmpty()) {
-      throw new ConflictException("Ticket is locked by another process");
+    try {
+      return mutate(id, new TicketPatch(assigneeId, null, null, null));
+    } catch (ConflictException e) {
+      this.hotKeys.recordAgentConflict(assigneeId);
+      throw e;
     }
-    var token = tokenOpt.get();
+  }
+
+  /**
+   * Assigns a ticket to the agent with the fewest open or in-progress tickets.
+   *
+   * <p>The agent is chosen and counted in one atomic step of the {@link AgentLoadBalancer}, so
+   * concurrent auto-assignments spread over the agents. The assignment itself is then made like
+   * {@link #assign(UUID, String)}.
+   *
+   * @param id the ticket ID
+   * @return the updated {@link Ticket}
+   * @throws NotFoundException if the ticket does not exist
+   * @throws ConflictException if the ticket is resolved or closed, no agents are configured, or
+   *     the ticket is currently locked by another process
+   */
+  public Ticket autoAssign(UUID id) {
+    var current = find(id);
+    if (current.getStatus() != TicketStatus.OPEN && current.getStatus() != TicketStatus.IN_PROGRESS) {
+      throw new ConflictException("Only open or in-progress tickets can be auto-assigned");
+    }
+    String agent = reserveAgent();
     try {
-      var t =
-          this.repo
-              .findById(id)
-              .orElseThrow(() -> new NotFoundException("Ticket not found: " + id));
-      t.assign(assigneeId);
-      return this.repo.save(t);
+      return assign(id, agent);
     } finally {
-      boolean released = this.locks.unlock(key, token);
-      if (!released) {
-        // Not critical, but useful for diagnostics
-        TicketService.log.debug(
-            "Lock was not released (key={}, token possibly lost or changed)", key);
+      // the assignment itself moved the ticket's load to the agent
+      this.loads.move(agent, null);
+    }
+  }
+
+  /**
+   * Assigns the next waiting ticket to an agent: the unassigned {@code OPEN} ticket with the
+   * highest priority, oldest first.
+   *
+   * <p>The ticket is taken from the repository's claim queue (see {@link
+   * TicketRepository#pollQueued()}), which hands each ticket to exactly one caller, so agents
+   * claiming concurrently never compete for the same ticket. The assignment is then stored like
+   * {@link #assign(UUID, String)}, after checking that the ticket is still unassigned and open;
+   * entries that went stale in the meantime are skipped. If the ticket is locked by another
+   * process, it is put back in the queue and the conflict is reported.
+   *
+   * @param agentId the agent claiming work
+   * @return the claimed {@link Ticket}, or empty if no ticket is waiting
+   * @throws ConflictException if the polled ticket is currently locked by another process
+   */
+  public Optional<Ticket> claim(String agentId) {
+    var patch = new TicketPatch(agentId, null, null, null);
+    while (true) {
+      var next = this.repo.pollQueued();
+      if (next.isEmpty()) {
+        return Optional.empty();
+      }
+      UUID id = next.get();
+      Ticket claimed;
+      try {
+        claimed = mutate(id, patch, TicketService::isClaimable);
+      } catch (NotFoundException e) {
+        continue;
+      } catch (ConflictException e) {
+        this.repo.findById(id).ifPresent(this.repo::requeue);
+        throw e;
+      }
+      if (claimed != null) {
+        return Optional.of(claimed);
       }
     }
   }
@@ -96,25 +249,356 @@ public class TicketService {
    * @param status the new {@link TicketStatus}
    * @return the updated {@link Ticket}
    * @throws NotFoundException if the ticket does not exist
+   * @throws InvalidTransitionException if the transition is not allowed by {@link TicketStatus}
    * @throws ConflictException if the ticket is currently locked by another process
    */
   public Ticket updateStatus(UUID id, TicketStatus status) {
-    var key = "lock:ticket:" + id;
+    return mutate(id, new TicketPatch(null, status, null, null));
+  }
+
+  /**
+   * Moves a batch of tickets to {@code status}, with one lock round trip and one repository write
+   * for the whole batch.
+   *
+   * <p>The locks of all tickets are requested at once with {@link LockManager#tryLockAll}, without
+   * waiting: a ticket that is locked by another process is busy with interactive traffic and is
+   * reported as a failure rather than waited for. Under the locks, the tickets are read again with
+   * one {@link TicketRepository#findAllById} call and only changed if they still match {@code
+   * filter}; the changed tickets are then stored with {@link TicketRepository#saveAll}. With a repository that supports atomic updates, each
+   * ticket is updated atomically instead, and no lock is taken.
+   *
+   * <p>Every moved ticket is reported to the {@link AgentLoadBalancer} and published as a {@link
+   * TicketChange}, as for {@link #updateStatus(UUID, TicketStatus)}.
+   *
+   * @param ids the tickets to move
+   * @param filter the condition a ticket must still satisfy to be moved
+   * @param status the new {@link TicketStatus}
+   * @return the number of moved and skipped tickets, and the failures
+   */
+  public BatchResult updateStatusAll(List<UUID> ids, Predicate<Ticket> filter, TicketStatus status) {
+    var failures = new ArrayList<Failure>();
+    var changes = new ArrayList<TicketChange>(ids.size());
+    // load holder of each changed ticket before its change
+    var holders = new ArrayList<String>(ids.size());
+    int skipped = 0;
+    if (this.repo.supportsAtomicUpdate()) {
+      for (UUID id : ids) {
+        TicketChange[] change = new TicketChange[1];
+        String[] holder = new String[1];
+        try {
+          this.repo.update(
+              id,
+              t -> {
+                if (filter.test(t) && t.getStatus() != status) {
+                  holder[0] = AgentLoadBalancer.holder(t.getStatus(), t.getAssigneeId());
+                  t.updateStatus(status);
+                  change[0] = TicketChange.of(TicketChange.Type.STATUS_CHANGED, t);
+                  this.events.publishEvent(change[0]);
+                }
+              });
+          if (change[0] != null) {
+            holders.add(holder[0]);
+            changes.add(change[0]);
+          } else {
+            skipped++;
+          }
+        } catch (InvalidTransitionException e) {
+          failures.add(new Failure(id, e.getMessage()));
+        }
+      }
+    } else {
+      var keys = ids.stream().map(id -> LOCK_PREFIX + id).toList();
+      var tokens = this.locks.tryLockAll(keys, Duration.ofMillis(this.props.getTtlMs()));
+      try {
+        var locked = new ArrayList<UUID>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+          if (tokens.get(i).isPresent()) {
+            locked.add(ids.get(i));
+          } else {
+            failures.add(new Failure(ids.get(i), "Ticket is locked by another process"));
+          }
+        }
+        var current = this.repo.findAllById(locked);
+        var batch = new ArrayList<Ticket>(locked.size());
+        for (int i = 0; i < locked.size(); i++) {
+          UUID id = locked.get(i);
+          var t = current.get(i).orElse(null);
+          if (t == null || !filter.test(t) || t.getStatus() == status) {
+            skipped++;
+            continue;
+          }
+          String holder = AgentLoadBalancer.holder(t.getStatus(), t.getAssigneeId());
+          try {
+            t.updateStatus(status);
+          } catch (InvalidTransitionException e) {
+            failures.add(new Failure(id, e.getMessage()));
+            continue;
+          }
+          holders.add(holder);
+          batch.add(t);
+        }
+        try {
+          this.repo.saveAll(batch);
+        } catch (RuntimeException e) {
+          for (Ticket t : batch) {
+            failures.add(new Failure(t.getTicketId(), "Save failed: " + e.getMessage()));
+          }
+          batch.clear();
+          holders.clear();
+        }
+        // captured and published under the locks, as for a single update
+        for (Ticket t : batch) {
+          var change = TicketChange.of(TicketChange.Type.STATUS_CHANGED, t);
+          changes.add(change);
+          this.events.publishEvent(change);
+        }
+      } finally {
+        for (int i = 0; i < keys.size(); i++) {
+          String key = keys.get(i);
+          tokens.get(i).ifPresent(token -> this.locks.unlockLater(key, token));
+        }
+      }
+    }
+    for (int i = 0; i < changes.size(); i++) {
+      var change = changes.get(i);
+      this.loads.move(holders.get(i), AgentLoadBalancer.holder(change.status(), change.assigneeId()));
+    }
+    return new BatchResult(changes.size(), skipped, failures);
+  }
+
+  /**
+   * Applies several changes to a ticket under a single distributed lock acquisition.
+   *
+   * <p>All changes are applied with one repository read and one write, and {@code updatedAt} is
+   * stamped once. If the lock cannot be acquired within 300 ms, a {@link ConflictException} is
+   * thrown.
+   *
+   * @param id the ticket ID
+   * @param patch the changes to apply
+   * @return the updated {@link Ticket}
+   * @throws IllegalArgumentException if {@code patch} is empty
+   * @throws NotFoundException if the ticket does not exist
+   * @throws InvalidTransitionException if the status transition is not allowed
+   * @throws ConflictException if the ticket is currently locked by another process
+   */
+  public Ticket patch(UUID id, TicketPatch patch) {
+    if (patch.isEmpty()) {
+      throw new IllegalArgumentException("At least one field must be provided");
+    }
+    try {
+      return mutate(id, patch);
+    } catch (ConflictException e) {
+      if (patch.assigneeId() != null) {
+        this.hotKeys.recordAgentConflict(patch.assigneeId());
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Passes every stored ticket matching the filters to {@code sink}, without locking.
+   *
+   * <p>Iteration is weakly consistent (see {@link TicketRepository#forEach(Consumer)}): concurrent
+   * updates are neither blocked nor guaranteed to be visible.
+   *
+   * @param status only tickets in this status, or {@code null} for all
+   * @param updatedSince only tickets updated at or after this instant, or {@code null} for all
+   * @param sink receives the matching tickets
+   */
+  public void export(
+      @Nullable TicketStatus status, @Nullable Instant updatedSince, Consumer<Ticket> sink) {
+    this.repo.forEach(
+        t -> {
+          if ((status == null || t.getStatus() == status)
+              && (updatedSince == null || !t.getUpdatedAt().isBefore(updatedSince))) {
+            sink.accept(t);
+          }
+        });
+  }
+
+  /**
+   * Returns the tickets changed after {@code since}, for delta syncs.
+   *
+   * @param since the watermark returned by the previous sync, or {@link Watermark#ZERO}
+   * @param limit maximum number of tickets to return, between 1 and {@link #MAX_SYNC_LIMIT}
+   * @return the changed tickets and the watermark to continue from
+   * @throws IllegalArgumentException if {@code limit} is out of range
+   */
+  public TicketRepository.Changes changedSince(Watermark since, int limit) {
+    if (limit < 1 || limit > MAX_SYNC_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_SYNC_LIMIT);
+    }
+    return this.repo.changedSince(since, limit);
+  }
+
+  /**
+   * Returns the ticket counts per status and per assignee.
+   *
+   * <p>The counts are maintained by the repository on every save, so this is independent of the
+   * number of tickets.
+   *
+   * @return the current counts
+   */
+  public TicketStats stats() {
+    return this.repo.stats();
+  }
+
+  /**
+   * Full-text search over ticket subjects and descriptions.
+   *
+   * <p>Every word of {@code q} must match; a word ending in {@code *} matches as a prefix (see
+   * {@link SearchQuery}).
+   *
+   * @param q the query, e.g. {@code "login fail*"}
+   * @param status only tickets in this status, or {@code null} for any status
+   * @param limit maximum number of tickets to return, between 1 and {@link #MAX_SEARCH_LIMIT}
+   * @return the first matches and the total number of matches
+   * @throws IllegalArgumentException if {@code q} contains no word or {@code limit} is out of range
+   */
+  public TicketRepository.SearchResult search(String q, @Nullable TicketStatus status, int limit) {
+    if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+    }
+    return this.repo.search(SearchQuery.parse(q), status, limit);
+  }
+
+  /**
+   * Validates and applies a patch to a single ticket.
+   *
+   * <p>The ticket is first checked without the lock: a disallowed status transition is rejected
+   * and a no-op patch (e.g. same status, same assignee) returns the current ticket, in both cases
+   * without any lock traffic or repository write. Otherwise the check is repeated under the lock
+   * before the patch is applied and saved.
+   *
+   * <p>Concurrent updates of the same ticket are thus applied one after the other, in every
+   * repository mode. An update is rejected only if the check fails on the ticket as re-read, never
+   * because the ticket changed since the first read; each applied update increments the ticket's
+   * version. The save under the lock is {@linkplain TicketRepository#saveIfVersion fenced} by the
+   * version read under it: a holder whose lock expired before the save, and whose ticket was saved
+   * by the next holder meanwhile, fails with a {@link ConflictException} and changes nothing.
+   *
+   * <p>If the repository {@linkplain TicketRepository#supportsAtomicUpdate() supports atomic
+   * updates}, the check and the change are applied in one atomic repository update instead, and no
+   * distributed lock is taken.
+   *
+   * @param id the ticket ID
+   * @param patch the changes to apply
+   * @return the saved (or unchanged) {@link Ticket}
+   * @throws NotFoundException if the ticket does not exist
+   * @throws InvalidTransitionException if the status transition is not allowed
+   * @throws ConflictException if the lock cannot be acquired within {@link #LOCK_WAIT}, or expired
+   *     before the save and another process saved the ticket meanwhile
+   */
+  private Ticket mutate(UUID id, TicketPatch patch) {
+    return Objects.requireNonNull(mutate(id, patch, t -> true));
+  }
+
+  /**
+   * Like {@link #mutate(UUID, TicketPatch)}, but only if the ticket satisfies {@code precondition}
+   * both before and while the patch is applied.
+   *
+   * @return the saved (or unchanged) {@link Ticket}, or {@code null} if the precondition failed
+   */
+  @Nullable
+  private Ticket mutate(UUID id, TicketPatch patch, Predicate<Ticket> precondition) {
+    var current = find(id);
+    StageTimings.mark(Stage.READ);
+    if (!precondition.test(current)) {
+      return null;
+    }
+    if (!current.hasChanges(patch)) {
+      return current;
+    }
+    if (this.repo.supportsAtomicUpdate()) {
+      boolean[] eligible = new boolean[1];
+      TicketChange[] change = new TicketChange[1];
+      String[] holder = new String[1];
+      var updated =
+          this.repo
+              .update(
+                  id,
+                  t -> {
+                    eligible[0] = precondition.test(t);
+                    if (eligible[0] && t.hasChanges(patch)) {
+                      holder[0] = AgentLoadBalancer.holder(t.getStatus(), t.getAssigneeId());
+                      t.apply(patch);
+                      change[0] = TicketChange.of(TicketChange.Type.of(patch), t);
+                      this.events.publishEvent(change[0]);
+                    }
+                  })
+              .orElseThrow(() -> new NotFoundException("Ticket not found: " + id));
+      StageTimings.mark(Stage.SAVE);
+      if (!eligible[0]) {
+        return null;
+      }
+      if (change[0] != null) {
+        this.loads.move(holder[0], AgentLoadBalancer.holder(change[0].status(), change[0].assigneeId()));
+      }
+      return updated;
+    }
+    var key = LOCK_PREFIX + id;
     var ttl = Duration.ofMillis(this.props.getTtlMs());
-    var tokenOpt = this.locks.tryLockWithRetry(key, ttl, Duration.ofMillis(300));
+    var tokenOpt = this.locks.tryLockWithRetry(key, ttl, LOCK_WAIT);
+    // marked on the timeout path too, so the wait is not attributed to serialization
+    StageTimings.mark(Stage.LOCK);
     if (tokenOpt.isEmpty()) {
       throw new ConflictException("Ticket is locked by another process");
     }
     var token = tokenOpt.get();
+    Ticket saved;
+    TicketChange change;
+    String holder;
     try {
-      var t =
-          this.repo
-              .findById(id)
-              .orElseThrow(() -> new NotFoundException("Ticket not found: " + id));
-      t.updateStatus(status);
-      return this.repo.save(t);
+      // not from a local cache: it may not have seen the previous holder's write yet
+      var t = findUncached(id);
+      StageTimings.mark(Stage.READ);
+      if (!precondition.test(t)) {
+        return null;
+      }
+      if (!t.hasChanges(patch)) {
+        return t;
+      }
+      holder = AgentLoadBalancer.holder(t.getStatus(), t.getAssigneeId());
+      long readVersion = t.getVersion();
+      t.apply(patch);
+      StageTimings.mark(Stage.MUTATE);
+      // fenced by the version: if the lease expired since the re-read and another holder saved
+      // the ticket, this save is refused rather than overwriting that update
+      if (!this.repo.saveIfVersion(t, readVersion)) {
+        StageTimings.mark(Stage.SAVE);
+        throw new ConflictException("Ticket was updated by another process; the lock expired");
+      }
+      saved = t;
+      StageTimings.mark(Stage.SAVE);
+      // captured and published under the lock: the stored object may be changed again right after
+      // unlock, and the next holder's change must not be published before this one
+      change = TicketChange.of(TicketChange.Type.of(patch), saved);
+      this.events.publishEvent(change);
     } finally {
-      this.locks.unlock(key, token);
+      this.locks.unlockLater(key, token);
+      StageTimings.mark(Stage.UNLOCK);
     }
+    this.loads.move(holder, AgentLoadBalancer.holder(change.status(), change.assigneeId()));
+    return saved;
+  }
+
+  private static boolean isClaimable(Ticket t) {
+    return t.getStatus() == TicketStatus.OPEN && t.getAssigneeId() == null;
+  }
+
+  private String reserveAgent() {
+    return this.loads
+        .reserveLeastLoaded()
+        .orElseThrow(() -> new ConflictException("No agents are configured for auto-assignment"));
+  }
+
+  private Ticket find(UUID id) {
+    return this.repo.findById(id).orElseThrow(() -> new NotFoundException("Ticket not found: " + id));
+  }
+
+  private Ticket findUncached(UUID id) {
+    return this.repo
+        .findByIdUncached(id)
+        .orElseThrow(() -> new NotFoundException("Ticket not found: " + id));
   }
 }
@@ -0,0 +1,207 @@
+package com.sporty.ticketing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.assign.AgentLoadBalancer;
+import com.sporty.ticketing.config.HotKeyProperties;
+import com.sporty.ticketing.config.LockProperties;
+import com.sporty.ticketing.config.RepositoryProperties;
+import com.sporty.ticketing.config.WarmupProperties;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.PatchTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.lock.HotKeyTracker;
+import com.sporty.ticketing.lock.NamespacedLockManager;
+import com.sporty.ticketing.lock.RedisLockManager;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketPatch;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.repo.InMemoryTicketRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms up the JIT before the application reports ready, by running synthetic ticket traffic
+ * through a private {@link TicketService}.
+ *
+ * <p>Spring Boot switches readiness to {@code ACCEPTING_TRAFFIC} only after every {@link
+ * ApplicationRunner} has returned, so while this runner works, {@code /actuator/health/readiness}
+ * reports {@code OUT_OF_SERVICE} and the load balancer keeps real requests away. Each iteration
+ * creates a ticket, reads it, assigns it, moves it through the statuses, claims and searches, and
+ * round-trips the request and response DTOs through the application's {@link ObjectMapper}, so
+ * that {@code TicketService}, the repository, the Redis lock path and Jackson are compiled by C2
+ * before the first real request. The warmup ends after {@code app.warmup.iterations} iterations
+ * or {@code app.warmup.max-duration-ms}, whichever comes first.
+ *
+ * <p>Warmup traffic never touches real tickets. The private service runs the same code over its
+ * own instances: a fresh in-memory repository (discarded afterwards, and used in every repository
+ * mode, since warming the Redis or snapshot store would write to it), a Redis lock manager of its
+ * own with every key prefixed by {@code app.warmup.lock-namespace}, its own agent loads and hot-key
+ * counters, and an event publisher that drops events, so nothing reaches the change feed. The lock
+ * manager bypasses the lock circuit breaker and reports no contention, so warmup traffic neither
+ * trips the breaker nor shows up in {@code /actuator/hotkeys} or the JFR lock events.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+  private static final List<String> AGENTS =
+      List.of("warmup-agent-1", "warmup-agent-2", "warmup-agent-3");
+  private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+
+  private final WarmupProperties props;
+  private final StringRedisTemplate redis;
+  private final LockProperties lockProps;
+  private final HotKeyProperties hotKeyProps;
+  private final ObjectMapper mapper;
+  private final AtomicLong iterations = new AtomicLong();
+  private final AtomicLong durationNanos = new AtomicLong();
+
+  /**
+   * Creates a new instance of {@code WarmupRunner}.
+   *
+   * @param props warmup settings
+   * @param redis the Redis template the private lock manager runs on
+   * @param lockProps lock settings
+   * @param hotKeyProps hot-key sketch settings, for the private tracker
+   * @param mapper the application's JSON mapper
+   * @param meters registry receiving the warmup metrics
+   */
+  public WarmupRunner(
+      WarmupProperties props,
+      StringRedisTemplate redis,
+      LockProperties lockProps,
+      HotKeyProperties hotKeyProps,
+      ObjectMapper mapper,
+      MeterRegistry meters) {
+    if (props.getLockNamespace().isEmpty()) {
+      throw new IllegalArgumentException("app.warmup.lock-namespace must not be empty");
+    }
+    this.props = props;
+    this.redis = redis;
+    this.lockProps = lockProps;
+    this.hotKeyProps = hotKeyProps;
+    this.mapper = mapper;
+    Gauge.builder("ticketing.warmup.iterations", iterations, AtomicLong::get)
+        .description("Synthetic ticket lifecycles run before readiness")
+        .register(meters);
+    TimeGauge.builder(
+            "ticketing.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+        .description("Time spent warming up before readiness")
+        .register(meters);
+  }
+
+  /**
+   * Runs the warmup, if enabled. Failures of single iterations are counted and logged, and never
+   * fail the startup. If Redis is unavailable, the warmup stops at the first failure rather than
+   * delay readiness until {@code app.warmup.max-duration-ms}.
+   *
+   * @param args the application arguments (unused)
+   * @throws IOException if the private repository cannot be closed
+   */
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    if (!props.isEnabled() || props.getIterations() <= 0) {
+      return;
+    }
+    var repo =
+        new InMemoryTicketRepository(new RepositoryProperties(), mapper, new SimpleMeterRegistry());
+    var hotKeys = new HotKeyTracker(hotKeyProps);
+    var service =
+        new TicketService(
+            repo,
+            new NamespacedLockManager(new RedisLockManager(redis), props.getLockNamespace()),
+            lockProps,
+            hotKeys,
+            event -> {},
+            AgentLoadBalancer.inMemory(AGENTS));
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(props.getMaxDurationMs());
+    int done = 0;
+    int failures = 0;
+    Exception firstFailure = null;
+    boolean redisDown = false;
+    while (!redisDown && done < props.getIterations() && System.nanoTime() - deadline < 0) {
+      try {
+        lifecycle(service, done);
+      } catch (RuntimeException | IOException e) {
+        failures++;
+        if (firstFailure == null) {
+          firstFailure = e;
+        }
+        redisDown = e instanceof DataAccessException;
+      }
+      done++;
+      iterations.set(done);
+    }
+    durationNanos.set(System.nanoTime() - start);
+    repo.destroy();
+    hotKeys.close();
+    log.info(
+        "Warmup finished: {} of {} iterations in {} ms, {} failed",
+        done,
+        props.getIterations(),
+        TimeUnit.NANOSECONDS.toMillis(durationNanos.get()),
+        failures);
+    if (firstFailure != null) {
+      log.warn("First warmup failure", firstFailure);
+    }
+  }
+
+  private void lifecycle(TicketService service, int i) throws IOException {
+    var request =
+        mapper.readValue(
+            mapper.writeValueAsBytes(
+                new CreateTicketRequest(
+                    "warmup-user-" + (i % 16),
+                    "Warmup ticket " + i,
+                    "Synthetic ticket created before readiness",
+                    PRIORITIES[i % PRIORITIES.length])),
+            CreateTicketRequest.class);
+    Ticket t =
+        service.create(
+            request.userId(), request.subject(), request.description(), request.priority(), i % 4 == 0);
+    respond(service.get(t.getTicketId()));
+    // claims this ticket unless it was auto-assigned, in which case there is nothing to claim
+    service.claim(AGENTS.get(i % AGENTS.size())).ifPresent(this::respondUnchecked);
+    respond(service.assign(t.getTicketId(), AGENTS.get((i + 1) % AGENTS.size())));
+    respond(service.updateStatus(t.getTicketId(), TicketStatus.IN_PROGRESS));
+    var patch =
+        mapper.readValue(
+            "{\"subject\":\"Warmup ticket " + i + " (edited)\",\"status\":\"RESOLVED\"}",
+            PatchTicketRequest.class);
+    respond(service.patch(t.getTicketId(), patch.toPatch()));
+    respond(service.patch(t.getTicketId(), new TicketPatch(null, TicketStatus.OPEN, null, null)));
+    respond(service.updateStatus(t.getTicketId(), TicketStatus.CLOSED));
+    if (i % 8 == 0) {
+      mapper.writeValueAsBytes(service.search("warmup ticket*", null, 10).tickets());
+      mapper.writeValueAsBytes(service.stats());
+    }
+  }
+
+  private void respond(Ticket t) throws IOException {
+    mapper.writeValueAsBytes(TicketResponse.from(t));
+  }
+
+  private void respondUnchecked(Ticket t) {
+    try {
+      respond(t);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
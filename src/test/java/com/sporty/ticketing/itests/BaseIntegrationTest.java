@@ -14,9 +14,11 @@ import org.springframework.test.context.*;
  * Responsibilities:
  * <ul>
  *   <li>Boots the Spring Boot application on a random port.</li>
- *   <li>Starts a Redis Testcontainer (configured in {@link RedisTC}).</li>
+ *   <li>Starts a Redis Testcontainer (configured in {@link RedisTC}), or the in-process
+ *       stand-in ({@link EmbeddedRedis}) if the {@code it.redis} system property is
+ *       {@code embedded}.</li>
  *   <li>Registers dynamic Spring properties so the application uses
- *       the container's Redis host and mapped port.</li>
+ *       that Redis host and port.</li>
  *   <li>Provides a preconfigured {@link TestRestTemplate} that supports HTTP PATCH.</li>
  * </ul>
  * </p>
@@ -25,6 +27,12 @@ import org.springframework.test.context.*;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public abstract class BaseIntegrationTest {
 
+    /**
+     * Whether the tests run against the in-process Redis stand-in instead of a container,
+     * set with {@code ./gradlew integrationTest -PitRedis=embedded}.
+     */
+    static final boolean EMBEDDED_REDIS = "embedded".equals(System.getProperty("it.redis"));
+
     @LocalServerPort
     protected int port;
 
@@ -37,10 +45,16 @@ public abstract class BaseIntegrationTest {
     );
 
     /**
-     * Configures Spring Boot to use the Redis Testcontainer's host and mapped port.
+     * Configures Spring Boot to use the Redis Testcontainer's host and mapped port,
+     * or the embedded server's.
      */
     @DynamicPropertySource
     static void redisProps(DynamicPropertyRegistry r) {
+        if (EMBEDDED_REDIS) {
+            r.add("spring.data.redis.host", () -> EmbeddedRedis.SERVER.getHost());
+            r.add("spring.data.redis.port", () -> EmbeddedRedis.SERVER.getPort());
+            return;
+        }
         r.add("spring.data.redis.host", () -> RedisTC.REDIS.getHost());
         r.add("spring.data.redis.port", () -> RedisTC.REDIS.getMappedPort(RedisTC.REDIS_PORT));
     }
@@ -0,0 +1,33 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.embedded.EmbeddedRedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Singleton-style holder for the in-process Redis stand-in, used instead of {@link RedisTC} when
+ * the integration tests run without Docker ({@code ./gradlew integrationTest -PitRedis=embedded}).
+ * <p>
+ * Like the container, the server is started once for the entire test run, on a free port, and
+ * shared by all tests.
+ * </p>
+ */
+public final class EmbeddedRedis {
+
+    /** The server instance, started on first use. */
+    public static final EmbeddedRedisServer SERVER = start();
+
+    private static EmbeddedRedisServer start() {
+        try {
+            var server = new EmbeddedRedisServer(0).start();
+            System.out.println("Embedded Redis started on: " + server.getHost() + ":" + server.getPort());
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Private constructor to prevent instantiation. */
+    private EmbeddedRedis() {}
+}
@@ -0,0 +1,109 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.lock.LockManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link LockManager} decorator for stress tests that makes lock holders misbehave.
+ * <p>
+ * Two faults are injected at random:
+ * <ul>
+ *   <li><b>Slow holders</b> — after a lock is acquired, the holder stalls for up to
+ *   {@code maxSlowHold} before it continues, so contenders queue up and time out. The stall must
+ *   stay well below the lock TTL.</li>
+ *   <li><b>Expired leases</b> — before a lock is released, the holder stalls for
+ *   {@code releaseStall}, longer than the TTL, so the lock expires and another holder can take
+ *   it. The late release is then made synchronously, and its result is checked: it must not
+ *   delete the lock, which by then is gone or owned by someone else.</li>
+ * </ul>
+ * A lease expiring between re-reading the ticket and saving it is injected by
+ * {@link FaultInjectingTicketRepository}.
+ */
+final class FaultInjectingLockManager implements LockManager {
+
+    private final LockManager delegate;
+    private final double slowHolderRate;
+    private final long maxSlowHoldNanos;
+    private final double expiredLeaseRate;
+    private final long releaseStallNanos;
+
+    private final LongAdder slowHolds = new LongAdder();
+    private final LongAdder expiredLeases = new LongAdder();
+    private final LongAdder staleReleasesAccepted = new LongAdder();
+
+    /**
+     * Creates a new instance of {@code FaultInjectingLockManager}.
+     *
+     * @param delegate         the lock manager holding the locks
+     * @param slowHolderRate   probability that a holder stalls after acquiring
+     * @param maxSlowHold      longest stall after acquiring; shorter than the lock TTL
+     * @param expiredLeaseRate probability that a holder stalls before releasing
+     * @param releaseStall     stall before releasing; longer than the lock TTL
+     */
+    FaultInjectingLockManager(
+            LockManager delegate,
+            double slowHolderRate,
+            Duration maxSlowHold,
+            double expiredLeaseRate,
+            Duration releaseStall) {
+        this.delegate = delegate;
+        this.slowHolderRate = slowHolderRate;
+        this.maxSlowHoldNanos = maxSlowHold.toNanos();
+        this.expiredLeaseRate = expiredLeaseRate;
+        this.releaseStallNanos = releaseStall.toNanos();
+    }
+
+    @Override
+    public Optional<String> tryLock(String key, Duration ttl) {
+        var token = delegate.tryLock(key, ttl);
+        var random = ThreadLocalRandom.current();
+        if (token.isPresent() && random.nextDouble() < slowHolderRate) {
+            slowHolds.increment();
+            LockSupport.parkNanos(random.nextLong(maxSlowHoldNanos));
+        }
+        return token;
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        return delegate.unlock(key, token);
+    }
+
+    @Override
+    public void unlockLater(String key, String token) {
+        if (ThreadLocalRandom.current().nextDouble() >= expiredLeaseRate) {
+            delegate.unlockLater(key, token);
+            return;
+        }
+        expiredLeases.increment();
+        LockSupport.parkNanos(releaseStallNanos);
+        if (delegate.unlock(key, token)) {
+            staleReleasesAccepted.increment();
+        }
+    }
+
+    @Override
+    public void onAcquireAttempts(String key, int attempts, long waitNanos, boolean acquired) {
+        delegate.onAcquireAttempts(key, attempts, waitNanos, acquired);
+    }
+
+    /** Returns how many holders stalled after acquiring. */
+    long slowHolds() {
+        return slowHolds.sum();
+    }
+
+    /** Returns how many holders stalled past the TTL before releasing. */
+    long expiredLeases() {
+        return expiredLeases.sum();
+    }
+
+    /** Returns how many releases after an expired lease still deleted a lock; must be zero. */
+    long staleReleasesAccepted() {
+        return staleReleasesAccepted.sum();
+    }
+}
@@ -0,0 +1,86 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.repo.TicketRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TicketRepository} decorator for stress tests that makes lock holders stall before they
+ * save.
+ * <p>
+ * Complements {@link FaultInjectingLockManager}: some holders stall for {@code saveStall}, longer
+ * than the lock TTL, between re-reading the ticket under the lock and saving it, so the lock
+ * expires and another holder can re-read and save the same ticket first. The late save is fenced
+ * by the ticket version ({@link TicketRepository#saveIfVersion}); when it is refused, it is counted
+ * here. Every other call is passed through unchanged.
+ */
+final class FaultInjectingTicketRepository implements InvocationHandler {
+
+    private final TicketRepository delegate;
+    private final double stalledSaveRate;
+    private final long saveStallNanos;
+
+    private final LongAdder stalledSaves = new LongAdder();
+    private final LongAdder refusedSaves = new LongAdder();
+
+    private FaultInjectingTicketRepository(TicketRepository delegate, double stalledSaveRate, Duration saveStall) {
+        this.delegate = delegate;
+        this.stalledSaveRate = stalledSaveRate;
+        this.saveStallNanos = saveStall.toNanos();
+    }
+
+    /**
+     * Creates the fault injector for {@code delegate}.
+     *
+     * @param delegate        the repository storing the tickets
+     * @param stalledSaveRate probability that a holder stalls before a fenced save
+     * @param saveStall       stall before saving; longer than the lock TTL
+     * @return the fault injector; {@link #repository()} returns the decorated repository
+     */
+    static FaultInjectingTicketRepository of(TicketRepository delegate, double stalledSaveRate, Duration saveStall) {
+        return new FaultInjectingTicketRepository(delegate, stalledSaveRate, saveStall);
+    }
+
+    /** Returns the decorated repository, to be used in place of the delegate. */
+    TicketRepository repository() {
+        return (TicketRepository) Proxy.newProxyInstance(
+                TicketRepository.class.getClassLoader(), new Class<?>[] {TicketRepository.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        boolean stalled = method.getName().equals("saveIfVersion")
+                && ThreadLocalRandom.current().nextDouble() < stalledSaveRate;
+        if (stalled) {
+            stalledSaves.increment();
+            LockSupport.parkNanos(saveStallNanos);
+        }
+        Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (stalled && Boolean.FALSE.equals(result)) {
+            refusedSaves.increment();
+        }
+        return result;
+    }
+
+    /** Returns how many holders stalled past the TTL before saving. */
+    long stalledSaves() {
+        return stalledSaves.sum();
+    }
+
+    /** Returns how many of the stalled saves were refused because another holder saved first. */
+    long refusedSaves() {
+        return refusedSaves.sum();
+    }
+}
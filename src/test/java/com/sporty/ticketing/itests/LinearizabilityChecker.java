@@ -0,0 +1,177 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.itests.OperationHistory.Kind;
+import com.sporty.ticketing.itests.OperationHistory.Op;
+import com.sporty.ticketing.itests.OperationHistory.Outcome;
+import com.sporty.ticketing.itests.OperationHistory.TicketState;
+import com.sporty.ticketing.model.TicketStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Checks an {@link OperationHistory} for linearizability against a sequential model of a ticket.
+ * <p>
+ * A history is linearizable if every successful operation can be given a point in time between
+ * its invocation and its completion such that, applied in that order to the sequential model, each
+ * one is allowed and returns exactly the state the client received. Rejected operations had no
+ * effect and are dropped; operations with an unknown outcome may be placed anywhere after their
+ * invocation, or left out.
+ * <p>
+ * Tickets are independent objects, and linearizability is local: the history is linearizable if
+ * the sub-history of every ticket is. Each ticket is therefore checked on its own, with the
+ * Wing &amp; Gong search and Lowe's memoization of (linearized set, model state) pairs.
+ * <p>
+ * The sequential model follows {@link com.sporty.ticketing.model.Ticket}: a create yields an
+ * unassigned {@code OPEN} ticket; an assignment always succeeds; a status change succeeds if it
+ * is a no-op or {@link TicketStatus#canTransitionTo allowed}; a read returns the current state.
+ */
+final class LinearizabilityChecker {
+
+    /** Upper bound on explored search states per ticket, so that a pathological history fails instead of hanging. */
+    private static final int MAX_STATES = 500_000;
+
+    private LinearizabilityChecker() {
+    }
+
+    /**
+     * Checks every ticket of the history.
+     *
+     * @param ops the recorded operations, in any order
+     * @return a description of each ticket whose history is not linearizable (empty if all are)
+     */
+    static List<String> check(List<Op> ops) {
+        Map<UUID, List<Op>> byTicket = ops.stream()
+                .filter(op -> op.ticketId() != null && op.outcome() != Outcome.FAILED)
+                .collect(Collectors.groupingBy(Op::ticketId, LinkedHashMap::new, Collectors.toList()));
+        var violations = new ArrayList<String>();
+        byTicket.forEach((id, history) -> {
+            var sorted = new ArrayList<>(history);
+            sorted.sort(Comparator.comparingLong(Op::invokedNanos));
+            var search = new Search(sorted);
+            if (!search.run()) {
+                violations.add(describe(id, sorted, search.exhausted));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Applies one operation to the sequential model.
+     *
+     * @param state the ticket state, or {@code null} before the ticket exists
+     * @param op    the operation
+     * @return the state after the operation, or {@code null} if the operation cannot succeed in {@code state}
+     */
+    @Nullable
+    static TicketState step(@Nullable TicketState state, Op op) {
+        if (op.kind() == Kind.CREATE) {
+            return state == null ? new TicketState(TicketStatus.OPEN, null) : null;
+        }
+        if (state == null) {
+            return null;
+        }
+        return switch (op.kind()) {
+            case ASSIGN -> new TicketState(state.status(), op.agent());
+            case STATUS -> op.status() == state.status() || state.status().canTransitionTo(op.status())
+                    ? new TicketState(op.status(), state.assigneeId())
+                    : null;
+            case READ -> state;
+            case CREATE -> throw new AssertionError();
+        };
+    }
+
+    /** Depth-first search for a linearization of one ticket's history. */
+    private static final class Search {
+
+        private final List<Op> ops;
+        private final long[] invoked;
+        private final long[] completed;
+        private final int okCount;
+        private final Set<Visited> visited = new HashSet<>();
+        private boolean exhausted;
+
+        private record Visited(BitSet linearized, @Nullable TicketState state) {
+        }
+
+        Search(List<Op> ops) {
+            this.ops = ops;
+            this.invoked = new long[ops.size()];
+            this.completed = new long[ops.size()];
+            int ok = 0;
+            for (int i = 0; i < ops.size(); i++) {
+                var op = ops.get(i);
+                invoked[i] = op.invokedNanos();
+                // an operation with unknown outcome may take effect at any later time
+                completed[i] = op.outcome() == Outcome.OK ? op.completedNanos() : Long.MAX_VALUE;
+                if (op.outcome() == Outcome.OK) {
+                    ok++;
+                }
+            }
+            this.okCount = ok;
+        }
+
+        boolean run() {
+            return search(new BitSet(ops.size()), 0, null);
+        }
+
+        private boolean search(BitSet linearized, int okLinearized, @Nullable TicketState state) {
+            if (okLinearized == okCount) {
+                return true;
+            }
+            if (visited.size() >= MAX_STATES) {
+                exhausted = true;
+                return false;
+            }
+            if (!visited.add(new Visited((BitSet) linearized.clone(), state))) {
+                return false;
+            }
+            // the next operation must have been invoked before every remaining operation completed
+            long horizon = Long.MAX_VALUE;
+            for (int i = linearized.nextClearBit(0); i < ops.size(); i = linearized.nextClearBit(i + 1)) {
+                horizon = Math.min(horizon, completed[i]);
+            }
+            for (int i = linearized.nextClearBit(0); i < ops.size() && invoked[i] <= horizon;
+                    i = linearized.nextClearBit(i + 1)) {
+                var op = ops.get(i);
+                var next = step(state, op);
+                if (next == null || (op.outcome() == Outcome.OK && !next.equals(op.result()))) {
+                    continue;
+                }
+                linearized.set(i);
+                boolean ok = op.outcome() == Outcome.OK;
+                if (search(linearized, okLinearized + (ok ? 1 : 0), next)) {
+                    return true;
+                }
+                linearized.clear(i);
+                if (exhausted) {
+                    return false;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static String describe(UUID id, List<Op> ops, boolean exhausted) {
+        long origin = ops.get(0).invokedNanos();
+        var sb = new StringBuilder("Ticket ").append(id)
+                .append(exhausted ? ": search limit of " + MAX_STATES + " states reached" : ": not linearizable")
+                .append(System.lineSeparator());
+        for (Op op : ops) {
+            sb.append(String.format("  [%9.3f ms .. %s] %s%n",
+                    (op.invokedNanos() - origin) / 1e6,
+                    op.outcome() == Outcome.OK ? String.format("%9.3f ms", (op.completedNanos() - origin) / 1e6) : "        ?   ",
+                    op));
+        }
+        return sb.toString();
+    }
+}
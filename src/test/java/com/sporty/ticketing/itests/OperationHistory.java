@@ -0,0 +1,185 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.model.TicketStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Thread-safe recorder of the operations issued by the clients of a stress test, for
+ * {@link LinearizabilityChecker}.
+ * <p>
+ * Each operation is recorded with the client-side times at which it was invoked and completed,
+ * and with its outcome:
+ * <ul>
+ *   <li>{@link Outcome#OK} — the server returned the ticket; the returned status and assignee are
+ *   kept as the result.</li>
+ *   <li>{@link Outcome#FAILED} — the server rejected the call (409); it had no effect.</li>
+ *   <li>{@link Outcome#UNKNOWN} — no usable answer (I/O error, 5xx); the call may or may not have
+ *   taken effect, at any time after it was invoked.</li>
+ * </ul>
+ */
+final class OperationHistory {
+
+    /** The operations issued against a ticket. */
+    enum Kind { CREATE, ASSIGN, STATUS, READ }
+
+    /** What the client learned about an operation. */
+    enum Outcome { OK, FAILED, UNKNOWN }
+
+    /**
+     * The state of a ticket that the operations can observe and change.
+     *
+     * @param status     current status
+     * @param assigneeId assigned agent, or {@code null}
+     */
+    record TicketState(TicketStatus status, @Nullable String assigneeId) {
+    }
+
+    /**
+     * One recorded operation.
+     *
+     * @param client         the issuing client, {@code -1} for the test itself
+     * @param ticketId       the target ticket; for a create, the created ticket ({@code null} if unknown)
+     * @param kind           the operation
+     * @param agent          the agent of an {@link Kind#ASSIGN}, otherwise {@code null}
+     * @param status         the target status of a {@link Kind#STATUS}, otherwise {@code null}
+     * @param invokedNanos   {@link System#nanoTime()} before the request was sent
+     * @param completedNanos {@link System#nanoTime()} after the response was read
+     * @param outcome        the outcome
+     * @param result         the returned state if {@link Outcome#OK}, otherwise {@code null}
+     */
+    record Op(
+            int client,
+            @Nullable UUID ticketId,
+            Kind kind,
+            @Nullable String agent,
+            @Nullable TicketStatus status,
+            long invokedNanos,
+            long completedNanos,
+            Outcome outcome,
+            @Nullable TicketState result) {
+
+        @Override
+        public String toString() {
+            String arg = kind == Kind.ASSIGN ? "(" + agent + ")" : kind == Kind.STATUS ? "(" + status + ")" : "()";
+            return "client " + client + " " + kind + arg + " -> " + (outcome == Outcome.OK ? result : outcome);
+        }
+    }
+
+    /**
+     * An operation that has been invoked and not yet recorded; complete it with exactly one of
+     * {@link #ok}, {@link #failed()} or {@link #unknown()}.
+     */
+    final class Call {
+
+        private final int client;
+        @Nullable
+        private final UUID ticketId;
+        private final Kind kind;
+        @Nullable
+        private final String agent;
+        @Nullable
+        private final TicketStatus status;
+        private final long invokedNanos = System.nanoTime();
+
+        private Call(int client, @Nullable UUID ticketId, Kind kind, @Nullable String agent, @Nullable TicketStatus status) {
+            this.client = client;
+            this.ticketId = ticketId;
+            this.kind = kind;
+            this.agent = agent;
+            this.status = status;
+        }
+
+        /**
+         * Records a successful call.
+         *
+         * @param returnedId the ID of the returned ticket
+         * @param result     the returned status and assignee
+         */
+        void ok(UUID returnedId, TicketState result) {
+            record(Objects.requireNonNull(returnedId, "returnedId"), Outcome.OK, result);
+        }
+
+        /** Records a call the server rejected without effect. */
+        void failed() {
+            record(ticketId, Outcome.FAILED, null);
+        }
+
+        /** Records a call whose effect is unknown. */
+        void unknown() {
+            record(ticketId, Outcome.UNKNOWN, null);
+        }
+
+        private void record(@Nullable UUID id, Outcome outcome, @Nullable TicketState result) {
+            ops.add(new Op(client, id, kind, agent, status, invokedNanos, System.nanoTime(), outcome, result));
+        }
+    }
+
+    /**
+     * Counts and latencies of the recorded operations.
+     *
+     * @param ok       number of successful operations
+     * @param failed   number of rejected operations
+     * @param unknown  number of operations with unknown effect
+     * @param p50Nanos median latency
+     * @param p99Nanos 99th percentile latency
+     */
+    record Summary(long ok, long failed, long unknown, long p50Nanos, long p99Nanos) {
+
+        long total() {
+            return ok + failed + unknown;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Op> ops = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Starts recording an operation; the invocation time is taken now.
+     *
+     * @param client   the issuing client
+     * @param kind     the operation
+     * @param ticketId the target ticket, {@code null} for a create
+     * @param agent    the agent of an assignment, otherwise {@code null}
+     * @param status   the target status of a status change, otherwise {@code null}
+     * @return the call to complete once the response is known
+     */
+    Call invoke(int client, Kind kind, @Nullable UUID ticketId, @Nullable String agent, @Nullable TicketStatus status) {
+        return new Call(client, ticketId, kind, agent, status);
+    }
+
+    /**
+     * Returns the operations recorded so far.
+     *
+     * @return a snapshot of the history, in completion order
+     */
+    List<Op> operations() {
+        return List.copyOf(ops);
+    }
+
+    /**
+     * Summarizes the operations issued by clients, i.e. not by the test itself.
+     *
+     * @return counts per outcome and latency percentiles
+     */
+    Summary summary() {
+        var selected = ops.stream().filter(op -> op.client() >= 0).toList();
+        long[] latencies = selected.stream().mapToLong(op -> op.completedNanos() - op.invokedNanos()).sorted().toArray();
+        return new Summary(
+                selected.stream().filter(op -> op.outcome() == Outcome.OK).count(),
+                selected.stream().filter(op -> op.outcome() == Outcome.FAILED).count(),
+                selected.stream().filter(op -> op.outcome() == Outcome.UNKNOWN).count(),
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
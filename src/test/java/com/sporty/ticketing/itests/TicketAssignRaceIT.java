@@ -14,9 +14,9 @@ import static org.assertj.core.api.Assertions.*;
  * Integration test verifying distributed locking behavior during concurrent ticket assignment.
  *
  * <p>This scenario simulates a race condition where two different agents attempt to assign
- * the same ticket at exactly the same time. The system uses a Redis-backed {@code LockManager}
- * to ensure that only one of the competing requests succeeds, while the other must fail
- * with HTTP 409 (Conflict).</p>
+ * the same ticket at exactly the same time. The competing updates are serialized (by the
+ * Redis-backed {@code LockManager}, or by the atomic update of the snapshot repository), so
+ * both succeed one after the other and neither overwrites a state it has not seen.</p>
  *
  * <p>Test flow:</p>
  * <ol>
@@ -24,24 +24,25 @@ import static org.assertj.core.api.Assertions.*;
  *   <li>Prepare two {@code PATCH /tickets/{id}/assign} requests with different assignee IDs.</li>
  *   <li>Trigger both requests concurrently using {@link ExecutorService} and {@link CountDownLatch}
  *       to ensure near-simultaneous start.</li>
- *   <li>Verify that exactly one request completes successfully (HTTP 200) and exactly one fails with 409 Conflict.</li>
- *   <li>Fetch the winner response and assert that the assigned agent is either "agent-A" or "agent-B".</li>
+ *   <li>Verify that both requests complete successfully (HTTP 200) with consecutive versions.</li>
+ *   <li>Fetch the ticket and assert that it holds the assignee of the later version.</li>
  * </ol>
  *
- * <p>This test ensures correctness of concurrency control and verifies that Redis-based locking
- * works as expected under contention.</p>
+ * <p>This test ensures correctness of concurrency control: no update is lost, whichever
+ * repository mode is used.</p>
  */
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 public class TicketAssignRaceIT extends BaseIntegrationTest {
 
     @Test
-    void twoConcurrentAssigns_oneWins_other409() throws Exception {
+    void twoConcurrentAssigns_areSerialized_lastOneWins() throws Exception {
         // create ticket
         var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
         ResponseEntity<TicketResponse> created =
                 http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
         assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
         UUID id = created.getBody().ticketId();
+        long version = created.getBody().version();
 
         // prepare two concurrent PATCH /assign calls
         var reqA = new HttpEntity<>(new AssignRequest("agent-A"));
@@ -71,16 +72,16 @@ public class TicketAssignRaceIT extends BaseIntegrationTest {
 
         pool.shutdownNow();
 
-        // assert: exactly one OK, one 409
-        long ok = List.of(r1, r2).stream().filter(r -> r.getStatusCode().is2xxSuccessful()).count();
-        long conflict = List.of(r1, r2).stream().filter(r -> r.getStatusCode().value() == 409).count();
+        // assert: both OK, applied one after the other
+        assertThat(r1.getStatusCode().value()).isEqualTo(200);
+        assertThat(r2.getStatusCode().value()).isEqualTo(200);
+        assertThat(List.of(r1.getBody().version(), r2.getBody().version()))
+                .containsExactlyInAnyOrder(version + 1, version + 2);
 
-        assertThat(ok).isEqualTo(1);
-        assertThat(conflict).isEqualTo(1);
-
-        // fetch the winner to verify single assignee
-        ResponseEntity<TicketResponse> winner = r1.getStatusCode().is2xxSuccessful() ? r1 : r2;
-        String assigned = winner.getBody().assigneeId();
-        assertThat(assigned).isIn("agent-A", "agent-B");
+        // fetch the ticket: it holds the later assignment
+        ResponseEntity<TicketResponse> last = r1.getBody().version() > r2.getBody().version() ? r1 : r2;
+        TicketResponse stored = http.getForObject(url("/tickets/" + id), TicketResponse.class);
+        assertThat(stored.version()).isEqualTo(version + 2);
+        assertThat(stored.assigneeId()).isEqualTo(last.getBody().assigneeId());
     }
 }
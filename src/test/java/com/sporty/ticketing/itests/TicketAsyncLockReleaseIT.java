@@ -0,0 +1,124 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.lock.LockManager;
+import com.sporty.ticketing.lock.PipelinedLockReleaser;
+import com.sporty.ticketing.service.TicketService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Integration test for background lock release ({@code app.lock.async-release.enabled}).
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Back-to-back updates of the same tickets from several threads all succeed: each release
+ *       reaches Redis before the next request's lock wait runs out.</li>
+ *   <li>No lock is left behind once the updates are done.</li>
+ *   <li>A queued release with a stale token does not delete the lock of the current owner.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = "app.lock.async-release.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketAsyncLockReleaseIT extends BaseIntegrationTest {
+
+    private static final int TICKETS = 8;
+    private static final int THREADS_PER_TICKET = 2;
+    private static final int UPDATES_PER_THREAD = 10;
+
+    @Autowired
+    StringRedisTemplate redis;
+
+    @Autowired
+    LockManager locks;
+
+    @Autowired
+    PipelinedLockReleaser releaser;
+
+    @Test
+    void backToBackUpdates_allSucceed_andLeaveNoLocks() throws Exception {
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < TICKETS; i++) {
+            ids.add(createTicket());
+        }
+
+        var tasks = new ArrayList<Callable<Integer>>();
+        for (UUID id : ids) {
+            for (int t = 0; t < THREADS_PER_TICKET; t++) {
+                String agent = "agent-" + t;
+                tasks.add(() -> {
+                    int ok = 0;
+                    for (int u = 0; u < UPDATES_PER_THREAD; u++) {
+                        // alternate the assignee so that every update is a real change
+                        var req = new AssignRequest(agent + "-" + (u % 2));
+                        ResponseEntity<TicketResponse> res = http.exchange(
+                                url("/tickets/" + id + "/assign"), HttpMethod.PATCH, new HttpEntity<>(req), TicketResponse.class);
+                        if (res.getStatusCode().is2xxSuccessful()) {
+                            ok++;
+                        }
+                    }
+                    return ok;
+                });
+            }
+        }
+        try (var pool = Executors.newFixedThreadPool(tasks.size())) {
+            int ok = 0;
+            for (Future<Integer> f : pool.invokeAll(tasks)) {
+                ok += f.get(30, TimeUnit.SECONDS);
+            }
+            Assertions.assertThat(ok).isEqualTo(tasks.size() * UPDATES_PER_THREAD);
+        }
+
+        awaitReleased(ids.stream().map(id -> TicketService.LOCK_PREFIX + id).toList());
+    }
+
+    @Test
+    void staleRelease_keepsCurrentOwnersLock() {
+        String key = TicketService.LOCK_PREFIX + UUID.randomUUID();
+        String token = locks.tryLock(key, Duration.ofSeconds(10)).orElseThrow();
+
+        Assertions.assertThat(releaser.submit(key, "stale-token")).isTrue();
+        Assertions.assertThat(releaser.submit(key, token)).isTrue();
+
+        // both releases are flushed in order: only the second one deletes the lock
+        awaitReleased(List.of(key));
+
+        String next = locks.tryLock(key, Duration.ofSeconds(10)).orElseThrow();
+        Assertions.assertThat(releaser.submit(key, token)).isTrue();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+        Assertions.assertThat(redis.opsForValue().get(key)).isEqualTo(next);
+        locks.unlock(key, next);
+    }
+
+    private UUID createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        return http.postForEntity(url("/tickets"), createReq, TicketResponse.class).getBody().ticketId();
+    }
+
+    private void awaitReleased(List<String> keys) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (redis.countExistingKeys(keys) > 0) {
+            Assertions.assertThat(System.nanoTime() - deadline).as("locks released").isNegative();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+    }
+}
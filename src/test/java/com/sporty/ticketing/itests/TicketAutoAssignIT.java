@@ -0,0 +1,111 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Integration test for auto-assignment to the least-loaded agent.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Tickets created with {@code autoAssign=true} and auto-assigned later go to the agent with
+ *   the fewest open or in-progress tickets, ties broken by agent ID.</li>
+ *   <li>Closing tickets and manual re-assignments lower the previous agent's load.</li>
+ *   <li>Resolved or closed tickets cannot be auto-assigned.</li>
+ *   <li>Concurrent auto-assignments spread evenly over the agents.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = "app.assign.agents=agent-a,agent-b,agent-c")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketAutoAssignIT extends BaseIntegrationTest {
+
+    @Test
+    void autoAssign_picksLeastLoadedAgent() throws Exception {
+        TicketResponse a1 = create(true);
+        Assertions.assertThat(a1.assigneeId()).isEqualTo("agent-a");
+        Assertions.assertThat(create(true).assigneeId()).isEqualTo("agent-b");
+        TicketResponse c1 = create(true);
+        Assertions.assertThat(c1.assigneeId()).isEqualTo("agent-c");
+
+        TicketResponse a2 = autoAssign(create(false).ticketId());
+        Assertions.assertThat(a2.assigneeId()).isEqualTo("agent-a");
+
+        // agent-a drops to 0 open tickets
+        updateStatus(a1.ticketId(), TicketStatus.CLOSED);
+        updateStatus(a2.ticketId(), TicketStatus.RESOLVED);
+        Assertions.assertThat(create(true).assigneeId()).isEqualTo("agent-a");
+
+        // moving agent-c's ticket to agent-b leaves agent-c with the lowest load
+        patch(c1.ticketId(), "/assign", new AssignRequest("agent-b"));
+        Assertions.assertThat(autoAssign(create(false).ticketId()).assigneeId()).isEqualTo("agent-c");
+
+        ResponseEntity<String> closed = http.postForEntity(
+                url("/tickets/" + a1.ticketId() + "/auto-assign"), null, String.class);
+        Assertions.assertThat(closed.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        // loads are now a=1, b=2, c=1; 29 more tickets must end up 11/11/11
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<TicketResponse>>();
+            for (int i = 0; i < 29; i++) {
+                futures.add(pool.submit(() -> create(true)));
+            }
+            for (Future<TicketResponse> f : futures) {
+                Assertions.assertThat(f.get().assigneeId()).startsWith("agent-");
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Map<String, Map<TicketStatus, Long>> byAssignee =
+                http.getForObject(url("/tickets/stats"), TicketStats.class).byAssignee();
+        for (String agent : List.of("agent-a", "agent-b", "agent-c")) {
+            Map<TicketStatus, Long> counts = byAssignee.get(agent);
+            Assertions.assertThat(counts.getOrDefault(TicketStatus.OPEN, 0L)).as(agent).isEqualTo(11L);
+        }
+    }
+
+    private TicketResponse create(boolean autoAssign) {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        ResponseEntity<TicketResponse> created = http.postForEntity(
+                url("/tickets?autoAssign=" + autoAssign), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return created.getBody();
+    }
+
+    private TicketResponse autoAssign(UUID id) {
+        ResponseEntity<TicketResponse> res =
+                http.postForEntity(url("/tickets/" + id + "/auto-assign"), null, TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return res.getBody();
+    }
+
+    private void updateStatus(UUID id, TicketStatus status) {
+        patch(id, "/status", new UpdateStatusRequest(status));
+    }
+
+    private void patch(UUID id, String path, Object body) {
+        ResponseEntity<TicketResponse> res = http.exchange(url("/tickets/" + id + path), HttpMethod.PATCH,
+                new HttpEntity<>(body), TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,167 @@
+package com.sporty.ticketing.itests;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.nio.ByteBuffer;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Integration test for the CBOR and Smile encodings of the ticket API.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Request bodies are decoded by their {@code Content-Type} and responses encoded by the
+ *   {@code Accept} header, for single tickets, projections and list endpoints.</li>
+ *   <li>Binary bodies carry the ticket ID as 16 raw bytes and timestamps as epoch milliseconds,
+ *   and decode to the same ticket as the JSON representation.</li>
+ *   <li>Requests without a binary {@code Accept} header still get JSON.</li>
+ *   <li>A request accepting none of the formats gets {@code 406 Not Acceptable} and leaves the
+ *   ticket unchanged.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketBinaryCodecIT extends BaseIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cbor = binary(new CBORMapper());
+    private final ObjectMapper smile = binary(new SmileMapper());
+
+    @Test
+    void cborRequestAndResponse_useRawUuidsAndEpochMillis() throws Exception {
+        byte[] body = cbor.writeValueAsBytes(
+                new CreateTicketRequest("user-1", "Card declined", "Payment fails at checkout", TicketPriority.HIGH));
+        ResponseEntity<byte[]> created = exchange(HttpMethod.POST, "/tickets", MediaType.APPLICATION_CBOR,
+                body, MediaType.APPLICATION_CBOR_VALUE);
+        Assertions.assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(created.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        Assertions.assertThat(created.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+
+        JsonNode tree = cbor.readTree(created.getBody());
+        UUID id = UUID.fromString(created.getHeaders().getLocation().getPath().substring("/tickets/".length()));
+        Assertions.assertThat(tree.get("ticketId").isBinary()).isTrue();
+        Assertions.assertThat(tree.get("ticketId").binaryValue()).isEqualTo(bytes(id));
+        Assertions.assertThat(tree.get("createdAt").isIntegralNumber()).isTrue();
+
+        TicketResponse ticket = cbor.readValue(created.getBody(), TicketResponse.class);
+        Assertions.assertThat(ticket.ticketId()).isEqualTo(id);
+        Assertions.assertThat(ticket.priority()).isEqualTo(TicketPriority.HIGH);
+
+        ResponseEntity<TicketResponse> json = http.getForEntity(url("/tickets/" + id), TicketResponse.class);
+        Assertions.assertThat(json.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        Assertions.assertThat(ticket.createdAt())
+                .isEqualTo(json.getBody().createdAt().truncatedTo(ChronoUnit.MILLIS));
+        Assertions.assertThat(ticket.subject()).isEqualTo(json.getBody().subject());
+        Assertions.assertThat(ticket.userId()).isEqualTo(json.getBody().userId());
+    }
+
+    @Test
+    void smileUpdatesAndProjections() throws Exception {
+        UUID id = http.postForEntity(url("/tickets"),
+                new CreateTicketRequest("user-2", "Refund", "Refund not received"), TicketResponse.class)
+                .getBody().ticketId();
+
+        ResponseEntity<byte[]> updated = exchange(HttpMethod.PATCH, "/tickets/" + id + "/status", SMILE,
+                smile.writeValueAsBytes(new UpdateStatusRequest(TicketStatus.IN_PROGRESS)), SMILE.toString());
+        Assertions.assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(updated.getHeaders().getContentType()).isEqualTo(SMILE);
+        Assertions.assertThat(smile.readValue(updated.getBody(), TicketResponse.class).status())
+                .isEqualTo(TicketStatus.IN_PROGRESS);
+
+        ResponseEntity<byte[]> projected = exchange(HttpMethod.GET, "/tickets/" + id + "?fields=ticketId,updatedAt",
+                null, null, SMILE + ", application/json;q=0.5");
+        JsonNode tree = smile.readTree(projected.getBody());
+        Assertions.assertThat(tree.size()).isEqualTo(2);
+        Assertions.assertThat(tree.get("ticketId").binaryValue()).isEqualTo(bytes(id));
+        Assertions.assertThat(tree.get("updatedAt").isIntegralNumber()).isTrue();
+    }
+
+    @Test
+    void listEndpoints_negotiateBinaryFormats() throws Exception {
+        UUID id = http.postForEntity(url("/tickets"),
+                new CreateTicketRequest("user-3", "Wallet frozen", "Wallet balance is frozen"), TicketResponse.class)
+                .getBody().ticketId();
+
+        ResponseEntity<byte[]> full = exchange(HttpMethod.GET, "/tickets/search?q=wallet", null, null,
+                MediaType.APPLICATION_CBOR_VALUE);
+        Assertions.assertThat(full.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        JsonNode tickets = cbor.readTree(full.getBody()).get("tickets");
+        Assertions.assertThat(tickets.get(0).get("ticketId").binaryValue()).isEqualTo(bytes(id));
+        Assertions.assertThat(tickets.get(0).get("createdAt").isIntegralNumber()).isTrue();
+
+        ResponseEntity<byte[]> projected = exchange(HttpMethod.GET, "/tickets/changes?since=0&fields=ticketId,status",
+                null, null, MediaType.APPLICATION_CBOR_VALUE);
+        Assertions.assertThat(projected.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        JsonNode changes = cbor.readTree(projected.getBody());
+        Assertions.assertThat(changes.get("tickets").get(0).get("ticketId").isBinary()).isTrue();
+        Assertions.assertThat(changes.get("watermark").isTextual()).isTrue();
+
+        ResponseEntity<String> json = http.getForEntity(url("/tickets/search?q=wallet"), String.class);
+        Assertions.assertThat(json.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        Assertions.assertThat(json.getBody()).contains("\"ticketId\":\"" + id + "\"");
+    }
+
+    @Test
+    void unsupportedAccept_isNotAcceptable_andChangesNothing() {
+        UUID id = http.postForEntity(url("/tickets"),
+                new CreateTicketRequest("user-4", "Bonus missing", "Welcome bonus not credited"), TicketResponse.class)
+                .getBody().ticketId();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_XML_VALUE);
+        ResponseEntity<byte[]> rejected = http.exchange(url("/tickets/" + id + "/status"), HttpMethod.PATCH,
+                new HttpEntity<>(new UpdateStatusRequest(TicketStatus.IN_PROGRESS), headers), byte[].class);
+        Assertions.assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+
+        ResponseEntity<byte[]> search = exchange(HttpMethod.GET, "/tickets/search?q=bonus&fields=ticketId", null, null,
+                MediaType.TEXT_PLAIN_VALUE);
+        Assertions.assertThat(search.getStatusCode()).isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+
+        TicketResponse ticket = http.getForObject(url("/tickets/" + id), TicketResponse.class);
+        Assertions.assertThat(ticket.status()).isEqualTo(TicketStatus.OPEN);
+        Assertions.assertThat(ticket.version()).isZero();
+    }
+
+    private ResponseEntity<byte[]> exchange(HttpMethod method, String path, MediaType contentType, byte[] body,
+                                            String accept) {
+        HttpHeaders headers = new HttpHeaders();
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        headers.set(HttpHeaders.ACCEPT, accept);
+        return http.exchange(url(path), method, new HttpEntity<>(body, headers), byte[].class);
+    }
+
+    private static ObjectMapper binary(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,94 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for the bulk status transition endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Only tickets matching the filter are moved to the target status.</li>
+ *   <li>Tickets that cannot make the transition are reported with their IDs.</li>
+ *   <li>The result ends with the final counts.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketBulkTransitionIT extends BaseIntegrationTest {
+
+    @Test
+    void transition_movesMatchingTickets_andReportsFailures() {
+        String agent = "agent-" + UUID.randomUUID();
+        UUID open = createTicket();
+        UUID closed = createTicket();
+        UUID unassigned = createTicket();
+        assign(open, agent);
+        assign(closed, agent);
+        patch("/tickets/" + closed + "/status", new UpdateStatusRequest(TicketStatus.CLOSED));
+
+        ResponseEntity<String> res = http.postForEntity(
+                url("/tickets/transition"),
+                Map.of("assigneeId", agent, "olderThan", "PT0S", "targetStatus", "IN_PROGRESS"),
+                String.class);
+
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = res.getBody().split("\n");
+        Assertions.assertThat(lines[0]).contains("\"matched\":2");
+        Assertions.assertThat(Arrays.stream(lines).filter(l -> l.contains("\"ticketId\"")))
+                .singleElement().asString()
+                .contains(closed.toString())
+                .contains("Invalid status transition");
+        Assertions.assertThat(lines[lines.length - 1]).isEqualTo(
+                "{\"matched\":2,\"processed\":2,\"transitioned\":1,\"skipped\":0,\"failed\":1,\"done\":true}");
+
+        Assertions.assertThat(status(open)).isEqualTo(TicketStatus.IN_PROGRESS);
+        Assertions.assertThat(status(closed)).isEqualTo(TicketStatus.CLOSED);
+        Assertions.assertThat(status(unassigned)).isEqualTo(TicketStatus.OPEN);
+    }
+
+    @Test
+    void transition_rejectsNegativeAge() {
+        ResponseEntity<Map> res = http.postForEntity(
+                url("/tickets/transition"),
+                Map.of("olderThan", "-P1D", "targetStatus", "CLOSED"),
+                Map.class);
+
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private UUID createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+
+    private void assign(UUID id, String agent) {
+        patch("/tickets/" + id + "/assign", new AssignRequest(agent));
+    }
+
+    private void patch(String path, Object body) {
+        ResponseEntity<TicketResponse> res =
+                http.exchange(url(path), HttpMethod.PATCH, new HttpEntity<>(body), TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private TicketStatus status(UUID id) {
+        return http.getForObject(url("/tickets/" + id), TicketResponse.class).status();
+    }
+}
@@ -0,0 +1,143 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.TicketSearchResponse;
+import com.sporty.ticketing.feed.ChangeFeedHub;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Integration test for the SSE change feed.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Creating and assigning a ticket produce {@code CREATED} and {@code ASSIGNED} events,
+ *       carrying the ticket's version.</li>
+ *   <li>Importing a ticket produces a {@code CREATED} event.</li>
+ *   <li>The {@code assigneeId} filter only passes changes of tickets with that assignee.</li>
+ *   <li>Reconnecting with {@code Last-Event-ID} replays the events after that ID.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketChangeFeedIT extends BaseIntegrationTest {
+
+    @Autowired
+    ChangeFeedHub hub;
+
+    private final HttpClient sse = HttpClient.newHttpClient();
+
+    @Test
+    void changes_arePushed_filtered_andReplayed() throws Exception {
+        BlockingQueue<Map<String, String>> all = subscribe("/tickets/feed", null);
+        BlockingQueue<Map<String, String>> agentX = subscribe("/tickets/feed?assigneeId=agent-X", null);
+
+        UUID id = createTicket();
+        http.exchange(url("/tickets/" + id + "/assign"), HttpMethod.PATCH,
+                new HttpEntity<>(new AssignRequest("agent-X")), TicketResponse.class);
+
+        Map<String, String> created = nextFor(all, id);
+        Map<String, String> assigned = nextFor(all, id);
+        Assertions.assertThat(created.get("data")).contains("\"type\":\"CREATED\"");
+        Assertions.assertThat(created.get("data")).contains("\"version\":0");
+        Assertions.assertThat(assigned.get("data"))
+                .contains("\"type\":\"ASSIGNED\"", "\"assigneeId\":\"agent-X\"", "\"version\":1");
+
+        Map<String, String> filtered = nextFor(agentX, id);
+        Assertions.assertThat(filtered.get("id")).isEqualTo(assigned.get("id"));
+
+        BlockingQueue<Map<String, String>> resumed = subscribe("/tickets/feed", created.get("id"));
+        Assertions.assertThat(nextFor(resumed, id).get("id")).isEqualTo(assigned.get("id"));
+    }
+
+    @Test
+    void importedTickets_arePublished() throws Exception {
+        BlockingQueue<Map<String, String>> all = subscribe("/tickets/feed", null);
+
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        String body = "{\"userId\":\"user-1\",\"subject\":\"Imported feedcheck\",\"description\":\"...\"}\n";
+        ResponseEntity<String> imported =
+                http.postForEntity(url("/tickets/import"), new HttpEntity<>(body, headers), String.class);
+        Assertions.assertThat(imported.getStatusCode().is2xxSuccessful()).isTrue();
+
+        TicketSearchResponse found = http.getForObject(url("/tickets/search?q=feedcheck"), TicketSearchResponse.class);
+        Assertions.assertThat(found.tickets()).hasSize(1);
+        UUID id = found.tickets().get(0).ticketId();
+
+        Assertions.assertThat(nextFor(all, id).get("data")).contains("\"type\":\"CREATED\"");
+    }
+
+    /** Opens an SSE connection and collects its events (field name to value) in a queue. */
+    private BlockingQueue<Map<String, String>> subscribe(String path, String lastEventId) {
+        var events = new LinkedBlockingQueue<Map<String, String>>();
+        var request = HttpRequest.newBuilder(URI.create(url(path))).header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        var current = new HashMap<String, String>();
+        int subscribers = hub.subscriberCount();
+        sse.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(res -> res.body().forEach(line -> {
+                    if (line.isEmpty()) {
+                        if (current.containsKey("data")) {
+                            events.add(Map.copyOf(current));
+                        }
+                        current.clear();
+                    } else if (!line.startsWith(":")) {
+                        int colon = line.indexOf(':');
+                        current.put(line.substring(0, colon), line.substring(colon + 1));
+                    }
+                }));
+        // changes made before the subscription is registered would not be delivered
+        awaitSubscriberCount(subscribers + 1);
+        return events;
+    }
+
+    private void awaitSubscriberCount(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hub.subscriberCount() < expected) {
+            Assertions.assertThat(System.nanoTime() - deadline).as("SSE subscription registered").isNegative();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    /** Returns the next event about the given ticket, skipping events of other tickets. */
+    private Map<String, String> nextFor(BlockingQueue<Map<String, String>> events, UUID id) throws InterruptedException {
+        while (true) {
+            Map<String, String> event = events.poll(5, TimeUnit.SECONDS);
+            Assertions.assertThat(event).as("event for ticket " + id).isNotNull();
+            if (event.get("data").contains(id.toString())) {
+                return event;
+            }
+        }
+    }
+
+    private UUID createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
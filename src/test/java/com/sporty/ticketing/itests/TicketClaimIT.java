@@ -0,0 +1,133 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Integration test for claiming the next waiting ticket.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Claims return unassigned {@code OPEN} tickets by priority, then age, and assign them to the
+ *   caller; an empty queue answers {@code 204 No Content}.</li>
+ *   <li>Assigned tickets and tickets that moved on are not claimable; an unassigned ticket going
+ *   back to {@code OPEN} is.</li>
+ *   <li>Concurrent claims hand out every ticket exactly once, without conflicts.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketClaimIT extends BaseIntegrationTest {
+
+    @Test
+    void claim_followsPriorityThenAge() throws Exception {
+        UUID low = create(TicketPriority.LOW);
+        UUID normal = create(null);
+        UUID urgent = create(TicketPriority.URGENT);
+        UUID high = create(TicketPriority.HIGH);
+        UUID normalLater = create(TicketPriority.NORMAL);
+
+        List<UUID> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TicketResponse claimed = claim("agent-1").getBody();
+            Assertions.assertThat(claimed.assigneeId()).isEqualTo("agent-1");
+            Assertions.assertThat(claimed.status()).isEqualTo(TicketStatus.OPEN);
+            order.add(claimed.ticketId());
+        }
+        Assertions.assertThat(order).containsExactly(urgent, high, normal, normalLater, low);
+        Assertions.assertThat(claim("agent-1").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    void claim_followsTicketState() {
+        UUID assigned = create(null);
+        patch(assigned, "/assign", new AssignRequest("agent-2"));
+        UUID started = create(null);
+        patch(started, "/status", new UpdateStatusRequest(TicketStatus.IN_PROGRESS));
+        Assertions.assertThat(claim("agent-1").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        patch(started, "/status", new UpdateStatusRequest(TicketStatus.OPEN));
+        Assertions.assertThat(claim("agent-1").getBody().ticketId()).isEqualTo(started);
+        Assertions.assertThat(claim("agent-1").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    void concurrentClaims_handOutEachTicketOnce() throws Exception {
+        Set<UUID> created = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            created.add(create(null));
+        }
+        var claimed = new ConcurrentLinkedQueue<UUID>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int agent = 0; agent < 8; agent++) {
+                String agentId = "agent-" + agent;
+                futures.add(pool.submit(() -> {
+                    while (true) {
+                        ResponseEntity<TicketResponse> res = claim(agentId);
+                        if (res.getStatusCode() == HttpStatus.NO_CONTENT) {
+                            return;
+                        }
+                        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+                        Assertions.assertThat(res.getBody().assigneeId()).isEqualTo(agentId);
+                        claimed.add(res.getBody().ticketId());
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertThat(claimed).hasSize(created.size());
+        Assertions.assertThat(new HashSet<>(claimed)).isEqualTo(created);
+    }
+
+    private ResponseEntity<TicketResponse> claim(String agentId) {
+        return http.postForEntity(url("/tickets/claim"), new AssignRequest(agentId), TicketResponse.class);
+    }
+
+    private void patch(UUID id, String path, Object body) {
+        ResponseEntity<TicketResponse> res = http.exchange(url("/tickets/" + id + path), HttpMethod.PATCH,
+                new HttpEntity<>(body), TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private UUID create(TicketPriority priority) {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...", priority);
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        Assertions.assertThat(created.getBody().priority())
+                .isEqualTo(priority == null ? TicketPriority.NORMAL : priority);
+        try {
+            // distinct creation times, so that age ordering is deterministic
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return created.getBody().ticketId();
+    }
+}
@@ -0,0 +1,89 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.PatchTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for archiving closed tickets to the cold tier of the in-memory store.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Closed tickets past the configured age are archived; other tickets stay hot.</li>
+ *   <li>Exports include archived tickets without bringing them back.</li>
+ *   <li>Reading an archived ticket returns it unchanged and brings it back to the hot tier, where
+ *   it can be updated as usual.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = {
+        "app.repo.archive.enabled=true",
+        "app.repo.archive.closed-age-ms=0",
+        "app.repo.archive.sweep-interval-ms=100",
+        "app.repo.archive.directory=build/tmp/archive-it"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketColdTierIT extends BaseIntegrationTest {
+
+    @Test
+    void closedTickets_areArchived_andRehydratedOnRead() throws Exception {
+        UUID open = createTicket("Login fails");
+        UUID closed = createTicket("Payment stuck");
+        TicketResponse beforeArchive = http.exchange(url("/tickets/" + closed + "/status"), HttpMethod.PATCH,
+                new HttpEntity<>(new UpdateStatusRequest(TicketStatus.CLOSED)), TicketResponse.class).getBody();
+
+        awaitArchiveSize(1);
+
+        String export = http.getForObject(url("/tickets/export"), String.class);
+        Assertions.assertThat(export.split("\n")).hasSize(2);
+        Assertions.assertThat(export).contains(open.toString(), closed.toString());
+        Assertions.assertThat(archiveSize()).isEqualTo(1);
+
+        ResponseEntity<TicketResponse> read = http.getForEntity(url("/tickets/" + closed), TicketResponse.class);
+        Assertions.assertThat(read.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(read.getBody()).isEqualTo(beforeArchive);
+        Assertions.assertThat(archiveSize()).isZero();
+
+        ResponseEntity<TicketResponse> patched = http.exchange(url("/tickets/" + closed), HttpMethod.PATCH,
+                new HttpEntity<>(new PatchTicketRequest(null, null, "Payment stuck (dup)", null)),
+                TicketResponse.class);
+        Assertions.assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(patched.getBody().subject()).isEqualTo("Payment stuck (dup)");
+    }
+
+    private void awaitArchiveSize(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (archiveSize() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertThat(archiveSize()).isEqualTo(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int archiveSize() {
+        Map<String, Object> metric = http.getForObject(url("/actuator/metrics/tickets.archive.size"), Map.class);
+        var measurements = (List<Map<String, Object>>) metric.get("measurements");
+        return ((Number) measurements.get(0).get("value")).intValue();
+    }
+
+    private UUID createTicket(String subject) {
+        var createReq = new CreateTicketRequest("user-1", subject, "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
@@ -0,0 +1,357 @@
+package com.sporty.ticketing.itests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.ticketing.TicketingApplication;
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.itests.OperationHistory.Kind;
+import com.sporty.ticketing.itests.OperationHistory.TicketState;
+import com.sporty.ticketing.lock.LockManager;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.repo.TicketRepository;
+import com.sporty.ticketing.service.TicketService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * High-contention stress test of the ticket locking, checked for linearizability.
+ *
+ * <p>Several application instances run in this JVM against the shared Redis (the container, or the
+ * in-process stand-in with {@code -PitRedis=embedded}), with the Redis-backed repository so that
+ * they share the tickets. Hundreds of clients, one virtual thread each, send a random mix of
+ * creates, assignments and status changes to random instances, concentrated on a few hot
+ * tickets. Every call is recorded in an {@link OperationHistory}.</p>
+ *
+ * <p>Faults are injected while the clients run:</p>
+ * <ul>
+ *   <li>All instances but this test's own wrap their {@link LockManager} in a
+ *   {@link FaultInjectingLockManager}: some holders stall after acquiring, and some stall past
+ *   the lock TTL before releasing, so their lease expires and another instance takes over.</li>
+ *   <li>The same instances wrap their {@link TicketRepository} in a
+ *   {@link FaultInjectingTicketRepository}: some holders stall past the lock TTL between re-reading
+ *   a ticket and saving it, so their save must be fenced by the ticket version.</li>
+ *   <li>A background task takes ticket locks directly in Redis and never releases them, like
+ *   crashed holders; they are freed only by their TTL.</li>
+ * </ul>
+ *
+ * <p>Afterwards each ticket is read once more, and the whole history is checked with
+ * {@link LinearizabilityChecker} against a sequential model of a ticket: a lost update, a stale
+ * response or a transition that bypassed the validation fails the test with the offending
+ * ticket's history. Throughput, outcome counts, latencies and injected faults are printed, so
+ * that changes to {@code LockManager} or {@code TicketService} can be compared on speed and
+ * checked for safety in the same run.</p>
+ */
+@TestPropertySource(properties = {
+        "app.repo.mode=redis",
+        "app.lock.ttl-ms=" + TicketContentionStressIT.LOCK_TTL_MS,
+        "logging.level.org.springframework.data.redis=INFO",
+        "logging.level.io.lettuce.core=INFO"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketContentionStressIT extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketContentionStressIT.class);
+
+    /** Lock TTL of every instance; short, so that expired leases are handed over within the lock wait. */
+    static final int LOCK_TTL_MS = 400;
+
+    /** Instances started in addition to the test's own context. */
+    private static final int EXTRA_INSTANCES = 3;
+
+    private static final int CLIENTS = 200;
+    private static final int OPS_PER_CLIENT = 25;
+    private static final int INITIAL_TICKETS = 40;
+
+    /** Half of the calls go to the first {@value} tickets. */
+    private static final int HOT_TICKETS = 10;
+
+    private static final List<String> AGENTS = List.of("agent-1", "agent-2", "agent-3", "agent-4");
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    @Value("${spring.data.redis.host}")
+    String redisHost;
+
+    @Value("${spring.data.redis.port}")
+    int redisPort;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    @Autowired
+    StringRedisTemplate redis;
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+    private final List<FaultInjectingLockManager> faultyLocks = new CopyOnWriteArrayList<>();
+    private final List<FaultInjectingTicketRepository> faultyRepos = new CopyOnWriteArrayList<>();
+    private final List<String> baseUrls = new ArrayList<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+
+    @BeforeAll
+    void startInstances() {
+        baseUrls.add(url(""));
+        for (int i = 0; i < EXTRA_INSTANCES; i++) {
+            var ctx = new SpringApplicationBuilder(TicketingApplication.class)
+                    .initializers(c -> c.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                        @Override
+                        public Object postProcessAfterInitialization(Object bean, String name) {
+                            if (bean instanceof LockManager locks && "lockManager".equals(name)) {
+                                var faulty = new FaultInjectingLockManager(
+                                        locks,
+                                        0.05, Duration.ofMillis(LOCK_TTL_MS / 10),
+                                        0.02, Duration.ofMillis(LOCK_TTL_MS + 100));
+                                faultyLocks.add(faulty);
+                                return faulty;
+                            }
+                            if (bean instanceof TicketRepository repo) {
+                                var faulty = FaultInjectingTicketRepository.of(
+                                        repo, 0.02, Duration.ofMillis(LOCK_TTL_MS + 100));
+                                faultyRepos.add(faulty);
+                                return faulty.repository();
+                            }
+                            return bean;
+                        }
+                    }))
+                    // command-line arguments, so that they override application.yml
+                    .run("--server.port=0",
+                            "--spring.data.redis.host=" + redisHost,
+                            "--spring.data.redis.port=" + redisPort,
+                            "--app.repo.mode=redis",
+                            "--app.lock.ttl-ms=" + LOCK_TTL_MS,
+                            "--app.warmup.enabled=false",
+                            "--logging.level.org.springframework.data.redis=INFO",
+                            "--logging.level.io.lettuce.core=INFO");
+            instances.add(ctx);
+            baseUrls.add("http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort());
+        }
+    }
+
+    @AfterAll
+    void stopInstances() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void randomConcurrentOperationsOnManyInstances_areLinearizable() throws Exception {
+        var history = new OperationHistory();
+        var tickets = new CopyOnWriteArrayList<UUID>();
+        for (int i = 0; i < INITIAL_TICKETS; i++) {
+            create(history, -1, baseUrls.get(0), tickets);
+        }
+        Assertions.assertThat(tickets).hasSize(INITIAL_TICKETS);
+
+        var running = new AtomicBoolean(true);
+        var crashedHolders = new AtomicLong();
+        var start = new CountDownLatch(1);
+        long startedNanos;
+        long finishedNanos;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var clients = new ArrayList<Future<?>>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientId = c;
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    for (int k = 0; k < OPS_PER_CLIENT; k++) {
+                        randomOperation(history, clientId, tickets);
+                    }
+                    return null;
+                }));
+            }
+            executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    // a holder that takes the lock and dies; only the TTL frees the ticket
+                    UUID id = tickets.get(ThreadLocalRandom.current().nextInt(HOT_TICKETS));
+                    if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(
+                            TicketService.LOCK_PREFIX + id, "crashed-holder", Duration.ofMillis(LOCK_TTL_MS)))) {
+                        crashedHolders.incrementAndGet();
+                    }
+                    TimeUnit.MILLISECONDS.sleep(50);
+                }
+                return null;
+            });
+
+            startedNanos = System.nanoTime();
+            start.countDown();
+            try {
+                for (var f : clients) {
+                    f.get(5, TimeUnit.MINUTES);
+                }
+            } finally {
+                running.set(false);
+            }
+            finishedNanos = System.nanoTime();
+        }
+
+        // a final read of every ticket, after all writes, exposes lost updates
+        for (UUID id : tickets) {
+            read(history, id);
+        }
+
+        long checkStarted = System.nanoTime();
+        List<String> violations = LinearizabilityChecker.check(history.operations());
+        long checkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - checkStarted);
+
+        var summary = history.summary();
+        long runMillis = TimeUnit.NANOSECONDS.toMillis(finishedNanos - startedNanos);
+        long slowHolds = faultyLocks.stream().mapToLong(FaultInjectingLockManager::slowHolds).sum();
+        long expiredLeases = faultyLocks.stream().mapToLong(FaultInjectingLockManager::expiredLeases).sum();
+        long staleReleases = faultyLocks.stream().mapToLong(FaultInjectingLockManager::staleReleasesAccepted).sum();
+        long stalledSaves = faultyRepos.stream().mapToLong(FaultInjectingTicketRepository::stalledSaves).sum();
+        long refusedSaves = faultyRepos.stream().mapToLong(FaultInjectingTicketRepository::refusedSaves).sum();
+        log.info("Contention stress: {} clients on {} instances, {} operations on {} tickets in {} ms ({} ops/s)\n"
+                        + "  outcomes: ok={} conflict={} unknown={}; latency p50={} ms p99={} ms\n"
+                        + "  faults: slow holders={}, expired leases={}, stalled saves={} ({} refused), crashed holders={}\n"
+                        + "  linearizability: {} (checked in {} ms)",
+                CLIENTS, baseUrls.size(), summary.total(), tickets.size(), runMillis,
+                Math.round(summary.total() * 1000.0 / Math.max(1, runMillis)),
+                summary.ok(), summary.failed(), summary.unknown(),
+                String.format("%.1f", summary.p50Nanos() / 1e6), String.format("%.1f", summary.p99Nanos() / 1e6),
+                slowHolds, expiredLeases, stalledSaves, refusedSaves, crashedHolders.get(),
+                violations.isEmpty() ? "ok" : violations.size() + " violations", checkMillis);
+
+        Assertions.assertThat(violations).as("non-linearizable ticket histories").isEmpty();
+        Assertions.assertThat(staleReleases).as("releases that deleted a lock after its lease expired").isZero();
+        // the run must actually have exercised the faults, or it proves nothing
+        Assertions.assertThat(expiredLeases).isPositive();
+        Assertions.assertThat(slowHolds).isPositive();
+        Assertions.assertThat(stalledSaves).isPositive();
+        Assertions.assertThat(crashedHolders.get()).isPositive();
+        Assertions.assertThat(summary.ok()).isPositive();
+    }
+
+    private void randomOperation(OperationHistory history, int clientId, List<UUID> tickets) throws InterruptedException {
+        var random = ThreadLocalRandom.current();
+        String baseUrl = baseUrls.get(random.nextInt(baseUrls.size()));
+        int roll = random.nextInt(100);
+        if (roll < 10) {
+            create(history, clientId, baseUrl, tickets);
+            return;
+        }
+        boolean hot = random.nextBoolean();
+        UUID id = tickets.get(random.nextInt(hot ? HOT_TICKETS : tickets.size()));
+        if (roll < 55) {
+            String agent = AGENTS.get(random.nextInt(AGENTS.size()));
+            var call = history.invoke(clientId, Kind.ASSIGN, id, agent, null);
+            send(call, patch(baseUrl + "/tickets/" + id + "/assign", new AssignRequest(agent)));
+        } else {
+            // closing is terminal; keep it rare and off the hot tickets so they stay contended
+            TicketStatus status = !hot && random.nextInt(20) == 0
+                    ? TicketStatus.CLOSED
+                    : List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED).get(random.nextInt(3));
+            var call = history.invoke(clientId, Kind.STATUS, id, null, status);
+            send(call, patch(baseUrl + "/tickets/" + id + "/status", new UpdateStatusRequest(status)));
+        }
+    }
+
+    private void create(OperationHistory history, int clientId, String baseUrl, List<UUID> tickets)
+            throws InterruptedException {
+        var call = history.invoke(clientId, Kind.CREATE, null, null, null);
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/tickets"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(new CreateTicketRequest("user-" + clientId, "Stress", "..."))))
+                .build();
+        var created = send(call, request);
+        if (created != null) {
+            tickets.add(created.ticketId());
+        }
+    }
+
+    private void read(OperationHistory history, UUID id) throws InterruptedException {
+        var call = history.invoke(-1, Kind.READ, id, null, null);
+        send(call, HttpRequest.newBuilder(URI.create(baseUrls.get(0) + "/tickets/" + id))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build());
+    }
+
+    private HttpRequest patch(String url, Object body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(json(body)))
+                .build();
+    }
+
+    /**
+     * Sends the request and records its outcome: 2xx with the returned ticket, 409 as a rejected
+     * call without effect, anything else as unknown.
+     *
+     * @return the returned ticket, or {@code null} if the call did not succeed
+     */
+    private TicketResponse send(OperationHistory.Call call, HttpRequest request) throws InterruptedException {
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            call.unknown();
+            return null;
+        }
+        int status = response.statusCode();
+        if (status == 409) {
+            call.failed();
+            return null;
+        }
+        if (status / 100 != 2) {
+            call.unknown();
+            return null;
+        }
+        TicketResponse ticket;
+        try {
+            ticket = mapper.readValue(response.body(), TicketResponse.class);
+        } catch (IOException e) {
+            call.unknown();
+            return null;
+        }
+        call.ok(ticket.ticketId(), new TicketState(ticket.status(), ticket.assigneeId()));
+        return ticket;
+    }
+
+    private byte[] json(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketChangesResponse;
+import com.sporty.ticketing.dto.TicketResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Integration test for the delta sync endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Syncing from {@code 0} returns every ticket, oldest change first, paged by {@code limit}.</li>
+ *   <li>Syncing from the returned watermark returns only tickets changed afterwards, once each.</li>
+ *   <li>A malformed watermark is rejected with {@code 400 Bad Request}.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketDeltaSyncIT extends BaseIntegrationTest {
+
+    @Test
+    void changes_returnsTicketsModifiedAfterWatermark() {
+        UUID first = createTicket("Login fails");
+        UUID second = createTicket("Payment stuck");
+        UUID third = createTicket("Refund missing");
+
+        TicketChangesResponse page1 = sync("0", 2);
+        Assertions.assertThat(page1.tickets()).extracting(TicketResponse::ticketId).containsExactly(first, second);
+        Assertions.assertThat(page1.hasMore()).isTrue();
+        TicketChangesResponse page2 = sync(page1.watermark(), 2);
+        Assertions.assertThat(page2.tickets()).extracting(TicketResponse::ticketId).containsExactly(third);
+        Assertions.assertThat(page2.hasMore()).isFalse();
+
+        TicketChangesResponse idle = sync(page2.watermark(), 10);
+        Assertions.assertThat(idle.tickets()).isEmpty();
+        Assertions.assertThat(idle.watermark()).isEqualTo(page2.watermark());
+
+        assign(first, "agent-1");
+        assign(first, "agent-2");
+        TicketChangesResponse delta = sync(page2.watermark(), 10);
+        Assertions.assertThat(delta.tickets()).singleElement().satisfies(t -> {
+            Assertions.assertThat(t.ticketId()).isEqualTo(first);
+            Assertions.assertThat(t.assigneeId()).isEqualTo("agent-2");
+        });
+
+        ResponseEntity<String> bad = http.getForEntity(url("/tickets/changes?since=yesterday"), String.class);
+        Assertions.assertThat(bad.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private TicketChangesResponse sync(String since, int limit) {
+        ResponseEntity<TicketChangesResponse> res = http.getForEntity(
+                url("/tickets/changes?since=" + since + "&limit=" + limit), TicketChangesResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return res.getBody();
+    }
+
+    private void assign(UUID id, String assigneeId) {
+        ResponseEntity<TicketResponse> res = http.exchange(url("/tickets/" + id + "/assign"), HttpMethod.PATCH,
+                new HttpEntity<>(new AssignRequest(assigneeId)), TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private UUID createTicket(String subject) {
+        var createReq = new CreateTicketRequest("user-1", subject, "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
@@ -0,0 +1,59 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Integration test for the NDJSON export endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>An unfiltered export contains every ticket, one per line.</li>
+ *   <li>The {@code status} and {@code updatedSince} filters restrict the output.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketExportIT extends BaseIntegrationTest {
+
+    @Test
+    void export_streamsAllTickets_andAppliesFilters() {
+        UUID open = createTicket("Login fails");
+        UUID resolved = createTicket("Payment stuck");
+        Instant beforeUpdate = Instant.now();
+        http.exchange(url("/tickets/" + resolved + "/status"), HttpMethod.PATCH,
+                new HttpEntity<>(new UpdateStatusRequest(TicketStatus.RESOLVED)), TicketResponse.class);
+
+        ResponseEntity<String> all = http.getForEntity(url("/tickets/export"), String.class);
+        Assertions.assertThat(all.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(all.getBody().split("\n")).hasSize(2);
+        Assertions.assertThat(all.getBody()).contains(open.toString(), resolved.toString());
+
+        String byStatus = http.getForObject(url("/tickets/export?status=RESOLVED"), String.class);
+        Assertions.assertThat(byStatus.split("\n")).hasSize(1);
+        Assertions.assertThat(byStatus).contains(resolved.toString()).contains("\"status\":\"RESOLVED\"");
+
+        String recent = http.getForObject(url("/tickets/export?updatedSince=" + beforeUpdate), String.class);
+        Assertions.assertThat(recent.split("\n")).hasSize(1);
+        Assertions.assertThat(recent).contains(resolved.toString());
+    }
+
+    private UUID createTicket(String subject) {
+        var createReq = new CreateTicketRequest("user-1", subject, "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
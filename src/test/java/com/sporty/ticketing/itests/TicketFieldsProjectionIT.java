@@ -0,0 +1,69 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for sparse fieldsets ({@code ?fields=}) on ticket responses.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Single-ticket reads and updates return only the requested fields, in response order.</li>
+ *   <li>Delta syncs and exports apply the projection to every ticket.</li>
+ *   <li>An unknown field is rejected with {@code 400 Bad Request} before the update is applied.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketFieldsProjectionIT extends BaseIntegrationTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fields_restrictTicketRepresentation() {
+        UUID id = createTicket("Login fails");
+
+        ResponseEntity<String> get = http.getForEntity(
+                url("/tickets/" + id + "?fields=updatedAt,status,ticketId"), String.class);
+        Assertions.assertThat(get.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(get.getBody()).matches(
+                "\\{\"ticketId\":\"" + id + "\",\"status\":\"OPEN\",\"updatedAt\":\"[^\"]+\"}");
+
+        ResponseEntity<Map> assigned = http.exchange(url("/tickets/" + id + "/assign?fields=assigneeId"),
+                HttpMethod.PATCH, new HttpEntity<>(new AssignRequest("agent-1")), Map.class);
+        Assertions.assertThat(assigned.getBody()).isEqualTo(Map.of("assigneeId", "agent-1"));
+
+        ResponseEntity<String> rejected = http.exchange(url("/tickets/" + id + "/assign?fields=assignee"),
+                HttpMethod.PATCH, new HttpEntity<>(new AssignRequest("agent-2")), String.class);
+        Assertions.assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(http.getForObject(url("/tickets/" + id), TicketResponse.class).assigneeId())
+                .isEqualTo("agent-1");
+
+        Map<String, Object> sync = http.getForObject(
+                url("/tickets/changes?since=0&fields=ticketId,assigneeId"), Map.class);
+        Assertions.assertThat((List<Object>) sync.get("tickets"))
+                .containsExactly(Map.of("ticketId", id.toString(), "assigneeId", "agent-1"));
+        Assertions.assertThat(sync).containsKeys("watermark", "hasMore");
+
+        String export = http.getForObject(url("/tickets/export?fields=ticketId"), String.class);
+        Assertions.assertThat(export).isEqualTo("{\"ticketId\":\"" + id + "\"}\n");
+    }
+
+    private UUID createTicket(String subject) {
+        var createReq = new CreateTicketRequest("user-1", subject, "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
@@ -22,6 +22,7 @@ import java.util.UUID;
  *   <li>Create a new ticket via {@code POST /tickets}.</li>
  *   <li>Assign the ticket to an agent via {@code PATCH /tickets/{id}/assign}.</li>
  *   <li>Update the ticket status via {@code PATCH /tickets/{id}/status}.</li>
+ *   <li>Read the ticket back via {@code GET /tickets/{id}}.</li>
  * </ol>
  *
  * <p>Each step asserts that:</p>
@@ -73,5 +74,12 @@ public class TicketHappyPathIT extends BaseIntegrationTest {
         Assertions.assertThat(updated.getStatusCode().is2xxSuccessful()).isTrue();
         Assertions.assertThat(updated.getBody()).isNotNull();
         Assertions.assertThat(updated.getBody().status()).isEqualTo(TicketStatus.IN_PROGRESS);
+
+        // read back
+        ResponseEntity<TicketResponse> fetched =
+                http.getForEntity(url("/tickets/" + id), TicketResponse.class);
+
+        Assertions.assertThat(fetched.getStatusCode().is2xxSuccessful()).isTrue();
+        Assertions.assertThat(fetched.getBody()).isEqualTo(updated.getBody());
     }
 }
@@ -0,0 +1,92 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.lock.LockManager;
+import com.sporty.ticketing.service.TicketService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Integration test for hot-key detection and the {@code /actuator/hotkeys} endpoint.
+ *
+ * <p>The test holds a ticket's lock itself, so that assignments of that ticket time out.
+ * Verifies that:</p>
+ * <ul>
+ *   <li>The ticket is listed with its failed lock attempts, and the rejected agent with its
+ *       rejections.</li>
+ *   <li>The counts are halved by the background decay, without further traffic.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = "app.hot-keys.decay-interval-ms=1000")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketHotKeysIT extends BaseIntegrationTest {
+
+    @Autowired
+    LockManager locks;
+
+    @Test
+    void contendedAssignments_areListed_andDecay() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        UUID id = http.postForEntity(url("/tickets"), createReq, TicketResponse.class).getBody().ticketId();
+
+        String key = TicketService.LOCK_PREFIX + id;
+        String token = locks.tryLock(key, Duration.ofSeconds(10)).orElseThrow();
+        try {
+            for (int i = 0; i < 2; i++) {
+                ResponseEntity<Map> rejected = http.exchange(
+                        url("/tickets/" + id + "/assign"),
+                        HttpMethod.PATCH,
+                        new HttpEntity<>(new AssignRequest("agent-hot")),
+                        Map.class);
+                Assertions.assertThat(rejected.getStatusCode().value()).isEqualTo(409);
+            }
+        } finally {
+            locks.unlock(key, token);
+        }
+
+        Map<String, List<Map<String, Object>>> hot = hotKeys();
+        Long ticketCount = count(hot.get("tickets"), id.toString());
+        Assertions.assertThat(ticketCount).as("failed lock attempts of the ticket").isNotNull().isPositive();
+        Assertions.assertThat(count(hot.get("agents"), "agent-hot")).as("rejections of the agent").isNotNull();
+
+        // the next decay halves the count; a count of 1 drops out of the table
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        Long decayed = ticketCount;
+        while (decayed != null && decayed.equals(ticketCount)) {
+            Assertions.assertThat(System.nanoTime() - deadline).as("decay within 3 s").isNegative();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            decayed = count(hotKeys().get("tickets"), id.toString());
+        }
+        Assertions.assertThat(decayed).isEqualTo(ticketCount >> 1 == 0 ? null : ticketCount >> 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Map<String, Object>>> hotKeys() {
+        return http.getForObject(url("/actuator/hotkeys"), Map.class);
+    }
+
+    @Nullable
+    private static Long count(List<Map<String, Object>> entries, String key) {
+        return entries.stream()
+                .filter(e -> key.equals(e.get("key")))
+                .map(e -> ((Number) e.get("count")).longValue())
+                .findFirst()
+                .orElse(null);
+    }
+}
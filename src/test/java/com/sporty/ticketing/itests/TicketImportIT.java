@@ -0,0 +1,46 @@
+package com.sporty.ticketing.itests;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+/**
+ * Integration test for the NDJSON bulk import endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Valid lines are imported and invalid ones are reported with their line numbers.</li>
+ *   <li>The result ends with a summary of read, imported and failed lines.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketImportIT extends BaseIntegrationTest {
+
+    @Test
+    void import_reportsPerLineErrors_andSummary() {
+        String body = """
+                {"userId":"user-1","subject":"Login fails","description":"..."}
+                {"userId":"user-2","subject":""}
+                not json
+
+                {"userId":"user-3","subject":"Payment stuck"}
+                """;
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        ResponseEntity<String> res =
+                http.postForEntity(url("/tickets/import"), new HttpEntity<>(body, headers), String.class);
+
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = res.getBody().split("\n");
+        Assertions.assertThat(lines).hasSize(3);
+        Assertions.assertThat(lines[0]).contains("\"line\":2").contains("subject: must not be blank");
+        Assertions.assertThat(lines[1]).contains("\"line\":3").contains("malformed JSON");
+        Assertions.assertThat(lines[2]).isEqualTo("{\"lines\":4,\"imported\":2,\"failed\":2}");
+    }
+}
@@ -0,0 +1,109 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for the circuit breaker in front of the Redis lock.
+ *
+ * <p>Redis is stalled with {@code CLIENT PAUSE}. Verifies that:</p>
+ * <ul>
+ *   <li>A lock call that times out fails with 503 and opens the circuit (threshold of 1).</li>
+ *   <li>While the circuit is open, updates fail fast with 503 and the {@code lock} health
+ *       contributor is {@code OUT_OF_SERVICE}, without exposing its details.</li>
+ *   <li>Once the open period has passed, the contributor is {@code UP} before any call probes the
+ *       breaker.</li>
+ *   <li>Once Redis responds again and the open period has passed, updates succeed.</li>
+ * </ul>
+ *
+ * <p>A {@code SET NX} that timed out on the client still runs once Redis resumes, leaving a lock
+ * behind until its TTL expires; the lock TTL is shortened so that it is gone before recovery is
+ * checked.</p>
+ *
+ * <p>Assignments are sent with the JDK {@link HttpClient}: the {@code TestRestTemplate} client
+ * retries 503 responses, which would hide the fail-fast behaviour under test.</p>
+ */
+@TestPropertySource(properties = {
+        "spring.data.redis.timeout=300ms",
+        "app.lock.ttl-ms=1000",
+        "app.lock.circuit-breaker.failure-threshold=1",
+        "app.lock.circuit-breaker.open-ms=1000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketLockCircuitBreakerIT extends BaseIntegrationTest {
+
+    private final HttpClient noRetryHttp = HttpClient.newHttpClient();
+
+    @Value("${spring.data.redis.host}")
+    String redisHost;
+
+    @Value("${spring.data.redis.port}")
+    int redisPort;
+
+    @Test
+    void stalledRedis_failsFast_thenRecovers() throws Exception {
+        UUID id = createTicket().ticketId();
+
+        pauseRedis(Duration.ofMillis(1500));
+        Assertions.assertThat(assign(id, "agent-A")).isEqualTo(503);
+
+        long start = System.nanoTime();
+        int rejected = assign(id, "agent-B");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        Assertions.assertThat(rejected).isEqualTo(503);
+        Assertions.assertThat(elapsedMs).isLessThan(300);
+
+        ResponseEntity<Map> health = http.getForEntity(url("/actuator/health/lock"), Map.class);
+        Assertions.assertThat(health.getBody()).containsEntry("status", "OUT_OF_SERVICE");
+        Assertions.assertThat(health.getBody()).doesNotContainKey("details");
+
+        // pause, open period and stray lock TTL over: the probe call closes the circuit
+        Thread.sleep(2500);
+        health = http.getForEntity(url("/actuator/health/lock"), Map.class);
+        Assertions.assertThat(health.getBody()).containsEntry("status", "UP");
+        Assertions.assertThat(assign(id, "agent-C")).isEqualTo(200);
+        Assertions.assertThat(http.getForObject(url("/tickets/" + id), TicketResponse.class).assigneeId())
+                .isEqualTo("agent-C");
+    }
+
+    private void pauseRedis(Duration duration) {
+        var client = RedisClient.create(RedisURI.create(redisHost, redisPort));
+        try (var connection = client.connect()) {
+            connection.sync().clientPause(duration.toMillis());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private TicketResponse createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody();
+    }
+
+    private int assign(UUID id, String assigneeId) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(url("/tickets/" + id + "/assign")))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"assigneeId\":\"" + assigneeId + "\"}"))
+                .build();
+        return noRetryHttp.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
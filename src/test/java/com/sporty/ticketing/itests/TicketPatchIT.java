@@ -0,0 +1,67 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.PatchTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for the combined {@code PATCH /tickets/{id}} endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Assignee and status can be changed together in a single request.</li>
+ *   <li>Fields that are not present in the request are left unchanged.</li>
+ *   <li>A request without any field is rejected with 400 Bad Request.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketPatchIT extends BaseIntegrationTest {
+
+    @Test
+    void assignAndStart_inOneRequest() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        UUID id = created.getBody().ticketId();
+
+        var patchReq = new PatchTicketRequest("agent-1", TicketStatus.IN_PROGRESS, null, null);
+        ResponseEntity<TicketResponse> patched = http.exchange(
+                url("/tickets/" + id),
+                HttpMethod.PATCH,
+                new HttpEntity<>(patchReq),
+                TicketResponse.class);
+
+        Assertions.assertThat(patched.getStatusCode().is2xxSuccessful()).isTrue();
+        Assertions.assertThat(patched.getBody()).isNotNull();
+        Assertions.assertThat(patched.getBody().assigneeId()).isEqualTo("agent-1");
+        Assertions.assertThat(patched.getBody().status()).isEqualTo(TicketStatus.IN_PROGRESS);
+        Assertions.assertThat(patched.getBody().subject()).isEqualTo("Login fails");
+        Assertions.assertThat(patched.getBody().updatedAt()).isAfterOrEqualTo(created.getBody().updatedAt());
+    }
+
+    @Test
+    void emptyPatch_isRejected() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        UUID id = http.postForEntity(url("/tickets"), createReq, TicketResponse.class).getBody().ticketId();
+
+        ResponseEntity<Map> rejected = http.exchange(
+                url("/tickets/" + id),
+                HttpMethod.PATCH,
+                new HttpEntity<>(new PatchTicketRequest(null, null, null, null)),
+                Map.class);
+
+        Assertions.assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
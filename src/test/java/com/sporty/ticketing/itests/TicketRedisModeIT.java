@@ -0,0 +1,107 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketChangesResponse;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+/**
+ * Integration test for the Redis-backed repository, run against whichever Redis the tests use:
+ * the container, or the in-process stand-in with {@code -PitRedis=embedded}.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Saving through the {@code EVALSHA} script keeps the counters, the change index and the
+ *   claim queue in step with the stored tickets.</li>
+ *   <li>Auto-assignment spreads tickets over the agents by their load in the sorted set.</li>
+ *   <li>A ticket changed in Redis behind the application's back is invalidated in the
+ *   client-side cache by a {@code CLIENT TRACKING} push.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = {
+        "app.repo.mode=redis",
+        "app.repo.redis.cache.enabled=true",
+        "app.assign.agents=agent-a,agent-b"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketRedisModeIT extends BaseIntegrationTest {
+
+    @Value("${spring.data.redis.host}")
+    String redisHost;
+
+    @Value("${spring.data.redis.port}")
+    int redisPort;
+
+    @Value("${app.repo.redis.key-prefix}")
+    String keyPrefix;
+
+    @Test
+    void scriptedSaves_keepIndexesCountersAndQueueInStep() {
+        var req = new CreateTicketRequest("user-1", "Login fails", "...");
+        TicketResponse first = http.postForObject(url("/tickets?autoAssign=true"), req, TicketResponse.class);
+        TicketResponse second = http.postForObject(url("/tickets?autoAssign=true"), req, TicketResponse.class);
+        Assertions.assertThat(first.assigneeId()).isEqualTo("agent-a");
+        Assertions.assertThat(second.assigneeId()).isEqualTo("agent-b");
+
+        TicketResponse queued = http.postForObject(url("/tickets"), req, TicketResponse.class);
+        ResponseEntity<TicketResponse> claimed =
+                http.postForEntity(url("/tickets/claim"), new AssignRequest("agent-a"), TicketResponse.class);
+        Assertions.assertThat(claimed.getBody().ticketId()).isEqualTo(queued.ticketId());
+        Assertions.assertThat(http.postForEntity(url("/tickets/claim"), new AssignRequest("agent-a"),
+                TicketResponse.class).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        TicketStats stats = http.getForObject(url("/tickets/stats"), TicketStats.class);
+        Assertions.assertThat(stats.byAssignee().get("agent-a")).containsEntry(TicketStatus.OPEN, 2L);
+        Assertions.assertThat(stats.byAssignee().get("agent-b")).containsEntry(TicketStatus.OPEN, 1L);
+
+        TicketChangesResponse changes =
+                http.getForObject(url("/tickets/changes?since=0"), TicketChangesResponse.class);
+        Assertions.assertThat(changes.tickets()).extracting(TicketResponse::ticketId)
+                .containsSubsequence(first.ticketId(), second.ticketId(), queued.ticketId());
+    }
+
+    @Test
+    void changeBehindTheApplication_invalidatesCachedTicket() throws Exception {
+        var req = new CreateTicketRequest("user-2", "Refund missing", "...");
+        UUID id = http.postForObject(url("/tickets"), req, TicketResponse.class).ticketId();
+        // assigned outside the balanced agents, so that it is neither queued nor counted for them
+        http.patchForObject(url("/tickets/" + id + "/assign"), new AssignRequest("agent-z"), TicketResponse.class);
+        // the second read is served from the client-side cache
+        http.getForObject(url("/tickets/" + id), TicketResponse.class);
+        Assertions.assertThat(http.getForObject(url("/tickets/" + id), TicketResponse.class).subject())
+                .isEqualTo("Refund missing");
+
+        var client = RedisClient.create(RedisURI.create(redisHost, redisPort));
+        try (var connection = client.connect()) {
+            String key = keyPrefix + id;
+            String json = connection.sync().get(key);
+            connection.sync().set(key, json
+                    .replace("Refund missing", "Refund arrived")
+                    .replaceFirst("\"updatedAt\":\"[^\"]+\"", "\"updatedAt\":\"2030-01-01T00:00:00Z\"")
+                    .replaceFirst("\"version\":\\d+", "\"version\":99"));
+        } finally {
+            client.shutdown();
+        }
+
+        // the invalidation push is asynchronous
+        String subject = null;
+        for (int i = 0; i < 50 && !"Refund arrived".equals(subject); i++) {
+            Thread.sleep(20);
+            subject = http.getForObject(url("/tickets/" + id), TicketResponse.class).subject();
+        }
+        Assertions.assertThat(subject).isEqualTo("Refund arrived");
+    }
+}
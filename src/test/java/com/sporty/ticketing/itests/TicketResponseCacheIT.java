@@ -0,0 +1,107 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.api.TicketResponseCache;
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.model.Ticket;
+import com.sporty.ticketing.model.TicketPriority;
+import com.sporty.ticketing.model.TicketStatus;
+import com.sporty.ticketing.service.TicketService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Integration test for the cache of serialized ticket responses ({@code app.response-cache}).
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>Repeated reads of an unchanged ticket are served from one cached body.</li>
+ *   <li>An update invalidates the cached body, also when it keeps the same {@code updatedAt}.</li>
+ *   <li>A client that accepts gzip gets the compressed variant of the same body.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = "app.response-cache.gzip-min-bytes=64")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketResponseCacheIT extends BaseIntegrationTest {
+
+    @Autowired
+    TicketResponseCache responses;
+
+    @Autowired
+    TicketService service;
+
+    @Test
+    void repeatedReads_areCached_untilUpdated() {
+        UUID id = createTicket();
+
+        String first = http.getForObject(url("/tickets/" + id), String.class);
+        Ticket t = service.get(id);
+        byte[] cached = responses.get(t, false).json();
+        Assertions.assertThat(responses.get(t, false).json()).isSameAs(cached);
+        Assertions.assertThat(new String(cached, StandardCharsets.UTF_8)).isEqualTo(first);
+        Assertions.assertThat(http.getForObject(url("/tickets/" + id), String.class)).isEqualTo(first);
+
+        TicketResponse assigned = http.exchange(url("/tickets/" + id + "/assign"), HttpMethod.PATCH,
+                new HttpEntity<>(new AssignRequest("agent-1")), TicketResponse.class).getBody();
+
+        TicketResponse read = http.getForObject(url("/tickets/" + id), TicketResponse.class);
+        Assertions.assertThat(read.assigneeId()).isEqualTo("agent-1");
+        Assertions.assertThat(read.version()).isEqualTo(assigned.version());
+    }
+
+    @Test
+    void updateWithinSameTick_isNotServedStale() {
+        UUID id = UUID.randomUUID();
+        Instant now = Instant.now();
+        Ticket v1 = Ticket.restore(id, "Login fails", "...", TicketStatus.OPEN, TicketPriority.NORMAL,
+                "user-1", "agent-1", now, now, 1);
+        Ticket v2 = Ticket.restore(id, "Login fails", "...", TicketStatus.OPEN, TicketPriority.NORMAL,
+                "user-1", "agent-2", now, now, 2);
+
+        Assertions.assertThat(new String(responses.get(v1, false).json(), StandardCharsets.UTF_8))
+                .contains("\"assigneeId\":\"agent-1\"");
+        Assertions.assertThat(new String(responses.get(v2, false).json(), StandardCharsets.UTF_8))
+                .contains("\"assigneeId\":\"agent-2\"", "\"version\":2");
+    }
+
+    @Test
+    void gzipClient_getsCompressedBody() throws Exception {
+        UUID id = createTicket();
+        String plain = http.getForObject(url("/tickets/" + id), String.class);
+
+        // the JDK client leaves the body compressed, unlike the Apache client of the template
+        var client = HttpClient.newHttpClient();
+        HttpResponse<byte[]> gzipped = client.send(
+                HttpRequest.newBuilder(URI.create(url("/tickets/" + id)))
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        Assertions.assertThat(gzipped.statusCode()).isEqualTo(200);
+        Assertions.assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            Assertions.assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+    }
+
+    private UUID createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "Login fails after the password reset");
+        return http.postForEntity(url("/tickets"), createReq, TicketResponse.class).getBody().ticketId();
+    }
+}
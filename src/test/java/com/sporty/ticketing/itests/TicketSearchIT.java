@@ -0,0 +1,92 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.PatchTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.TicketSearchResponse;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Integration test for the full-text search endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>All words of the query must match, case-insensitively, in the subject or description.</li>
+ *   <li>A word ending in {@code *} matches as a prefix.</li>
+ *   <li>The status filter and limit apply, with {@code total} counting every match.</li>
+ *   <li>Editing a ticket's text updates the results.</li>
+ *   <li>A query without words is rejected with {@code 400 Bad Request}.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketSearchIT extends BaseIntegrationTest {
+
+    @Test
+    void search_matchesAllWordsAndPrefixes() {
+        UUID login = createTicket("Login fails on Android", "Users cannot sign in since the update");
+        UUID payment = createTicket("Payment failed", "Card declined at checkout, login works");
+        UUID refund = createTicket("Refund missing", "Requested a refund two weeks ago");
+
+        assertIds(search("login"), 2, login, payment);
+        assertIds(search("LOGIN fails"), 1, login);
+        assertIds(search("fail*"), 2, login, payment);
+        assertIds(search("refund two"), 1, refund);
+        assertIds(search("login refund"), 0);
+        assertIds(search("xyz*"), 0);
+    }
+
+    @Test
+    void search_appliesStatusFilterLimitAndUpdates() {
+        UUID first = createTicket("Printer jammed", "Office printer on floor 3");
+        UUID second = createTicket("Printer offline", "Cannot reach the printer");
+        patch(second, new PatchTicketRequest(null, TicketStatus.IN_PROGRESS, null, null));
+
+        assertIds(search("printer&status=IN_PROGRESS"), 1, second);
+        assertIds(search("printer&limit=1"), 2, first);
+
+        patch(first, new PatchTicketRequest(null, null, "Scanner jammed", "Office scanner on floor 3"));
+        assertIds(search("printer"), 1, second);
+        assertIds(search("scan*"), 1, first);
+    }
+
+    @Test
+    void search_rejectsQueryWithoutWords() {
+        ResponseEntity<String> res = http.getForEntity(url("/tickets/search?q=--"), String.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private TicketSearchResponse search(String query) {
+        ResponseEntity<TicketSearchResponse> res =
+                http.getForEntity(url("/tickets/search?q=" + query), TicketSearchResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return res.getBody();
+    }
+
+    private static void assertIds(TicketSearchResponse res, int total, UUID... ids) {
+        Assertions.assertThat(res.total()).isEqualTo(total);
+        Assertions.assertThat(res.tickets()).extracting(TicketResponse::ticketId).containsExactly(ids);
+    }
+
+    private void patch(UUID id, PatchTicketRequest body) {
+        ResponseEntity<TicketResponse> res = http.exchange(url("/tickets/" + id), HttpMethod.PATCH,
+                new HttpEntity<>(body), TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private UUID createTicket(String subject, String description) {
+        var createReq = new CreateTicketRequest("user-1", subject, description);
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
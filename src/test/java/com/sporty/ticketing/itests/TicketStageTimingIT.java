@@ -0,0 +1,123 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.lock.LockManager;
+import com.sporty.ticketing.service.TicketService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Integration test for per-request stage timing.
+ *
+ * <p>JDK Flight Recorder events are read in-process with a {@link RecordingStream}. Verifies
+ * that:</p>
+ * <ul>
+ *   <li>A successful update carries a {@code Server-Timing} header with its lock, read, mutate,
+ *       save and unlock stages.</li>
+ *   <li>Each ticket request commits a {@code com.sporty.ticketing.TicketRequest} event with its
+ *       status and stage durations.</li>
+ *   <li>An update that times out waiting for the lock attributes the wait to the lock stage.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = "app.timing.server-timing=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketStageTimingIT extends BaseIntegrationTest {
+
+    private static final String REQUEST_EVENT = "com.sporty.ticketing.TicketRequest";
+
+    @Autowired
+    LockManager locks;
+
+    private final BlockingQueue<RecordedEvent> events = new LinkedBlockingQueue<>();
+    private RecordingStream recording;
+
+    @BeforeAll
+    void startRecording() {
+        recording = new RecordingStream();
+        recording.enable(REQUEST_EVENT).withoutThreshold();
+        recording.onEvent(REQUEST_EVENT, events::add);
+        recording.startAsync();
+    }
+
+    @AfterAll
+    void stopRecording() {
+        recording.close();
+    }
+
+    @Test
+    void update_reportsStagesInHeaderAndJfr() throws Exception {
+        UUID id = createTicket();
+
+        ResponseEntity<TicketResponse> assigned = assign(id, "agent-1", TicketResponse.class);
+
+        Assertions.assertThat(assigned.getStatusCode().value()).isEqualTo(200);
+        String serverTiming = assigned.getHeaders().getFirst("Server-Timing");
+        Assertions.assertThat(serverTiming)
+                .contains("lock;dur=", "read;dur=", "mutate;dur=", "save;dur=", "unlock;dur=");
+
+        RecordedEvent event = awaitEvent(id);
+        Assertions.assertThat(event.getString("method")).isEqualTo("PATCH");
+        Assertions.assertThat(event.getInt("status")).isEqualTo(200);
+        Assertions.assertThat(event.getLong("lock")).isPositive();
+        Assertions.assertThat(event.getLong("save")).isPositive();
+        Assertions.assertThat(event.getLong("serialize")).isPositive();
+    }
+
+    @Test
+    void lockTimeout_isAttributedToLockStage() throws Exception {
+        UUID id = createTicket();
+        String key = TicketService.LOCK_PREFIX + id;
+        String token = locks.tryLock(key, Duration.ofSeconds(10)).orElseThrow();
+        try {
+            Assertions.assertThat(assign(id, "agent-2", Map.class).getStatusCode().value()).isEqualTo(409);
+        } finally {
+            locks.unlock(key, token);
+        }
+
+        RecordedEvent event = awaitEvent(id);
+        Assertions.assertThat(event.getInt("status")).isEqualTo(409);
+        Assertions.assertThat(Duration.ofNanos(event.getLong("lock"))).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+        Assertions.assertThat(event.getLong("save")).isZero();
+    }
+
+    private UUID createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        return http.postForEntity(url("/tickets"), createReq, TicketResponse.class).getBody().ticketId();
+    }
+
+    private <T> ResponseEntity<T> assign(UUID id, String agent, Class<T> type) {
+        return http.exchange(
+                url("/tickets/" + id + "/assign"), HttpMethod.PATCH, new HttpEntity<>(new AssignRequest(agent)), type);
+    }
+
+    /** Waits for the event of the update request on {@code id}; events of other requests are skipped. */
+    private RecordedEvent awaitEvent(UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            var event = events.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            Assertions.assertThat(event).as("TicketRequest event for " + id).isNotNull();
+            if (event.getString("path").endsWith(id + "/assign")) {
+                return event;
+            }
+        }
+    }
+}
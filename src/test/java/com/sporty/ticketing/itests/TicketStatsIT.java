@@ -0,0 +1,74 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketStats;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for the ticket statistics endpoint.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>New tickets are counted as {@code OPEN}.</li>
+ *   <li>Status changes and re-assignments move tickets between the overall and per-assignee counts.</li>
+ *   <li>A no-op update leaves the counts unchanged.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketStatsIT extends BaseIntegrationTest {
+
+    @Test
+    void stats_followStatusAndAssigneeTransitions() {
+        UUID first = createTicket("Login fails");
+        UUID second = createTicket("Payment stuck");
+        createTicket("Refund missing");
+        Assertions.assertThat(stats().byStatus()).isEqualTo(Map.of(TicketStatus.OPEN, 3L));
+        Assertions.assertThat(stats().byAssignee()).isEmpty();
+
+        patch(first, "/assign", new AssignRequest("agent-1"));
+        patch(first, "/status", new UpdateStatusRequest(TicketStatus.IN_PROGRESS));
+        patch(second, "/assign", new AssignRequest("agent-1"));
+        patch(second, "/assign", new AssignRequest("agent-2"));
+        patch(second, "/assign", new AssignRequest("agent-2"));
+
+        TicketStats stats = stats();
+        Assertions.assertThat(stats.byStatus())
+                .isEqualTo(Map.of(TicketStatus.OPEN, 2L, TicketStatus.IN_PROGRESS, 1L));
+        Assertions.assertThat(stats.byAssignee()).isEqualTo(Map.of(
+                "agent-1", Map.of(TicketStatus.IN_PROGRESS, 1L),
+                "agent-2", Map.of(TicketStatus.OPEN, 1L)));
+    }
+
+    private TicketStats stats() {
+        ResponseEntity<TicketStats> res = http.getForEntity(url("/tickets/stats"), TicketStats.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return res.getBody();
+    }
+
+    private void patch(UUID id, String path, Object body) {
+        ResponseEntity<TicketResponse> res = http.exchange(url("/tickets/" + id + path), HttpMethod.PATCH,
+                new HttpEntity<>(body), TicketResponse.class);
+        Assertions.assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private UUID createTicket(String subject) {
+        var createReq = new CreateTicketRequest("user-1", subject, "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody().ticketId();
+    }
+}
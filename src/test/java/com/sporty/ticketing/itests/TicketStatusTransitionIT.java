@@ -0,0 +1,68 @@
+package com.sporty.ticketing.itests;
+
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.dto.UpdateStatusRequest;
+import com.sporty.ticketing.model.TicketStatus;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Integration test for status transition validation.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>A transition out of {@code CLOSED} is rejected with 409 Conflict.</li>
+ *   <li>Setting the current status again is a no-op: 200 OK and {@code updatedAt} is unchanged.</li>
+ * </ul>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketStatusTransitionIT extends BaseIntegrationTest {
+
+    @Test
+    void closedTicket_cannotBeReopened() {
+        UUID id = createTicket().ticketId();
+        Assertions.assertThat(updateStatus(id, TicketStatus.CLOSED, TicketResponse.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Map> reopened = updateStatus(id, TicketStatus.OPEN, Map.class);
+
+        Assertions.assertThat(reopened.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void sameStatus_isNoop() {
+        TicketResponse created = createTicket();
+
+        ResponseEntity<TicketResponse> same =
+                updateStatus(created.ticketId(), TicketStatus.OPEN, TicketResponse.class);
+
+        Assertions.assertThat(same.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(same.getBody()).isNotNull();
+        Assertions.assertThat(same.getBody().updatedAt()).isEqualTo(created.updatedAt());
+    }
+
+    private TicketResponse createTicket() {
+        var createReq = new CreateTicketRequest("user-1", "Login fails", "...");
+        ResponseEntity<TicketResponse> created =
+                http.postForEntity(url("/tickets"), createReq, TicketResponse.class);
+        Assertions.assertThat(created.getStatusCode().is2xxSuccessful()).isTrue();
+        return created.getBody();
+    }
+
+    private <T> ResponseEntity<T> updateStatus(UUID id, TicketStatus status, Class<T> type) {
+        return http.exchange(
+                url("/tickets/" + id + "/status"),
+                HttpMethod.PATCH,
+                new HttpEntity<>(new UpdateStatusRequest(status)),
+                type);
+    }
+}
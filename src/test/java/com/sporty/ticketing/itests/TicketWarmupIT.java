@@ -0,0 +1,59 @@
+package com.sporty.ticketing.itests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sporty.ticketing.dto.AssignRequest;
+import com.sporty.ticketing.dto.CreateTicketRequest;
+import com.sporty.ticketing.dto.TicketChangesResponse;
+import com.sporty.ticketing.dto.TicketResponse;
+import com.sporty.ticketing.model.TicketStats;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.*;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration test for the JIT warmup phase run before readiness.
+ *
+ * <p>Verifies that:</p>
+ * <ul>
+ *   <li>The configured number of synthetic iterations has run by the time the application
+ *   reports ready.</li>
+ *   <li>Warmup traffic leaves no trace in the real repository, change index, claim queue or agent
+ *   loads.</li>
+ * </ul>
+ */
+@TestPropertySource(properties = {
+        "app.warmup.enabled=true",
+        "app.warmup.iterations=300",
+        "app.assign.agents=agent-a,agent-b"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TicketWarmupIT extends BaseIntegrationTest {
+
+    @Test
+    void readyAfterWarmup_withoutTouchingRealTickets() {
+        ResponseEntity<JsonNode> readiness = http.getForEntity(url("/actuator/health/readiness"), JsonNode.class);
+        Assertions.assertThat(readiness.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(readiness.getBody().get("status").asText()).isEqualTo("UP");
+        JsonNode iterations = http.getForObject(url("/actuator/metrics/ticketing.warmup.iterations"), JsonNode.class);
+        Assertions.assertThat(iterations.get("measurements").get(0).get("value").asDouble()).isEqualTo(300.0);
+
+        TicketStats stats = http.getForObject(url("/tickets/stats"), TicketStats.class);
+        Assertions.assertThat(stats.byStatus()).isEmpty();
+        Assertions.assertThat(stats.byAssignee()).isEmpty();
+        TicketChangesResponse changes = http.getForObject(url("/tickets/changes?since=0"), TicketChangesResponse.class);
+        Assertions.assertThat(changes.tickets()).isEmpty();
+        ResponseEntity<TicketResponse> claimed =
+                http.postForEntity(url("/tickets/claim"), new AssignRequest("agent-a"), TicketResponse.class);
+        Assertions.assertThat(claimed.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        // the real agents start with no load: the first auto-assignments follow agent ID order
+        var req = new CreateTicketRequest("user-1", "Login fails", "...");
+        Assertions.assertThat(http.postForObject(url("/tickets?autoAssign=true"), req, TicketResponse.class)
+                .assigneeId()).isEqualTo("agent-a");
+        Assertions.assertThat(http.postForObject(url("/tickets?autoAssign=true"), req, TicketResponse.class)
+                .assigneeId()).isEqualTo("agent-b");
+    }
+}